@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.application.components.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of a backup or restore process, with the amount of rows and the throughput of each table
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 20/10/2019
+ */
+@ToString
+public final class BackupReport implements Serializable {
+
+    private final List<Entry> entries;
+
+    /**
+     * Constructor...
+     */
+    public BackupReport() {
+        this.entries = new ArrayList<>();
+    }
+
+    /**
+     * Add the result of one table to this report
+     *
+     * @param table the name of the table
+     * @param rows the amount of rows processed
+     * @param millis the time spent in milliseconds
+     * @return the {@link Entry} created
+     */
+    public Entry add(String table, long rows, long millis) {
+        final Entry entry = new Entry(table, rows, millis);
+        this.entries.add(entry);
+        return entry;
+    }
+
+    /**
+     * @return an unmodifiable {@link List} of the entries of this report
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(this.entries);
+    }
+
+    /**
+     * @return the total of rows processed
+     */
+    public long getTotalRows() {
+        return this.entries.stream().mapToLong(Entry::getRows).sum();
+    }
+
+    /**
+     * @return the total time spent in milliseconds
+     */
+    public long getTotalMillis() {
+        return this.entries.stream().mapToLong(Entry::getMillis).sum();
+    }
+
+    /**
+     * @return the average of rows processed per second
+     */
+    public long getRowsPerSecond() {
+        return rowsPerSecond(this.getTotalRows(), this.getTotalMillis());
+    }
+
+    /**
+     * Calculate the throughput
+     *
+     * @param rows the amount of rows
+     * @param millis the time spent
+     * @return the rows per second
+     */
+    private static long rowsPerSecond(long rows, long millis) {
+        return millis > 0 ? rows * 1000 / millis : rows;
+    }
+
+    /**
+     * The result of a single table
+     */
+    @ToString
+    public static final class Entry implements Serializable {
+
+        @Getter
+        private final String table;
+        @Getter
+        private final long rows;
+        @Getter
+        private final long millis;
+
+        /**
+         * Constructor...
+         *
+         * @param table the name of the table
+         * @param rows the amount of rows processed
+         * @param millis the time spent in milliseconds
+         */
+        private Entry(String table, long rows, long millis) {
+            this.table = table;
+            this.rows = rows;
+            this.millis = millis;
+        }
+
+        /**
+         * @return the rows processed per second
+         */
+        public long getRowsPerSecond() {
+            return rowsPerSecond(this.rows, this.millis);
+        }
+    }
+}
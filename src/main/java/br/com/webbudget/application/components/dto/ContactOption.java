@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.application.components.dto;
+
+import br.com.webbudget.domain.entities.registration.Contact;
+import br.com.webbudget.domain.entities.registration.ContactType;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+/**
+ * A lightweight representation of a {@link Contact}, with only what is needed to show it in the search dialogs
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 22/10/2019
+ */
+@ToString
+@EqualsAndHashCode(of = "id")
+public final class ContactOption implements Serializable {
+
+    @Getter
+    private final Long id;
+    @Getter
+    private final String name;
+    @Getter
+    private final String document;
+    @Getter
+    private final ContactType contactType;
+
+    /**
+     * Constructor used by the JPQL constructor expression
+     *
+     * @param id of the {@link Contact}
+     * @param name of the {@link Contact}
+     * @param document of the {@link Contact}, can be null
+     * @param contactType of the {@link Contact}
+     */
+    public ContactOption(Long id, String name, String document, ContactType contactType) {
+        this.id = id;
+        this.name = name;
+        this.document = document;
+        this.contactType = contactType;
+    }
+
+    /**
+     * @return the document formatted by the {@link ContactType}
+     */
+    public String getDocumentFormatted() {
+        return this.contactType.formatDocument(this.document);
+    }
+}
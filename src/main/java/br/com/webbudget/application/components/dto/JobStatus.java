@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.application.components.dto;
+
+import br.com.webbudget.domain.entities.configuration.JobExecution;
+import br.com.webbudget.domain.entities.configuration.JobLease;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * The current status of a scheduled job: the next run, the lease and the last execution
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@ToString
+public final class JobStatus implements Serializable {
+
+    @Getter
+    private final String name;
+    @Getter
+    private final LocalDateTime nextRun;
+    @Getter
+    private final JobLease lease;
+    @Getter
+    private final JobExecution lastExecution;
+
+    /**
+     * Constructor...
+     *
+     * @param name the name of the job
+     * @param nextRun the next time the job will be fired, null if not scheduled
+     * @param lease the current {@link JobLease}, null if the job never ran
+     * @param lastExecution the last {@link JobExecution}, null if the job never ran
+     */
+    public JobStatus(String name, LocalDateTime nextRun, JobLease lease, JobExecution lastExecution) {
+        this.name = name;
+        this.nextRun = nextRun;
+        this.lease = lease;
+        this.lastExecution = lastExecution;
+    }
+
+    /**
+     * @return if the job is being held by a node right now
+     */
+    public boolean isLocked() {
+        return this.lease != null && this.lease.isLocked();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.application.components.dto;
+
+import br.com.webbudget.domain.entities.financial.Launch;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A flat, read-only representation of a {@link Launch} with only the columns shown by the launches dialog
+ *
+ * This class is filled by a constructor expression, so the view keeps only these values and not the launched
+ * movement and his fixed movement
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 27/10/2019
+ */
+@ToString
+@EqualsAndHashCode(of = "id")
+public final class LaunchRow implements Serializable {
+
+    @Getter
+    private final Long id;
+    @Getter
+    private final Integer quoteNumber;
+    @Getter
+    private final LocalDateTime createdOn;
+    @Getter
+    private final String financialPeriod;
+
+    /**
+     * Constructor used by the JPQL constructor expression
+     *
+     * @param id of the {@link Launch}
+     * @param quoteNumber of the {@link Launch}
+     * @param createdOn the date of the {@link Launch}
+     * @param financialPeriod the identification of the period launched
+     */
+    public LaunchRow(Long id, Integer quoteNumber, LocalDateTime createdOn, String financialPeriod) {
+        this.id = id;
+        this.quoteNumber = quoteNumber;
+        this.createdOn = createdOn;
+        this.financialPeriod = financialPeriod;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.application.components.dto;
+
+import br.com.webbudget.domain.entities.IPersistentEntity;
+import br.com.webbudget.domain.entities.financial.PaymentMethod;
+import br.com.webbudget.domain.entities.financial.PeriodMovement;
+import br.com.webbudget.domain.entities.financial.PeriodMovementState;
+import br.com.webbudget.domain.entities.financial.PeriodMovementType;
+import br.com.webbudget.domain.entities.registration.MovementClassType;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A flat, read-only representation of a {@link PeriodMovement} with only the columns needed to list or export it
+ *
+ * This class is filled by a constructor expression, so no managed entity is created when we use it. It also carry the
+ * same helper methods of the entity used by the listing, so the grid can use it without touching any lazy association
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 19/10/2019
+ */
+@ToString
+@EqualsAndHashCode(of = "id")
+public final class PeriodMovementRow implements IPersistentEntity<Long>, Serializable {
+
+    @Getter
+    private final Long id;
+    @Getter
+    private final String code;
+    @Getter
+    private final String financialPeriod;
+    @Getter
+    private final String identification;
+    @Getter
+    private final String contactName;
+    @Getter
+    private final LocalDate dueDate;
+    @Getter
+    private final BigDecimal value;
+    @Getter
+    private final PeriodMovementState periodMovementState;
+    @Getter
+    private final PeriodMovementType periodMovementType;
+    @Getter
+    private final LocalDate paymentDate;
+    @Getter
+    private final PaymentMethod paymentMethod;
+    @Getter
+    private final BigDecimal paidValue;
+    @Getter
+    private final BigDecimal discount;
+    @Getter
+    private final MovementClassType direction;
+
+    /**
+     * Constructor used by the JPQL constructor expression
+     *
+     * @param id of the {@link PeriodMovement}
+     * @param code of the {@link PeriodMovement}
+     * @param financialPeriod the identification of the financial period
+     * @param identification of the {@link PeriodMovement}
+     * @param contactName the name of the contact, can be null
+     * @param dueDate the due date
+     * @param value the value of the movement
+     * @param periodMovementState the state
+     * @param periodMovementType the type
+     * @param paymentDate the date of the payment, can be null
+     * @param paymentMethod the payment method, can be null
+     * @param paidValue the paid value, can be null
+     * @param discount the discount at the payment, can be null
+     * @param direction the {@link MovementClassType} of the apportionments, can be null if there is none
+     */
+    public PeriodMovementRow(Long id, String code, String financialPeriod, String identification, String contactName,
+                             LocalDate dueDate, BigDecimal value, PeriodMovementState periodMovementState,
+                             PeriodMovementType periodMovementType, LocalDate paymentDate,
+                             PaymentMethod paymentMethod, BigDecimal paidValue, BigDecimal discount,
+                             MovementClassType direction) {
+        this.id = id;
+        this.code = code;
+        this.financialPeriod = financialPeriod;
+        this.identification = identification;
+        this.contactName = contactName;
+        this.dueDate = dueDate;
+        this.value = value;
+        this.periodMovementState = periodMovementState;
+        this.periodMovementType = periodMovementType;
+        this.paymentDate = paymentDate;
+        this.paymentMethod = paymentMethod;
+        this.paidValue = paidValue;
+        this.discount = discount;
+        this.direction = direction;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public boolean isSaved() {
+        return this.id != null;
+    }
+
+    /**
+     * @return true if this movement is a revenue, false otherwise
+     */
+    public boolean isRevenue() {
+        return this.direction == MovementClassType.REVENUE;
+    }
+
+    /**
+     * @return true if this movement is a expense, false otherwise
+     */
+    public boolean isExpense() {
+        return this.direction == MovementClassType.EXPENSE;
+    }
+
+    /**
+     * @return true if this movement is open, false otherwise
+     */
+    public boolean isOpen() {
+        return this.periodMovementState == PeriodMovementState.OPEN;
+    }
+
+    /**
+     * @return true if this movement is paid, false otherwise
+     */
+    public boolean isPaid() {
+        return this.periodMovementState == PeriodMovementState.PAID;
+    }
+
+    /**
+     * @return true if this movement is accounted, false otherwise
+     */
+    public boolean isAccounted() {
+        return this.periodMovementState == PeriodMovementState.ACCOUNTED;
+    }
+
+    /**
+     * @return true if this movement was paid with a credit card, false otherwise
+     */
+    public boolean isPaidWithCreditCard() {
+        return this.paymentMethod == PaymentMethod.CREDIT_CARD;
+    }
+
+    /**
+     * @return true if this movement was paid with a debit card, false otherwise
+     */
+    public boolean isPaidWithDebitCard() {
+        return this.paymentMethod == PaymentMethod.DEBIT_CARD;
+    }
+
+    /**
+     * @return true if this movement was paid with cash, false otherwise
+     */
+    public boolean isPaidWithCash() {
+        return this.paymentMethod == PaymentMethod.CASH;
+    }
+
+    /**
+     * @return the paid value if this movement is paid or the value of the movement if not
+     */
+    public BigDecimal getValueWithDiscount() {
+        return this.paidValue != null ? this.paidValue : this.value;
+    }
+
+    /**
+     * @return true if this movement had discount at the payment, false otherwise
+     */
+    public boolean isDiscountPresent() {
+        return this.discount != null && this.discount.compareTo(BigDecimal.ZERO) != 0;
+    }
+}
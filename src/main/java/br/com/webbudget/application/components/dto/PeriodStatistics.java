@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.application.components.dto;
+
+import br.com.webbudget.domain.entities.financial.Closing;
+import br.com.webbudget.domain.entities.registration.CostCenter;
+import br.com.webbudget.domain.entities.registration.FinancialPeriod;
+import br.com.webbudget.domain.entities.registration.MovementClass;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The statistics of a {@link FinancialPeriod}: the result, the daily series and the use by {@link CostCenter} and
+ * {@link MovementClass}
+ *
+ * When the period is closed this object is frozen as JSON together with the {@link Closing}, so it must be kept as a
+ * plain tree of values without any reference to the entities
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 24/10/2019
+ */
+@ToString
+@EqualsAndHashCode
+public final class PeriodStatistics implements Serializable {
+
+    @Getter
+    private BigDecimal revenues;
+    @Getter
+    private BigDecimal expenses;
+    @Getter
+    private BigDecimal balance;
+
+    @Getter
+    private List<DailyValue> dailyRevenues;
+    @Getter
+    private List<DailyValue> dailyExpenses;
+    @Getter
+    private List<CostCenterValue> revenuesByCostCenter;
+    @Getter
+    private List<CostCenterValue> expensesByCostCenter;
+    @Getter
+    private List<MovementClassValue> revenuesByMovementClass;
+    @Getter
+    private List<MovementClassValue> expensesByMovementClass;
+
+    /**
+     * Constructor...
+     */
+    public PeriodStatistics() {
+
+        this.revenues = BigDecimal.ZERO;
+        this.expenses = BigDecimal.ZERO;
+        this.balance = BigDecimal.ZERO;
+
+        this.dailyRevenues = new ArrayList<>();
+        this.dailyExpenses = new ArrayList<>();
+        this.revenuesByCostCenter = new ArrayList<>();
+        this.expensesByCostCenter = new ArrayList<>();
+        this.revenuesByMovementClass = new ArrayList<>();
+        this.expensesByMovementClass = new ArrayList<>();
+    }
+
+    /**
+     * Set the result values of the period
+     *
+     * @param revenues the total of revenues
+     * @param expenses the total of expenses
+     * @param balance the balance between revenues and expenses
+     */
+    public void setResult(BigDecimal revenues, BigDecimal expenses, BigDecimal balance) {
+        this.revenues = revenues != null ? revenues : BigDecimal.ZERO;
+        this.expenses = expenses != null ? expenses : BigDecimal.ZERO;
+        this.balance = balance != null ? balance : BigDecimal.ZERO;
+    }
+
+    /**
+     * One point of the daily series
+     */
+    @ToString
+    @EqualsAndHashCode
+    public static final class DailyValue implements Serializable {
+
+        @Getter
+        private String date;
+        @Getter
+        private BigDecimal value;
+
+        /**
+         * Constructor used by the JSON deserialization
+         */
+        private DailyValue() { }
+
+        /**
+         * Constructor...
+         *
+         * @param date the day already formatted to be used as label
+         * @param value the value paid at the day
+         */
+        public DailyValue(String date, BigDecimal value) {
+            this.date = date;
+            this.value = value;
+        }
+    }
+
+    /**
+     * The value used by one {@link CostCenter}
+     */
+    @ToString
+    @EqualsAndHashCode
+    public static final class CostCenterValue implements Serializable {
+
+        @Getter
+        private String costCenter;
+        @Getter
+        private String color;
+        @Getter
+        private BigDecimal value;
+
+        /**
+         * Constructor used by the JSON deserialization
+         */
+        private CostCenterValue() { }
+
+        /**
+         * Constructor...
+         *
+         * @param costCenter the name of the {@link CostCenter}
+         * @param color the {@link Color} of the {@link CostCenter}, can be null
+         * @param value the value used
+         */
+        public CostCenterValue(String costCenter, Color color, BigDecimal value) {
+            this.costCenter = costCenter;
+            this.color = color != null ? color.toString() : null;
+            this.value = value;
+        }
+
+        /**
+         * @return the {@link Color} of the {@link CostCenter} or null if there is none
+         */
+        public Color asColor() {
+            return this.color != null ? Color.parse(this.color) : null;
+        }
+    }
+
+    /**
+     * The value used by one {@link MovementClass} of a {@link CostCenter}
+     */
+    @ToString
+    @EqualsAndHashCode
+    public static final class MovementClassValue implements Serializable {
+
+        @Getter
+        private Long id;
+        @Getter
+        private Long costCenterId;
+        @Getter
+        private String costCenter;
+        @Getter
+        private Long movementClassId;
+        @Getter
+        private String movementClass;
+        @Getter
+        private BigDecimal value;
+
+        /**
+         * Constructor used by the JSON deserialization
+         */
+        private MovementClassValue() { }
+
+        /**
+         * Constructor...
+         *
+         * @param id the key of this value inside the list
+         * @param costCenterId the id of the {@link CostCenter}
+         * @param costCenter the name of the {@link CostCenter}
+         * @param movementClassId the id of the {@link MovementClass}
+         * @param movementClass the name of the {@link MovementClass}
+         * @param value the value used
+         */
+        public MovementClassValue(Long id, Long costCenterId, String costCenter, Long movementClassId,
+                                  String movementClass, BigDecimal value) {
+            this.id = id;
+            this.costCenterId = costCenterId;
+            this.costCenter = costCenter;
+            this.movementClassId = movementClassId;
+            this.movementClass = movementClass;
+            this.value = value;
+        }
+    }
+}
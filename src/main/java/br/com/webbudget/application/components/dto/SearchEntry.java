@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.application.components.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+/**
+ * The values of an entity used to index it in the global search, filled by a constructor expression at the startup
+ * and from the entity itself when it changes
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 26/10/2019
+ */
+@ToString
+@EqualsAndHashCode(of = "id")
+public final class SearchEntry implements Serializable {
+
+    @Getter
+    private final Long id;
+    @Getter
+    private final String label;
+    @Getter
+    private final String detail;
+
+    /**
+     * Constructor...
+     *
+     * @param id the id of the entity
+     * @param label the main text of the entity, displayed as the result
+     * @param detail a secondary text also searched, like a code or a document, can be null
+     */
+    public SearchEntry(Long id, String label, String detail) {
+        this.id = id;
+        this.label = label;
+        this.detail = detail;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.application.components.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+/**
+ * A lightweight option to be used in the selects and autocompletes of the UI instead of the full entity
+ *
+ * This class is filled by constructor expressions at the repositories, so only the columns needed to render the option
+ * are read and nothing is kept managed or stored in the view state besides these few values
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 22/10/2019
+ */
+@ToString
+@EqualsAndHashCode(of = "id")
+public final class SelectOption implements Serializable {
+
+    @Getter
+    private final Long id;
+    @Getter
+    private final String label;
+    @Getter
+    private final String color;
+    @Getter
+    private final Long parentId;
+
+    /**
+     * Constructor...
+     *
+     * @param id the id of the entity
+     * @param label the text to display
+     */
+    public SelectOption(Long id, String label) {
+        this(id, label, (String) null, null);
+    }
+
+    /**
+     * Constructor for entities with a {@link Color}
+     *
+     * @param id the id of the entity
+     * @param label the text to display
+     * @param color the {@link Color} of the entity
+     */
+    public SelectOption(Long id, String label, Color color) {
+        this(id, label, color != null ? color.toString() : null, null);
+    }
+
+    /**
+     * Constructor for entities that are children of another one, like a class of a cost center
+     *
+     * @param id the id of the entity
+     * @param label the text to display
+     * @param parentId the id of the parent entity
+     */
+    public SelectOption(Long id, String label, Long parentId) {
+        this(id, label, (String) null, parentId);
+    }
+
+    /**
+     * Constructor...
+     *
+     * @param id the id of the entity
+     * @param label the text to display
+     * @param color the color in css format
+     * @param parentId the id of the parent entity
+     */
+    private SelectOption(Long id, String label, String color, Long parentId) {
+        this.id = id;
+        this.label = label;
+        this.color = color;
+        this.parentId = parentId;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.application.components.dto;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * A compact two level tree of {@link SelectOption}, like the cost centers and their movement classes
+ *
+ * The whole tree is loaded once per view, so the cascading selects only need to look at this map when the parent
+ * changes instead of going to the database again
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 22/10/2019
+ */
+public final class SelectOptionTree implements Serializable {
+
+    private final List<SelectOption> roots;
+    private final Map<Long, List<SelectOption>> children;
+
+    /**
+     * Constructor...
+     *
+     * @param roots the options of the first level
+     * @param children the options of the second level, grouped by the {@link SelectOption#getParentId()}
+     */
+    public SelectOptionTree(List<SelectOption> roots, List<SelectOption> children) {
+        this.roots = List.copyOf(roots);
+        this.children = children.stream()
+                .collect(Collectors.groupingBy(SelectOption::getParentId, HashMap::new, Collectors.toList()));
+    }
+
+    /**
+     * @return an empty tree
+     */
+    public static SelectOptionTree empty() {
+        return new SelectOptionTree(List.of(), List.of());
+    }
+
+    /**
+     * @return the options of the first level
+     */
+    public List<SelectOption> getRoots() {
+        return this.roots;
+    }
+
+    /**
+     * Get the children of a given option
+     *
+     * @param parent the parent option, can be null
+     * @return the {@link List} of children or an empty one if the parent is null or has no children
+     */
+    public List<SelectOption> getChildren(SelectOption parent) {
+        return parent == null ? List.of() : this.getChildren(parent.getId());
+    }
+
+    /**
+     * Get the children of a given option by his id
+     *
+     * @param parentId the id of the parent
+     * @return the {@link List} of children or an empty one if the parent has no children
+     */
+    public List<SelectOption> getChildren(Long parentId) {
+        return Collections.unmodifiableList(this.children.getOrDefault(parentId, List.of()));
+    }
+
+    /**
+     * Find an option of the first level by his id
+     *
+     * @param id the id of the option
+     * @return an {@link Optional} of the option
+     */
+    public Optional<SelectOption> findRoot(long id) {
+        return this.roots.stream()
+                .filter(option -> option.getId() == id)
+                .findFirst();
+    }
+
+    /**
+     * Find an option of the second level by his id
+     *
+     * @param id the id of the option
+     * @return an {@link Optional} of the option
+     */
+    public Optional<SelectOption> findChild(long id) {
+        return this.children.values().stream()
+                .flatMap(List::stream)
+                .filter(option -> option.getId() == id)
+                .findFirst();
+    }
+}
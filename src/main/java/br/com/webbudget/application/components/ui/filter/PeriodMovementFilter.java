@@ -16,12 +16,11 @@
  */
 package br.com.webbudget.application.components.ui.filter;
 
+import br.com.webbudget.application.components.dto.SelectOption;
 import br.com.webbudget.domain.entities.financial.PeriodMovement;
 import br.com.webbudget.domain.entities.financial.PeriodMovementState;
 import br.com.webbudget.domain.entities.financial.PeriodMovementType;
-import br.com.webbudget.domain.entities.registration.CostCenter;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
-import br.com.webbudget.domain.entities.registration.MovementClass;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -47,10 +46,10 @@ public final class PeriodMovementFilter extends BasicFilter {
 
     @Setter
     @Getter
-    private CostCenter costCenter;
+    private SelectOption costCenter;
     @Setter
     @Getter
-    private MovementClass movementClass;
+    private SelectOption movementClass;
     @Setter
     @Getter
     private PeriodMovementType periodMovementType;
@@ -59,7 +58,7 @@ public final class PeriodMovementFilter extends BasicFilter {
     private PeriodMovementState periodMovementState;
 
     @Setter
-    private List<FinancialPeriod> selectedFinancialPeriods;
+    private List<SelectOption> selectedFinancialPeriods;
 
     /**
      * Constructor...
@@ -98,7 +97,7 @@ public final class PeriodMovementFilter extends BasicFilter {
      *
      * @return a {@link List} with the selected {@link FinancialPeriod}
      */
-    public List<FinancialPeriod> getSelectedFinancialPeriods() {
+    public List<SelectOption> getSelectedFinancialPeriods() {
         return this.selectedFinancialPeriods == null ? List.of() : this.selectedFinancialPeriods;
     }
 
@@ -121,14 +120,13 @@ public final class PeriodMovementFilter extends BasicFilter {
     }
 
     /**
-     * Transform the selected {@link FinancialPeriod} into an array of {@link String} to be used on the query
+     * Transform the selected {@link FinancialPeriod} into a {@link List} of ids to be used on the query
      *
-     * @return the selected {@link FinancialPeriod} as {@link String} array
+     * @return the ids of the selected {@link FinancialPeriod}
      */
-    public String[] getSelectedFinancialPeriodsAsStringArray() {
-        return this.selectedFinancialPeriods.stream()
-                .map(FinancialPeriod::getIdentification)
-                .collect(Collectors.toList())
-                .toArray(String[]::new);
+    public List<Long> getSelectedFinancialPeriodIds() {
+        return this.getSelectedFinancialPeriods().stream()
+                .map(SelectOption::getId)
+                .collect(Collectors.toList());
     }
 }
\ No newline at end of file
@@ -16,7 +16,7 @@
  */
 package br.com.webbudget.application.components.ui.table;
 
-import br.com.webbudget.domain.entities.PersistentEntity;
+import br.com.webbudget.domain.entities.IPersistentEntity;
 import org.primefaces.model.SortMeta;
 import org.primefaces.model.SortOrder;
 
@@ -32,7 +32,7 @@ import java.util.List;
  * @version 1.0.0
  * @since 3.0.0, 20/03/2018
  */
-public interface LazyDataProvider<T extends PersistentEntity> {
+public interface LazyDataProvider<T extends IPersistentEntity<Long>> {
 
     /**
      * This is the simple method to retrieve data with lazy loading
@@ -16,7 +16,7 @@
  */
 package br.com.webbudget.application.components.ui.table;
 
-import br.com.webbudget.domain.entities.PersistentEntity;
+import br.com.webbudget.domain.entities.IPersistentEntity;
 import static com.google.common.base.Preconditions.checkNotNull;
 import java.util.List;
 import java.util.Map;
@@ -34,7 +34,7 @@ import org.primefaces.model.SortOrder;
  * @version 2.0.0
  * @since 2.1.0, 05/09/2015
  */
-public class LazyModel<T extends PersistentEntity> extends LazyDataModel<T> {
+public class LazyModel<T extends IPersistentEntity<Long>> extends LazyDataModel<T> {
 
     private final LazyDataProvider<T> provider;
     
@@ -16,7 +16,7 @@
  */
 package br.com.webbudget.application.components.ui.table;
 
-import br.com.webbudget.domain.entities.PersistentEntity;
+import br.com.webbudget.domain.entities.IPersistentEntity;
 import lombok.Getter;
 
 import java.util.Collections;
@@ -34,7 +34,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * @version 1.0.0
  * @since 2.1.0, 11/09/2015
  */
-public class Page<T extends PersistentEntity> {
+public class Page<T extends IPersistentEntity<Long>> {
 
     @Getter
     public final List<T> content;
@@ -57,7 +57,7 @@ public class Page<T extends PersistentEntity> {
      * 
      * @return the empty page
      */
-    public static <V extends PersistentEntity> Page<V> empty() {
+    public static <V extends IPersistentEntity<Long>> Page<V> empty() {
         return new Page<>(Collections.emptyList(), 0);
     }
     
@@ -69,7 +69,7 @@ public class Page<T extends PersistentEntity> {
      * @param totalPages the total count of pages
      * @return the page with the given content
      */
-    public static <V extends PersistentEntity> Page<V> of(List<V> content, int totalPages) {
+    public static <V extends IPersistentEntity<Long>> Page<V> of(List<V> content, int totalPages) {
         return new Page<>(content, totalPages);
     }
 }
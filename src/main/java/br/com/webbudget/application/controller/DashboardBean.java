@@ -24,18 +24,26 @@ import br.com.webbudget.domain.entities.financial.Closing;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
 import br.com.webbudget.domain.entities.registration.MovementClassType;
 import br.com.webbudget.domain.entities.view.OpenPeriodResume;
+import br.com.webbudget.infrastructure.cdi.RequestContextRunner;
 import lombok.Getter;
 
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
 import javax.faces.view.ViewScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Application dashboard controller
  *
+ * Each widget of the dashboard is loaded by its own task in the container executor, started when the view is built.
+ * The page then asks for each widget separately, so the first one ready is painted without waiting for the others
+ *
  * @author Arthur Gregorio
  *
- * @version 3.0.0
+ * @version 3.1.0
  * @since 1.0.0, 27/02/2014
  */
 @Named
@@ -43,44 +51,146 @@ import javax.inject.Named;
 public class DashboardBean extends AbstractBean {
 
     @Getter
-    private boolean loaded;
+    private boolean resumeLoaded;
+    @Getter
+    private boolean periodResultLoaded;
+    @Getter
+    private boolean revenuesLoaded;
+    @Getter
+    private boolean expensesLoaded;
 
     @Getter
     private OpenPeriodResume openPeriodResume;
 
+    private transient CompletableFuture<Void> resumeTask;
+    private transient CompletableFuture<Void> periodResultTask;
+    private transient CompletableFuture<Void> revenuesTask;
+    private transient CompletableFuture<Void> expensesTask;
+
+    @Resource
+    private transient ManagedExecutorService executorService;
+
+    @Inject
+    private transient RequestContextRunner requestContextRunner;
+
     @Inject
     private transient PeriodResumeCalculator periodResumeCalculator;
     @Inject
     private transient PeriodResultCalculator periodResultCalculator;
     @Inject
-    private transient CostCenterTotalCalculator costCenterTotalCalculator;
+    private transient CostCenterTotalCalculator revenuesCalculator;
+    @Inject
+    private transient CostCenterTotalCalculator expensesCalculator;
 
     /**
-     * Initialize dashboard with data
+     * Initialize dashboard starting the load of all the widgets at the same time
      */
     public void initialize() {
+        this.resumeTask = this.submit(this::loadResumeData);
+        this.periodResultTask = this.submit(this::loadPeriodResultData);
+        this.revenuesTask = this.submit(this::loadRevenuesData);
+        this.expensesTask = this.submit(this::loadExpensesData);
+    }
 
-        // load the data about the financial periods
-        this.periodResumeCalculator.load();
-
+    /**
+     * Deliver the quick status and the resume of the open {@link FinancialPeriod}
+     */
+    public void loadResume() {
+        this.await(this.resumeTask, this::loadResumeData);
         this.openPeriodResume = this.periodResumeCalculator.getOpenPeriodResume();
+        this.resumeLoaded = true;
+    }
 
-        // load the data about the result of closed periods
-        this.periodResultCalculator.load();
-
+    /**
+     * Deliver the chart with the result of the last closed {@link FinancialPeriod}
+     */
+    public void loadPeriodResult() {
+        this.await(this.periodResultTask, this::loadPeriodResultData);
         this.executeScript("drawLineChart(" + this.periodResultCalculator.toChartModel().toJson()
                 + ", 'periodResultChart')");
+        this.periodResultLoaded = true;
+    }
 
-        // load the data about the cost centers
-        this.costCenterTotalCalculator.load(MovementClassType.REVENUE);
-        this.executeScript("drawPieChart(" + this.costCenterTotalCalculator.toChartModel().toJson()
+    /**
+     * Deliver the chart with the revenues by cost center
+     */
+    public void loadRevenues() {
+        this.await(this.revenuesTask, this::loadRevenuesData);
+        this.executeScript("drawPieChart(" + this.revenuesCalculator.toChartModel().toJson()
                 + ", 'costCenterRevenuesChart')");
+        this.revenuesLoaded = true;
+    }
 
-        this.costCenterTotalCalculator.load(MovementClassType.EXPENSE);
-        this.executeScript("drawPieChart(" + this.costCenterTotalCalculator.toChartModel().toJson()
+    /**
+     * Deliver the chart with the expenses by cost center
+     */
+    public void loadExpenses() {
+        this.await(this.expensesTask, this::loadExpensesData);
+        this.executeScript("drawPieChart(" + this.expensesCalculator.toChartModel().toJson()
                 + ", 'costCenterExpensesChart')");
+        this.expensesLoaded = true;
+    }
 
-        this.loaded = true;
+    /**
+     * Load the data about the financial periods
+     */
+    private void loadResumeData() {
+        this.periodResumeCalculator.load();
+    }
+
+    /**
+     * Load the data about the result of closed periods
+     */
+    private void loadPeriodResultData() {
+        this.periodResultCalculator.load();
+    }
+
+    /**
+     * Load the data about the revenues by cost centers
+     */
+    private void loadRevenuesData() {
+        this.revenuesCalculator.load(MovementClassType.REVENUE);
+    }
+
+    /**
+     * Load the data about the expenses by cost centers
+     */
+    private void loadExpensesData() {
+        this.expensesCalculator.load(MovementClassType.EXPENSE);
+    }
+
+    /**
+     * Submit a load task to the container executor, inside a request context of its own
+     *
+     * @param task the task to be executed
+     * @return the {@link CompletableFuture} of the task
+     */
+    private CompletableFuture<Void> submit(Runnable task) {
+        return CompletableFuture.runAsync(() -> this.requestContextRunner.run(task), this.executorService);
+    }
+
+    /**
+     * Wait for a load task started by the {@link #initialize()}
+     *
+     * If the task is not present, because the view was restored without the initialization, the load is done in the
+     * current request
+     *
+     * @param task the task to wait for
+     * @param fallback the load to be done if there is no task
+     */
+    private void await(CompletableFuture<Void> task, Runnable fallback) {
+        if (task == null) {
+            fallback.run();
+            return;
+        }
+        try {
+            task.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
     }
 
     /**
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.application.controller;
+
+import br.com.webbudget.application.components.ui.NavigationManager;
+import br.com.webbudget.application.components.ui.ViewState;
+import br.com.webbudget.infrastructure.search.SearchIndex;
+import br.com.webbudget.infrastructure.search.SearchResult;
+import br.com.webbudget.infrastructure.search.SearchType;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.enterprise.context.RequestScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static br.com.webbudget.application.components.ui.NavigationManager.Parameter.of;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * The controller of the global search box at the top of the pages, only the entities the user is allowed to detail are
+ * found
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 26/10/2019
+ */
+@Named
+@RequestScoped
+public class SearchBean {
+
+    private static final int MAX_RESULTS = 10;
+
+    @Getter
+    @Setter
+    private String selected;
+
+    @Inject
+    private SearchIndex searchIndex;
+    @Inject
+    private UserSessionBean userSessionBean;
+
+    /**
+     * Search the entities matching the text typed by the user
+     *
+     * @param query the text typed by the user
+     * @return the {@link List} of {@link SearchResult} found
+     */
+    public List<SearchResult> complete(String query) {
+        return this.searchIndex.search(query, this.allowedTypes(), MAX_RESULTS);
+    }
+
+    /**
+     * Go to the detail page of the selected result
+     */
+    public void onSelect() {
+
+        if (isBlank(this.selected) || this.selected.indexOf(':') < 0) {
+            return;
+        }
+
+        final String[] parts = this.selected.split(":", 2);
+
+        final SearchType type = SearchType.valueOf(parts[0]);
+        final long id = Long.parseLong(parts[1]);
+
+        if (!this.userSessionBean.isPermitted(type.getPermission())) {
+            return;
+        }
+
+        NavigationManager.redirect(type.getDetailPage(), of("id", id), of("viewState", ViewState.DETAILING));
+    }
+
+    /**
+     * @return the {@link SearchType} the current user has the permission to detail
+     */
+    private Set<SearchType> allowedTypes() {
+        return Arrays.stream(SearchType.values())
+                .filter(type -> this.userSessionBean.isPermitted(type.getPermission()))
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(SearchType.class)));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.application.controller.configuration;
+
+import br.com.webbudget.application.components.ui.AbstractBean;
+import br.com.webbudget.domain.entities.Revision;
+import br.com.webbudget.domain.entities.configuration.AuditPartition;
+import br.com.webbudget.domain.entities.configuration.AuditPartitionState;
+import br.com.webbudget.domain.repositories.configuration.AuditPartitionRepository;
+import br.com.webbudget.domain.repositories.configuration.RevisionRepository;
+import lombok.Getter;
+
+import javax.faces.view.ViewScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Controller used to browse the audit revisions and the archived audit partitions
+ *
+ * The revisions are paged by the id, the id where each visited page started is kept to go back
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@Named
+@ViewScoped
+public class AuditBean extends AbstractBean {
+
+    private static final int PAGE_SIZE = 50;
+
+    private long cursor;
+    private final Deque<Long> previousCursors;
+
+    @Getter
+    private boolean lastPage;
+    @Getter
+    private List<Revision> revisions;
+    @Getter
+    private List<AuditPartition> archivedPartitions;
+
+    @Inject
+    private RevisionRepository revisionRepository;
+    @Inject
+    private AuditPartitionRepository auditPartitionRepository;
+
+    /**
+     * Constructor...
+     */
+    public AuditBean() {
+        this.previousCursors = new ArrayDeque<>();
+    }
+
+    /**
+     * Initialize the page with the most recent revisions and the archived partitions
+     */
+    public void initialize() {
+
+        this.cursor = Long.MAX_VALUE;
+        this.previousCursors.clear();
+
+        this.loadRevisions();
+
+        this.archivedPartitions = this.auditPartitionRepository.findLatestByState(AuditPartitionState.ARCHIVED);
+    }
+
+    /**
+     * Go to the page of the older revisions
+     */
+    public void nextPage() {
+        if (!this.lastPage && !this.revisions.isEmpty()) {
+            this.previousCursors.push(this.cursor);
+            this.cursor = this.revisions.get(this.revisions.size() - 1).getId();
+            this.loadRevisions();
+            this.updateComponent("revisionsBox");
+        }
+    }
+
+    /**
+     * Go back to the page of the newer revisions
+     */
+    public void previousPage() {
+        if (!this.previousCursors.isEmpty()) {
+            this.cursor = this.previousCursors.pop();
+            this.loadRevisions();
+            this.updateComponent("revisionsBox");
+        }
+    }
+
+    /**
+     * @return true if the current page is the one with the most recent revisions
+     */
+    public boolean isFirstPage() {
+        return this.previousCursors.isEmpty();
+    }
+
+    /**
+     * Load the page starting after the current cursor, one revision more than the page size is read to know if there
+     * is a next page
+     */
+    private void loadRevisions() {
+
+        final List<Revision> found = this.revisionRepository.findOlderThan(this.cursor, PAGE_SIZE + 1);
+
+        this.lastPage = found.size() <= PAGE_SIZE;
+
+        this.revisions = found.stream()
+                .limit(PAGE_SIZE)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.application.controller.configuration;
+
+import br.com.webbudget.application.components.dto.BackupReport;
+import br.com.webbudget.application.components.ui.AbstractBean;
+import br.com.webbudget.domain.services.BackupService;
+import lombok.Getter;
+import org.omnifaces.util.Faces;
+import org.primefaces.event.FileUploadEvent;
+
+import javax.faces.view.ViewScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Controller used to download and restore the backups of the application
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 20/10/2019
+ */
+@Named
+@ViewScoped
+public class BackupBean extends AbstractBean {
+
+    @Getter
+    private BackupReport report;
+
+    @Inject
+    private BackupService backupService;
+
+    /**
+     * Stream the backup of the application to the user
+     *
+     * @throws IOException if any problem occur while writing the file
+     */
+    public void download() throws IOException {
+        final String date = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmm"));
+        Faces.sendFile("webbudget-" + date + ".ndjson.gz", true,
+                this.backupService::backup);
+    }
+
+    /**
+     * Listener for the upload of a backup file, restore it right after the upload
+     *
+     * @param event the {@link FileUploadEvent} with the uploaded file
+     * @throws IOException if any problem occur while reading the file
+     */
+    public void restore(FileUploadEvent event) throws IOException {
+        try (final InputStream inputStream = event.getFile().getInputstream()) {
+            this.report = this.backupService.restore(inputStream);
+        }
+        this.addInfo(true, "info.backup.restored", this.report.getTotalRows());
+        this.updateComponent("reportBox");
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.application.controller.configuration;
+
+import br.com.webbudget.application.components.dto.JobStatus;
+import br.com.webbudget.application.components.ui.AbstractBean;
+import br.com.webbudget.domain.entities.configuration.JobExecution;
+import br.com.webbudget.domain.entities.configuration.JobLease;
+import br.com.webbudget.domain.repositories.configuration.JobExecutionRepository;
+import br.com.webbudget.domain.repositories.configuration.JobLeaseRepository;
+import br.com.webbudget.domain.schedules.JobRegistry;
+import br.com.webbudget.domain.schedules.JobScheduler;
+import lombok.Getter;
+
+import javax.faces.view.ViewScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Controller used to follow and run the scheduled jobs
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@Named
+@ViewScoped
+public class JobBean extends AbstractBean {
+
+    @Getter
+    private List<JobStatus> jobs;
+    @Getter
+    private List<JobExecution> executions;
+
+    @Inject
+    private JobRegistry jobRegistry;
+    @Inject
+    private JobScheduler jobScheduler;
+
+    @Inject
+    private JobLeaseRepository jobLeaseRepository;
+    @Inject
+    private JobExecutionRepository jobExecutionRepository;
+
+    /**
+     * Initialize the page with the status and the history of the jobs
+     */
+    public void initialize() {
+
+        final Map<String, JobLease> leases = this.jobLeaseRepository.findAllOrdered()
+                .stream()
+                .collect(Collectors.toMap(JobLease::getJobName, Function.identity()));
+
+        final Map<String, JobExecution> lastExecutions = this.jobExecutionRepository.findLastOfEachJob()
+                .stream()
+                .collect(Collectors.toMap(JobExecution::getJobName, Function.identity(), (first, second) -> first));
+
+        this.jobs = this.jobRegistry.getJobs()
+                .stream()
+                .map(job -> new JobStatus(job.getName(), this.jobScheduler.getNextRun(job.getName()).orElse(null),
+                        leases.get(job.getName()), lastExecutions.get(job.getName())))
+                .collect(Collectors.toList());
+
+        this.executions = this.jobExecutionRepository.findLatest();
+    }
+
+    /**
+     * Send a job to run in background, it only runs if no other node is running it
+     *
+     * @param jobName the name of the job
+     */
+    public void runNow(String jobName) {
+        this.jobRegistry.submit(jobName);
+        this.addInfo(true, "info.job.submitted", this.translate("job." + jobName));
+    }
+
+    /**
+     * Reload the status and the history of the jobs
+     */
+    public void refresh() {
+        this.initialize();
+        this.updateComponent("jobsBox");
+    }
+}
@@ -16,6 +16,10 @@
  */
 package br.com.webbudget.application.controller.financial;
 
+import br.com.webbudget.application.components.dto.ContactOption;
+import br.com.webbudget.application.components.dto.LaunchRow;
+import br.com.webbudget.application.components.dto.SelectOption;
+import br.com.webbudget.application.components.dto.SelectOptionTree;
 import br.com.webbudget.application.components.ui.FormBean;
 import br.com.webbudget.application.components.ui.ViewState;
 import br.com.webbudget.application.components.ui.filter.FixedMovementFilter;
@@ -26,7 +30,6 @@ import br.com.webbudget.application.validator.apportionment.ApportionmentValidat
 import br.com.webbudget.domain.entities.financial.Apportionment;
 import br.com.webbudget.domain.entities.financial.FixedMovement;
 import br.com.webbudget.domain.entities.financial.FixedMovementState;
-import br.com.webbudget.domain.entities.financial.Launch;
 import br.com.webbudget.domain.entities.registration.Contact;
 import br.com.webbudget.domain.entities.registration.CostCenter;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
@@ -51,6 +54,8 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static br.com.webbudget.application.components.ui.NavigationManager.PageType.*;
 import static br.com.webbudget.application.components.ui.NavigationManager.Parameter.of;
@@ -76,7 +81,16 @@ public class FixedMovementBean extends FormBean<FixedMovement> implements LazyDa
     private Apportionment apportionment;
     @Getter
     @Setter
-    private FinancialPeriod selectedFinancialPeriod;
+    private SelectOption apportionmentCostCenter;
+    @Getter
+    @Setter
+    private SelectOption apportionmentMovementClass;
+    @Getter
+    @Setter
+    private SelectOption selectedFinancialPeriod;
+    @Getter
+    @Setter
+    private ContactOption selectedContact;
 
     @Getter
     @Setter
@@ -88,15 +102,13 @@ public class FixedMovementBean extends FormBean<FixedMovement> implements LazyDa
     private LazyDataModel<FixedMovement> dataModel;
 
     @Getter
-    private List<Launch> launches;
+    private List<LaunchRow> launches;
     @Getter
-    private List<Contact> contacts;
+    private List<ContactOption> contacts;
     @Getter
-    private List<CostCenter> costCenters;
+    private List<SelectOption> movementClasses;
     @Getter
-    private List<MovementClass> movementClasses;
-    @Getter
-    private List<FinancialPeriod> openFinancialPeriods;
+    private List<SelectOption> openFinancialPeriods;
 
     @Inject
     private FixedMovementService fixedMovementService;
@@ -118,12 +130,15 @@ public class FixedMovementBean extends FormBean<FixedMovement> implements LazyDa
     @Inject
     private Instance<ApportionmentValidator> apportionmentValidators;
 
+    private SelectOptionTree costCenterTree;
+
     /**
      * Constructor...
      */
     public FixedMovementBean() {
         this.filter = new FixedMovementFilter();
         this.dataModel = new LazyModel<>(this);
+        this.costCenterTree = SelectOptionTree.empty();
     }
 
     /**
@@ -133,7 +148,7 @@ public class FixedMovementBean extends FormBean<FixedMovement> implements LazyDa
     public void initialize() {
         super.initialize();
         this.selectedFixedMovements = new ArrayList<>();
-        this.openFinancialPeriods = this.financialPeriodRepository.findByClosedOrderByIdentificationAsc(false);
+        this.openFinancialPeriods = this.financialPeriodRepository.findOptionsByClosed(false);
     }
 
     /**
@@ -146,11 +161,15 @@ public class FixedMovementBean extends FormBean<FixedMovement> implements LazyDa
     public void initialize(long id, ViewState viewState) {
         this.viewState = viewState;
 
-        this.costCenters = this.costCenterRepository.findAllActive();
+        if (viewState.isEditable()) {
+            this.costCenterTree = new SelectOptionTree(this.costCenterRepository.findActiveOptions(),
+                    this.movementClassRepository.findActiveOptions());
+        }
+
         this.value = this.fixedMovementRepository.findById(id).orElseGet(FixedMovement::new);
 
         if (viewState.isDetailing()) {
-            this.launches = this.launchRepository.findByFixedMovement(this.value);
+            this.launches = this.launchRepository.findRowsByFixedMovement(this.value);
         }
     }
 
@@ -181,11 +200,16 @@ public class FixedMovementBean extends FormBean<FixedMovement> implements LazyDa
         final Page<FixedMovement> page = this.fixedMovementRepository.findAllBy(this.filter, first, pageSize);
 
         // check to see if the fixed movement is already launched at the current active period
-        page.getContent()
+        final List<FixedMovement> actives = page.getContent()
                 .stream()
                 .filter(FixedMovement::isActive)
-                .forEach(fixedMovement -> fixedMovement.setAlreadyLaunched(
-                        this.launchRepository.countByFixedMovementAtCurrentFinancialPeriod(fixedMovement) > 0));
+                .collect(Collectors.toList());
+
+        if (!actives.isEmpty()) {
+            final List<Long> launched = this.launchRepository.findLaunchedAtCurrentFinancialPeriod(actives);
+            actives.forEach(fixedMovement -> fixedMovement.setAlreadyLaunched(
+                    launched.contains(fixedMovement.getId())));
+        }
 
         return page;
     }
@@ -225,9 +249,14 @@ public class FixedMovementBean extends FormBean<FixedMovement> implements LazyDa
      * Execute the launching of the {@link FixedMovement}
      */
     public void doLaunch() {
-        this.fixedMovementService.launch(this.selectedFixedMovements, this.selectedFinancialPeriod);
+
+        final FinancialPeriod financialPeriod = Optional.ofNullable(this.selectedFinancialPeriod)
+                .flatMap(option -> this.financialPeriodRepository.findById(option.getId()))
+                .orElseThrow(() -> new BusinessLogicException("error.financial-period.not-found"));
+
+        this.fixedMovementService.launch(this.selectedFixedMovements, financialPeriod);
         this.closeDialog("dialogPeriodSelect");
-        this.addInfo(false, "fixed-movement.launch", this.selectedFinancialPeriod.getIdentification());
+        this.addInfo(false, "fixed-movement.launch", financialPeriod.getIdentification());
         this.updateComponent("messages");
         this.updateComponent("itemsList");
     }
@@ -271,6 +300,7 @@ public class FixedMovementBean extends FormBean<FixedMovement> implements LazyDa
      */
     public void showSearchContactDialog() {
         this.contactFilter = null;
+        this.selectedContact = null;
         this.contacts = new ArrayList<>();
         this.updateAndOpenDialog("searchContactDialog", "dialogSearchContact");
     }
@@ -279,13 +309,14 @@ public class FixedMovementBean extends FormBean<FixedMovement> implements LazyDa
      * Find the {@link Contact} by the given filter
      */
     public void searchContacts() {
-        this.contacts = this.contactRepository.findAllBy(this.contactFilter, true);
+        this.contacts = this.contactRepository.findOptionsBy(this.contactFilter);
     }
 
     /**
      * On the selection is made, call this method to close the dialog and update de UI
      */
     public void onContactSelect() {
+        this.value.setContact(this.contactRepository.findBy(this.selectedContact.getId()));
         this.updateComponent("contactBox");
         this.closeDialog("dialogSearchContact");
     }
@@ -303,6 +334,9 @@ public class FixedMovementBean extends FormBean<FixedMovement> implements LazyDa
      */
     public void showApportionmentDialog() {
         this.apportionment = new Apportionment(this.value.calculateRemainingTotal());
+        this.apportionmentCostCenter = null;
+        this.apportionmentMovementClass = null;
+        this.movementClasses = List.of();
         this.updateAndOpenDialog("apportionmentDialog", "dialogApportionment");
     }
 
@@ -310,6 +344,17 @@ public class FixedMovementBean extends FormBean<FixedMovement> implements LazyDa
      * Add the {@link Apportionment} to the {@link FixedMovement}
      */
     public void addApportionment() {
+
+        if (this.apportionmentCostCenter == null) {
+            throw new BusinessLogicException("error.apportionment.no-cost-center");
+        } else if (this.apportionmentMovementClass == null) {
+            throw new BusinessLogicException("error.apportionment.no-movement-class");
+        }
+
+        this.apportionment.setCostCenter(this.costCenterRepository.findBy(this.apportionmentCostCenter.getId()));
+        this.apportionment.setMovementClass(this.movementClassRepository
+                .findBy(this.apportionmentMovementClass.getId()));
+
         this.apportionmentValidators.forEach(validator -> validator.validate(this.apportionment, this.value));
         this.value.add(this.apportionment);
         this.updateComponent("inValue");
@@ -321,8 +366,17 @@ public class FixedMovementBean extends FormBean<FixedMovement> implements LazyDa
      * Event to find {@link MovementClass} filtering by the selected {@link CostCenter}
      */
     public void onCostCenterSelect() {
-        this.movementClasses = this.movementClassRepository
-                .findByActiveAndCostCenterOrderByNameAsc(true, this.apportionment.getCostCenter());
+        this.apportionmentMovementClass = null;
+        this.movementClasses = this.costCenterTree.getChildren(this.apportionmentCostCenter);
+    }
+
+    /**
+     * The {@link CostCenter} options, the first level of the tree loaded for this view
+     *
+     * @return a {@link List} of {@link SelectOption}
+     */
+    public List<SelectOption> getCostCenters() {
+        return this.costCenterTree.getRoots();
     }
 
     /**
@@ -16,7 +16,11 @@
  */
 package br.com.webbudget.application.controller.financial;
 
+import br.com.webbudget.application.components.dto.ContactOption;
 import br.com.webbudget.application.components.dto.PeriodMovementResume;
+import br.com.webbudget.application.components.dto.PeriodMovementRow;
+import br.com.webbudget.application.components.dto.SelectOption;
+import br.com.webbudget.application.components.dto.SelectOptionTree;
 import br.com.webbudget.application.components.ui.FormBean;
 import br.com.webbudget.application.components.ui.NavigationManager;
 import br.com.webbudget.application.components.ui.ViewState;
@@ -31,14 +35,18 @@ import br.com.webbudget.domain.entities.registration.Contact;
 import br.com.webbudget.domain.entities.registration.CostCenter;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
 import br.com.webbudget.domain.entities.registration.MovementClass;
+import br.com.webbudget.domain.exceptions.BusinessLogicException;
 import br.com.webbudget.domain.repositories.financial.PeriodMovementRepository;
 import br.com.webbudget.domain.repositories.registration.ContactRepository;
 import br.com.webbudget.domain.repositories.registration.CostCenterRepository;
 import br.com.webbudget.domain.repositories.registration.FinancialPeriodRepository;
 import br.com.webbudget.domain.repositories.registration.MovementClassRepository;
+import br.com.webbudget.domain.services.PeriodMovementExportService;
 import br.com.webbudget.domain.services.PeriodMovementService;
+import br.com.webbudget.infrastructure.export.ExportFormat;
 import lombok.Getter;
 import lombok.Setter;
+import org.omnifaces.util.Faces;
 import org.primefaces.model.LazyDataModel;
 import org.primefaces.model.SortOrder;
 
@@ -47,11 +55,11 @@ import javax.enterprise.inject.Instance;
 import javax.faces.view.ViewScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static br.com.webbudget.application.components.ui.NavigationManager.PageType.*;
 import static br.com.webbudget.application.components.ui.NavigationManager.Parameter.of;
@@ -66,7 +74,7 @@ import static br.com.webbudget.application.components.ui.NavigationManager.Param
  */
 @Named
 @ViewScoped
-public class PeriodMovementBean extends FormBean<PeriodMovement> implements LazyDataProvider<PeriodMovement> {
+public class PeriodMovementBean extends FormBean<PeriodMovement> implements LazyDataProvider<PeriodMovementRow> {
 
     @Getter
     @Setter
@@ -75,11 +83,17 @@ public class PeriodMovementBean extends FormBean<PeriodMovement> implements Lazy
     @Getter
     @Setter
     private Apportionment apportionment;
+    @Getter
+    @Setter
+    private SelectOption apportionmentCostCenter;
+    @Getter
+    @Setter
+    private SelectOption apportionmentMovementClass;
 
     @Getter
     private PeriodMovementFilter filter;
     @Getter
-    private LazyDataModel<PeriodMovement> dataModel;
+    private LazyDataModel<PeriodMovementRow> dataModel;
 
     @Getter
     private PeriodMovementResume periodMovementResume;
@@ -88,11 +102,17 @@ public class PeriodMovementBean extends FormBean<PeriodMovement> implements Lazy
     private FinancialPeriod currentPeriod;
 
     @Getter
-    private List<Contact> contacts;
+    @Setter
+    private ContactOption selectedContact;
+    @Getter
+    private List<ContactOption> contacts;
+
+    private SelectOptionTree costCenterTree;
+
     @Getter
-    private List<CostCenter> costCenters;
+    private List<SelectOption> movementClasses;
     @Getter
-    private List<MovementClass> movementClasses;
+    private List<SelectOption> financialPeriodOptions;
     @Getter
     private List<FinancialPeriod> financialPeriods;
 
@@ -109,6 +129,8 @@ public class PeriodMovementBean extends FormBean<PeriodMovement> implements Lazy
 
     @Inject
     private PeriodMovementService periodMovementService;
+    @Inject
+    private PeriodMovementExportService periodMovementExportService;
 
     @Any
     @Inject
@@ -122,6 +144,7 @@ public class PeriodMovementBean extends FormBean<PeriodMovement> implements Lazy
         this.filter = new PeriodMovementFilter();
         this.dataModel = new LazyModel<>(this);
         this.periodMovementResume = new PeriodMovementResume();
+        this.costCenterTree = SelectOptionTree.empty();
     }
 
     /**
@@ -131,11 +154,11 @@ public class PeriodMovementBean extends FormBean<PeriodMovement> implements Lazy
     public void initialize() {
         super.initialize();
 
-        this.costCenters = this.costCenterRepository.findAll();
-        this.financialPeriods = this.financialPeriodRepository.findAll();
+        this.costCenterTree = new SelectOptionTree(this.costCenterRepository.findAllOptions(),
+                this.movementClassRepository.findAllOptions());
+        this.financialPeriodOptions = this.financialPeriodRepository.findAllOptions();
 
-        this.filter.setSelectedFinancialPeriods(this.financialPeriodRepository
-                .findByClosedOrderByIdentificationAsc(false));
+        this.filter.setSelectedFinancialPeriods(this.financialPeriodRepository.findOptionsByClosed(false));
     }
 
     /**
@@ -150,15 +173,16 @@ public class PeriodMovementBean extends FormBean<PeriodMovement> implements Lazy
         this.initialize();
 
         // apply filters
-        this.financialPeriodRepository.findById(periodId)
+        this.financialPeriodOptions.stream()
+                .filter(period -> period.getId() == periodId)
+                .findFirst()
                 .ifPresent(period -> this.filter.setSelectedFinancialPeriods(List.of(period)));
-        this.costCenterRepository.findById(costCenterId)
+        this.costCenterTree.findRoot(costCenterId)
                 .ifPresent(costCenter -> this.filter.setCostCenter(costCenter));
 
         if (movementClassId != 0) {
-            this.movementClasses = this.movementClassRepository
-                    .findByCostCenterOrderByNameAsc(this.filter.getCostCenter());
-            this.movementClassRepository.findById(movementClassId)
+            this.movementClasses = this.costCenterTree.getChildren(this.filter.getCostCenter());
+            this.costCenterTree.findChild(movementClassId)
                     .ifPresent(movementClass -> this.filter.setMovementClass(movementClass));
         }
 
@@ -174,19 +198,23 @@ public class PeriodMovementBean extends FormBean<PeriodMovement> implements Lazy
     public void initialize(long id, ViewState viewState) {
         this.viewState = viewState;
 
+        this.value = this.periodMovementRepository.findById(id).orElseGet(PeriodMovement::new);
+
         if (viewState.isEditable()) {
-            this.costCenters = this.costCenterRepository.findAllActive();
+            this.costCenterTree = new SelectOptionTree(this.costCenterRepository.findActiveOptions(),
+                    this.movementClassRepository.findActiveOptions());
             this.financialPeriods = this.financialPeriodRepository.findByClosedOrderByIdentificationAsc(false);
+        } else if (this.value.getFinancialPeriod() != null) {
+            // the detail only shows the period of the movement, no need to keep all of them in the view
+            this.financialPeriods = List.of(this.value.getFinancialPeriod());
         } else {
-            this.financialPeriods = this.financialPeriodRepository.findAll();
+            this.financialPeriods = List.of();
         }
 
         this.currentPeriod = this.financialPeriods.stream()
                 .filter(FinancialPeriod::isCurrent)
                 .findFirst()
                 .orElse(null);
-
-        this.value = this.periodMovementRepository.findById(id).orElseGet(PeriodMovement::new);
     }
 
     /**
@@ -211,9 +239,9 @@ public class PeriodMovementBean extends FormBean<PeriodMovement> implements Lazy
      * @return
      */
     @Override
-    public Page<PeriodMovement> load(int first, int pageSize, String sortField, SortOrder sortOrder) {
+    public Page<PeriodMovementRow> load(int first, int pageSize, String sortField, SortOrder sortOrder) {
         this.loadResume();
-        return this.periodMovementRepository.findAllBy(this.filter, first, pageSize);
+        return this.periodMovementRepository.findRowsBy(this.filter, first, pageSize);
     }
 
     /**
@@ -221,9 +249,7 @@ public class PeriodMovementBean extends FormBean<PeriodMovement> implements Lazy
      */
     public void loadResume() {
 
-        final List<Long> periods = this.filter.getSelectedFinancialPeriods().stream()
-                .map(FinancialPeriod::getId)
-                .collect(Collectors.toList());
+        final List<Long> periods = this.filter.getSelectedFinancialPeriodIds();
 
         final BigDecimal totalOpen;
         final BigDecimal totalPaidReceived;
@@ -245,6 +271,18 @@ public class PeriodMovementBean extends FormBean<PeriodMovement> implements Lazy
         this.periodMovementResume.update(totalPaidReceived, totalOpen, totalRevenues, totalExpenses);
     }
 
+    /**
+     * Export all the {@link PeriodMovement} found with the current filter. The file is streamed directly to the
+     * response, so the download starts while the rows are still being read
+     *
+     * @param format the {@link ExportFormat} of the file
+     * @throws IOException if any problem occur while writing the file
+     */
+    public void export(ExportFormat format) throws IOException {
+        Faces.sendFile(format.toFileName("movements"), true,
+                output -> this.periodMovementExportService.export(this.filter, format, output));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -330,6 +368,7 @@ public class PeriodMovementBean extends FormBean<PeriodMovement> implements Lazy
      */
     public void showSearchContactDialog() {
         this.contactFilter = null;
+        this.selectedContact = null;
         this.contacts = new ArrayList<>();
         this.updateAndOpenDialog("searchContactDialog", "dialogSearchContact");
     }
@@ -338,13 +377,14 @@ public class PeriodMovementBean extends FormBean<PeriodMovement> implements Lazy
      * Find the {@link Contact} by the given filter
      */
     public void searchContacts() {
-        this.contacts = this.contactRepository.findAllBy(this.contactFilter, true);
+        this.contacts = this.contactRepository.findOptionsBy(this.contactFilter);
     }
 
     /**
      * On the selection is made, call this method to close the dialog and update de UI
      */
     public void onContactSelect() {
+        this.value.setContact(this.contactRepository.findBy(this.selectedContact.getId()));
         this.updateComponent("contactBox");
         this.closeDialog("dialogSearchContact");
     }
@@ -362,6 +402,9 @@ public class PeriodMovementBean extends FormBean<PeriodMovement> implements Lazy
      */
     public void showApportionmentDialog() {
         this.apportionment = new Apportionment(this.value.calculateRemainingTotal());
+        this.apportionmentCostCenter = null;
+        this.apportionmentMovementClass = null;
+        this.movementClasses = List.of();
         this.updateAndOpenDialog("apportionmentDialog", "dialogApportionment");
     }
 
@@ -371,6 +414,17 @@ public class PeriodMovementBean extends FormBean<PeriodMovement> implements Lazy
      * FIXME remove this dup code
      */
     public void addApportionment() {
+
+        if (this.apportionmentCostCenter == null) {
+            throw new BusinessLogicException("error.apportionment.no-cost-center");
+        } else if (this.apportionmentMovementClass == null) {
+            throw new BusinessLogicException("error.apportionment.no-movement-class");
+        }
+
+        this.apportionment.setCostCenter(this.costCenterRepository.findBy(this.apportionmentCostCenter.getId()));
+        this.apportionment.setMovementClass(this.movementClassRepository
+                .findBy(this.apportionmentMovementClass.getId()));
+
         this.apportionmentValidators.forEach(validator -> validator.validate(this.apportionment, this.value));
         this.value.add(this.apportionment);
         this.updateComponent("inValue");
@@ -382,26 +436,25 @@ public class PeriodMovementBean extends FormBean<PeriodMovement> implements Lazy
      * Event to find {@link MovementClass} filtering by the selected {@link CostCenter}. Used on the form UI
      */
     public void onCostCenterSelectAtForm() {
-        this.movementClasses = this.movementClassRepository
-                .findByActiveAndCostCenterOrderByNameAsc(true, this.apportionment.getCostCenter());
+        this.apportionmentMovementClass = null;
+        this.movementClasses = this.costCenterTree.getChildren(this.apportionmentCostCenter);
     }
 
     /**
      * Event to find {@link MovementClass} filtering by the selected {@link CostCenter}. Used on the listing UI
      */
     public void onCostCenterSelectedAtListing() {
-        this.movementClasses = this.movementClassRepository
-                .findByActiveAndCostCenterOrderByNameAsc(true, this.filter.getCostCenter());
+        this.movementClasses = this.costCenterTree.getChildren(this.filter.getCostCenter());
     }
 
     /**
      * Autocomplete method used by the auto complete input on the filters area
      *
      * @param query text to search for the financial period
-     * @return a {@link List} with the {@link FinancialPeriod} found
+     * @return a {@link List} with the {@link SelectOption} of the {@link FinancialPeriod} found
      */
-    public List<FinancialPeriod> completeFinancialPeriod(String query) {
-        return this.financialPeriodRepository.findByIdentificationLikeIgnoreCaseOrderByCreatedOnDesc(query + "%");
+    public List<SelectOption> completeFinancialPeriod(String query) {
+        return this.financialPeriodRepository.findOptionsByIdentification(query + "%");
     }
 
     /**
@@ -409,11 +462,19 @@ public class PeriodMovementBean extends FormBean<PeriodMovement> implements Lazy
      */
     public void clearFilters() {
         this.filter.clear();
-        this.filter.setSelectedFinancialPeriods(this.financialPeriodRepository
-                .findByClosedOrderByIdentificationAsc(false));
+        this.filter.setSelectedFinancialPeriods(this.financialPeriodRepository.findOptionsByClosed(false));
         this.updateComponent("periodMovementGrid");
     }
 
+    /**
+     * The {@link CostCenter} options, the first level of the tree loaded for this view
+     *
+     * @return a {@link List} of {@link SelectOption}
+     */
+    public List<SelectOption> getCostCenters() {
+        return this.costCenterTree.getRoots();
+    }
+
     /**
      * Get the current {@link FinancialPeriod} start date in string format
      *
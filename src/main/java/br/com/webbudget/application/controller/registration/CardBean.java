@@ -23,6 +23,7 @@ import br.com.webbudget.domain.entities.registration.Card;
 import br.com.webbudget.domain.entities.registration.CardType;
 import br.com.webbudget.domain.entities.registration.Wallet;
 import br.com.webbudget.domain.events.CardCreated;
+import br.com.webbudget.domain.logics.LogicChainRegistry;
 import br.com.webbudget.domain.logics.registration.card.CardDeletingLogic;
 import br.com.webbudget.domain.logics.registration.card.CardSavingLogic;
 import br.com.webbudget.domain.logics.registration.card.CardUpdatingLogic;
@@ -32,8 +33,6 @@ import lombok.Getter;
 import org.primefaces.model.SortOrder;
 
 import javax.enterprise.event.Event;
-import javax.enterprise.inject.Any;
-import javax.enterprise.inject.Instance;
 import javax.faces.view.ViewScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -58,6 +57,9 @@ public class CardBean extends LazyFormBean<Card> {
     @Getter
     private List<Wallet> wallets;
 
+    @Inject
+    private LogicChainRegistry logicChainRegistry;
+
     @Inject
     private CardRepository cardRepository;
     @Inject
@@ -67,16 +69,6 @@ public class CardBean extends LazyFormBean<Card> {
     @CardCreated
     private Event<Card> cardCreatedEvent;
 
-    @Any
-    @Inject
-    private Instance<CardSavingLogic> savingLogics;
-    @Any
-    @Inject
-    private Instance<CardUpdatingLogic> updatingLogics;
-    @Any
-    @Inject
-    private Instance<CardDeletingLogic> deletingLogics;
-
     /**
      * {@inheritDoc}
      *
@@ -122,7 +114,7 @@ public class CardBean extends LazyFormBean<Card> {
     @Override
     @Transactional
     public void doSave() {
-        this.savingLogics.forEach(logic -> logic.run(this.value));
+        this.logicChainRegistry.run(CardSavingLogic.class, this.value);
         this.cardCreatedEvent.fire(this.cardRepository.save(this.value));
         this.value = new Card();
         this.addInfo(true, "saved");
@@ -134,7 +126,7 @@ public class CardBean extends LazyFormBean<Card> {
     @Override
     @Transactional
     public void doUpdate() {
-        this.updatingLogics.forEach(logic -> logic.run(this.value));
+        this.logicChainRegistry.run(CardUpdatingLogic.class, this.value);
         this.value = this.cardRepository.saveAndFlushAndRefresh(this.value);
         this.addInfo(true, "updated");
     }
@@ -147,7 +139,7 @@ public class CardBean extends LazyFormBean<Card> {
     @Override
     @Transactional
     public String doDelete() {
-        this.deletingLogics.forEach(logic -> logic.run(this.value));
+        this.logicChainRegistry.run(CardDeletingLogic.class, this.value);
         this.cardRepository.attachAndRemove(this.value);
         this.addInfoAndKeep("deleted");
         return this.changeToListing();
@@ -20,13 +20,12 @@ import br.com.webbudget.application.components.ui.ViewState;
 import br.com.webbudget.application.components.ui.table.Page;
 import br.com.webbudget.application.components.ui.LazyFormBean;
 import br.com.webbudget.domain.entities.registration.CostCenter;
+import br.com.webbudget.domain.logics.LogicChainRegistry;
 import br.com.webbudget.domain.logics.registration.costcenter.CostCenterUpdatingLogic;
 import br.com.webbudget.domain.repositories.registration.CostCenterRepository;
 import br.com.webbudget.domain.logics.registration.costcenter.CostCenterSavingLogic;
 import org.primefaces.model.SortOrder;
 
-import javax.enterprise.inject.Any;
-import javax.enterprise.inject.Instance;
 import javax.faces.view.ViewScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -46,15 +45,12 @@ import static br.com.webbudget.application.components.ui.NavigationManager.PageT
 @ViewScoped
 public class CostCenterBean extends LazyFormBean<CostCenter> {
 
+    @Inject
+    private LogicChainRegistry logicChainRegistry;
+
     @Inject
     private CostCenterRepository costCenterRepository;
     
-    @Any
-    @Inject
-    private Instance<CostCenterSavingLogic> costCenterSavingLogics;
-    @Any
-    @Inject
-    private Instance<CostCenterUpdatingLogic> costCenterUpdatingLogics;
 
     /**
      * {@inheritDoc}
@@ -101,7 +97,7 @@ public class CostCenterBean extends LazyFormBean<CostCenter> {
     @Override
     @Transactional
     public void doSave() {
-        this.costCenterSavingLogics.forEach(logic -> logic.run(this.value));
+        this.logicChainRegistry.run(CostCenterSavingLogic.class, this.value);
         this.costCenterRepository.save(this.value);
         this.value = new CostCenter();
         this.data = this.costCenterRepository.findAllActive();
@@ -114,7 +110,7 @@ public class CostCenterBean extends LazyFormBean<CostCenter> {
     @Override
     @Transactional
     public void doUpdate() {
-        this.costCenterUpdatingLogics.forEach(logic -> logic.run(this.value));
+        this.logicChainRegistry.run(CostCenterUpdatingLogic.class, this.value);
         this.costCenterRepository.saveAndFlushAndRefresh(this.value);
         this.data = this.costCenterRepository.findAllActive();
         this.addInfo(true, "updated");
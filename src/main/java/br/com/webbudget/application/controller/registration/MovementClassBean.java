@@ -22,6 +22,7 @@ import br.com.webbudget.application.components.ui.LazyFormBean;
 import br.com.webbudget.domain.entities.registration.CostCenter;
 import br.com.webbudget.domain.entities.registration.MovementClass;
 import br.com.webbudget.domain.entities.registration.MovementClassType;
+import br.com.webbudget.domain.logics.LogicChainRegistry;
 import br.com.webbudget.domain.repositories.registration.CostCenterRepository;
 import br.com.webbudget.domain.repositories.registration.MovementClassRepository;
 import br.com.webbudget.domain.logics.registration.movementclass.MovementClassSavingLogic;
@@ -29,8 +30,6 @@ import br.com.webbudget.domain.logics.registration.movementclass.MovementClassUp
 import lombok.Getter;
 import org.primefaces.model.SortOrder;
 
-import javax.enterprise.inject.Any;
-import javax.enterprise.inject.Instance;
 import javax.faces.view.ViewScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -55,16 +54,12 @@ public class MovementClassBean extends LazyFormBean<MovementClass> {
     private List<CostCenter> costCenters;
 
     @Inject
-    private CostCenterRepository costCenterRepository;
-    @Inject
-    private MovementClassRepository movementClassRepository;
+    private LogicChainRegistry logicChainRegistry;
 
-    @Any
     @Inject
-    private Instance<MovementClassSavingLogic> savingBusinessLogics;
-    @Any
+    private CostCenterRepository costCenterRepository;
     @Inject
-    private Instance<MovementClassUpdatingLogic> updatingBusinessLogics;
+    private MovementClassRepository movementClassRepository;
 
     /**
      * {@inheritDoc}
@@ -111,7 +106,7 @@ public class MovementClassBean extends LazyFormBean<MovementClass> {
     @Override
     @Transactional
     public void doSave() {
-        this.savingBusinessLogics.forEach(logic -> logic.run(this.value));
+        this.logicChainRegistry.run(MovementClassSavingLogic.class, this.value);
         this.movementClassRepository.save(this.value);
         this.value = new MovementClass();
         this.addInfo(true, "saved");
@@ -123,7 +118,7 @@ public class MovementClassBean extends LazyFormBean<MovementClass> {
     @Override
     @Transactional
     public void doUpdate() {
-        this.updatingBusinessLogics.forEach(logic -> logic.run(this.value));
+        this.logicChainRegistry.run(MovementClassUpdatingLogic.class, this.value);
         this.movementClassRepository.saveAndFlushAndRefresh(this.value);
         this.addInfo(true, "updated");
     }
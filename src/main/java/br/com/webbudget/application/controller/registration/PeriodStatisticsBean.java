@@ -17,6 +17,10 @@
 package br.com.webbudget.application.controller.registration;
 
 import br.com.webbudget.application.components.dto.Color;
+import br.com.webbudget.application.components.dto.PeriodStatistics;
+import br.com.webbudget.application.components.dto.PeriodStatistics.CostCenterValue;
+import br.com.webbudget.application.components.dto.PeriodStatistics.DailyValue;
+import br.com.webbudget.application.components.dto.PeriodStatistics.MovementClassValue;
 import br.com.webbudget.application.components.ui.AbstractBean;
 import br.com.webbudget.application.components.ui.NavigationManager;
 import br.com.webbudget.application.components.ui.chart.LineChartDataset;
@@ -27,11 +31,9 @@ import br.com.webbudget.domain.entities.financial.PeriodMovement;
 import br.com.webbudget.domain.entities.registration.CostCenter;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
 import br.com.webbudget.domain.entities.registration.MovementClass;
-import br.com.webbudget.domain.entities.registration.MovementClassType;
-import br.com.webbudget.domain.entities.view.*;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
 import br.com.webbudget.domain.repositories.registration.FinancialPeriodRepository;
-import br.com.webbudget.domain.repositories.view.*;
+import br.com.webbudget.domain.services.PeriodStatisticsService;
 import br.com.webbudget.infrastructure.i18n.MessageSource;
 import lombok.Getter;
 import lombok.Setter;
@@ -64,7 +66,7 @@ public class PeriodStatisticsBean extends AbstractBean {
 
     @Getter
     @Setter
-    private UseByMovementClass selectedUse;
+    private MovementClassValue selectedUse;
 
     @Getter
     private BigDecimal revenues;
@@ -77,22 +79,14 @@ public class PeriodStatisticsBean extends AbstractBean {
     private FinancialPeriod financialPeriod;
 
     @Getter
-    private List<UseByMovementClass> revenuesByMovementClass;
+    private List<MovementClassValue> revenuesByMovementClass;
     @Getter
-    private List<UseByMovementClass> expensesByMovementClass;
+    private List<MovementClassValue> expensesByMovementClass;
 
     @Inject
-    private DailyUseRepository dailyUseRepository;
-    @Inject
-    private PeriodResultRepository periodResultRepository;
+    private PeriodStatisticsService periodStatisticsService;
     @Inject
     private FinancialPeriodRepository financialPeriodRepository;
-    @Inject
-    private UseByCostCenterRepository useByCostCenterRepository;
-    @Inject
-    private OpenPeriodResultRepository openPeriodResultRepository;
-    @Inject
-    private UseByMovementClassRepository useByMovementClassRepository;
 
     /**
      * Initialize this view
@@ -114,152 +108,82 @@ public class PeriodStatisticsBean extends AbstractBean {
      */
     public void loadCharts() {
 
-        this.loadRevenuesDailyChart();
-        this.loadExpensesDailyChart();
-
-        this.loadRevenuesCostCenterChart();
-        this.loadExpensesCostCenterChart();
-
-        if (this.financialPeriod.isClosed()) {
+        final PeriodStatistics statistics = this.periodStatisticsService.load(this.financialPeriod);
 
-            final PeriodResult periodResult = this.periodResultRepository
-                    .findByFinancialPeriodId(this.financialPeriod.getId()).orElseGet(PeriodResult::new);
+        this.drawDailyChart(statistics.getDailyRevenues(), new Color(34, 139, 34),
+                "period-statistics.chart.revenues", "dailyRevenuesUseChart");
+        this.drawDailyChart(statistics.getDailyExpenses(), new Color(220, 20, 60),
+                "period-statistics.chart.expenses", "dailyExpensesUseChart");
 
-            this.revenues = periodResult.getRevenues();
-            this.expenses = periodResult.getExpenses();
-            this.balance = periodResult.getBalance();
-        } else {
+        this.drawCostCenterChart(statistics.getRevenuesByCostCenter(), "revenuesUseByCostCenterChart");
+        this.drawCostCenterChart(statistics.getExpensesByCostCenter(), "expensesUseByCostCenterChart");
 
-            final OpenPeriodResult openPeriodResult = this.openPeriodResultRepository.findByFinancialPeriodIdAndExpired(
-                    this.financialPeriod.getId(), this.financialPeriod.isExpired()).orElseGet(OpenPeriodResult::new);
+        this.revenues = statistics.getRevenues();
+        this.expenses = statistics.getExpenses();
+        this.balance = statistics.getBalance();
 
-            this.revenues = openPeriodResult.getRevenues();
-            this.expenses = openPeriodResult.getExpenses();
-            this.balance = openPeriodResult.getBalance();
-        }
-
-        this.expensesByMovementClass = this.useByMovementClassRepository
-                .findByFinancialPeriodIdAndDirection(this.financialPeriod.getId(), MovementClassType.EXPENSE);
-        this.revenuesByMovementClass = this.useByMovementClassRepository
-                .findByFinancialPeriodIdAndDirection(this.financialPeriod.getId(), MovementClassType.REVENUE);
+        this.expensesByMovementClass = statistics.getExpensesByMovementClass();
+        this.revenuesByMovementClass = statistics.getRevenuesByMovementClass();
 
         this.loaded = true;
     }
 
     /**
-     * Load revenues use chart by {@link CostCenter}
-     */
-    private void loadRevenuesCostCenterChart() {
-
-        final List<UseByCostCenter> revenues = this.useByCostCenterRepository
-                .findByFinancialPeriodIdAndDirection(this.financialPeriod.getId(), MovementClassType.REVENUE);
-
-        final BigDecimal total = revenues.stream()
-                .map(UseByCostCenter::getValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        final PieChartDataset dataset = new PieChartDataset("default");
-
-        revenues.forEach(use -> {
-            dataset.addColor(use.getCostCenterColor());
-            dataset.addData(percentageOf(use.getValue(), total, true));
-        });
-
-        final PieChartModel model = new PieChartModel();
-
-        model.addData(dataset);
-        model.addAllLabel(revenues.stream()
-                .map(UseByCostCenter::getCostCenter)
-                .collect(Collectors.toList()));
-
-        this.executeScript("drawPieChart(" + model.toJson() + ", 'revenuesUseByCostCenterChart')");
-    }
-
-    /**
-     * Load expenses use chart by {@link CostCenter}
+     * Draw a pie chart with the use by {@link CostCenter}
+     *
+     * @param uses the values of each {@link CostCenter}
+     * @param chartId the id of the chart component
      */
-    private void loadExpensesCostCenterChart() {
-
-        final List<UseByCostCenter> expenses = this.useByCostCenterRepository
-                .findByFinancialPeriodIdAndDirection(this.financialPeriod.getId(), MovementClassType.EXPENSE);
+    private void drawCostCenterChart(List<CostCenterValue> uses, String chartId) {
 
-        final BigDecimal total = expenses.stream()
-                .map(UseByCostCenter::getValue)
+        final BigDecimal total = uses.stream()
+                .map(CostCenterValue::getValue)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         final PieChartDataset dataset = new PieChartDataset("default");
 
-        expenses.forEach(use -> {
-            dataset.addColor(use.getCostCenterColor());
+        uses.forEach(use -> {
+            dataset.addColor(use.asColor());
             dataset.addData(percentageOf(use.getValue(), total, true));
         });
 
         final PieChartModel model = new PieChartModel();
 
         model.addData(dataset);
-        model.addAllLabel(expenses.stream()
-                .map(UseByCostCenter::getCostCenter)
-                .collect(Collectors.toList()));
-
-        this.executeScript("drawPieChart(" + model.toJson() + ", 'expensesUseByCostCenterChart')");
-    }
-
-    /**
-     * Load the chart of daily expenses
-     */
-    private void loadExpensesDailyChart() {
-
-        final List<DailyUse> expenses = this.dailyUseRepository
-                .findByFinancialPeriodIdAndDirection(this.financialPeriod.getId(), MovementClassType.EXPENSE);
-
-        final Color red = new Color(220, 20, 60);
-
-        final LineChartDataset<BigDecimal> expensesDataset = new LineChartDataset<>();
-
-        expensesDataset.setLabel(MessageSource.get("period-statistics.chart.expenses"));
-        expensesDataset.setBorderColor(red.toString());
-        expensesDataset.setBackgroundColor(red.transparent().toString());
-        expensesDataset.addAllData(expenses.stream()
-                .map(DailyUse::getValue)
+        model.addAllLabel(uses.stream()
+                .map(CostCenterValue::getCostCenter)
                 .collect(Collectors.toList()));
 
-        final LineChartModel<BigDecimal> model = new LineChartModel<>();
-
-        model.addDataset(expensesDataset);
-        model.addAllLabels(expenses.stream()
-                .map(DailyUse::getPaymentDateAsString)
-                .collect(Collectors.toList()));
-
-        this.executeScript("drawLineChart(" + model.toJson() + ", 'dailyExpensesUseChart')");
+        this.executeScript("drawPieChart(" + model.toJson() + ", '" + chartId + "')");
     }
 
     /**
-     * Load the chart of daily revenues
+     * Draw a line chart with the daily values
+     *
+     * @param values the value of each day
+     * @param color the color of the line
+     * @param labelKey the i18n key of the dataset label
+     * @param chartId the id of the chart component
      */
-    private void loadRevenuesDailyChart() {
-
-        final List<DailyUse> revenues = this.dailyUseRepository
-                .findByFinancialPeriodIdAndDirection(this.financialPeriod.getId(), MovementClassType.REVENUE);
-
-        final Color green = new Color(34, 139, 34);
+    private void drawDailyChart(List<DailyValue> values, Color color, String labelKey, String chartId) {
 
-        final LineChartDataset<BigDecimal> revenuesDataset = new LineChartDataset<>();
+        final LineChartDataset<BigDecimal> dataset = new LineChartDataset<>();
 
-        revenuesDataset.setLabel(MessageSource.get("period-statistics.chart.revenues"));
-        revenuesDataset.setBorderColor(green.toString());
-        revenuesDataset.setBackgroundColor(green.transparent().toString());
-        revenuesDataset.addAllData(revenues.stream()
-                .map(DailyUse::getValue)
+        dataset.setLabel(MessageSource.get(labelKey));
+        dataset.setBorderColor(color.toString());
+        dataset.setBackgroundColor(color.transparent().toString());
+        dataset.addAllData(values.stream()
+                .map(DailyValue::getValue)
                 .collect(Collectors.toList()));
 
         final LineChartModel<BigDecimal> model = new LineChartModel<>();
 
-        model.addDataset(revenuesDataset);
-        model.addAllLabels(revenues.stream()
-                .map(DailyUse::getPaymentDateAsString)
+        model.addDataset(dataset);
+        model.addAllLabels(values.stream()
+                .map(DailyValue::getDate)
                 .collect(Collectors.toList()));
 
-        this.executeScript("drawLineChart(" + model.toJson() + ", 'dailyRevenuesUseChart')");
+        this.executeScript("drawLineChart(" + model.toJson() + ", '" + chartId + "')");
     }
 
     /**
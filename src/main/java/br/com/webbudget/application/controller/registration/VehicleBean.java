@@ -22,14 +22,13 @@ import br.com.webbudget.application.components.ui.table.Page;
 import br.com.webbudget.domain.entities.registration.CostCenter;
 import br.com.webbudget.domain.entities.registration.Vehicle;
 import br.com.webbudget.domain.entities.registration.VehicleType;
+import br.com.webbudget.domain.logics.LogicChainRegistry;
 import br.com.webbudget.domain.logics.registration.vehicle.VehicleSavingLogic;
 import br.com.webbudget.domain.repositories.registration.CostCenterRepository;
 import br.com.webbudget.domain.repositories.registration.VehicleRepository;
 import lombok.Getter;
 import org.primefaces.model.SortOrder;
 
-import javax.enterprise.inject.Any;
-import javax.enterprise.inject.Instance;
 import javax.faces.view.ViewScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -53,15 +52,14 @@ public class VehicleBean extends LazyFormBean<Vehicle> {
     @Getter
     private List<CostCenter> costCenters;
 
+    @Inject
+    private LogicChainRegistry logicChainRegistry;
+
     @Inject
     private VehicleRepository vehicleRepository;
     @Inject
     private CostCenterRepository costCenterRepository;
 
-    @Any
-    @Inject
-    private Instance<VehicleSavingLogic> savingBusinessLogics;
-
     /**
      * {@inheritDoc}
      *
@@ -114,7 +112,7 @@ public class VehicleBean extends LazyFormBean<Vehicle> {
     @Override
     @Transactional
     public void doSave() {
-        this.savingBusinessLogics.forEach(logic -> logic.run(this.value));
+        this.logicChainRegistry.run(VehicleSavingLogic.class, this.value);
         this.vehicleRepository.save(this.value);
         this.value = new Vehicle();
         this.addInfo(true, "saved");
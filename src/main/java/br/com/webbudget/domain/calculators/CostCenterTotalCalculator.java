@@ -22,6 +22,8 @@ import br.com.webbudget.domain.entities.registration.CostCenter;
 import br.com.webbudget.domain.entities.registration.MovementClassType;
 import br.com.webbudget.domain.entities.view.CostCenterTotal;
 import br.com.webbudget.domain.repositories.view.CostCenterTotalRepository;
+import br.com.webbudget.infrastructure.jpa.ReadOnly;
+import br.com.webbudget.infrastructure.jpa.ReadReplica;
 
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
@@ -40,6 +42,8 @@ import static br.com.webbudget.application.components.ui.chart.ChartUtils.percen
  * @version 1.0.0
  * @since 3.0.0, 17/04/2019
  */
+@ReadOnly
+@ReadReplica(maxLag = 30)
 @Dependent
 public class CostCenterTotalCalculator {
 
@@ -22,6 +22,8 @@ import br.com.webbudget.application.components.ui.chart.LineChartModel;
 import br.com.webbudget.domain.entities.view.PeriodResult;
 import br.com.webbudget.domain.repositories.view.PeriodResultRepository;
 import br.com.webbudget.infrastructure.i18n.MessageSource;
+import br.com.webbudget.infrastructure.jpa.ReadOnly;
+import br.com.webbudget.infrastructure.jpa.ReadReplica;
 
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
@@ -37,6 +39,8 @@ import java.util.stream.Collectors;
  * @version 1.0.0
  * @since 3.0.0, 17/04/2019
  */
+@ReadOnly
+@ReadReplica(maxLag = 30)
 @Dependent
 public class PeriodResultCalculator {
 
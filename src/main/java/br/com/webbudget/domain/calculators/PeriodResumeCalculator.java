@@ -22,6 +22,8 @@ import br.com.webbudget.domain.entities.registration.FinancialPeriod;
 import br.com.webbudget.domain.entities.view.OpenPeriodResume;
 import br.com.webbudget.domain.repositories.financial.ClosingRepository;
 import br.com.webbudget.domain.repositories.view.OpenPeriodResumeRepository;
+import br.com.webbudget.infrastructure.jpa.ReadOnly;
+import br.com.webbudget.infrastructure.jpa.ReadReplica;
 import lombok.Getter;
 
 import javax.enterprise.context.Dependent;
@@ -36,6 +38,8 @@ import java.math.BigDecimal;
  * @version 1.0.0
  * @since 3.0.0, 17/04/2019
  */
+@ReadOnly
+@ReadReplica(maxLag = 30)
 @Dependent
 public class PeriodResumeCalculator {
 
@@ -34,7 +34,7 @@ import java.time.LocalDateTime;
  *
  * @author Arthur Gregorio
  *
- * @version 4.1.0
+ * @version 4.2.0
  * @since 1.0.0, 06/10/2013
  */
 @ToString
@@ -50,7 +50,7 @@ public abstract class PersistentEntity implements IPersistentEntity<Long>, Seria
             strategy = "enhanced-sequence",
             parameters = {
                     @Parameter(name = "initial_value", value = "1"),
-                    @Parameter(name = "increment_size", value = "5"),
+                    @Parameter(name = "increment_size", value = "50"),
                     @Parameter(name = "optimizer", value = "pooled-lo")
             })
     @Column(name = "id", unique = true, updatable = false)
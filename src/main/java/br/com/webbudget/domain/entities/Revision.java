@@ -30,7 +30,7 @@ import java.util.Date;
  *
  * @author Arthur Gregorio
  *
- * @version 1.0.0
+ * @version 1.2.0
  * @since 3.0.0, 28/06/2018
  */
 @Entity
@@ -48,6 +48,7 @@ public class Revision implements Serializable {
     @Column(name = "id", unique = true, updatable = false)
     private Long id;
     @Getter
+    @Setter
     @RevisionTimestamp
     @Column(name = "created_on", nullable = false)
     private Date createdOn;
@@ -55,4 +56,12 @@ public class Revision implements Serializable {
     @Setter
     @Column(name = "created_by", length = 45, nullable = false)
     private String createdBy;
+    @Getter
+    @Setter
+    @Column(name = "operation", length = 90)
+    private String operation;
+    @Getter
+    @Setter
+    @Column(name = "summary", columnDefinition = "text")
+    private String summary;
 }
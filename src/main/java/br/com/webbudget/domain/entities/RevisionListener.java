@@ -16,14 +16,18 @@
  */
 package br.com.webbudget.domain.entities;
 
+import br.com.webbudget.infrastructure.audit.AuditSummaries;
+import br.com.webbudget.infrastructure.audit.AuditSummary;
 import org.apache.shiro.SecurityUtils;
 
+import java.util.Optional;
+
 /**
  * The listener to add more info to the revision of the audited entities
  *
  * @author Arthur Gregorio
  *
- * @version 1.0.0
+ * @version 1.2.0
  * @since 3.0.0, 28/06/2018
  */
 public class RevisionListener implements org.hibernate.envers.RevisionListener {
@@ -37,6 +41,17 @@ public class RevisionListener implements org.hibernate.envers.RevisionListener {
     public void newRevision(Object revisionEntity) {
         final Revision revision = (Revision) revisionEntity;
         revision.setCreatedBy(this.getLoggedUser());
+
+        // the revision of a summarized operation carries its name and the changes left out of the audit
+        final AuditSummary summary = Optional.ofNullable(AuditSummaries.current())
+                .orElseGet(AuditSummaries::forRevision);
+
+        if (summary != null) {
+            revision.setOperation(summary.getOperation());
+            if (!summary.isEmpty()) {
+                revision.setSummary(summary.describe());
+            }
+        }
     }
 
     /**
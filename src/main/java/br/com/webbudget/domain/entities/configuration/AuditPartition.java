@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.entities.configuration;
+
+import br.com.webbudget.domain.entities.IPersistentEntity;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static br.com.webbudget.infrastructure.utils.DefaultSchemes.CONFIGURATION;
+
+/**
+ * One monthly partition of an audit table, the partitions older than the retention are exported to a compressed file
+ * and dropped, the row is kept to know where the data went
+ *
+ * The partitions are created, detached and dropped only through the database functions called by the retention, so
+ * this entity is read-only
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@Entity
+@ToString
+@EqualsAndHashCode(of = "partitionName")
+@Table(name = "audit_partitions", schema = CONFIGURATION)
+public class AuditPartition implements IPersistentEntity<String>, Serializable {
+
+    @Id
+    @Getter
+    @Column(name = "partition_name", nullable = false, updatable = false, length = 120)
+    private String partitionName;
+
+    @Getter
+    @Column(name = "parent_name", nullable = false, length = 90)
+    private String parentName;
+    @Getter
+    @Column(name = "range_start", nullable = false)
+    private LocalDate rangeStart;
+    @Getter
+    @Column(name = "range_end", nullable = false)
+    private LocalDate rangeEnd;
+    @Getter
+    @Enumerated(EnumType.STRING)
+    @Column(name = "partition_state", nullable = false, length = 45)
+    private AuditPartitionState partitionState;
+    @Getter
+    @Column(name = "row_count")
+    private Long rowCount;
+    @Getter
+    @Column(name = "archive_file")
+    private String archiveFile;
+    @Getter
+    @Column(name = "archived_on")
+    private LocalDateTime archivedOn;
+
+    /**
+     * Constructor...
+     */
+    protected AuditPartition() { }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public String getId() {
+        return this.partitionName;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public boolean isSaved() {
+        return this.partitionName != null;
+    }
+}
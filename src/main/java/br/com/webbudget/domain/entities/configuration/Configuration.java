@@ -18,9 +18,14 @@ package br.com.webbudget.domain.entities.configuration;
 
 import br.com.webbudget.domain.entities.PersistentEntity;
 import br.com.webbudget.domain.entities.registration.MovementClass;
+import br.com.webbudget.infrastructure.jpa.EntityEventsListener;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
@@ -37,9 +42,12 @@ import static br.com.webbudget.infrastructure.utils.DefaultSchemes.CONFIGURATION
  * @since 3.0.0, 16/03/2019
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @ToString
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
+@EntityListeners(EntityEventsListener.class)
 @Table(name = "configurations", schema = CONFIGURATION)
 public class Configuration extends PersistentEntity {
 
@@ -17,11 +17,13 @@
 package br.com.webbudget.domain.entities.configuration;
 
 import br.com.webbudget.domain.entities.PersistentEntity;
+import br.com.webbudget.infrastructure.jpa.EntityEventsListener;
 import lombok.*;
 import org.hibernate.envers.AuditTable;
 import org.hibernate.envers.Audited;
 
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
@@ -41,6 +43,7 @@ import static br.com.webbudget.infrastructure.utils.DefaultSchemes.*;
 @ToString
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
+@EntityListeners(EntityEventsListener.class)
 @Table(name = "grants", schema = CONFIGURATION)
 @AuditTable(value = "grants", schema = CONFIGURATION_AUDIT)
 public class Grant extends PersistentEntity {
@@ -17,6 +17,7 @@
 package br.com.webbudget.domain.entities.configuration;
 
 import br.com.webbudget.domain.entities.PersistentEntity;
+import br.com.webbudget.infrastructure.jpa.EntityEventsListener;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -47,6 +48,7 @@ import static javax.persistence.FetchType.EAGER;
 @Entity
 @Audited
 @ToString(exclude = "grants")
+@EntityListeners(EntityEventsListener.class)
 @Table(name = "groups", schema = CONFIGURATION)
 @AuditTable(value = "groups", schema = CONFIGURATION_AUDIT)
 @EqualsAndHashCode(callSuper = true, exclude = "grants")
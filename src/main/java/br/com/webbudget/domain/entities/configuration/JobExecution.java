@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.entities.configuration;
+
+import br.com.webbudget.domain.entities.PersistentEntity;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+import static br.com.webbudget.infrastructure.utils.DefaultSchemes.CONFIGURATION;
+
+/**
+ * One run of a scheduled job, kept as the history of the jobs
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@Entity
+@ToString
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Table(name = "job_executions", schema = CONFIGURATION)
+public class JobExecution extends PersistentEntity {
+
+    @Getter
+    @Column(name = "job_name", nullable = false, updatable = false, length = 90)
+    private String jobName;
+    @Getter
+    @Column(name = "node", nullable = false, updatable = false, length = 90)
+    private String node;
+    @Getter
+    @Enumerated(EnumType.STRING)
+    @Column(name = "execution_state", nullable = false, length = 45)
+    private JobExecutionState executionState;
+    @Getter
+    @Column(name = "started_on", nullable = false, updatable = false)
+    private LocalDateTime startedOn;
+    @Getter
+    @Column(name = "finished_on")
+    private LocalDateTime finishedOn;
+    @Getter
+    @Column(name = "duration")
+    private Long duration;
+    @Getter
+    @Column(name = "affected_rows")
+    private Integer affectedRows;
+    @Getter
+    @Column(name = "message")
+    private String message;
+
+    /**
+     * Constructor...
+     *
+     * @param jobName the name of the job
+     * @param node the name of the node running the job
+     */
+    public JobExecution(String jobName, String node) {
+        this.jobName = jobName;
+        this.node = node;
+        this.startedOn = LocalDateTime.now();
+        this.executionState = JobExecutionState.RUNNING;
+    }
+
+    /**
+     * Finish this execution with success
+     *
+     * @param duration the time spent in milliseconds
+     * @param affectedRows the rows (or items) changed by the job
+     */
+    public void succeeded(long duration, int affectedRows) {
+        this.finish(JobExecutionState.SUCCEEDED, duration);
+        this.affectedRows = affectedRows;
+    }
+
+    /**
+     * Finish this execution with a failure
+     *
+     * @param duration the time spent in milliseconds
+     * @param cause the cause of the failure
+     */
+    public void failed(long duration, Throwable cause) {
+        this.finish(JobExecutionState.FAILED, duration);
+        this.message = StringUtils.abbreviate(cause.getClass().getSimpleName() + ": " + cause.getMessage(), 255);
+    }
+
+    /**
+     * Check if this execution has failed
+     *
+     * @return true if failed, false otherwise
+     */
+    public boolean isFailed() {
+        return this.executionState == JobExecutionState.FAILED;
+    }
+
+    /**
+     * Set the final state of this execution
+     *
+     * @param executionState the final state
+     * @param duration the time spent in milliseconds
+     */
+    private void finish(JobExecutionState executionState, long duration) {
+        this.executionState = executionState;
+        this.finishedOn = LocalDateTime.now();
+        this.duration = duration;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.entities.configuration;
+
+import br.com.webbudget.domain.entities.IPersistentEntity;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import static br.com.webbudget.infrastructure.utils.DefaultSchemes.CONFIGURATION;
+
+/**
+ * The lease of a scheduled job, while the lease is valid only the node holding it can run the job
+ *
+ * The leases are acquired and released only through the statements of the repository, so this entity is read-only
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@Entity
+@ToString
+@EqualsAndHashCode(of = "jobName")
+@Table(name = "job_leases", schema = CONFIGURATION)
+public class JobLease implements IPersistentEntity<String>, Serializable {
+
+    @Id
+    @Getter
+    @Column(name = "job_name", nullable = false, updatable = false, length = 90)
+    private String jobName;
+
+    @Getter
+    @Column(name = "owner", nullable = false, length = 90)
+    private String owner;
+    @Getter
+    @Column(name = "acquired_on", nullable = false)
+    private LocalDateTime acquiredOn;
+    @Getter
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    /**
+     * Constructor...
+     */
+    protected JobLease() { }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public String getId() {
+        return this.jobName;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public boolean isSaved() {
+        return this.jobName != null;
+    }
+
+    /**
+     * Check if the lease is still held by the owner
+     *
+     * @return true if the lease is valid, false otherwise
+     */
+    public boolean isLocked() {
+        return this.lockedUntil != null && this.lockedUntil.isAfter(LocalDateTime.now());
+    }
+}
@@ -263,6 +263,18 @@ public class Permissions implements Serializable {
     @PermissionGrouper("configuration")
     private final String CONFIGURATION_ACCESS = "configuration:access";
 
+    @Getter
+    @PermissionGrouper("backup")
+    private final String BACKUP_ACCESS = "backup:access";
+
+    @Getter
+    @PermissionGrouper("job")
+    private final String JOB_ACCESS = "job:access";
+
+    @Getter
+    @PermissionGrouper("audit")
+    private final String AUDIT_ACCESS = "audit:access";
+
     @Getter
     @PermissionGrouper("closing")
     private final String CLOSING_ACCESS = "closing:access";
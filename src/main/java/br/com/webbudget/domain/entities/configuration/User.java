@@ -17,6 +17,7 @@
 package br.com.webbudget.domain.entities.configuration;
 
 import br.com.webbudget.domain.entities.PersistentEntity;
+import br.com.webbudget.infrastructure.jpa.EntityEventsListener;
 import br.eti.arthurgregorio.shiroee.config.jdbc.UserDetails;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -45,6 +46,7 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 @Audited
 @ToString(callSuper = true)
 @EqualsAndHashCode(callSuper = true)
+@EntityListeners(EntityEventsListener.class)
 @Table(name = "users", schema = CONFIGURATION)
 @AuditTable(value = "users", schema = CONFIGURATION_AUDIT)
 public class User extends PersistentEntity implements UserDetails {
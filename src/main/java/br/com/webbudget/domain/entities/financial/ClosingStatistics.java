@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.entities.financial;
+
+import br.com.webbudget.application.components.dto.PeriodStatistics;
+import br.com.webbudget.domain.entities.IPersistentEntity;
+import br.com.webbudget.infrastructure.jpa.PeriodStatisticsConverter;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.io.Serializable;
+
+import static br.com.webbudget.infrastructure.utils.DefaultSchemes.FINANCIAL;
+import static javax.persistence.FetchType.LAZY;
+
+/**
+ * The frozen {@link PeriodStatistics} of a closed period, captured together with the {@link Closing}
+ *
+ * This is kept apart from the {@link Closing} because the closing is always loaded with the period and the statistics
+ * are only needed by the statistics page. The id is the same of the {@link Closing}, so it's read by primary key
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 24/10/2019
+ */
+@Entity
+@ToString(exclude = "closing")
+@EqualsAndHashCode(of = "id")
+@Table(name = "closing_statistics", schema = FINANCIAL)
+public class ClosingStatistics implements IPersistentEntity<Long>, Serializable {
+
+    @Id
+    @Getter
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
+
+    @Getter
+    @Column(name = "content", nullable = false, columnDefinition = "TEXT")
+    @Convert(converter = PeriodStatisticsConverter.class)
+    private PeriodStatistics content;
+
+    @MapsId
+    @OneToOne(fetch = LAZY)
+    @JoinColumn(name = "id")
+    private Closing closing;
+
+    /**
+     * Constructor...
+     */
+    protected ClosingStatistics() { }
+
+    /**
+     * Constructor...
+     *
+     * @param closing the {@link Closing} owner of the statistics
+     * @param content the {@link PeriodStatistics} to be frozen
+     */
+    public ClosingStatistics(Closing closing, PeriodStatistics content) {
+        this.closing = closing;
+        this.content = content;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public boolean isSaved() {
+        return this.id != null;
+    }
+}
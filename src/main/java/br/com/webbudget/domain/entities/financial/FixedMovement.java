@@ -17,6 +17,7 @@
 package br.com.webbudget.domain.entities.financial;
 
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
+import br.com.webbudget.infrastructure.jpa.EntityEventsListener;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -40,6 +41,7 @@ import java.time.LocalDate;
 @Audited
 @ToString(callSuper = true)
 @EqualsAndHashCode(callSuper = true)
+@EntityListeners(EntityEventsListener.class)
 @DiscriminatorValue("FIXED_MOVEMENT") // never change this!
 public class FixedMovement extends Movement {
 
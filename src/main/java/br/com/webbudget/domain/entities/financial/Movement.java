@@ -18,6 +18,8 @@ package br.com.webbudget.domain.entities.financial;
 
 import br.com.webbudget.domain.entities.PersistentEntity;
 import br.com.webbudget.domain.entities.registration.Contact;
+import br.com.webbudget.domain.entities.registration.MovementClass;
+import br.com.webbudget.domain.entities.registration.MovementClassType;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
 import br.com.webbudget.infrastructure.utils.RandomCode;
 import lombok.EqualsAndHashCode;
@@ -78,6 +80,10 @@ public class Movement extends PersistentEntity {
     @NotNull(message = "{movement.value}")
     @Column(name = "value", nullable = false)
     private BigDecimal value;
+    @Getter
+    @Enumerated(EnumType.STRING)
+    @Column(name = "direction", length = 45)
+    private MovementClassType direction;
 
     @Getter
     @Setter
@@ -133,11 +139,7 @@ public class Movement extends PersistentEntity {
      * @return true if is, false otherwise
      */
     public boolean isExpense() {
-        return this.apportionments
-                .stream()
-                .findFirst()
-                .map(Apportionment::isExpense)
-                .orElse(false);
+        return this.direction == MovementClassType.EXPENSE;
     }
 
     /**
@@ -146,11 +148,7 @@ public class Movement extends PersistentEntity {
      * @return true if is, false otherwise
      */
     public boolean isRevenue() {
-        return this.apportionments
-                .stream()
-                .findFirst()
-                .map(Apportionment::isRevenue)
-                .orElse(false);
+        return this.direction == MovementClassType.REVENUE;
     }
 
     /**
@@ -160,6 +158,7 @@ public class Movement extends PersistentEntity {
      */
     public void add(Apportionment apportionment) {
         this.apportionments.add(apportionment);
+        this.updateDirection();
     }
 
     /**
@@ -169,6 +168,7 @@ public class Movement extends PersistentEntity {
      */
     public void addAll(Set<Apportionment> apportionments) {
         this.apportionments.addAll(apportionments);
+        this.updateDirection();
     }
 
     /**
@@ -181,6 +181,20 @@ public class Movement extends PersistentEntity {
             this.deletedApportionments.add(apportionment);
         }
         this.apportionments.remove(apportionment);
+        this.updateDirection();
+    }
+
+    /**
+     * Keep the {@link #direction} in sync with the apportionments. All the apportionments of a movement have the same
+     * {@link MovementClassType}, so the first one is enough to tell the direction
+     */
+    private void updateDirection() {
+        this.direction = this.apportionments
+                .stream()
+                .findFirst()
+                .map(Apportionment::getMovementClass)
+                .map(MovementClass::getMovementClassType)
+                .orElse(null);
     }
 
     /**
@@ -19,6 +19,7 @@ package br.com.webbudget.domain.entities.financial;
 import br.com.webbudget.domain.entities.registration.Card;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
 import br.com.webbudget.domain.entities.registration.Wallet;
+import br.com.webbudget.infrastructure.jpa.EntityEventsListener;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -38,13 +39,14 @@ import static javax.persistence.CascadeType.REMOVE;
  *
  * @author Arthur Gregorio
  *
- * @version 1.0.0
+ * @version 1.1.0
  * @since 3.0.0, 04/12/2018
  */
 @Entity
 @Audited
 @ToString(callSuper = true)
 @EqualsAndHashCode(callSuper = true)
+@EntityListeners(EntityEventsListener.class)
 @DiscriminatorValue("PERIOD_MOVEMENT") // never change this!
 public class PeriodMovement extends Movement {
 
@@ -90,6 +92,15 @@ public class PeriodMovement extends Movement {
     @Transient
     private boolean checked;
 
+    /**
+     * The id of the {@link FinancialPeriod} this movement had in the database before an update or a delete, only when
+     * it was moved to another one, so the statistics of both periods can be refreshed
+     */
+    @Getter
+    @Setter
+    @Transient
+    private Long previousFinancialPeriodId;
+
     /**
      * Constructor...
      */
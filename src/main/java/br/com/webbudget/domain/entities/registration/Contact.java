@@ -17,6 +17,7 @@
 package br.com.webbudget.domain.entities.registration;
 
 import br.com.webbudget.domain.entities.PersistentEntity;
+import br.com.webbudget.infrastructure.jpa.EntityEventsListener;
 import br.com.webbudget.infrastructure.utils.RandomCode;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -48,6 +49,7 @@ import static javax.persistence.CascadeType.REMOVE;
  */
 @Entity
 @Audited
+@EntityListeners(EntityEventsListener.class)
 @Table(name = "contacts", schema = REGISTRATION)
 @AuditTable(value = "contacts", schema = REGISTRATION_AUDIT)
 @ToString(callSuper = true, exclude = {"telephones", "deletedTelephones"})
@@ -19,10 +19,13 @@ package br.com.webbudget.domain.entities.registration;
 import br.com.webbudget.application.components.dto.Color;
 import br.com.webbudget.domain.entities.PersistentEntity;
 import br.com.webbudget.infrastructure.jpa.ColorConverter;
+import br.com.webbudget.infrastructure.jpa.EntityEventsListener;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.envers.AuditTable;
 import org.hibernate.envers.Audited;
 
@@ -44,6 +47,9 @@ import static br.com.webbudget.infrastructure.utils.DefaultSchemes.REGISTRATION_
  */
 @Entity
 @Audited
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(EntityEventsListener.class)
 @Table(name = "cost_centers", schema = REGISTRATION)
 @AuditTable(value = "cost_centers", schema = REGISTRATION_AUDIT)
 @ToString(callSuper = true, exclude = {"percentage", "totalMovements"})
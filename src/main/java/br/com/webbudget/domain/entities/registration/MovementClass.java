@@ -17,10 +17,13 @@
 package br.com.webbudget.domain.entities.registration;
 
 import br.com.webbudget.domain.entities.PersistentEntity;
+import br.com.webbudget.infrastructure.jpa.EntityEventsListener;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.envers.AuditTable;
 import org.hibernate.envers.Audited;
 
@@ -43,7 +46,10 @@ import static br.com.webbudget.infrastructure.utils.DefaultSchemes.REGISTRATION_
  */
 @Entity
 @Audited
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @ToString(callSuper = true, exclude = "totalMovements")
+@EntityListeners(EntityEventsListener.class)
 @Table(name = "movement_classes", schema = REGISTRATION)
 @EqualsAndHashCode(callSuper = true, exclude = "totalMovements")
 @AuditTable(value = "movement_classes", schema = REGISTRATION_AUDIT)
@@ -17,6 +17,7 @@
 package br.com.webbudget.domain.entities.registration;
 
 import br.com.webbudget.domain.entities.PersistentEntity;
+import br.com.webbudget.infrastructure.jpa.EntityEventsListener;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -45,6 +46,7 @@ import static br.com.webbudget.infrastructure.utils.DefaultSchemes.REGISTRATION_
 @Audited
 @ToString(callSuper = true)
 @EqualsAndHashCode(callSuper = true)
+@EntityListeners(EntityEventsListener.class)
 @Table(name = "vehicles", schema = REGISTRATION)
 @AuditTable(value = "vehicles", schema = REGISTRATION_AUDIT)
 public class Vehicle extends PersistentEntity {
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.logics;
+
+import br.com.webbudget.infrastructure.metrics.MethodTimer;
+
+import java.util.List;
+
+/**
+ * An ordered and already resolved sequence of {@link BusinessLogic}, run one after the other measuring each one
+ *
+ * @param <T> the type of the value handled by the logics
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 27/10/2019
+ */
+public final class LogicChain<T> implements BusinessLogic<T> {
+
+    private final List<Link<T>> links;
+
+    /**
+     * Constructor...
+     *
+     * @param links the logics of the chain with their timers, in the order to be run
+     */
+    LogicChain(List<Link<T>> links) {
+        this.links = List.copyOf(links);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param value
+     */
+    @Override
+    public void run(T value) {
+        for (Link<T> link : this.links) {
+            final long start = link.timer.start();
+            try {
+                link.logic.run(value);
+            } catch (RuntimeException ex) {
+                link.timer.error();
+                throw ex;
+            } finally {
+                link.timer.stop(start);
+            }
+        }
+    }
+
+    /**
+     * @return the number of logics in the chain
+     */
+    public int size() {
+        return this.links.size();
+    }
+
+    /**
+     * One logic of the chain and the timer measuring it
+     *
+     * @param <T> the type of the value handled by the logic
+     */
+    static final class Link<T> {
+
+        private final BusinessLogic<T> logic;
+        private final MethodTimer timer;
+
+        /**
+         * Constructor...
+         *
+         * @param logic the {@link BusinessLogic}
+         * @param timer the {@link MethodTimer} of the logic in this chain
+         */
+        Link(BusinessLogic<T> logic, MethodTimer timer) {
+            this.logic = logic;
+            this.timer = timer;
+        }
+    }
+}
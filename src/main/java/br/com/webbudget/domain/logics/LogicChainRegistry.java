@@ -0,0 +1,270 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.logics;
+
+import br.com.webbudget.infrastructure.metrics.MetricRegistry;
+import org.slf4j.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.enterprise.util.TypeLiteral;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * The registry of the {@link LogicChain} of each kind of {@link BusinessLogic}, like the
+ * {@link br.com.webbudget.domain.logics.registration.card.CardSavingLogic}
+ *
+ * Each chain is resolved only once, with the logics ordered by the {@link LogicPriority}, so running a chain does not
+ * look up or create any bean. The time of each logic is kept in the {@link MetricRegistry} by the name of the logic and
+ * of the chain
+ *
+ * As the logics are created once and shared by all the users they must be stateless, a logic receiving a value
+ * produced by a session or request scoped bean (like the authenticated user) is refused when the chain is resolved, it
+ * should inject an {@link Instance} of the value and get it on each run. The dependent beans received by a logic are
+ * shared with it, so the values received by them are checked the same way
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.2.0
+ * @since 3.1.0, 27/10/2019
+ */
+@ApplicationScoped
+public class LogicChainRegistry {
+
+    private static final Set<Type> LAZY_TYPES = Set.of(Instance.class, Provider.class);
+
+    private final Map<Class<?>, LogicChain<?>> chains;
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private BeanManager beanManager;
+    @Inject
+    private MetricRegistry metricRegistry;
+
+    @Any
+    @Inject
+    private Instance<Object> instances;
+
+    /**
+     * Constructor...
+     */
+    public LogicChainRegistry() {
+        this.chains = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Run the chain of a kind of {@link BusinessLogic}
+     *
+     * @param type the kind of {@link BusinessLogic}
+     * @param value the value to be handled by the logics
+     * @param <T> the type of the value
+     */
+    public <T> void run(Class<? extends BusinessLogic<T>> type, T value) {
+        this.chainOf(type).run(value);
+    }
+
+    /**
+     * Get the chain of a kind of {@link BusinessLogic}, resolving it if this is the first time it is used
+     *
+     * @param type the kind of {@link BusinessLogic}
+     * @param <T> the type of the value handled by the logics
+     * @return the {@link LogicChain}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> LogicChain<T> chainOf(Class<? extends BusinessLogic<T>> type) {
+        return (LogicChain<T>) this.chains.computeIfAbsent(type, this::resolve);
+    }
+
+    /**
+     * Resolve the chains of all the kinds of {@link BusinessLogic} of the application
+     */
+    public void resolveAll() {
+
+        this.beanManager.getBeans(new TypeLiteral<BusinessLogic<?>>() { }.getType(), Any.Literal.INSTANCE)
+                .stream()
+                .flatMap(bean -> bean.getTypes().stream())
+                .filter(type -> type instanceof Class)
+                .map(type -> (Class<?>) type)
+                .filter(type -> type.isInterface() && type != BusinessLogic.class)
+                .filter(BusinessLogic.class::isAssignableFrom)
+                .distinct()
+                .forEach(type -> this.chains.computeIfAbsent(type, this::resolve));
+
+        this.logger.info("{} business logic chains resolved", this.chains.size());
+    }
+
+    /**
+     * Resolve and order the logics of a chain
+     *
+     * @param type the kind of {@link BusinessLogic}
+     * @return the {@link LogicChain}
+     */
+    @SuppressWarnings("unchecked")
+    private LogicChain<?> resolve(Class<?> type) {
+
+        this.beanManager.getBeans(type, Any.Literal.INSTANCE).forEach(this::checkShareable);
+
+        final List<LogicChain.Link<Object>> links = this.instances.select(type)
+                .stream()
+                .map(logic -> (BusinessLogic<Object>) logic)
+                .sorted(Comparator.comparingInt((BusinessLogic<Object> logic) -> priorityOf(logic))
+                        .thenComparing(logic -> nameOf(logic)))
+                .map(logic -> new LogicChain.Link<>(logic,
+                        this.metricRegistry.timerOf(nameOf(logic), type.getSimpleName())))
+                .collect(Collectors.toList());
+
+        this.logger.debug("Chain {} resolved with {} logics", type.getSimpleName(), links.size());
+
+        return new LogicChain<>(links);
+    }
+
+    /**
+     * Check if a logic can be shared by all the users, only by the metadata of the bean, so no context needs to be
+     * active when the chains are resolved at the startup
+     *
+     * @param bean the {@link Bean} of the logic
+     */
+    private void checkShareable(Bean<?> bean) {
+        this.checkShareable(bean, bean, new ArrayDeque<>());
+    }
+
+    /**
+     * Check the injection points of a bean held by a logic. The dependent beans are created with the logic and live as
+     * long as it does, so their own injection points are checked too, down to the whole graph. The normal scoped beans
+     * are injected as proxies, read on each call, so the graph stops on them
+     *
+     * @param logic the {@link Bean} of the logic
+     * @param bean the {@link Bean} to check, the logic itself or one of its dependent beans
+     * @param path the dependent beans between the logic and the bean checked
+     */
+    private void checkShareable(Bean<?> logic, Bean<?> bean, Deque<Bean<?>> path) {
+
+        // a bean already in the path is not checked again, so a cycle of producers does not recurse forever
+        if (path.contains(bean)) {
+            return;
+        }
+
+        path.addLast(bean);
+
+        for (InjectionPoint injectionPoint : bean.getInjectionPoints()) {
+
+            final Type injected = injectionPoint.getType();
+
+            // instances and providers are only resolved when the logic runs
+            if (injected instanceof ParameterizedType
+                    && LAZY_TYPES.contains(((ParameterizedType) injected).getRawType())) {
+                continue;
+            }
+
+            final Bean<?> resolved = this.beanManager.resolve(this.beanManager.getBeans(
+                    injected, injectionPoint.getQualifiers().toArray(new Annotation[0])));
+
+            if (resolved == null || this.beanManager.isNormalScope(resolved.getScope())) {
+                continue;
+            }
+
+            if (this.isContextual(resolved.getBeanClass())) {
+                throw new IllegalStateException(String.format("Logic %s receives %s from the %s scoped bean %s%s, " +
+                                "inject an Instance of it to read the value on each run",
+                        logic.getBeanClass().getSimpleName(), injected.getTypeName(),
+                        this.scopeOf(resolved.getBeanClass()), resolved.getBeanClass().getSimpleName(),
+                        describe(path)));
+            }
+
+            this.checkShareable(logic, resolved, path);
+        }
+
+        path.removeLast();
+    }
+
+    /**
+     * @param path the dependent beans between a logic and the bean checked, the logic first
+     * @return the dependent beans after the logic, as part of the message of the error
+     */
+    private static String describe(Deque<Bean<?>> path) {
+        return path.size() < 2 ? "" : path.stream()
+                .skip(1)
+                .map(bean -> bean.getBeanClass().getSimpleName())
+                .collect(Collectors.joining(" -> ", " through ", ""));
+    }
+
+    /**
+     * Check if a class is a bean bound to a context other than the application, like a session or a request
+     *
+     * @param beanClass the class of the bean
+     * @return true if it is, false otherwise
+     */
+    private boolean isContextual(Class<?> beanClass) {
+        final String scope = this.scopeOf(beanClass);
+        return scope != null && !ApplicationScoped.class.getSimpleName().equals(scope);
+    }
+
+    /**
+     * @param beanClass the class of the bean
+     * @return the simple name of the normal scope of the class, null if it has none
+     */
+    private String scopeOf(Class<?> beanClass) {
+        return Arrays.stream(beanClass.getAnnotations())
+                .map(Annotation::annotationType)
+                .filter(this.beanManager::isNormalScope)
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * @param logic the {@link BusinessLogic}
+     * @return the priority of the logic in his chain
+     */
+    private static int priorityOf(BusinessLogic<?> logic) {
+        final LogicPriority priority = logic.getClass().getAnnotation(LogicPriority.class);
+        return priority != null ? priority.value() : LogicPriority.ACTION;
+    }
+
+    /**
+     * @param logic the {@link BusinessLogic}
+     * @return the name of the class of the logic, without the container subclasses
+     */
+    private static String nameOf(BusinessLogic<?> logic) {
+
+        Class<?> type = logic.getClass();
+
+        while (type.getName().contains("$$")) {
+            type = type.getSuperclass();
+        }
+        return type.getSimpleName();
+    }
+}
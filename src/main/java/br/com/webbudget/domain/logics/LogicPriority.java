@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.logics;
+
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Define the position of a {@link BusinessLogic} in his {@link LogicChain}, the lower values run first
+ *
+ * The validations made in memory run first, then the validations that need to query the database and last the logics
+ * changing the data, so a invalid value fails before any expensive or definitive work is done. The logics without
+ * this annotation run with the {@link #ACTION} priority
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 27/10/2019
+ */
+@Inherited
+@Target(TYPE)
+@Retention(RUNTIME)
+public @interface LogicPriority {
+
+    int VALIDATION = 100;
+    int LOOKUP = 200;
+    int ACTION = 300;
+
+    /**
+     * @return the priority of the logic
+     */
+    int value();
+}
@@ -21,6 +21,7 @@ import br.com.webbudget.domain.entities.financial.PeriodMovement;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
 import br.com.webbudget.domain.logics.BusinessLogic;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.financial.PeriodMovementRepository;
 
 import javax.enterprise.context.Dependent;
@@ -37,6 +38,7 @@ import java.util.List;
  * @since 3.0.0, 10/04/2019
  */
 @Dependent
+@LogicPriority(LogicPriority.ACTION)
 public class ChangePeriodMovementStatusLogic implements ClosingSavingLogic {
 
     @Inject
@@ -60,6 +62,7 @@ public class ChangePeriodMovementStatusLogic implements ClosingSavingLogic {
                     throw new BusinessLogicException("error.closing.open-movement");
                 });
 
-        movements.forEach(movement -> this.periodMovementRepository.saveAndFlush(movement.prepareToAccount()));
+        movements.forEach(PeriodMovement::prepareToAccount);
+        this.periodMovementRepository.saveAll(movements);
     }
 }
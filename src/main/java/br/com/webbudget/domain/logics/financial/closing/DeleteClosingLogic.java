@@ -18,13 +18,15 @@ package br.com.webbudget.domain.logics.financial.closing;
 
 import br.com.webbudget.domain.entities.financial.Closing;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.financial.ClosingRepository;
+import br.com.webbudget.domain.services.PeriodStatisticsService;
 
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
 /**
- * Logic used to delete the {@link Closing} before reopen a {@link FinancialPeriod}
+ * Logic used to delete the {@link Closing} and the statistics frozen with it before reopen a {@link FinancialPeriod}
  *
  * @author Arthur Gregorio
  *
@@ -32,11 +34,15 @@ import javax.inject.Inject;
  * @since 1.0.0, 27/04/2019
  */
 @Dependent
+@LogicPriority(LogicPriority.ACTION)
 public class DeleteClosingLogic implements ReopenPeriodLogic {
 
     @Inject
     private ClosingRepository closingRepository;
 
+    @Inject
+    private PeriodStatisticsService periodStatisticsService;
+
     /**
      * {@inheritDoc}
      *
@@ -44,6 +50,7 @@ public class DeleteClosingLogic implements ReopenPeriodLogic {
      */
     @Override
     public void run(FinancialPeriod value) {
+        this.periodStatisticsService.discard(value.getClosing());
         this.closingRepository.attachAndRemove(value.getClosing());
     }
 }
@@ -21,6 +21,7 @@ import br.com.webbudget.domain.entities.financial.CreditCardInvoice;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
 import br.com.webbudget.domain.logics.BusinessLogic;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.financial.CreditCardInvoiceRepository;
 
 import javax.enterprise.context.Dependent;
@@ -37,6 +38,7 @@ import java.util.List;
  * @since 3.0.0, 10/04/2019
  */
 @Dependent
+@LogicPriority(LogicPriority.ACTION + 10)
 public class DeleteUnusedInvoicesLogic implements ClosingSavingLogic {
 
     @Inject
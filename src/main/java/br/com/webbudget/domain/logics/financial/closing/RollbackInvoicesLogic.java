@@ -20,6 +20,7 @@ import br.com.webbudget.domain.entities.financial.CreditCardInvoice;
 import br.com.webbudget.domain.entities.registration.Card;
 import br.com.webbudget.domain.entities.registration.CardType;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.financial.CreditCardInvoiceRepository;
 import br.com.webbudget.domain.repositories.registration.CardRepository;
 import br.com.webbudget.domain.services.CreditCardInvoiceService;
@@ -27,6 +28,8 @@ import br.com.webbudget.domain.services.CreditCardInvoiceService;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Logic used to recreate the {@link CreditCardInvoice} when we want to reopen a {@link FinancialPeriod}
@@ -37,6 +40,7 @@ import java.util.List;
  * @since 3.0.0, 27/04/2019
  */
 @Dependent
+@LogicPriority(LogicPriority.ACTION + 20)
 public class RollbackInvoicesLogic implements ReopenPeriodLogic {
 
     @Inject
@@ -57,8 +61,15 @@ public class RollbackInvoicesLogic implements ReopenPeriodLogic {
 
         final List<Card> cards = this.cardRepository.findByCardTypeAndActive(CardType.CREDIT, true);
 
-        cards.forEach(card -> this.creditCardInvoiceRepository.findByCardAndFinancialPeriod(card, value)
-                .ifPresentOrElse(invoice -> {/* do nothing */}, () -> this.recreate(card, value)));
+        // load the invoices of the period once instead of looking for each card
+        final Set<Long> cardsWithInvoice = this.creditCardInvoiceRepository.findByFinancialPeriod(value)
+                .stream()
+                .map(invoice -> invoice.getCard().getId())
+                .collect(Collectors.toSet());
+
+        cards.stream()
+                .filter(card -> !cardsWithInvoice.contains(card.getId()))
+                .forEach(card -> this.recreate(card, value));
     }
 
     /**
@@ -18,10 +18,12 @@ package br.com.webbudget.domain.logics.financial.closing;
 
 import br.com.webbudget.domain.entities.financial.PeriodMovement;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.financial.PeriodMovementRepository;
 
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
+import java.util.List;
 
 /**
  * Logic used to reopen all {@link PeriodMovement} for a given {@link PeriodMovement}
@@ -32,6 +34,7 @@ import javax.inject.Inject;
  * @since 3.0.0, 27/04/2019
  */
 @Dependent
+@LogicPriority(LogicPriority.ACTION + 10)
 public class RollbackPeriodMovementStatusLogic implements ReopenPeriodLogic {
 
     @Inject
@@ -44,7 +47,9 @@ public class RollbackPeriodMovementStatusLogic implements ReopenPeriodLogic {
      */
     @Override
     public void run(FinancialPeriod value) {
-        this.periodMovementRepository.findByFinancialPeriod(value)
-                .forEach(movement -> this.periodMovementRepository.saveAndFlush(movement.prepareToReopenPeriod()));
+        final List<PeriodMovement> movements = this.periodMovementRepository.findByFinancialPeriod(value);
+
+        movements.forEach(PeriodMovement::prepareToReopenPeriod);
+        this.periodMovementRepository.saveAll(movements);
     }
 }
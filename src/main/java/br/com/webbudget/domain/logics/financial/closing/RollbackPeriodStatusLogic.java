@@ -18,6 +18,7 @@ package br.com.webbudget.domain.logics.financial.closing;
 
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
 import br.com.webbudget.domain.logics.BusinessLogic;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.registration.FinancialPeriodRepository;
 
 import javax.enterprise.context.Dependent;
@@ -32,6 +33,7 @@ import javax.inject.Inject;
  * @since 3.0.0, 27/04/2019
  */
 @Dependent
+@LogicPriority(LogicPriority.ACTION + 30)
 public class RollbackPeriodStatusLogic implements ReopenPeriodLogic {
 
     @Inject
@@ -19,6 +19,7 @@ package br.com.webbudget.domain.logics.financial.movement.fixed;
 import br.com.webbudget.domain.entities.financial.Apportionment;
 import br.com.webbudget.domain.entities.financial.FixedMovement;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 
 import javax.enterprise.context.Dependent;
 
@@ -31,6 +32,7 @@ import javax.enterprise.context.Dependent;
  * @since 3.0.0, 26/03/2019
  */
 @Dependent
+@LogicPriority(LogicPriority.VALIDATION)
 public class ContainsApportionmentValidator implements FixedMovementSavingLogic {
 
     /**
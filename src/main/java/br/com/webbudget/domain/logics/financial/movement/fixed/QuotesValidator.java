@@ -18,6 +18,7 @@ package br.com.webbudget.domain.logics.financial.movement.fixed;
 
 import br.com.webbudget.domain.entities.financial.FixedMovement;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 
 import javax.enterprise.context.Dependent;
 
@@ -30,6 +31,7 @@ import javax.enterprise.context.Dependent;
  * @since 3.0.0, 26/03/2019
  */
 @Dependent
+@LogicPriority(LogicPriority.VALIDATION)
 public class QuotesValidator implements FixedMovementSavingLogic {
 
     /**
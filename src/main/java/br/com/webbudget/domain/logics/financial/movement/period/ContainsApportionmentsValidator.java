@@ -19,6 +19,7 @@ package br.com.webbudget.domain.logics.financial.movement.period;
 import br.com.webbudget.domain.entities.financial.Apportionment;
 import br.com.webbudget.domain.entities.financial.PeriodMovement;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 
 import javax.enterprise.context.Dependent;
 
@@ -31,6 +32,7 @@ import javax.enterprise.context.Dependent;
  * @since 3.0.0, 23/02/2019
  */
 @Dependent
+@LogicPriority(LogicPriority.VALIDATION)
 public class ContainsApportionmentsValidator implements PeriodMovementSavingLogic, PeriodMovementUpdatingLogic {
 
     /**
@@ -19,6 +19,7 @@ package br.com.webbudget.domain.logics.financial.movement.period;
 import br.com.webbudget.domain.entities.financial.CreditCardInvoice;
 import br.com.webbudget.domain.entities.financial.PeriodMovement;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 
 import javax.enterprise.context.Dependent;
 
@@ -32,6 +33,7 @@ import javax.enterprise.context.Dependent;
  * @since 3.0.0, 17/03/2019
  */
 @Dependent
+@LogicPriority(LogicPriority.VALIDATION)
 public class InvoiceLinkValidator implements PeriodMovementDeletingLogic, PeriodMovementUpdatingLogic {
 
     /**
@@ -21,6 +21,7 @@ import br.com.webbudget.domain.entities.financial.FixedMovementState;
 import br.com.webbudget.domain.entities.financial.Launch;
 import br.com.webbudget.domain.entities.financial.PeriodMovement;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.financial.FixedMovementRepository;
 import br.com.webbudget.domain.repositories.financial.LaunchRepository;
 
@@ -36,6 +37,7 @@ import javax.inject.Inject;
  * @since 3.0.0, 05/04/2019
  */
 @Dependent
+@LogicPriority(LogicPriority.ACTION)
 public class QuoteDeleteLogic implements PeriodMovementDeletingLogic {
 
     @Inject
@@ -21,6 +21,7 @@ import br.com.webbudget.domain.entities.financial.CreditCardInvoice;
 import br.com.webbudget.domain.entities.financial.Payment;
 import br.com.webbudget.domain.entities.financial.PeriodMovement;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.financial.CreditCardInvoiceRepository;
 
 import javax.enterprise.context.Dependent;
@@ -36,6 +37,7 @@ import javax.inject.Inject;
  * @since 3.0.0, 17/03/2019
  */
 @Dependent
+@LogicPriority(LogicPriority.LOOKUP)
 public class InvoiceStateValidator implements PaymentSavingLogic {
 
     @Inject
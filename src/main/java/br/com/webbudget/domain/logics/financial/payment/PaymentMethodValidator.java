@@ -18,6 +18,7 @@ package br.com.webbudget.domain.logics.financial.payment;
 
 import br.com.webbudget.application.components.dto.PaymentWrapper;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 
 import javax.enterprise.context.Dependent;
 
@@ -30,6 +31,7 @@ import javax.enterprise.context.Dependent;
  * @since 3.0.2, 22/05/2019
  */
 @Dependent
+@LogicPriority(LogicPriority.VALIDATION)
 public class PaymentMethodValidator implements PaymentSavingLogic {
 
     /**
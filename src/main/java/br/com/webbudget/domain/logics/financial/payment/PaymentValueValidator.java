@@ -20,6 +20,7 @@ import br.com.webbudget.application.components.dto.PaymentWrapper;
 import br.com.webbudget.domain.entities.financial.Payment;
 import br.com.webbudget.domain.entities.financial.PeriodMovement;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 
 import javax.enterprise.context.Dependent;
 
@@ -32,6 +33,7 @@ import javax.enterprise.context.Dependent;
  * @since 3.0.0, 17/03/2019
  */
 @Dependent
+@LogicPriority(LogicPriority.VALIDATION)
 public class PaymentValueValidator implements PaymentSavingLogic {
 
     /**
@@ -19,6 +19,7 @@ package br.com.webbudget.domain.logics.financial.transference;
 import br.com.webbudget.domain.entities.financial.Transference;
 import br.com.webbudget.domain.entities.registration.Wallet;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 
 import javax.enterprise.context.Dependent;
 
@@ -31,6 +32,7 @@ import javax.enterprise.context.Dependent;
  * @since 3.0.0, 06/10/2018
  */
 @Dependent
+@LogicPriority(LogicPriority.VALIDATION)
 public class OriginAndDestinationValidator implements TransferenceSavingLogic {
 
     /**
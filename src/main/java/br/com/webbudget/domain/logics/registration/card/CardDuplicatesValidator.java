@@ -19,6 +19,7 @@ package br.com.webbudget.domain.logics.registration.card;
 import br.com.webbudget.domain.entities.registration.Card;
 import br.com.webbudget.domain.entities.registration.CardType;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.registration.CardRepository;
 
 import javax.enterprise.context.Dependent;
@@ -34,6 +35,7 @@ import java.util.Optional;
  * @since 3.0.0, 27/09/2018
  */
 @Dependent
+@LogicPriority(LogicPriority.LOOKUP)
 public class CardDuplicatesValidator implements CardSavingLogic, CardUpdatingLogic {
 
     @Inject
@@ -19,6 +19,7 @@ package br.com.webbudget.domain.logics.registration.card;
 import br.com.webbudget.domain.entities.registration.Card;
 import br.com.webbudget.domain.entities.registration.CardType;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 
 import javax.enterprise.context.Dependent;
 
@@ -31,6 +32,7 @@ import javax.enterprise.context.Dependent;
  * @since 3.0.0, 27/09/2018
  */
 @Dependent
+@LogicPriority(LogicPriority.VALIDATION)
 public class DebitCardWalletValidator implements CardSavingLogic, CardUpdatingLogic {
 
     /**
@@ -19,6 +19,7 @@ package br.com.webbudget.domain.logics.registration.card;
 import br.com.webbudget.domain.entities.financial.CreditCardInvoice;
 import br.com.webbudget.domain.entities.registration.Card;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.financial.CreditCardInvoiceRepository;
 
 import javax.enterprise.context.Dependent;
@@ -34,6 +35,7 @@ import java.util.List;
  * @since 3.0.1, 11/05/2019
  */
 @Dependent
+@LogicPriority(LogicPriority.ACTION)
 public class InvoiceValidator implements CardDeletingLogic {
 
     @Inject
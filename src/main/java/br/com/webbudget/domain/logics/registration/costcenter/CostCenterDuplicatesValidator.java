@@ -18,6 +18,7 @@ package br.com.webbudget.domain.logics.registration.costcenter;
 
 import br.com.webbudget.domain.entities.registration.CostCenter;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.registration.CostCenterRepository;
 
 import javax.enterprise.context.Dependent;
@@ -32,6 +33,7 @@ import javax.inject.Inject;
  * @since 3.0.0, 27/09/2018
  */
 @Dependent
+@LogicPriority(LogicPriority.LOOKUP)
 public class CostCenterDuplicatesValidator implements CostCenterSavingLogic {
 
     @Inject
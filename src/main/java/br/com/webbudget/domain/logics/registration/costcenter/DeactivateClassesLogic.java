@@ -18,6 +18,7 @@ package br.com.webbudget.domain.logics.registration.costcenter;
 
 import br.com.webbudget.domain.entities.registration.CostCenter;
 import br.com.webbudget.domain.entities.registration.MovementClass;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.registration.MovementClassRepository;
 
 import javax.enterprise.context.Dependent;
@@ -33,6 +34,7 @@ import java.util.List;
  * @since 3.0.0, 17/03/2019
  */
 @Dependent
+@LogicPriority(LogicPriority.ACTION)
 public class DeactivateClassesLogic implements CostCenterUpdatingLogic {
 
     @Inject
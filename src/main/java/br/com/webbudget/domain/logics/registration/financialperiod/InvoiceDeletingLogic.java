@@ -20,6 +20,7 @@ import br.com.webbudget.domain.entities.financial.CreditCardInvoice;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
 import br.com.webbudget.domain.logics.BusinessLogic;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.financial.CreditCardInvoiceRepository;
 
 import javax.enterprise.context.Dependent;
@@ -36,6 +37,7 @@ import java.util.List;
  * @since 3.0.0, 07/04/2019
  */
 @Dependent
+@LogicPriority(LogicPriority.ACTION)
 public class InvoiceDeletingLogic implements PeriodDeletingLogic {
 
     @Inject
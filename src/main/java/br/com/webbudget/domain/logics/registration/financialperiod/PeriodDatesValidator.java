@@ -18,6 +18,7 @@ package br.com.webbudget.domain.logics.registration.financialperiod;
 
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.registration.FinancialPeriodRepository;
 
 import javax.enterprise.context.Dependent;
@@ -33,6 +34,7 @@ import java.time.LocalDate;
  * @since 3.0.0, 27/09/2018
  */
 @Dependent
+@LogicPriority(LogicPriority.LOOKUP)
 public class PeriodDatesValidator implements PeriodSavingLogic {
 
     @Inject
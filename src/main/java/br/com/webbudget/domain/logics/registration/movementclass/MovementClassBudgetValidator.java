@@ -20,6 +20,7 @@ import br.com.webbudget.domain.entities.registration.CostCenter;
 import br.com.webbudget.domain.entities.registration.MovementClass;
 import br.com.webbudget.domain.entities.registration.MovementClassType;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.registration.MovementClassRepository;
 
 import javax.enterprise.context.Dependent;
@@ -36,6 +37,7 @@ import java.util.List;
  * @since 3.0.0, 29/09/2018
  */
 @Dependent
+@LogicPriority(LogicPriority.LOOKUP)
 public class MovementClassBudgetValidator implements MovementClassSavingLogic, MovementClassUpdatingLogic {
 
     @Inject
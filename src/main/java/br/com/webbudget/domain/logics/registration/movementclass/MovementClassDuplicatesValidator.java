@@ -19,6 +19,7 @@ package br.com.webbudget.domain.logics.registration.movementclass;
 import br.com.webbudget.domain.entities.registration.CostCenter;
 import br.com.webbudget.domain.entities.registration.MovementClass;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.registration.MovementClassRepository;
 
 import javax.enterprise.context.Dependent;
@@ -34,6 +35,7 @@ import java.util.Optional;
  * @since 3.0.0, 29/09/2018
  */
 @Dependent
+@LogicPriority(LogicPriority.LOOKUP)
 public class MovementClassDuplicatesValidator implements MovementClassSavingLogic, MovementClassUpdatingLogic {
 
     @Inject
@@ -18,6 +18,7 @@ package br.com.webbudget.domain.logics.registration.vehicle;
 
 import br.com.webbudget.domain.entities.registration.Vehicle;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.registration.VehicleRepository;
 
 import javax.enterprise.context.Dependent;
@@ -32,6 +33,7 @@ import javax.inject.Inject;
  * @since 3.0.0, 27/09/2018
  */
 @Dependent
+@LogicPriority(LogicPriority.LOOKUP)
 public class LicensePlateValidator implements VehicleSavingLogic {
 
     @Inject
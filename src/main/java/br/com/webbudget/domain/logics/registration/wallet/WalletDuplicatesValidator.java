@@ -19,6 +19,7 @@ package br.com.webbudget.domain.logics.registration.wallet;
 import br.com.webbudget.domain.entities.registration.Wallet;
 import br.com.webbudget.domain.entities.registration.WalletType;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.registration.WalletRepository;
 
 import javax.enterprise.context.Dependent;
@@ -34,6 +35,7 @@ import java.util.Optional;
  * @since 3.0.0, 28/09/2018
  */
 @Dependent
+@LogicPriority(LogicPriority.LOOKUP)
 public class WalletDuplicatesValidator implements WalletSavingLogic, WalletUpdatingLogic {
 
     @Inject
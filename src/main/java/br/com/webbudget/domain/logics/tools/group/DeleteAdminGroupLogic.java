@@ -19,6 +19,7 @@ package br.com.webbudget.domain.logics.tools.group;
 import br.com.webbudget.domain.entities.configuration.Group;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
 import br.com.webbudget.domain.logics.BusinessLogic;
+import br.com.webbudget.domain.logics.LogicPriority;
 
 import javax.enterprise.context.Dependent;
 
@@ -31,6 +32,7 @@ import javax.enterprise.context.Dependent;
  * @since 3.0.0, 09/08/2018
  */
 @Dependent
+@LogicPriority(LogicPriority.VALIDATION)
 public class DeleteAdminGroupLogic implements GroupDeletingLogic {
 
     /**
@@ -19,25 +19,30 @@ package br.com.webbudget.domain.logics.tools.user;
 import br.com.webbudget.domain.entities.configuration.User;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
 import br.com.webbudget.domain.logics.BusinessLogic;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.infrastructure.cdi.qualifiers.AuthenticatedUser;
 
 import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 
 /**
  * {@link BusinessLogic} to validte if you are deleting the admin
  *
+ * The chains of logics are shared by all the users, so the principal is looked up on each run instead of being kept
+ *
  * @author Arthur Gregorio
  *
- * @version 1.0.0
+ * @version 1.1.0
  * @since 3.0.0, 09/08/2018
  */
 @Dependent
+@LogicPriority(LogicPriority.VALIDATION)
 public class DeleteAdminUserLogic implements UserDeletingLogic {
 
     @Inject
     @AuthenticatedUser
-    private User principal;
+    private Instance<User> principal;
 
     /**
      * {@inheritDoc }
@@ -47,7 +52,7 @@ public class DeleteAdminUserLogic implements UserDeletingLogic {
     @Override
     public void run(User value) {
 
-        final String principalUsername = this.principal.getUsername();
+        final String principalUsername = this.principal.get().getUsername();
 
         // prevent to delete you own user 
         if (principalUsername.equals(value.getUsername())) {
@@ -19,6 +19,7 @@ package br.com.webbudget.domain.logics.tools.user;
 import br.com.webbudget.domain.entities.configuration.StoreType;
 import br.com.webbudget.domain.entities.configuration.User;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.configuration.UserRepository;
 import br.com.webbudget.domain.logics.BusinessLogic;
 import br.eti.arthurgregorio.shiroee.auth.PasswordEncoder;
@@ -36,6 +37,7 @@ import java.util.Optional;
  * @since 1.0.0, 09/08/2018
  */
 @Dependent
+@LogicPriority(LogicPriority.ACTION)
 public class PasswordLogic implements UserSavingLogic, UserUpdatingLogic {
 
     @Inject
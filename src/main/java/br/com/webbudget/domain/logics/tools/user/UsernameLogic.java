@@ -18,6 +18,7 @@ package br.com.webbudget.domain.logics.tools.user;
 
 import br.com.webbudget.domain.entities.configuration.User;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicPriority;
 import br.com.webbudget.domain.repositories.configuration.UserRepository;
 import br.com.webbudget.domain.logics.BusinessLogic;
 
@@ -33,6 +34,7 @@ import javax.inject.Inject;
  * @since 3.0.0, 09/08/2018
  */
 @Dependent
+@LogicPriority(LogicPriority.LOOKUP)
 public class UsernameLogic implements UserSavingLogic {
 
     @Inject
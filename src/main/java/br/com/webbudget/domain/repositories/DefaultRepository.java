@@ -18,11 +18,24 @@ package br.com.webbudget.domain.repositories;
 
 import br.com.webbudget.domain.entities.PersistentEntity;
 import br.com.webbudget.domain.entities.PersistentEntity_;
+import br.com.webbudget.infrastructure.utils.Configurations;
+import org.apache.deltaspike.data.api.EntityManagerDelegate;
 import org.apache.deltaspike.data.api.EntityRepository;
 import org.apache.deltaspike.data.api.criteria.Criteria;
 import org.apache.deltaspike.data.api.criteria.CriteriaSupport;
+import org.hibernate.FlushMode;
+import org.hibernate.jpa.QueryHints;
 
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
 import javax.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -36,10 +49,11 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
  *
  * @author Arthur Gregorio
  *
- * @version 1.0.0
+ * @version 1.2.0
  * @since 3.0.0, 20/03/2018
  */
-public interface DefaultRepository<T extends PersistentEntity> extends EntityRepository<T, Long>, CriteriaSupport<T> {
+public interface DefaultRepository<T extends PersistentEntity> extends EntityRepository<T, Long>,
+        EntityManagerDelegate<T>, CriteriaSupport<T> {
 
     /**
      * Generic method to find a entity by Id
@@ -61,7 +75,7 @@ public interface DefaultRepository<T extends PersistentEntity> extends EntityRep
 
         this.setOrder(criteria);
 
-        return criteria.getResultList();
+        return this.createQuery(criteria).getResultList();
     }
 
     /**
@@ -76,7 +90,7 @@ public interface DefaultRepository<T extends PersistentEntity> extends EntityRep
 
         this.setOrder(criteria);
 
-        return criteria.getResultList();
+        return this.createQuery(criteria).getResultList();
     }
 
     /**
@@ -92,7 +106,78 @@ public interface DefaultRepository<T extends PersistentEntity> extends EntityRep
 
         this.setOrder(criteria);
 
-        return criteria.createQuery().getResultList();
+        return this.createQuery(criteria).getResultList();
+    }
+
+    /**
+     * Save all the given entities, flushing the changes at every chunk of the size configured for the JDBC batches so
+     * Hibernate can send the statements in batches instead of one round-trip per entity
+     *
+     * @param entities the entities to be saved
+     * @return a {@link List} with the saved entities
+     */
+    default List<T> saveAll(Collection<T> entities) {
+        return this.saveAll(entities, false);
+    }
+
+    /**
+     * Same as {@link #saveAll(Collection)} but optionally clearing the persistence context after each chunk
+     *
+     * Clearing keeps the memory flat on big imports but detaches every managed entity of the current transaction,
+     * including the returned ones, so use it only when nothing loaded before will be touched again
+     *
+     * @param entities the entities to be saved
+     * @param clear if the persistence context should be cleared after each chunk
+     * @return a {@link List} with the saved entities
+     */
+    default List<T> saveAll(Collection<T> entities, boolean clear) {
+
+        final int chunkSize = this.getBatchSize();
+        final List<T> saved = new ArrayList<>(entities.size());
+
+        for (T entity : entities) {
+            saved.add(this.save(entity));
+            if (saved.size() % chunkSize == 0) {
+                this.flushChunk(clear);
+            }
+        }
+
+        if (saved.size() % chunkSize != 0) {
+            this.flushChunk(clear);
+        }
+
+        return saved;
+    }
+
+    /**
+     * Remove all the given entities, attaching them if needed and flushing the changes at every chunk of the size
+     * configured for the JDBC batches
+     *
+     * @param entities the entities to be removed
+     */
+    default void removeAll(Collection<T> entities) {
+
+        final int chunkSize = this.getBatchSize();
+
+        int count = 0;
+
+        for (T entity : entities) {
+            this.attachAndRemove(entity);
+            if (++count % chunkSize == 0) {
+                this.flush();
+            }
+        }
+
+        if (count % chunkSize != 0) {
+            this.flush();
+        }
+    }
+
+    /**
+     * @return the size of the chunks used by the batch operations, the same of the JDBC batches
+     */
+    default int getBatchSize() {
+        return Configurations.getAsInteger("persistence.batch-size");
     }
 
     /**
@@ -118,6 +203,60 @@ public interface DefaultRepository<T extends PersistentEntity> extends EntityRep
         return criteria;
     }
 
+    /**
+     * Create the query for a given {@link Criteria}, putting it in the query cache when {@link #isQueryCacheable()}
+     *
+     * @param criteria the criteria to be used
+     * @return the {@link TypedQuery} ready to be executed
+     */
+    default TypedQuery<T> createQuery(Criteria<T, T> criteria) {
+
+        final TypedQuery<T> query = criteria.createQuery();
+
+        if (this.isQueryCacheable()) {
+            query.setHint(QueryHints.HINT_CACHEABLE, true);
+        }
+
+        return query;
+    }
+
+    /**
+     * Create the query for a given JPA {@link CriteriaQuery}, for the queries the {@link Criteria} can't express, like
+     * the ones with subqueries
+     *
+     * @param query the criteria query to be used
+     * @param <R> the type of the result
+     * @return the {@link TypedQuery} ready to be executed
+     */
+    default <R> TypedQuery<R> createQuery(CriteriaQuery<R> query) {
+        return this.getEntityManager().createQuery(query);
+    }
+
+    /**
+     * Put the query in the read-only mode: the entities loaded are not tracked by the dirty checking and the
+     * persistence context is not flushed before the query runs. Use it only for data loaded to be displayed, like the
+     * listings, the changes made in an entity loaded this way are never saved
+     *
+     * @param query the query to be changed
+     * @param <R> the type of the result
+     * @return the same query, in read-only mode
+     */
+    default <R> TypedQuery<R> readOnly(TypedQuery<R> query) {
+        query.setHint(QueryHints.HINT_READONLY, true);
+        query.setHint(QueryHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+        return query;
+    }
+
+    /**
+     * Override this method to put the results of the generic queries of this repository in the query cache, only do
+     * this for entities also stored in the second level cache or each hit will load the entities one by one
+     *
+     * @return true if the generic queries should be cached, false otherwise
+     */
+    default boolean isQueryCacheable() {
+        return false;
+    }
+
     /**
      * Use this method to set the default order to all the queries using the default repository
      *
@@ -155,10 +294,83 @@ public interface DefaultRepository<T extends PersistentEntity> extends EntityRep
      *
      * Example: if the filter is 'John' the result after calling this method should be '%John%'
      *
+     * The wildcards typed by the user are escaped with the default escape character of the database, so a search for
+     * '10%' looks for the text '10%' and not for anything starting with '10'
+     *
      * @param filter the filter to put the wildcard '%'
      * @return the string filter with 'any' style
      */
     default String likeAny(String filter) {
-        return "%" + filter + "%";
+        return "%" + filter.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    /**
+     * Helper method to create a LIKE restriction ignoring the case with the filter in the 'any' style of
+     * {@link #likeAny(String)}, the same restriction of the {@link Criteria#likeIgnoreCase(SingularAttribute, String)}
+     * for the queries built with a JPA {@link CriteriaQuery}
+     *
+     * @param builder the {@link CriteriaBuilder} of the query
+     * @param expression the text to be searched
+     * @param filter the generic filter in {@link String} format
+     * @return the restriction
+     */
+    default Predicate likeAnyIgnoreCase(CriteriaBuilder builder, Expression<String> expression, String filter) {
+        return builder.like(builder.upper(expression), this.likeAny(filter).toUpperCase());
+    }
+
+    /**
+     * Create a restriction by the foreign key of a relation with the entities whose attribute matches the filter
+     *
+     * This is the index friendly way to search by the text of a related entity: the related ids come from a subquery,
+     * using the trigram index of the attribute, and the listing filters only by the foreign key. A join inside an OR
+     * restriction forces the database to scan the whole listing table instead
+     *
+     * The {@link Criteria} can't express subqueries, so the listings using this restriction are built with a JPA
+     * {@link CriteriaQuery} and the subquery is created from that same query
+     *
+     * @param relation the relation of this type to be filtered
+     * @param type the type of the related entity
+     * @param attribute the attribute of the related entity to be searched
+     * @param filter the generic filter in {@link String} format
+     * @param builder the {@link CriteriaBuilder} of the query
+     * @param query the query of the listing
+     * @param root the root of the listing query
+     * @param <R> the type of the related entity
+     * @return the restriction
+     */
+    default <R extends PersistentEntity> Predicate relatedLike(SingularAttribute<? super T, R> relation, Class<R> type,
+                                                               SingularAttribute<? super R, String> attribute,
+                                                               String filter, CriteriaBuilder builder,
+                                                               CriteriaQuery<?> query, Root<T> root) {
+
+        final Subquery<Long> related = query.subquery(Long.class);
+        final Root<R> relatedRoot = related.from(type);
+
+        related.select(relatedRoot.get(PersistentEntity_.id))
+                .where(this.likeAnyIgnoreCase(builder, relatedRoot.get(attribute), filter));
+
+        return root.get(relation).get(PersistentEntity_.id).in(related);
+    }
+
+    /**
+     * Flush the pending changes of a chunk and optionally clear the persistence context
+     *
+     * @param clear if the persistence context should be cleared
+     */
+    private void flushChunk(boolean clear) {
+        this.flush();
+        if (clear) {
+            this.getEntityManager().clear();
+        }
+    }
+
+    /**
+     * The {@link EntityManager} given by the resolver of this repository, so the queries built here run in the same
+     * database of the generated ones, the replica for the repositories routed to it
+     *
+     * @return the {@link EntityManager} of this repository
+     */
+    private EntityManager getEntityManager() {
+        return this.unwrap(EntityManager.class);
     }
-}
\ No newline at end of file
+}
@@ -19,6 +19,7 @@ package br.com.webbudget.domain.repositories;
 import br.com.webbudget.application.components.ui.table.Page;
 import br.com.webbudget.domain.entities.PersistentEntity;
 import br.com.webbudget.domain.entities.PersistentEntity_;
+import br.com.webbudget.infrastructure.jpa.ReadReplica;
 import org.apache.deltaspike.data.api.criteria.Criteria;
 
 import java.util.List;
@@ -45,6 +46,7 @@ public interface LazyDefaultRepository<T extends PersistentEntity> extends Defau
      * @param pageSize size of the page
      * @return {@link Page} filled with the objects found
      */
+    @ReadReplica(maxLag = 5)
     default Page<T> findAllBy(String filter, Boolean active, int start, int pageSize) {
 
         final int totalRows = this.countPages(filter, active);
@@ -53,7 +55,7 @@ public interface LazyDefaultRepository<T extends PersistentEntity> extends Defau
 
         this.setOrder(criteria);
 
-        final List<T> data = criteria.createQuery()
+        final List<T> data = this.readOnly(criteria.createQuery())
                 .setFirstResult(start)
                 .setMaxResults(pageSize)
                 .getResultList();
@@ -70,8 +72,9 @@ public interface LazyDefaultRepository<T extends PersistentEntity> extends Defau
      */
     @SuppressWarnings("unchecked")
     default int countPages(String filter, Boolean active) {
-        return this.buildCriteria(filter, active)
+        return this.readOnly(this.buildCriteria(filter, active)
                 .select(Long.class, count(PersistentEntity_.id))
+                .createQuery())
                 .getSingleResult()
                 .intValue();
     }
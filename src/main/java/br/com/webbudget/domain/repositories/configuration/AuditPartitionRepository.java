@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.repositories.configuration;
+
+import br.com.webbudget.domain.entities.configuration.AuditPartition;
+import br.com.webbudget.domain.entities.configuration.AuditPartitionState;
+import org.apache.deltaspike.data.api.EntityRepository;
+import org.apache.deltaspike.data.api.Query;
+import org.apache.deltaspike.data.api.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The {@link AuditPartition} repository
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@Repository
+public interface AuditPartitionRepository extends EntityRepository<AuditPartition, String> {
+
+    /**
+     * Find the {@link AuditPartition} ending before the given date and not archived yet, the oldest first
+     *
+     * @param rangeEnd the date limit, the partitions ending on it or before are returned
+     * @return a {@link List} with the {@link AuditPartition} found
+     */
+    @Query("FROM AuditPartition ap WHERE ap.rangeEnd <= ?1 AND ap.partitionState <> ?2 " +
+            "ORDER BY ap.rangeEnd, ap.partitionName")
+    List<AuditPartition> findExpired(LocalDate rangeEnd, AuditPartitionState archived);
+
+    /**
+     * Find the most recent archived {@link AuditPartition}
+     *
+     * @param state the state of the partitions
+     * @return a {@link List} with the last 100 {@link AuditPartition} in the given state
+     */
+    @Query(value = "FROM AuditPartition ap WHERE ap.partitionState = ?1 " +
+            "ORDER BY ap.rangeStart DESC, ap.partitionName", max = 100)
+    List<AuditPartition> findLatestByState(AuditPartitionState state);
+}
@@ -18,8 +18,10 @@ package br.com.webbudget.domain.repositories.configuration;
 
 import br.com.webbudget.domain.entities.configuration.Authorization;
 import br.com.webbudget.domain.repositories.DefaultRepository;
+import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -41,4 +43,12 @@ public interface AuthorizationRepository extends DefaultRepository<Authorization
      * @return an {@link Optional} of the {@link Authorization}
      */
     Optional<Authorization> findByFunctionalityAndPermission(String functionality, String permission);
+
+    /**
+     * Find the full permission, the functionality + the permission, of all the {@link Authorization} already saved
+     *
+     * @return a {@link List} with the full permissions found
+     */
+    @Query("SELECT CONCAT(au.functionality, ':', au.permission) FROM Authorization au")
+    List<String> findFullPermissions();
 }
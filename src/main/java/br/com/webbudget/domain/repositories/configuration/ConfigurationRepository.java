@@ -20,7 +20,9 @@ import br.com.webbudget.domain.entities.configuration.Configuration;
 import br.com.webbudget.domain.repositories.DefaultRepository;
 import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
+import org.hibernate.jpa.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
 
 /**
@@ -39,7 +41,18 @@ public interface ConfigurationRepository extends DefaultRepository<Configuration
      *
      * @return an {@link Optional} of the current configuration
      */
-    @Query("FROM Configuration c " +
-            "WHERE c.id = (SELECT MAX(co.id) FROM Configuration co)")
+    @Query(value = "FROM Configuration c " +
+            "WHERE c.id = (SELECT MAX(co.id) FROM Configuration co)",
+            hints = @QueryHint(name = QueryHints.HINT_CACHEABLE, value = "true"))
     Optional<Configuration> findCurrent();
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    default boolean isQueryCacheable() {
+        return true;
+    }
 }
@@ -19,8 +19,10 @@ package br.com.webbudget.domain.repositories.configuration;
 import br.com.webbudget.domain.entities.configuration.Group;
 import br.com.webbudget.domain.entities.configuration.Group_;
 import br.com.webbudget.domain.repositories.LazyDefaultRepository;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
 import org.apache.deltaspike.data.api.Repository;
 import org.apache.deltaspike.data.api.criteria.Criteria;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
 
 import javax.persistence.metamodel.SingularAttribute;
 import java.util.Collection;
@@ -36,6 +38,7 @@ import java.util.Optional;
  * @since 3.0.0, 28/12/2017
  */
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface GroupRepository extends LazyDefaultRepository<Group> {
 
     /**
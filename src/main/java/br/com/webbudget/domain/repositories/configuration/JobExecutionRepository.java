@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.repositories.configuration;
+
+import br.com.webbudget.domain.entities.configuration.JobExecution;
+import br.com.webbudget.domain.repositories.DefaultRepository;
+import br.com.webbudget.infrastructure.jpa.BulkWrite;
+import org.apache.deltaspike.data.api.Modifying;
+import org.apache.deltaspike.data.api.Query;
+import org.apache.deltaspike.data.api.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The {@link JobExecution} repository
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 28/10/2019
+ */
+@Repository
+public interface JobExecutionRepository extends DefaultRepository<JobExecution> {
+
+    /**
+     * Find the most recent {@link JobExecution} of every job
+     *
+     * @return a {@link List} with the last {@link JobExecution} of each job
+     */
+    @Query("FROM JobExecution je WHERE je.startedOn = " +
+            "(SELECT MAX(other.startedOn) FROM JobExecution other WHERE other.jobName = je.jobName)")
+    List<JobExecution> findLastOfEachJob();
+
+    /**
+     * Find the most recent {@link JobExecution} of all the jobs
+     *
+     * @return a {@link List} with the last 100 {@link JobExecution}
+     */
+    @Query(value = "FROM JobExecution je ORDER BY je.startedOn DESC", max = 100)
+    List<JobExecution> findLatest();
+
+    /**
+     * Discard the history older than the given date
+     *
+     * @param startedOn the date limit, anything started before it is removed
+     * @return the number of {@link JobExecution} removed
+     */
+    @BulkWrite
+    @Modifying
+    @Query("DELETE FROM JobExecution je WHERE je.startedOn < ?1")
+    int deleteStartedBefore(LocalDateTime startedOn);
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.repositories.configuration;
+
+import br.com.webbudget.domain.entities.configuration.JobLease;
+import br.com.webbudget.infrastructure.jpa.BulkWrite;
+import org.apache.deltaspike.data.api.EntityRepository;
+import org.apache.deltaspike.data.api.Modifying;
+import org.apache.deltaspike.data.api.Query;
+import org.apache.deltaspike.data.api.Repository;
+
+import java.util.List;
+
+/**
+ * The {@link JobLease} repository
+ *
+ * The leases are handled with native statements so the database decides, atomically and with a single clock, which
+ * node gets the lease
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 28/10/2019
+ */
+@Repository
+public interface JobLeaseRepository extends EntityRepository<JobLease, String> {
+
+    /**
+     * Try to acquire the lease of a job. The lease is created if the job never had one or taken if the current one
+     * has already expired, otherwise nothing is changed
+     *
+     * @param jobName the name of the job
+     * @param owner the name of the node trying to get the lease
+     * @param seconds the time, in seconds, the lease will be valid
+     * @return 1 if the lease was acquired, 0 otherwise
+     */
+    @BulkWrite
+    @Modifying
+    @Query(value = "INSERT INTO configuration.job_leases (job_name, owner, acquired_on, locked_until) " +
+            "VALUES (?1, ?2, now(), now() + ?3 * interval '1 second') " +
+            "ON CONFLICT (job_name) DO UPDATE SET owner = excluded.owner, " +
+            "acquired_on = excluded.acquired_on, locked_until = excluded.locked_until " +
+            "WHERE job_leases.locked_until < now()", isNative = true)
+    int acquire(String jobName, String owner, long seconds);
+
+    /**
+     * Release the lease of a job held by the given node. The lease is kept at least for the given time after it was
+     * acquired, so the other nodes firing the same schedule a little later don't run the job again
+     *
+     * @param jobName the name of the job
+     * @param owner the name of the node holding the lease
+     * @param seconds the minimum time, in seconds, the lease is kept after it was acquired
+     * @return 1 if the lease was released, 0 if the node was not holding it anymore
+     */
+    @BulkWrite
+    @Modifying
+    @Query(value = "UPDATE configuration.job_leases " +
+            "SET locked_until = GREATEST(now(), acquired_on + ?3 * interval '1 second') " +
+            "WHERE job_name = ?1 AND owner = ?2", isNative = true)
+    int release(String jobName, String owner, long seconds);
+
+    /**
+     * Find all the {@link JobLease} ordered by the name of the job
+     *
+     * @return a {@link List} with the {@link JobLease} found
+     */
+    @Query("FROM JobLease jl ORDER BY jl.jobName")
+    List<JobLease> findAllOrdered();
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.repositories.configuration;
+
+import br.com.webbudget.domain.entities.Revision;
+import br.com.webbudget.infrastructure.jpa.ReadOnly;
+import br.com.webbudget.infrastructure.jpa.ReadReplica;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
+import org.apache.deltaspike.data.api.EntityRepository;
+import org.apache.deltaspike.data.api.MaxResults;
+import org.apache.deltaspike.data.api.Query;
+import org.apache.deltaspike.data.api.Repository;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
+
+import java.util.List;
+
+/**
+ * The {@link Revision} repository
+ *
+ * The revisions are paged by the id, the next page starts after the last id of the current one, so any page costs the
+ * same no matter how deep it is. The first page starts after {@link Long#MAX_VALUE}
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@ReadOnly
+@ReadReplica(maxLag = 30)
+@Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
+public interface RevisionRepository extends EntityRepository<Revision, Long> {
+
+    /**
+     * Find the {@link Revision} older than the given one
+     *
+     * @param id the id of the last {@link Revision} of the previous page
+     * @param pageSize maximum size of the page
+     * @return a {@link List} with the {@link Revision} found, the newest first
+     */
+    @Query("FROM Revision rv WHERE rv.id < ?1 ORDER BY rv.id DESC")
+    List<Revision> findOlderThan(Long id, @MaxResults int pageSize);
+}
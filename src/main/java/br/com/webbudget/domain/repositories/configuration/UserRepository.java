@@ -20,8 +20,10 @@ import br.com.webbudget.domain.entities.configuration.StoreType;
 import br.com.webbudget.domain.entities.configuration.User;
 import br.com.webbudget.domain.entities.configuration.User_;
 import br.com.webbudget.domain.repositories.LazyDefaultRepository;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
 import org.apache.deltaspike.data.api.Repository;
 import org.apache.deltaspike.data.api.criteria.Criteria;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
 
 import javax.persistence.metamodel.SingularAttribute;
 import java.util.Collection;
@@ -37,6 +39,7 @@ import java.util.Optional;
  * @since 3.0.0, 28/12/2017
  */
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface UserRepository extends LazyDefaultRepository<User> {
 
     /**
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.repositories.financial;
+
+import br.com.webbudget.domain.entities.financial.Closing;
+import br.com.webbudget.domain.entities.financial.ClosingStatistics;
+import br.com.webbudget.infrastructure.jpa.BulkWrite;
+import org.apache.deltaspike.data.api.EntityRepository;
+import org.apache.deltaspike.data.api.Modifying;
+import org.apache.deltaspike.data.api.Query;
+import org.apache.deltaspike.data.api.Repository;
+
+/**
+ * The {@link ClosingStatistics} repository, the statistics share the id of the {@link Closing} so use
+ * the inherited findBy to read them by primary key
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.2.0
+ * @since 3.1.0, 24/10/2019
+ */
+@Repository
+public interface ClosingStatisticsRepository extends EntityRepository<ClosingStatistics, Long> {
+
+    /**
+     * Save the statistics of a {@link Closing} only if there is none yet, so two requests capturing the same snapshot
+     * at the same time don't fail on the primary key, the first one is kept and the other is ignored
+     *
+     * @param closingId the id of the {@link Closing}
+     * @param content the statistics, already converted to JSON
+     * @return 1 if the statistics were saved, 0 if there was a snapshot already
+     */
+    @BulkWrite
+    @Modifying
+    @Query(value = "INSERT INTO financial.closing_statistics (id, content) VALUES (?1, ?2) " +
+            "ON CONFLICT (id) DO NOTHING", isNative = true)
+    int saveIfAbsent(Long closingId, String content);
+
+    /**
+     * Discard the statistics of a {@link Closing}
+     *
+     * @param closingId the id of the {@link Closing}
+     * @return the number of statistics removed
+     */
+    @BulkWrite
+    @Modifying
+    @Query("DELETE FROM ClosingStatistics cs WHERE cs.id = ?1")
+    int deleteByClosingId(Long closingId);
+}
@@ -26,10 +26,17 @@ import br.com.webbudget.domain.entities.registration.Card_;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod_;
 import br.com.webbudget.domain.repositories.DefaultRepository;
+import br.com.webbudget.infrastructure.jpa.ReadReplica;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.deltaspike.data.api.Repository;
-import org.apache.deltaspike.data.api.criteria.Criteria;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
 
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,10 +45,11 @@ import java.util.Optional;
  *
  * @author Arthur Gregorio
  *
- * @version 1.0.0
+ * @version 1.1.0
  * @since 3.0.0, 10/03/2019
  */
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface CreditCardInvoiceRepository extends DefaultRepository<CreditCardInvoice> {
 
     /**
@@ -87,15 +95,22 @@ public interface CreditCardInvoiceRepository extends DefaultRepository<CreditCar
      * @param pageSize for limiting the items
      * @return a {@link Page} with the {@link CreditCardInvoice} found
      */
+    @ReadReplica(maxLag = 5)
     default Page<CreditCardInvoice> findAllBy(String filter, InvoiceState invoiceState, int start, int pageSize) {
 
         final int totalRows = this.countPages(filter, invoiceState);
 
-        final Criteria<CreditCardInvoice, CreditCardInvoice> criteria = this.buildCriteria(filter, invoiceState);
+        final CriteriaBuilder builder = this.getCriteriaBuilder();
 
-        criteria.orderDesc(CreditCardInvoice_.createdOn);
+        final CriteriaQuery<CreditCardInvoice> query = builder.createQuery(CreditCardInvoice.class);
+        final Root<CreditCardInvoice> root = query.from(CreditCardInvoice.class);
 
-        final List<CreditCardInvoice> data = criteria.createQuery()
+        query.select(root)
+                .where(this.buildRestrictions(filter, invoiceState, builder, query, root))
+                .orderBy(builder.asc(root.get(CreditCardInvoice_.financialPeriod)),
+                        builder.desc(root.get(CreditCardInvoice_.createdOn)));
+
+        final List<CreditCardInvoice> data = this.readOnly(this.createQuery(query))
                 .setFirstResult(start)
                 .setMaxResults(pageSize)
                 .getResultList();
@@ -110,41 +125,48 @@ public interface CreditCardInvoiceRepository extends DefaultRepository<CreditCar
      * @param invoiceState to filter
      * @return total of pages for this search
      */
-    @SuppressWarnings("unchecked")
     default int countPages(String filter, InvoiceState invoiceState) {
-        return this.buildCriteria(filter, invoiceState)
-                .select(Long.class, count(CreditCardInvoice_.id))
+
+        final CriteriaBuilder builder = this.getCriteriaBuilder();
+
+        final CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        final Root<CreditCardInvoice> root = query.from(CreditCardInvoice.class);
+
+        query.select(builder.count(root))
+                .where(this.buildRestrictions(filter, invoiceState, builder, query, root));
+
+        return this.readOnly(this.createQuery(query))
                 .getSingleResult()
                 .intValue();
     }
 
     /**
-     * Build the {@link Criteria} to search for {@link CreditCardInvoice}
+     * Build the restrictions to search for {@link CreditCardInvoice} over the root of a query, the search by the card
+     * and by the period are subqueries of that same query
      *
      * @param filter value
      * @param invoiceState to filter
-     * @return the {@link Criteria} ready to search
+     * @param builder the {@link CriteriaBuilder} of the query
+     * @param query the query to be restricted
+     * @param root the {@link CreditCardInvoice} root of the query
+     * @return the restrictions to be used in the where clause
      */
-    @SuppressWarnings("unchecked")
-    default Criteria<CreditCardInvoice, CreditCardInvoice> buildCriteria(String filter, InvoiceState invoiceState) {
+    default Predicate[] buildRestrictions(String filter, InvoiceState invoiceState, CriteriaBuilder builder,
+                                          CriteriaQuery<?> query, Root<CreditCardInvoice> root) {
 
-        final Criteria<CreditCardInvoice, CreditCardInvoice> criteria = this.criteria();
+        final List<Predicate> predicates = new ArrayList<>();
 
         if (invoiceState != null) {
-            criteria.eq(CreditCardInvoice_.invoiceState, invoiceState);
+            predicates.add(builder.equal(root.get(CreditCardInvoice_.invoiceState), invoiceState));
         }
 
         if (StringUtils.isNotBlank(filter)) {
-            criteria.or(
-                    this.criteria().join(CreditCardInvoice_.card, where(Card.class)
-                            .likeIgnoreCase(Card_.name, this.likeAny(filter))),
-                    this.criteria().join(CreditCardInvoice_.financialPeriod, where(FinancialPeriod.class)
-                            .likeIgnoreCase(FinancialPeriod_.identification, this.likeAny(filter)))
-            );
+            predicates.add(builder.or(
+                    this.relatedLike(CreditCardInvoice_.card, Card.class, Card_.name, filter, builder, query, root),
+                    this.relatedLike(CreditCardInvoice_.financialPeriod, FinancialPeriod.class,
+                            FinancialPeriod_.identification, filter, builder, query, root)));
         }
 
-        criteria.orderAsc(CreditCardInvoice_.financialPeriod);
-
-        return criteria;
+        return predicates.toArray(new Predicate[0]);
     }
-}
\ No newline at end of file
+}
@@ -16,6 +16,7 @@
  */
 package br.com.webbudget.domain.repositories.financial;
 
+import br.com.webbudget.application.components.dto.SearchEntry;
 import br.com.webbudget.application.components.ui.filter.FixedMovementFilter;
 import br.com.webbudget.application.components.ui.table.Page;
 import br.com.webbudget.domain.entities.financial.FixedMovement;
@@ -23,10 +24,15 @@ import br.com.webbudget.domain.entities.financial.FixedMovementState;
 import br.com.webbudget.domain.entities.financial.FixedMovement_;
 import br.com.webbudget.domain.entities.financial.PeriodMovement_;
 import br.com.webbudget.domain.repositories.DefaultRepository;
+import br.com.webbudget.infrastructure.jpa.ReadReplica;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
 import org.apache.deltaspike.data.api.EntityGraph;
+import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
 import org.apache.deltaspike.data.api.criteria.Criteria;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -43,6 +49,7 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
  * @since 3.0.0, 21/03/2019
  */
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface FixedMovementRepository extends DefaultRepository<FixedMovement> {
 
     /**
@@ -64,6 +71,30 @@ public interface FixedMovementRepository extends DefaultRepository<FixedMovement
      */
     List<FixedMovement> findByAutoLaunchAndFixedMovementState(boolean autoLaunch, FixedMovementState state);
 
+    /**
+     * Find the values of all {@link FixedMovement} to build the global search index
+     *
+     * @return a {@link List} of {@link SearchEntry} ordered by the id
+     */
+    @Query("SELECT NEW br.com.webbudget.application.components.dto.SearchEntry(" +
+            "fm.id, fm.identification, fm.description) " +
+            "FROM FixedMovement fm " +
+            "ORDER BY fm.id")
+    List<SearchEntry> findSearchEntries();
+
+    /**
+     * Find the values of some {@link FixedMovement} to update the global search index
+     *
+     * @param ids the ids of the {@link FixedMovement} to find
+     * @return a {@link List} of {@link SearchEntry} ordered by the id
+     */
+    @Query("SELECT NEW br.com.webbudget.application.components.dto.SearchEntry(" +
+            "fm.id, fm.identification, fm.description) " +
+            "FROM FixedMovement fm " +
+            "WHERE fm.id IN ?1 " +
+            "ORDER BY fm.id")
+    List<SearchEntry> findSearchEntries(Collection<Long> ids);
+
     /**
      * Method used to search for {@link FixedMovement} using pagination
      *
@@ -72,6 +103,7 @@ public interface FixedMovementRepository extends DefaultRepository<FixedMovement
      * @param pageSize maximum size of the page
      * @return a {@link Page} with the {@link FixedMovement} found
      */
+    @ReadReplica(maxLag = 5)
     default Page<FixedMovement> findAllBy(FixedMovementFilter filter, int start, int pageSize) {
 
         final int totalRows = this.countPages(filter);
@@ -80,7 +112,7 @@ public interface FixedMovementRepository extends DefaultRepository<FixedMovement
 
         criteria.orderDesc(FixedMovement_.createdOn);
 
-        final List<FixedMovement> data = criteria.createQuery()
+        final List<FixedMovement> data = this.readOnly(criteria.createQuery())
                 .setFirstResult(start)
                 .setMaxResults(pageSize)
                 .getResultList();
@@ -96,8 +128,9 @@ public interface FixedMovementRepository extends DefaultRepository<FixedMovement
      */
     @SuppressWarnings("unchecked")
     default int countPages(FixedMovementFilter filter) {
-        return this.buildCriteria(filter)
+        return this.readOnly(this.buildCriteria(filter)
                 .select(Long.class, count(FixedMovement_.id))
+                .createQuery())
                 .getSingleResult()
                 .intValue();
     }
@@ -16,6 +16,7 @@
  */
 package br.com.webbudget.domain.repositories.financial;
 
+import br.com.webbudget.application.components.dto.LaunchRow;
 import br.com.webbudget.domain.entities.financial.FixedMovement;
 import br.com.webbudget.domain.entities.financial.Launch;
 import br.com.webbudget.domain.entities.financial.PeriodMovement;
@@ -57,6 +58,19 @@ public interface LaunchRepository extends DefaultRepository<Launch> {
      */
     List<Launch> findByFixedMovement(FixedMovement fixedMovement);
 
+    /**
+     * Same as {@link #findByFixedMovement(FixedMovement)} but returning only the values needed to list the launches
+     *
+     * @param fixedMovement to search for the {@link Launch}
+     * @return the {@link List} of {@link LaunchRow} found
+     */
+    @Query("SELECT NEW br.com.webbudget.application.components.dto.LaunchRow(" +
+            "la.id, la.quoteNumber, la.createdOn, la.financialPeriod.identification) " +
+            "FROM Launch la " +
+            "WHERE la.fixedMovement = ?1 " +
+            "ORDER BY la.id")
+    List<LaunchRow> findRowsByFixedMovement(FixedMovement fixedMovement);
+
     /**
      * Find a {@link Launch} by a {@link PeriodMovement}
      *
@@ -88,4 +102,18 @@ public interface LaunchRepository extends DefaultRepository<Launch> {
             "AND la.financialPeriod.id IN " +
             "   (SELECT fp.id FROM FinancialPeriod fp WHERE fp.closed = false AND fp.expired = false)")
     long countByFixedMovementAtCurrentFinancialPeriod(FixedMovement fixedMovement);
+
+    /**
+     * Find which of the given {@link FixedMovement} have some {@link Launch} at an open {@link FinancialPeriod}, the
+     * same as {@link #countByFixedMovementAtCurrentFinancialPeriod(FixedMovement)} but for a whole page at once
+     *
+     * @param fixedMovements to search for {@link Launch}, must not be empty
+     * @return the ids of the {@link FixedMovement} already launched
+     */
+    @Query("SELECT DISTINCT la.fixedMovement.id " +
+            "FROM Launch la " +
+            "WHERE la.fixedMovement IN ?1 " +
+            "AND la.financialPeriod.id IN " +
+            "   (SELECT fp.id FROM FinancialPeriod fp WHERE fp.closed = false AND fp.expired = false)")
+    List<Long> findLaunchedAtCurrentFinancialPeriod(List<FixedMovement> fixedMovements);
 }
@@ -16,6 +16,8 @@
  */
 package br.com.webbudget.domain.repositories.financial;
 
+import br.com.webbudget.application.components.dto.PeriodMovementRow;
+import br.com.webbudget.application.components.dto.SearchEntry;
 import br.com.webbudget.application.components.ui.filter.PeriodMovementFilter;
 import br.com.webbudget.application.components.ui.table.Page;
 import br.com.webbudget.domain.entities.financial.Apportionment;
@@ -24,16 +26,22 @@ import br.com.webbudget.domain.entities.financial.PeriodMovement;
 import br.com.webbudget.domain.entities.financial.PeriodMovement_;
 import br.com.webbudget.domain.entities.registration.*;
 import br.com.webbudget.domain.repositories.DefaultRepository;
+import br.com.webbudget.infrastructure.jpa.ReadReplica;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
 import org.apache.deltaspike.data.api.EntityGraph;
 import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
 import org.apache.deltaspike.data.api.criteria.Criteria;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
 import java.math.BigDecimal;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
@@ -42,10 +50,11 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
  *
  * @author Arthur Gregorio
  *
- * @version 1.0.0
+ * @version 1.1.0
  * @since 3.0.0, 04/12/2018
  */
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface PeriodMovementRepository extends DefaultRepository<PeriodMovement> {
 
     /**
@@ -67,6 +76,15 @@ public interface PeriodMovementRepository extends DefaultRepository<PeriodMoveme
     @EntityGraph(value = "Movement.full")
     Optional<PeriodMovement> findByCode(String movementCode);
 
+    /**
+     * Find the id of the {@link FinancialPeriod} of a {@link PeriodMovement} as it is in the database
+     *
+     * @param id of the {@link PeriodMovement}
+     * @return an {@link Optional} of the id of the {@link FinancialPeriod}
+     */
+    @Query("SELECT pm.financialPeriod.id FROM PeriodMovement pm WHERE pm.id = ?1")
+    Optional<Long> findFinancialPeriodIdById(Long id);
+
     /**
      * List all {@link PeriodMovement} by the {@link FinancialPeriod}
      *
@@ -75,6 +93,30 @@ public interface PeriodMovementRepository extends DefaultRepository<PeriodMoveme
      */
     List<PeriodMovement> findByFinancialPeriod(FinancialPeriod period);
 
+    /**
+     * Find the values of all {@link PeriodMovement} to build the global search index
+     *
+     * @return a {@link List} of {@link SearchEntry} ordered by the id
+     */
+    @Query("SELECT NEW br.com.webbudget.application.components.dto.SearchEntry(" +
+            "pm.id, pm.identification, pm.code) " +
+            "FROM PeriodMovement pm " +
+            "ORDER BY pm.id")
+    List<SearchEntry> findSearchEntries();
+
+    /**
+     * Find the values of some {@link PeriodMovement} to update the global search index
+     *
+     * @param ids the ids of the {@link PeriodMovement} to find
+     * @return a {@link List} of {@link SearchEntry} ordered by the id
+     */
+    @Query("SELECT NEW br.com.webbudget.application.components.dto.SearchEntry(" +
+            "pm.id, pm.identification, pm.code) " +
+            "FROM PeriodMovement pm " +
+            "WHERE pm.id IN ?1 " +
+            "ORDER BY pm.id")
+    List<SearchEntry> findSearchEntries(Collection<Long> ids);
+
     /**
      * Calculate the total of paid or received {@link PeriodMovement} on a list of {@link FinancialPeriod}
      *
@@ -133,10 +175,8 @@ public interface PeriodMovementRepository extends DefaultRepository<PeriodMoveme
     @Query("SELECT COALESCE(SUM(pm.paidValue), 0) " +
             "FROM PeriodMovement mv " +
             "INNER JOIN Payment pm ON pm.id = mv.payment.id " +
-            "INNER JOIN Apportionment ap on ap.movement = mv.id " +
-            "INNER JOIN MovementClass mc on mc.id = ap.movementClass.id " +
             "AND pm.paymentMethod <> 'CREDIT_CARD' " +
-            "AND mc.movementClassType = 'EXPENSE' " +
+            "AND mv.direction = 'EXPENSE' " +
             "AND mv.periodMovementState <> 'OPEN'")
     BigDecimal calculateTotalExpenses();
 
@@ -150,11 +190,9 @@ public interface PeriodMovementRepository extends DefaultRepository<PeriodMoveme
             "FROM PeriodMovement mv " +
             "INNER JOIN FinancialPeriod fp ON fp.id = mv.financialPeriod.id " +
             "INNER JOIN Payment pm ON pm.id = mv.payment.id " +
-            "INNER JOIN Apportionment ap on ap.movement = mv.id " +
-            "INNER JOIN MovementClass mc on mc.id = ap.movementClass.id " +
             "AND fp.id IN (?1) " +
             "AND pm.paymentMethod <> 'CREDIT_CARD' " +
-            "AND mc.movementClassType = 'EXPENSE' " +
+            "AND mv.direction = 'EXPENSE' " +
             "AND mv.periodMovementState <> 'OPEN'")
     BigDecimal calculateTotalExpenses(List<Long> periods);
 
@@ -166,9 +204,7 @@ public interface PeriodMovementRepository extends DefaultRepository<PeriodMoveme
     @Query("SELECT COALESCE(SUM(pm.paidValue), 0) " +
             "FROM PeriodMovement mv " +
             "INNER JOIN Payment pm ON pm.id = mv.payment.id " +
-            "INNER JOIN Apportionment ap on ap.movement = mv.id " +
-            "INNER JOIN MovementClass mc on mc.id = ap.movementClass.id " +
-            "AND mc.movementClassType = 'REVENUE' " +
+            "AND mv.direction = 'REVENUE' " +
             "AND mv.periodMovementState <> 'OPEN'")
     BigDecimal calculateTotalRevenues();
 
@@ -182,110 +218,224 @@ public interface PeriodMovementRepository extends DefaultRepository<PeriodMoveme
             "FROM PeriodMovement mv " +
             "INNER JOIN FinancialPeriod fp ON fp.id = mv.financialPeriod.id " +
             "INNER JOIN Payment pm ON pm.id = mv.payment.id " +
-            "INNER JOIN Apportionment ap on ap.movement = mv.id " +
-            "INNER JOIN MovementClass mc on mc.id = ap.movementClass.id " +
             "AND fp.id IN (?1) " +
-            "AND mc.movementClassType = 'REVENUE' " +
+            "AND mv.direction = 'REVENUE' " +
             "AND mv.periodMovementState <> 'OPEN'")
     BigDecimal calculateTotalRevenues(List<Long> periods);
 
     /**
-     * Use this method to find all {@link PeriodMovement} using the lazy load strategy
+     * Use this method to find all {@link PeriodMovement} using the lazy load strategy. Only the ids of the page are
+     * selected with the filter and after that the {@link PeriodMovementRow} of them are read in one single query, so
+     * no association of the entity is touched to render the listing
      *
      * @param filter the {@link PeriodMovementFilter}
      * @param start starting row
      * @param pageSize page size
-     * @return the {@link Page} filled with the {@link PeriodMovement} found
+     * @return the {@link Page} filled with the {@link PeriodMovementRow} found
      */
-    default Page<PeriodMovement> findAllBy(PeriodMovementFilter filter, int start, int pageSize) {
+    @ReadReplica(maxLag = 5)
+    default Page<PeriodMovementRow> findRowsBy(PeriodMovementFilter filter, int start, int pageSize) {
 
         final int totalRows = this.countPages(filter);
 
-        final Criteria<PeriodMovement, PeriodMovement> criteria = this.buildCriteria(filter);
-
-        criteria.orderDesc(PeriodMovement_.financialPeriod);
-        criteria.orderDesc(PeriodMovement_.createdOn);
-
-        final List<PeriodMovement> data = criteria.createQuery()
+        final List<Long> ids = this.createIdsQuery(filter)
                 .setFirstResult(start)
                 .setMaxResults(pageSize)
                 .getResultList();
 
-        return Page.of(data, totalRows);
+        return Page.of(this.findRowsInOrder(ids), totalRows);
+    }
+
+    /**
+     * Open a forward-only cursor over the ids of all {@link PeriodMovement} matching the given filter, in the same
+     * order used by the listing. Only the ids travel through the cursor, so the memory used does not depend on the
+     * amount of rows found. Remember to close the {@link ScrollableResults} after use
+     *
+     * @param filter the {@link PeriodMovementFilter}
+     * @param fetchSize how many rows the JDBC driver should fetch per round-trip
+     * @return the {@link ScrollableResults} with the ids found
+     */
+    @SuppressWarnings("unchecked")
+    default ScrollableResults scrollIdsBy(PeriodMovementFilter filter, int fetchSize) {
+        return this.createIdsQuery(filter)
+                .unwrap(org.hibernate.query.Query.class)
+                .setReadOnly(true)
+                .setFetchSize(fetchSize)
+                .scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    /**
+     * Same as {@link #findRowsByIds(List)} but keeping the order of the given ids
+     *
+     * @param ids the ids to search for
+     * @return a {@link List} with the {@link PeriodMovementRow} found in the same order of the ids
+     */
+    default List<PeriodMovementRow> findRowsInOrder(List<Long> ids) {
+
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        final Map<Long, PeriodMovementRow> rows = this.findRowsByIds(ids)
+                .stream()
+                .collect(Collectors.toMap(PeriodMovementRow::getId, Function.identity()));
+
+        return ids.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
+    /**
+     * Find the {@link PeriodMovementRow} projection for the given list of {@link PeriodMovement} ids
+     *
+     * @param ids the ids to search for
+     * @return a {@link List} with the {@link PeriodMovementRow} found, in no specific order
+     */
+    @Query("SELECT NEW br.com.webbudget.application.components.dto.PeriodMovementRow(" +
+            "mv.id, mv.code, fp.identification, mv.identification, ct.name, mv.dueDate, mv.value, " +
+            "mv.periodMovementState, mv.periodMovementType, pm.paidOn, pm.paymentMethod, pm.paidValue, pm.discount, " +
+            "mv.direction) " +
+            "FROM PeriodMovement mv " +
+            "INNER JOIN mv.financialPeriod fp " +
+            "LEFT JOIN mv.contact ct " +
+            "LEFT JOIN mv.payment pm " +
+            "WHERE mv.id IN (?1)")
+    List<PeriodMovementRow> findRowsByIds(List<Long> ids);
+
     /**
      * This method is used to count the total of rows found with the given filter
      *
      * @param filter the {@link PeriodMovementFilter}
      * @return total size of the pages
      */
-    @SuppressWarnings("unchecked")
     default int countPages(PeriodMovementFilter filter) {
-        return this.buildCriteria(filter)
-                .select(Long.class, count(PeriodMovement_.id))
+
+        final CriteriaBuilder builder = this.getCriteriaBuilder();
+
+        final CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        final Root<PeriodMovement> root = query.from(PeriodMovement.class);
+
+        query.select(builder.count(root))
+                .where(this.buildRestrictions(filter, builder, query, root));
+
+        return this.readOnly(this.createQuery(query))
                 .getSingleResult()
                 .intValue();
     }
 
     /**
-     * This method is used to build the {@link Criteria} used to find the {@link PeriodMovement}
+     * Create the query to select the ids of the {@link PeriodMovement} found with the given filter, in the order used
+     * by the listing
      *
      * @param filter the {@link PeriodMovementFilter}
-     * @return the {@link Criteria} with the restrictions to find the {@link PeriodMovement}
+     * @return the query to select the ids
      */
-    default Criteria<PeriodMovement, PeriodMovement> buildCriteria(PeriodMovementFilter filter) {
+    default TypedQuery<Long> createIdsQuery(PeriodMovementFilter filter) {
 
-        final Criteria<PeriodMovement, PeriodMovement> criteria = this.criteria();
+        final CriteriaBuilder builder = this.getCriteriaBuilder();
 
-        // set the movement state filter if present
-        if (filter.getPeriodMovementState() != null) {
-            criteria.eq(PeriodMovement_.periodMovementState, filter.getPeriodMovementState());
-        }
+        final CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        final Root<PeriodMovement> root = query.from(PeriodMovement.class);
 
-        // the movement type filter if present
-        if (filter.getPeriodMovementType() != null) {
-            criteria.eq(PeriodMovement_.periodMovementType, filter.getPeriodMovementType());
-        }
+        query.select(root.get(PeriodMovement_.id))
+                .where(this.buildRestrictions(filter, builder, query, root))
+                .orderBy(builder.desc(root.get(PeriodMovement_.financialPeriod)),
+                        builder.desc(root.get(PeriodMovement_.createdOn)));
 
-        // now the OR filters, more generic
-        if (isNotBlank(filter.getValue())) {
+        return this.readOnly(this.createQuery(query));
+    }
+
+    /**
+     * Build all the restrictions of the given filter over the root of a query
+     *
+     * The restrictions by the apportionments are correlated EXISTS subqueries and not joins, so a movement with many
+     * apportionments is found only once, the count of the pages is exact and the size of the intermediate result
+     * does not grow with the number of apportionments
+     *
+     * @param filter the {@link PeriodMovementFilter}
+     * @param builder the {@link CriteriaBuilder} of the query
+     * @param query the query to be restricted
+     * @param root the {@link PeriodMovement} root of the query
+     * @return the restrictions to be used in the where clause
+     */
+    default Predicate[] buildRestrictions(PeriodMovementFilter filter, CriteriaBuilder builder,
+                                          CriteriaQuery<?> query, Root<PeriodMovement> root) {
+
+        final List<Predicate> predicates = new ArrayList<>(this.buildCriteria(filter).predicates(builder, root));
 
-            final String anyFilter = this.likeAny(filter.getValue());
+        // the generic filter, the period is searched by its identification in a subquery of this same query
+        if (isNotBlank(filter.getValue())) {
 
-            final Set<Criteria<PeriodMovement, PeriodMovement>> restrictions = new HashSet<>();
+            final List<Predicate> restrictions = new ArrayList<>();
 
-            restrictions.add(this.criteria().eq(PeriodMovement_.code, anyFilter));
-            restrictions.add(this.criteria().likeIgnoreCase(PeriodMovement_.description, anyFilter));
-            restrictions.add(this.criteria().likeIgnoreCase(PeriodMovement_.identification, anyFilter));
-            restrictions.add(this.criteria().join(PeriodMovement_.financialPeriod,
-                    where(FinancialPeriod.class).likeIgnoreCase(FinancialPeriod_.identification, anyFilter)));
+            restrictions.add(builder.equal(root.get(PeriodMovement_.code), filter.getValue()));
+            restrictions.add(this.likeAnyIgnoreCase(builder, root.get(PeriodMovement_.description), filter.getValue()));
+            restrictions.add(this.likeAnyIgnoreCase(builder, root.get(PeriodMovement_.identification),
+                    filter.getValue()));
+            restrictions.add(this.relatedLike(PeriodMovement_.financialPeriod, FinancialPeriod.class,
+                    FinancialPeriod_.identification, filter.getValue(), builder, query, root));
 
             // if we can cast the value of the filter to decimal, use this as filter
             filter.valueToBigDecimal()
-                    .ifPresent(value -> restrictions.add(this.criteria().eq(PeriodMovement_.value, value)));
+                    .ifPresent(value -> restrictions.add(builder.equal(root.get(PeriodMovement_.value), value)));
 
-            criteria.or(restrictions);
+            predicates.add(builder.or(restrictions.toArray(new Predicate[0])));
         }
 
-        // put the selected cost center as a filter
+        // the class, if selected, must be in the same apportionment of the cost center
         if (filter.getCostCenter() != null) {
-            criteria.join(PeriodMovement_.apportionments,
-                    where(Apportionment.class).join(Apportionment_.costCenter,
-                            where(CostCenter.class).eq(CostCenter_.id, filter.getCostCenter().getId())));
 
-            // if we have a cost center them check if we have a movement class to filter too
+            final Subquery<Long> subquery = query.subquery(Long.class);
+            final Root<Apportionment> apportionment = subquery.from(Apportionment.class);
+
+            final List<Predicate> conditions = new ArrayList<>();
+
+            conditions.add(builder.equal(apportionment.get(Apportionment_.movement), root));
+            conditions.add(builder.equal(apportionment.get(Apportionment_.costCenter).get(CostCenter_.id),
+                    filter.getCostCenter().getId()));
+
             if (filter.getMovementClass() != null) {
-                criteria.join(PeriodMovement_.apportionments,
-                        where(Apportionment.class).join(Apportionment_.movementClass,
-                                where(MovementClass.class).eq(MovementClass_.id, filter.getMovementClass().getId())));
+                conditions.add(builder.equal(apportionment.get(Apportionment_.movementClass).get(MovementClass_.id),
+                        filter.getMovementClass().getId()));
             }
+
+            subquery.select(apportionment.get(Apportionment_.id))
+                    .where(conditions.toArray(new Predicate[0]));
+
+            predicates.add(builder.exists(subquery));
+        }
+
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    /**
+     * This method is used to build the {@link Criteria} used to find the {@link PeriodMovement}, the restrictions by
+     * the apportionments and by the generic filter are not here, they are added by
+     * {@link #buildRestrictions(PeriodMovementFilter, CriteriaBuilder, CriteriaQuery, Root)} because the
+     * {@link Criteria} can't express subqueries
+     *
+     * @param filter the {@link PeriodMovementFilter}
+     * @return the {@link Criteria} with the restrictions to find the {@link PeriodMovement}
+     */
+    default Criteria<PeriodMovement, PeriodMovement> buildCriteria(PeriodMovementFilter filter) {
+
+        final Criteria<PeriodMovement, PeriodMovement> criteria = this.criteria();
+
+        // set the movement state filter if present
+        if (filter.getPeriodMovementState() != null) {
+            criteria.eq(PeriodMovement_.periodMovementState, filter.getPeriodMovementState());
+        }
+
+        // the movement type filter if present
+        if (filter.getPeriodMovementType() != null) {
+            criteria.eq(PeriodMovement_.periodMovementType, filter.getPeriodMovementType());
         }
 
         // put the selected financial periods as a filter
         if (filter.getSelectedFinancialPeriods() != null && !filter.getSelectedFinancialPeriods().isEmpty()) {
             criteria.join(PeriodMovement_.financialPeriod, where(FinancialPeriod.class)
-                    .in(FinancialPeriod_.identification, filter.getSelectedFinancialPeriodsAsStringArray()));
+                    .in(FinancialPeriod_.id, filter.getSelectedFinancialPeriodIds().toArray(Long[]::new)));
         }
 
         return criteria;
@@ -16,27 +16,39 @@
  */
 package br.com.webbudget.domain.repositories.journal;
 
+import br.com.webbudget.application.components.ui.table.Page;
 import br.com.webbudget.domain.entities.journal.Refueling;
 import br.com.webbudget.domain.entities.journal.Refueling_;
 import br.com.webbudget.domain.entities.registration.*;
 import br.com.webbudget.domain.repositories.LazyDefaultRepository;
+import br.com.webbudget.infrastructure.jpa.ReadReplica;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
 import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
 import org.apache.deltaspike.data.api.criteria.Criteria;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
 
-import java.util.Collection;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
 /**
  * The {@link Refueling} repository
  *
  * @author Arthur Gregorio
  *
- * @version 2.0.0
+ * @version 2.1.0
  * @since 2.3.0, 05/06/2016
  */
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface RefuelingRepository extends LazyDefaultRepository<Refueling> {
 
     /**
@@ -85,24 +97,118 @@ public interface RefuelingRepository extends LazyDefaultRepository<Refueling> {
                 .orderDesc(Refueling_.id);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The search by the vehicle, the class and the period are subqueries, so the listing is built with a JPA query
+     * instead of the {@link Criteria} of the generic search
+     *
+     * @param filter
+     * @param active
+     * @param start
+     * @param pageSize
+     * @return
+     */
+    @Override
+    @ReadReplica(maxLag = 5)
+    default Page<Refueling> findAllBy(String filter, Boolean active, int start, int pageSize) {
+
+        final int totalRows = this.countPages(filter, active);
+
+        final List<Refueling> data = this.readOnly(this.createListingQuery(filter, active))
+                .setFirstResult(start)
+                .setMaxResults(pageSize)
+                .getResultList();
+
+        return Page.of(data, totalRows);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param filter
+     * @param active
+     * @return
+     */
+    @Override
+    default List<Refueling> findAllBy(String filter, Boolean active) {
+        return this.createListingQuery(filter, active).getResultList();
+    }
+
     /**
      * {@inheritDoc}
      *
      * @param filter
+     * @param active
      * @return
      */
     @Override
-    default Collection<Criteria<Refueling, Refueling>> getRestrictions(String filter) {
-
-        final String anyFilter = this.likeAny(filter);
-
-        return List.of(
-                this.criteria().likeIgnoreCase(Refueling_.place, this.likeAny(filter)),
-                this.criteria().join(Refueling_.vehicle,
-                        where(Vehicle.class).likeIgnoreCase(Vehicle_.identification, anyFilter)),
-                this.criteria().join(Refueling_.movementClass,
-                        where(MovementClass.class).likeIgnoreCase(MovementClass_.name, anyFilter)),
-                this.criteria().join(Refueling_.financialPeriod,
-                        where(FinancialPeriod.class).likeIgnoreCase(FinancialPeriod_.identification, anyFilter)));
+    default int countPages(String filter, Boolean active) {
+
+        final CriteriaBuilder builder = this.getCriteriaBuilder();
+
+        final CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        final Root<Refueling> root = query.from(Refueling.class);
+
+        query.select(builder.count(root))
+                .where(this.buildRestrictions(filter, active, builder, query, root));
+
+        return this.readOnly(this.createQuery(query))
+                .getSingleResult()
+                .intValue();
+    }
+
+    /**
+     * Create the query to select the {@link Refueling} found with the given filter, in the order of the listing
+     *
+     * @param filter the generic filter in {@link String} format
+     * @param active the state of the {@link Refueling}, null means all states
+     * @return the query to select the {@link Refueling}
+     */
+    default TypedQuery<Refueling> createListingQuery(String filter, Boolean active) {
+
+        final CriteriaBuilder builder = this.getCriteriaBuilder();
+
+        final CriteriaQuery<Refueling> query = builder.createQuery(Refueling.class);
+        final Root<Refueling> root = query.from(Refueling.class);
+
+        query.select(root)
+                .where(this.buildRestrictions(filter, active, builder, query, root))
+                .orderBy(builder.desc(root.get(Refueling_.createdOn)), builder.desc(root.get(Refueling_.id)));
+
+        return this.createQuery(query);
+    }
+
+    /**
+     * Build the restrictions of the generic search over the root of a query
+     *
+     * @param filter the generic filter in {@link String} format
+     * @param active the state of the {@link Refueling}, null means all states
+     * @param builder the {@link CriteriaBuilder} of the query
+     * @param query the query to be restricted
+     * @param root the {@link Refueling} root of the query
+     * @return the restrictions to be used in the where clause
+     */
+    default Predicate[] buildRestrictions(String filter, Boolean active, CriteriaBuilder builder,
+                                          CriteriaQuery<?> query, Root<Refueling> root) {
+
+        final List<Predicate> predicates = new ArrayList<>();
+
+        if (isNotBlank(filter)) {
+            predicates.add(builder.or(
+                    this.likeAnyIgnoreCase(builder, root.get(Refueling_.place), filter),
+                    this.relatedLike(Refueling_.vehicle, Vehicle.class, Vehicle_.identification, filter,
+                            builder, query, root),
+                    this.relatedLike(Refueling_.movementClass, MovementClass.class, MovementClass_.name, filter,
+                            builder, query, root),
+                    this.relatedLike(Refueling_.financialPeriod, FinancialPeriod.class,
+                            FinancialPeriod_.identification, filter, builder, query, root)));
+        }
+
+        if (active != null) {
+            predicates.add(builder.equal(root.get(this.getEntityStateProperty()), active));
+        }
+
+        return predicates.toArray(new Predicate[0]);
     }
 }
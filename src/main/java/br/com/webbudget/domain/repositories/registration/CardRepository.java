@@ -16,13 +16,19 @@
  */
 package br.com.webbudget.domain.repositories.registration;
 
+import br.com.webbudget.application.components.dto.SearchEntry;
 import br.com.webbudget.domain.entities.registration.Card;
 import br.com.webbudget.domain.entities.registration.CardType;
 import br.com.webbudget.domain.entities.registration.Card_;
 import br.com.webbudget.domain.repositories.LazyDefaultRepository;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
+import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
 import org.apache.deltaspike.data.api.criteria.Criteria;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
+import org.hibernate.jpa.QueryHints;
 
+import javax.persistence.QueryHint;
 import javax.persistence.metamodel.SingularAttribute;
 import java.util.Collection;
 import java.util.List;
@@ -37,6 +43,7 @@ import java.util.Optional;
  * @since 1.0.0, 04/03/2013
  */
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface CardRepository extends LazyDefaultRepository<Card> {
 
     /**
@@ -55,8 +62,34 @@ public interface CardRepository extends LazyDefaultRepository<Card> {
      * @param active which status you want to get
      * @return the {@link List} of {@link Card} found
      */
+    @Query(value = "FROM Card c WHERE c.cardType = ?1 AND c.active = ?2",
+            hints = @QueryHint(name = QueryHints.HINT_CACHEABLE, value = "true"))
     List<Card> findByCardTypeAndActive(CardType cardType, boolean active);
 
+    /**
+     * Find the values of all {@link Card} to build the global search index
+     *
+     * @return a {@link List} of {@link SearchEntry} ordered by the id
+     */
+    @Query("SELECT NEW br.com.webbudget.application.components.dto.SearchEntry(" +
+            "ca.id, ca.name, ca.flag) " +
+            "FROM Card ca " +
+            "ORDER BY ca.id")
+    List<SearchEntry> findSearchEntries();
+
+    /**
+     * Find the values of some {@link Card} to update the global search index
+     *
+     * @param ids the ids of the {@link Card} to find
+     * @return a {@link List} of {@link SearchEntry} ordered by the id
+     */
+    @Query("SELECT NEW br.com.webbudget.application.components.dto.SearchEntry(" +
+            "ca.id, ca.name, ca.flag) " +
+            "FROM Card ca " +
+            "WHERE ca.id IN ?1 " +
+            "ORDER BY ca.id")
+    List<SearchEntry> findSearchEntries(Collection<Long> ids);
+
     /**
      * {@inheritDoc}
      *
@@ -81,4 +114,14 @@ public interface CardRepository extends LazyDefaultRepository<Card> {
                 this.criteria().likeIgnoreCase(Card_.flag, this.likeAny(filter)),
                 this.criteria().likeIgnoreCase(Card_.owner, this.likeAny(filter)));
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    default boolean isQueryCacheable() {
+        return true;
+    }
 }
@@ -16,18 +16,25 @@
  */
 package br.com.webbudget.domain.repositories.registration;
 
+import br.com.webbudget.application.components.dto.ContactOption;
+import br.com.webbudget.application.components.dto.SearchEntry;
 import br.com.webbudget.domain.entities.registration.Contact;
 import br.com.webbudget.domain.entities.registration.Contact_;
 import br.com.webbudget.domain.repositories.LazyDefaultRepository;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
 import org.apache.deltaspike.data.api.EntityGraph;
+import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
 import org.apache.deltaspike.data.api.criteria.Criteria;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
 
 import javax.persistence.metamodel.SingularAttribute;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
 /**
  * The {@link Contact} repository
  *
@@ -37,6 +44,7 @@ import java.util.Optional;
  * @since 1.2.0, 12/04/2015
  */
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface ContactRepository extends LazyDefaultRepository<Contact> {
 
     /**
@@ -49,6 +57,55 @@ public interface ContactRepository extends LazyDefaultRepository<Contact> {
     @EntityGraph(value = "Contact.withTelephones")
     Optional<Contact> findById(Long id);
 
+    /**
+     * Find the active {@link Contact} matching the filter as {@link ContactOption}, used by the search dialogs
+     *
+     * @param filter the filter to search by name, document, e-mail or city, blank means all
+     * @return a {@link List} of {@link ContactOption} ordered by the name
+     */
+    default List<ContactOption> findOptionsBy(String filter) {
+        return this.findOptionsByLike(isNotBlank(filter) ? this.likeAny(filter) : "%");
+    }
+
+    /**
+     * The query behind {@link #findOptionsBy(String)}
+     *
+     * @param filter the like expression to filter the {@link Contact}
+     * @return a {@link List} of {@link ContactOption} ordered by the name
+     */
+    @Query("SELECT NEW br.com.webbudget.application.components.dto.ContactOption(" +
+            "ct.id, ct.name, ct.document, ct.contactType) " +
+            "FROM Contact ct " +
+            "WHERE ct.active = true " +
+            "AND (UPPER(ct.name) LIKE UPPER(?1) OR UPPER(ct.document) LIKE UPPER(?1) " +
+            "OR UPPER(ct.email) LIKE UPPER(?1) OR UPPER(ct.city) LIKE UPPER(?1)) " +
+            "ORDER BY ct.name")
+    List<ContactOption> findOptionsByLike(String filter);
+
+    /**
+     * Find the values of all {@link Contact} to build the global search index
+     *
+     * @return a {@link List} of {@link SearchEntry} ordered by the id
+     */
+    @Query("SELECT NEW br.com.webbudget.application.components.dto.SearchEntry(" +
+            "ct.id, ct.name, ct.document) " +
+            "FROM Contact ct " +
+            "ORDER BY ct.id")
+    List<SearchEntry> findSearchEntries();
+
+    /**
+     * Find the values of some {@link Contact} to update the global search index
+     *
+     * @param ids the ids of the {@link Contact} to find
+     * @return a {@link List} of {@link SearchEntry} ordered by the id
+     */
+    @Query("SELECT NEW br.com.webbudget.application.components.dto.SearchEntry(" +
+            "ct.id, ct.name, ct.document) " +
+            "FROM Contact ct " +
+            "WHERE ct.id IN ?1 " +
+            "ORDER BY ct.id")
+    List<SearchEntry> findSearchEntries(Collection<Long> ids);
+
     /**
      * {@inheritDoc}
      *
@@ -71,7 +128,6 @@ public interface ContactRepository extends LazyDefaultRepository<Contact> {
                 this.criteria().likeIgnoreCase(Contact_.name, this.likeAny(filter)),
                 this.criteria().likeIgnoreCase(Contact_.city, this.likeAny(filter)),
                 this.criteria().likeIgnoreCase(Contact_.email, this.likeAny(filter)),
-                this.criteria().likeIgnoreCase(Contact_.city, this.likeAny(filter)),
                 this.criteria().likeIgnoreCase(Contact_.document, this.likeAny(filter)));
     }
 }
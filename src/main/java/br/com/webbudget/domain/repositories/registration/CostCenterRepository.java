@@ -16,12 +16,18 @@
  */
 package br.com.webbudget.domain.repositories.registration;
 
+import br.com.webbudget.application.components.dto.SelectOption;
 import br.com.webbudget.domain.entities.registration.CostCenter;
 import br.com.webbudget.domain.entities.registration.CostCenter_;
 import br.com.webbudget.domain.repositories.LazyDefaultRepository;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
+import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
 import org.apache.deltaspike.data.api.criteria.Criteria;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
+import org.hibernate.jpa.QueryHints;
 
+import javax.persistence.QueryHint;
 import javax.persistence.metamodel.SingularAttribute;
 import java.util.Collection;
 import java.util.List;
@@ -36,6 +42,7 @@ import java.util.Optional;
  * @since 1.0.0, 04/03/2013
  */
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface CostCenterRepository extends LazyDefaultRepository<CostCenter> {
 
     /**
@@ -46,6 +53,28 @@ public interface CostCenterRepository extends LazyDefaultRepository<CostCenter>
      */
     Optional<CostCenter> findByName(String name);
 
+    /**
+     * Find all the active {@link CostCenter} as {@link SelectOption}
+     *
+     * @return a {@link List} of {@link SelectOption} ordered by the name
+     */
+    @Query(value = "SELECT NEW br.com.webbudget.application.components.dto.SelectOption(" +
+            "cc.id, cc.name, cc.color) " +
+            "FROM CostCenter cc WHERE cc.active = true ORDER BY cc.name",
+            hints = @QueryHint(name = QueryHints.HINT_CACHEABLE, value = "true"))
+    List<SelectOption> findActiveOptions();
+
+    /**
+     * Find all the {@link CostCenter} as {@link SelectOption}
+     *
+     * @return a {@link List} of {@link SelectOption} ordered by the name
+     */
+    @Query(value = "SELECT NEW br.com.webbudget.application.components.dto.SelectOption(" +
+            "cc.id, cc.name, cc.color) " +
+            "FROM CostCenter cc ORDER BY cc.name",
+            hints = @QueryHint(name = QueryHints.HINT_CACHEABLE, value = "true"))
+    List<SelectOption> findAllOptions();
+
     /**
      * {@inheritDoc}
      *
@@ -78,4 +107,14 @@ public interface CostCenterRepository extends LazyDefaultRepository<CostCenter>
     default void setOrder(Criteria<CostCenter, CostCenter> criteria) {
         criteria.orderAsc(CostCenter_.name);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    default boolean isQueryCacheable() {
+        return true;
+    }
 }
@@ -16,15 +16,23 @@
  */
 package br.com.webbudget.domain.repositories.registration;
 
+import br.com.webbudget.application.components.dto.SelectOption;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod_;
 import br.com.webbudget.domain.repositories.LazyDefaultRepository;
+import br.com.webbudget.infrastructure.jpa.BulkWrite;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
+import org.apache.deltaspike.data.api.Modifying;
 import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
 import org.apache.deltaspike.data.api.criteria.Criteria;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
+import org.hibernate.jpa.QueryHints;
 
+import javax.persistence.QueryHint;
 import javax.persistence.metamodel.SingularAttribute;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -34,10 +42,11 @@ import java.util.Optional;
  *
  * @author Arthur Gregorio
  *
- * @version 3.0.0
+ * @version 3.1.0
  * @since 1.0.0, 04/03/2013
  */
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface FinancialPeriodRepository extends LazyDefaultRepository<FinancialPeriod> {
 
     /**
@@ -58,6 +67,8 @@ public interface FinancialPeriodRepository extends LazyDefaultRepository<Financi
      * @param isClosed true for closed periods or false for open periods
      * @return a {@link List} of {@link FinancialPeriod}
      */
+    @Query(value = "FROM FinancialPeriod fp WHERE fp.closed = ?1 ORDER BY fp.identification ASC",
+            hints = @QueryHint(name = QueryHints.HINT_CACHEABLE, value = "true"))
     List<FinancialPeriod> findByClosedOrderByIdentificationAsc(boolean isClosed);
 
     /**
@@ -77,6 +88,64 @@ public interface FinancialPeriodRepository extends LazyDefaultRepository<Financi
      */
     List<FinancialPeriod> findByIdentificationLikeIgnoreCaseOrderByCreatedOnDesc(String identification);
 
+    /**
+     * Find all the {@link FinancialPeriod} as {@link SelectOption}
+     *
+     * @return a {@link List} of {@link SelectOption} ordered by the start date, most recent first
+     */
+    @Query(value = "SELECT NEW br.com.webbudget.application.components.dto.SelectOption(" +
+            "fp.id, fp.identification) " +
+            "FROM FinancialPeriod fp ORDER BY fp.start DESC",
+            hints = @QueryHint(name = QueryHints.HINT_CACHEABLE, value = "true"))
+    List<SelectOption> findAllOptions();
+
+    /**
+     * Same as {@link #findByClosedOrderByIdentificationAsc(boolean)} but returning {@link SelectOption}
+     *
+     * @param isClosed true for closed periods or false for open periods
+     * @return a {@link List} of {@link SelectOption}
+     */
+    @Query(value = "SELECT NEW br.com.webbudget.application.components.dto.SelectOption(" +
+            "fp.id, fp.identification) " +
+            "FROM FinancialPeriod fp WHERE fp.closed = ?1 ORDER BY fp.identification ASC",
+            hints = @QueryHint(name = QueryHints.HINT_CACHEABLE, value = "true"))
+    List<SelectOption> findOptionsByClosed(boolean isClosed);
+
+    /**
+     * Same as {@link #findByIdentificationLikeIgnoreCaseOrderByCreatedOnDesc(String)} but returning
+     * {@link SelectOption}
+     *
+     * @param identification to query
+     * @return a {@link List} of {@link SelectOption}
+     */
+    @Query("SELECT NEW br.com.webbudget.application.components.dto.SelectOption(" +
+            "fp.id, fp.identification) " +
+            "FROM FinancialPeriod fp WHERE UPPER(fp.identification) LIKE UPPER(?1) ORDER BY fp.createdOn DESC")
+    List<SelectOption> findOptionsByIdentification(String identification);
+
+    /**
+     * Find the id of the open {@link FinancialPeriod} not marked as expired yet that ended before the given date
+     *
+     * @param date the reference date, usually today
+     * @return a {@link List} with the ids found
+     */
+    @Query("SELECT fp.id FROM FinancialPeriod fp " +
+            "WHERE fp.closed = false AND fp.expired = false AND fp.end < ?1")
+    List<Long> findIdsToExpire(LocalDate date);
+
+    /**
+     * Mark the open {@link FinancialPeriod} with the given ids as expired with a single statement
+     *
+     * @param ids of the {@link FinancialPeriod} to be marked
+     * @param updatedOn the time of the update
+     * @return the number of periods marked
+     */
+    @BulkWrite
+    @Modifying
+    @Query("UPDATE FinancialPeriod fp SET fp.expired = true, fp.updatedOn = ?2 " +
+            "WHERE fp.id IN ?1 AND fp.closed = false AND fp.expired = false")
+    int markAsExpired(Collection<Long> ids, LocalDateTime updatedOn);
+
     /**
      * {@inheritDoc}
      *
@@ -107,4 +176,14 @@ public interface FinancialPeriodRepository extends LazyDefaultRepository<Financi
     default void setOrder(Criteria<FinancialPeriod, FinancialPeriod> criteria) {
         criteria.orderDesc(FinancialPeriod_.start);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    default boolean isQueryCacheable() {
+        return true;
+    }
 }
@@ -16,25 +16,42 @@
  */
 package br.com.webbudget.domain.repositories.registration;
 
+import br.com.webbudget.application.components.dto.SelectOption;
+import br.com.webbudget.application.components.ui.table.Page;
 import br.com.webbudget.domain.entities.registration.*;
 import br.com.webbudget.domain.repositories.LazyDefaultRepository;
+import br.com.webbudget.infrastructure.jpa.ReadReplica;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
+import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
 import org.apache.deltaspike.data.api.criteria.Criteria;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
+import org.hibernate.jpa.QueryHints;
 
+import javax.persistence.QueryHint;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
 import javax.persistence.metamodel.SingularAttribute;
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
 /**
  * The {@link MovementClass} repository
  *
  * @author Arthur Gregorio
  *
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0.0, 04/03/2013
  */
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface MovementClassRepository extends LazyDefaultRepository<MovementClass> {
 
     /**
@@ -62,6 +79,8 @@ public interface MovementClassRepository extends LazyDefaultRepository<MovementC
      * @param costCenter the {@link CostCenter}
      * @return the {@link List} of {@link MovementClass}
      */
+    @Query(value = "FROM MovementClass mc WHERE mc.active = ?1 AND mc.costCenter = ?2 ORDER BY mc.name ASC",
+            hints = @QueryHint(name = QueryHints.HINT_CACHEABLE, value = "true"))
     List<MovementClass> findByActiveAndCostCenterOrderByNameAsc(boolean active, CostCenter costCenter);
 
     /**
@@ -72,6 +91,28 @@ public interface MovementClassRepository extends LazyDefaultRepository<MovementC
      */
     List<MovementClass> findByCostCenterOrderByNameAsc(CostCenter costCenter);
 
+    /**
+     * Find all the active {@link MovementClass} as {@link SelectOption} with the {@link CostCenter} as parent
+     *
+     * @return a {@link List} of {@link SelectOption} ordered by the name
+     */
+    @Query(value = "SELECT NEW br.com.webbudget.application.components.dto.SelectOption(" +
+            "mc.id, mc.name, mc.costCenter.id) " +
+            "FROM MovementClass mc WHERE mc.active = true ORDER BY mc.name",
+            hints = @QueryHint(name = QueryHints.HINT_CACHEABLE, value = "true"))
+    List<SelectOption> findActiveOptions();
+
+    /**
+     * Find all the {@link MovementClass} as {@link SelectOption} with the {@link CostCenter} as parent
+     *
+     * @return a {@link List} of {@link SelectOption} ordered by the name
+     */
+    @Query(value = "SELECT NEW br.com.webbudget.application.components.dto.SelectOption(" +
+            "mc.id, mc.name, mc.costCenter.id) " +
+            "FROM MovementClass mc ORDER BY mc.name",
+            hints = @QueryHint(name = QueryHints.HINT_CACHEABLE, value = "true"))
+    List<SelectOption> findAllOptions();
+
     /**
      * {@inheritDoc}
      *
@@ -92,17 +133,128 @@ public interface MovementClassRepository extends LazyDefaultRepository<MovementC
         return MovementClass_.active;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The search by the name of the {@link CostCenter} is a subquery, so the listing is built with a JPA query instead
+     * of the {@link Criteria} of the generic search
+     *
+     * @param filter
+     * @param active
+     * @param start
+     * @param pageSize
+     * @return
+     */
+    @Override
+    @ReadReplica(maxLag = 5)
+    default Page<MovementClass> findAllBy(String filter, Boolean active, int start, int pageSize) {
+
+        final int totalRows = this.countPages(filter, active);
+
+        final List<MovementClass> data = this.readOnly(this.createListingQuery(filter, active))
+                .setFirstResult(start)
+                .setMaxResults(pageSize)
+                .getResultList();
+
+        return Page.of(data, totalRows);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param filter
+     * @param active
+     * @return
+     */
+    @Override
+    default List<MovementClass> findAllBy(String filter, Boolean active) {
+        return this.createListingQuery(filter, active).getResultList();
+    }
+
     /**
      * {@inheritDoc}
      *
      * @param filter
+     * @param active
+     * @return
+     */
+    @Override
+    default int countPages(String filter, Boolean active) {
+
+        final CriteriaBuilder builder = this.getCriteriaBuilder();
+
+        final CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        final Root<MovementClass> root = query.from(MovementClass.class);
+
+        query.select(builder.count(root))
+                .where(this.buildRestrictions(filter, active, builder, query, root));
+
+        return this.readOnly(this.createQuery(query))
+                .getSingleResult()
+                .intValue();
+    }
+
+    /**
+     * Create the query to select the {@link MovementClass} found with the given filter, in the order of the listing
+     *
+     * @param filter the generic filter in {@link String} format
+     * @param active the state of the {@link MovementClass}, null means all states
+     * @return the query to select the {@link MovementClass}
+     */
+    default TypedQuery<MovementClass> createListingQuery(String filter, Boolean active) {
+
+        final CriteriaBuilder builder = this.getCriteriaBuilder();
+
+        final CriteriaQuery<MovementClass> query = builder.createQuery(MovementClass.class);
+        final Root<MovementClass> root = query.from(MovementClass.class);
+
+        // the cost centers are shown in the listing, fetched here to not be read one by one for each row
+        root.fetch(MovementClass_.costCenter)
+                .fetch(CostCenter_.parent, JoinType.LEFT);
+
+        query.select(root)
+                .where(this.buildRestrictions(filter, active, builder, query, root))
+                .orderBy(builder.asc(root.get(MovementClass_.name)));
+
+        return this.createQuery(query);
+    }
+
+    /**
+     * Build the restrictions of the generic search over the root of a query
+     *
+     * @param filter the generic filter in {@link String} format
+     * @param active the state of the {@link MovementClass}, null means all states
+     * @param builder the {@link CriteriaBuilder} of the query
+     * @param query the query to be restricted
+     * @param root the {@link MovementClass} root of the query
+     * @return the restrictions to be used in the where clause
+     */
+    default Predicate[] buildRestrictions(String filter, Boolean active, CriteriaBuilder builder,
+                                          CriteriaQuery<?> query, Root<MovementClass> root) {
+
+        final List<Predicate> predicates = new ArrayList<>();
+
+        if (isNotBlank(filter)) {
+            predicates.add(builder.or(
+                    this.likeAnyIgnoreCase(builder, root.get(MovementClass_.name), filter),
+                    this.relatedLike(MovementClass_.costCenter, CostCenter.class, CostCenter_.name, filter,
+                            builder, query, root)));
+        }
+
+        if (active != null) {
+            predicates.add(builder.equal(root.get(this.getEntityStateProperty()), active));
+        }
+
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
      * @return
      */
     @Override
-    default Collection<Criteria<MovementClass, MovementClass>> getRestrictions(String filter) {
-        return List.of(
-                this.criteria().likeIgnoreCase(MovementClass_.name, this.likeAny(filter)),
-                this.criteria().join(MovementClass_.costCenter,
-                        where(CostCenter.class).likeIgnoreCase(CostCenter_.name, this.likeAny(filter))));
+    default boolean isQueryCacheable() {
+        return true;
     }
 }
@@ -16,12 +16,15 @@
  */
 package br.com.webbudget.domain.repositories.registration;
 
+import br.com.webbudget.application.components.dto.SearchEntry;
 import br.com.webbudget.domain.entities.registration.Vehicle;
 import br.com.webbudget.domain.entities.registration.Vehicle_;
 import br.com.webbudget.domain.repositories.LazyDefaultRepository;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
 import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
 import org.apache.deltaspike.data.api.criteria.Criteria;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
 
 import javax.persistence.metamodel.SingularAttribute;
 import java.util.Collection;
@@ -37,6 +40,7 @@ import java.util.Optional;
  * @since 2.3.0, 05/06/2016
  */
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface VehicleRepository extends LazyDefaultRepository<Vehicle> {
 
     /**
@@ -47,6 +51,30 @@ public interface VehicleRepository extends LazyDefaultRepository<Vehicle> {
      */
     Optional<Vehicle> findByLicensePlate(String licensePlate);
 
+    /**
+     * Find the values of all {@link Vehicle} to build the global search index
+     *
+     * @return a {@link List} of {@link SearchEntry} ordered by the id
+     */
+    @Query("SELECT NEW br.com.webbudget.application.components.dto.SearchEntry(" +
+            "ve.id, ve.identification, ve.licensePlate) " +
+            "FROM Vehicle ve " +
+            "ORDER BY ve.id")
+    List<SearchEntry> findSearchEntries();
+
+    /**
+     * Find the values of some {@link Vehicle} to update the global search index
+     *
+     * @param ids the ids of the {@link Vehicle} to find
+     * @return a {@link List} of {@link SearchEntry} ordered by the id
+     */
+    @Query("SELECT NEW br.com.webbudget.application.components.dto.SearchEntry(" +
+            "ve.id, ve.identification, ve.licensePlate) " +
+            "FROM Vehicle ve " +
+            "WHERE ve.id IN ?1 " +
+            "ORDER BY ve.id")
+    List<SearchEntry> findSearchEntries(Collection<Long> ids);
+
     /**
      * Method to find by the last registered odometer for a given {@link Vehicle}
      *
@@ -75,9 +103,9 @@ public interface VehicleRepository extends LazyDefaultRepository<Vehicle> {
     @Override
     default Collection<Criteria<Vehicle, Vehicle>> getRestrictions(String filter) {
         return List.of(
-                this.criteria().eqIgnoreCase(Vehicle_.identification, this.likeAny(filter)),
-                this.criteria().eqIgnoreCase(Vehicle_.brand, this.likeAny(filter)),
-                this.criteria().eqIgnoreCase(Vehicle_.model, this.likeAny(filter)),
-                this.criteria().eqIgnoreCase(Vehicle_.licensePlate, this.likeAny(filter)));
+                this.criteria().likeIgnoreCase(Vehicle_.identification, this.likeAny(filter)),
+                this.criteria().likeIgnoreCase(Vehicle_.brand, this.likeAny(filter)),
+                this.criteria().likeIgnoreCase(Vehicle_.model, this.likeAny(filter)),
+                this.criteria().likeIgnoreCase(Vehicle_.licensePlate, this.likeAny(filter)));
     }
 }
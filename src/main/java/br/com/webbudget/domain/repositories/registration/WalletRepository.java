@@ -16,12 +16,16 @@
  */
 package br.com.webbudget.domain.repositories.registration;
 
+import br.com.webbudget.application.components.dto.SearchEntry;
 import br.com.webbudget.domain.entities.registration.Wallet;
 import br.com.webbudget.domain.entities.registration.WalletType;
 import br.com.webbudget.domain.entities.registration.Wallet_;
 import br.com.webbudget.domain.repositories.LazyDefaultRepository;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
+import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
 import org.apache.deltaspike.data.api.criteria.Criteria;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
 
 import javax.persistence.metamodel.SingularAttribute;
 import java.util.Collection;
@@ -37,6 +41,7 @@ import java.util.Optional;
  * @since 1.0.0, 04/03/2013
  */
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface WalletRepository extends LazyDefaultRepository<Wallet> {
 
     /**
@@ -49,6 +54,30 @@ public interface WalletRepository extends LazyDefaultRepository<Wallet> {
      */
     Optional<Wallet> findByNameAndBankAndWalletType(String name, String bank, WalletType walletType);
 
+    /**
+     * Find the values of all {@link Wallet} to build the global search index
+     *
+     * @return a {@link List} of {@link SearchEntry} ordered by the id
+     */
+    @Query("SELECT NEW br.com.webbudget.application.components.dto.SearchEntry(" +
+            "wa.id, wa.name, wa.bank) " +
+            "FROM Wallet wa " +
+            "ORDER BY wa.id")
+    List<SearchEntry> findSearchEntries();
+
+    /**
+     * Find the values of some {@link Wallet} to update the global search index
+     *
+     * @param ids the ids of the {@link Wallet} to find
+     * @return a {@link List} of {@link SearchEntry} ordered by the id
+     */
+    @Query("SELECT NEW br.com.webbudget.application.components.dto.SearchEntry(" +
+            "wa.id, wa.name, wa.bank) " +
+            "FROM Wallet wa " +
+            "WHERE wa.id IN ?1 " +
+            "ORDER BY wa.id")
+    List<SearchEntry> findSearchEntries(Collection<Long> ids);
+
     /**
      * {@inheritDoc}
      *
@@ -73,4 +102,14 @@ public interface WalletRepository extends LazyDefaultRepository<Wallet> {
     default SingularAttribute<Wallet, Boolean> getEntityStateProperty() {
         return Wallet_.active;
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    default boolean isQueryCacheable() {
+        return true;
+    }
 }
@@ -17,11 +17,19 @@
 package br.com.webbudget.domain.repositories.view;
 
 import br.com.webbudget.domain.entities.view.CardConsume;
+import br.com.webbudget.infrastructure.cache.CacheTag;
+import br.com.webbudget.infrastructure.cache.CachedResult;
+import br.com.webbudget.infrastructure.jpa.ReadOnly;
+import br.com.webbudget.infrastructure.jpa.ReadReplica;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
 import org.apache.deltaspike.data.api.EntityRepository;
 import org.apache.deltaspike.data.api.Repository;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
 
 import java.util.List;
 
+import static br.com.webbudget.infrastructure.cache.ResultCache.CARD;
+
 /**
  * The {@link CardConsume} repository
  *
@@ -30,7 +38,10 @@ import java.util.List;
  * @version 1.0.0
  * @since 3.0.0, 25/04/2019
  */
+@ReadOnly
+@ReadReplica(maxLag = 30)
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface CardConsumeRepository extends EntityRepository<CardConsume, Long> {
 
     /**
@@ -39,5 +50,6 @@ public interface CardConsumeRepository extends EntityRepository<CardConsume, Lon
      * @param cardId to use as filter
      * @return a {@link List} of {@link CardConsume}
      */
-    List<CardConsume> findByCardId(long cardId);
+    @CachedResult
+    List<CardConsume> findByCardId(@CacheTag(CARD) long cardId);
 }
\ No newline at end of file
@@ -18,8 +18,13 @@ package br.com.webbudget.domain.repositories.view;
 
 import br.com.webbudget.domain.entities.registration.MovementClassType;
 import br.com.webbudget.domain.entities.view.CostCenterTotal;
+import br.com.webbudget.infrastructure.cache.CachedResult;
+import br.com.webbudget.infrastructure.jpa.ReadOnly;
+import br.com.webbudget.infrastructure.jpa.ReadReplica;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
 import org.apache.deltaspike.data.api.EntityRepository;
 import org.apache.deltaspike.data.api.Repository;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
 
 import java.util.List;
 
@@ -31,7 +36,10 @@ import java.util.List;
  * @version 1.0.0
  * @since 3.0.0, 16/04/2019
  */
+@ReadOnly
+@ReadReplica(maxLag = 30)
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface CostCenterTotalRepository extends EntityRepository<CostCenterTotal, Long> {
 
     /**
@@ -40,5 +48,6 @@ public interface CostCenterTotalRepository extends EntityRepository<CostCenterTo
      * @param direction as a {@link MovementClassType} filter
      * @return a {@link List} with all {@link CostCenterTotal} found
      */
+    @CachedResult
     List<CostCenterTotal> findByDirection(MovementClassType direction);
 }
\ No newline at end of file
@@ -17,8 +17,12 @@
 package br.com.webbudget.domain.repositories.view;
 
 import br.com.webbudget.domain.entities.view.MovementClassTotal;
+import br.com.webbudget.infrastructure.jpa.ReadOnly;
+import br.com.webbudget.infrastructure.jpa.ReadReplica;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
 import org.apache.deltaspike.data.api.EntityRepository;
 import org.apache.deltaspike.data.api.Repository;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
 
 /**
  * The {@link MovementClassTotal} repository
@@ -28,5 +32,8 @@ import org.apache.deltaspike.data.api.Repository;
  * @version 1.0.0
  * @since 3.0.0, 16/04/2019
  */
+@ReadOnly
+@ReadReplica(maxLag = 30)
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface MovementClassTotalRepository extends EntityRepository<MovementClassTotal, Long> { }
\ No newline at end of file
@@ -17,8 +17,12 @@
 package br.com.webbudget.domain.repositories.view;
 
 import br.com.webbudget.domain.entities.view.OpenPeriodResult;
+import br.com.webbudget.infrastructure.jpa.ReadOnly;
+import br.com.webbudget.infrastructure.jpa.ReadReplica;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
 import org.apache.deltaspike.data.api.EntityRepository;
 import org.apache.deltaspike.data.api.Repository;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
 
 import java.util.Optional;
 
@@ -30,7 +34,10 @@ import java.util.Optional;
  * @version 1.0.0
  * @since 3.0.0, 29/04/2019
  */
+@ReadOnly
+@ReadReplica(maxLag = 30)
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface OpenPeriodResultRepository extends EntityRepository<OpenPeriodResult, Long> {
 
     /**
@@ -17,9 +17,13 @@
 package br.com.webbudget.domain.repositories.view;
 
 import br.com.webbudget.domain.entities.view.OpenPeriodResume;
+import br.com.webbudget.infrastructure.jpa.ReadOnly;
+import br.com.webbudget.infrastructure.jpa.ReadReplica;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
 import org.apache.deltaspike.data.api.EntityRepository;
 import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
 
 import java.util.Optional;
 
@@ -31,7 +35,10 @@ import java.util.Optional;
  * @version 1.0.0
  * @since 3.0.0, 16/04/2019
  */
+@ReadOnly
+@ReadReplica(maxLag = 30)
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface OpenPeriodResumeRepository extends EntityRepository<OpenPeriodResume, Long> {
 
     /**
@@ -18,12 +18,20 @@ package br.com.webbudget.domain.repositories.view;
 
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
 import br.com.webbudget.domain.entities.view.PeriodResult;
+import br.com.webbudget.infrastructure.cache.CacheTag;
+import br.com.webbudget.infrastructure.cache.CachedResult;
+import br.com.webbudget.infrastructure.jpa.ReadOnly;
+import br.com.webbudget.infrastructure.jpa.ReadReplica;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
 import org.apache.deltaspike.data.api.EntityRepository;
 import org.apache.deltaspike.data.api.Repository;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
 
 import java.util.List;
 import java.util.Optional;
 
+import static br.com.webbudget.infrastructure.cache.ResultCache.PERIOD;
+
 /**
  * The {@link PeriodResult} repository
  *
@@ -32,7 +40,10 @@ import java.util.Optional;
  * @version 1.0.0
  * @since 3.0.0, 16/04/2019
  */
+@ReadOnly
+@ReadReplica(maxLag = 30)
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface PeriodResultRepository extends EntityRepository<PeriodResult, Long> {
 
     /**
@@ -40,6 +51,7 @@ public interface PeriodResultRepository extends EntityRepository<PeriodResult, L
      *
      * @return a {@link List} with the first six results
      */
+    @CachedResult
     List<PeriodResult> findTop6OrderById();
 
     /**
@@ -48,5 +60,6 @@ public interface PeriodResultRepository extends EntityRepository<PeriodResult, L
      * @param financialPeriodId to use as filter
      * @return an {@link Optional} of the result found
      */
-    Optional<PeriodResult> findByFinancialPeriodId(Long financialPeriodId);
+    @CachedResult
+    Optional<PeriodResult> findByFinancialPeriodId(@CacheTag(PERIOD) Long financialPeriodId);
 }
\ No newline at end of file
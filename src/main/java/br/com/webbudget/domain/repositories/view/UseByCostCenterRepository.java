@@ -20,11 +20,19 @@ import br.com.webbudget.domain.entities.registration.CostCenter;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
 import br.com.webbudget.domain.entities.registration.MovementClassType;
 import br.com.webbudget.domain.entities.view.UseByCostCenter;
+import br.com.webbudget.infrastructure.cache.CacheTag;
+import br.com.webbudget.infrastructure.cache.CachedResult;
+import br.com.webbudget.infrastructure.jpa.ReadOnly;
+import br.com.webbudget.infrastructure.jpa.ReadReplica;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
 import org.apache.deltaspike.data.api.EntityRepository;
 import org.apache.deltaspike.data.api.Repository;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
 
 import java.util.List;
 
+import static br.com.webbudget.infrastructure.cache.ResultCache.PERIOD;
+
 /**
  * {@link UseByCostCenter} repository
  *
@@ -33,7 +41,10 @@ import java.util.List;
  * @version 1.0.0
  * @since 3.0.0, 28/04/2019
  */
+@ReadOnly
+@ReadReplica(maxLag = 30)
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface UseByCostCenterRepository extends EntityRepository<UseByCostCenter, Long> {
 
     /**
@@ -43,5 +54,6 @@ public interface UseByCostCenterRepository extends EntityRepository<UseByCostCen
      * @param direction to filter revenues or expenses only
      * @return a {@link List} of all uses grouped by {@link CostCenter}
      */
-    List<UseByCostCenter> findByFinancialPeriodIdAndDirection(Long financialPeriodId, MovementClassType direction);
-}
+    @CachedResult
+    List<UseByCostCenter> findByFinancialPeriodIdAndDirection(@CacheTag(PERIOD) Long financialPeriodId, MovementClassType direction);
+}
\ No newline at end of file
@@ -19,11 +19,19 @@ package br.com.webbudget.domain.repositories.view;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
 import br.com.webbudget.domain.entities.registration.MovementClassType;
 import br.com.webbudget.domain.entities.view.UseByMovementClass;
+import br.com.webbudget.infrastructure.cache.CacheTag;
+import br.com.webbudget.infrastructure.cache.CachedResult;
+import br.com.webbudget.infrastructure.jpa.ReadOnly;
+import br.com.webbudget.infrastructure.jpa.ReadReplica;
+import br.com.webbudget.infrastructure.jpa.RoutingEntityManagerResolver;
 import org.apache.deltaspike.data.api.EntityRepository;
 import org.apache.deltaspike.data.api.Repository;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig;
 
 import java.util.List;
 
+import static br.com.webbudget.infrastructure.cache.ResultCache.PERIOD;
+
 /**
  * {@link UseByMovementClass} repository
  *
@@ -32,7 +40,10 @@ import java.util.List;
  * @version 1.0.0
  * @since 3.0.0, 28/04/2019
  */
+@ReadOnly
+@ReadReplica(maxLag = 30)
 @Repository
+@EntityManagerConfig(entityManagerResolver = RoutingEntityManagerResolver.class)
 public interface UseByMovementClassRepository extends EntityRepository<UseByMovementClass, Long> {
 
     /**
@@ -42,5 +53,6 @@ public interface UseByMovementClassRepository extends EntityRepository<UseByMove
      * @param direction to use as filter
      * @return a {@link List} of all {@link UseByMovementClass} found
      */
-    List<UseByMovementClass> findByFinancialPeriodIdAndDirection(Long financialPeriodId, MovementClassType direction);
-}
+    @CachedResult
+    List<UseByMovementClass> findByFinancialPeriodIdAndDirection(@CacheTag(PERIOD) Long financialPeriodId, MovementClassType direction);
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.schedules;
+
+import br.com.webbudget.domain.services.AuditRetentionService;
+
+import javax.ejb.ScheduleExpression;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.time.Duration;
+
+/**
+ * {@link ScheduledJob} to keep the audit tables inside the retention, creating the partitions of the next months and
+ * archiving the expired ones
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@ApplicationScoped
+public class AuditRetentionJob implements ScheduledJob {
+
+    @Inject
+    private AuditRetentionService auditRetentionService;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public String getName() {
+        return "audit-retention";
+    }
+
+    /**
+     * Everyday at four in the morning
+     *
+     * @return
+     */
+    @Override
+    public ScheduleExpression getSchedule() {
+        return new ScheduleExpression().hour(4);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public int execute() {
+        return this.auditRetentionService.applyRetention();
+    }
+
+    /**
+     * The first run after a long time can export a lot of partitions
+     *
+     * @return
+     */
+    @Override
+    public Duration getLease() {
+        return Duration.ofHours(2);
+    }
+}
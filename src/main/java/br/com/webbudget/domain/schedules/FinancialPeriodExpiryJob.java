@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.schedules;
+
+import br.com.webbudget.domain.entities.registration.FinancialPeriod;
+import br.com.webbudget.domain.services.FinancialPeriodService;
+import br.com.webbudget.infrastructure.cache.ResultCache;
+import br.com.webbudget.infrastructure.jpa.SecondLevelCache;
+
+import javax.ejb.ScheduleExpression;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * {@link ScheduledJob} to mark all the open {@link FinancialPeriod} that already ended as expired
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 2.0.0
+ * @since 3.0.0, 06/04/2019
+ */
+@ApplicationScoped
+public class FinancialPeriodExpiryJob implements ScheduledJob {
+
+    @Inject
+    private ResultCache resultCache;
+    @Inject
+    private SecondLevelCache secondLevelCache;
+
+    @Inject
+    private FinancialPeriodService financialPeriodService;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public String getName() {
+        return "financial-period-expiry";
+    }
+
+    /**
+     * Everyday at midnight
+     *
+     * @return
+     */
+    @Override
+    public ScheduleExpression getSchedule() {
+        return new ScheduleExpression().hour(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public int execute() {
+
+        final List<Long> expired = this.financialPeriodService.expire(LocalDate.now());
+
+        // the update goes around the entities, so no event is fired to invalidate the results or the entity cache
+        expired.forEach(id -> this.resultCache.invalidate(ResultCache.PERIOD, id));
+        this.secondLevelCache.evict(FinancialPeriod.class, expired);
+
+        return expired.size();
+    }
+}
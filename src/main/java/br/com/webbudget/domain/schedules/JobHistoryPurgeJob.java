@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.schedules;
+
+import br.com.webbudget.domain.entities.configuration.JobExecution;
+import br.com.webbudget.domain.services.JobExecutionService;
+import br.com.webbudget.infrastructure.utils.Configurations;
+
+import javax.ejb.ScheduleExpression;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.time.LocalDateTime;
+
+/**
+ * {@link ScheduledJob} to discard the old {@link JobExecution} of the history
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@ApplicationScoped
+public class JobHistoryPurgeJob implements ScheduledJob {
+
+    @Inject
+    private JobExecutionService jobExecutionService;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public String getName() {
+        return "job-history-purge";
+    }
+
+    /**
+     * Everyday at three in the morning
+     *
+     * @return
+     */
+    @Override
+    public ScheduleExpression getSchedule() {
+        return new ScheduleExpression().hour(3);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public int execute() {
+        final int days = Configurations.getAsInteger("scheduler.history-days");
+        return this.jobExecutionService.purge(LocalDateTime.now().minusDays(days));
+    }
+}
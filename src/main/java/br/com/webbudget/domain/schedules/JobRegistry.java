@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.schedules;
+
+import br.com.webbudget.domain.entities.configuration.JobExecution;
+import br.com.webbudget.domain.services.JobExecutionService;
+import br.com.webbudget.infrastructure.cdi.RequestContextRunner;
+import br.com.webbudget.infrastructure.metrics.MethodTimer;
+import br.com.webbudget.infrastructure.metrics.MetricRegistry;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The registry of all the {@link ScheduledJob}, the jobs are always run through here so each run gets the lease of the
+ * job, the history in the database and the metrics
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@ApplicationScoped
+public class JobRegistry {
+
+    // nodes firing the same schedule a bit later than the one that ran the job will find the lease still held
+    private static final Duration MINIMUM_LEASE = Duration.ofMinutes(1);
+
+    private final String node;
+    private final Map<String, ScheduledJob> jobs;
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private MetricRegistry metricRegistry;
+    @Inject
+    private RequestContextRunner requestContextRunner;
+    @Inject
+    private JobExecutionService jobExecutionService;
+
+    @Any
+    @Inject
+    private Instance<ScheduledJob> available;
+
+    @Resource
+    private ManagedExecutorService executorService;
+
+    /**
+     * Constructor...
+     */
+    public JobRegistry() {
+        this.node = nodeName();
+        this.jobs = new TreeMap<>();
+    }
+
+    /**
+     * Discover the jobs available
+     */
+    @PostConstruct
+    protected void initialize() {
+        this.available.forEach(job -> this.jobs.put(job.getName(), job));
+    }
+
+    /**
+     * @return all the {@link ScheduledJob} available ordered by the name
+     */
+    public Collection<ScheduledJob> getJobs() {
+        return this.jobs.values();
+    }
+
+    /**
+     * Run a job if the lease of it can be acquired by this node. Failures of the job are registered in the history and
+     * not propagated
+     *
+     * @param jobName the name of the job to run
+     * @return an {@link Optional} with the {@link JobExecution}, empty if the job is running or just ran in other node
+     */
+    public Optional<JobExecution> run(String jobName) {
+
+        final ScheduledJob job = this.jobs.get(jobName);
+
+        if (job == null) {
+            throw new IllegalArgumentException("No job found with name " + jobName);
+        }
+
+        if (!this.jobExecutionService.acquire(jobName, this.node, job.getLease())) {
+            this.logger.debug("Job {} skipped, the lease is held by other node", jobName);
+            return Optional.empty();
+        }
+
+        final JobExecution execution = this.jobExecutionService.start(jobName, this.node);
+
+        final MethodTimer timer = this.metricRegistry.timerOf(ScheduledJob.class.getSimpleName(), jobName);
+        final long start = timer.start();
+
+        try {
+            final int affectedRows = job.execute();
+            execution.succeeded(elapsedMillis(start), affectedRows);
+            this.logger.info("Job {} finished in {}ms with {} rows affected",
+                    jobName, execution.getDuration(), affectedRows);
+        } catch (RuntimeException ex) {
+            timer.error();
+            execution.failed(elapsedMillis(start), ex);
+            this.logger.error("Job {} failed after {}ms", jobName, execution.getDuration(), ex);
+        } finally {
+            timer.stop(start);
+            this.jobExecutionService.finish(execution);
+            this.jobExecutionService.release(jobName, this.node, MINIMUM_LEASE);
+        }
+
+        return Optional.of(execution);
+    }
+
+    /**
+     * Run a job in background using the container executor
+     *
+     * @param jobName the name of the job to run
+     * @return the {@link CompletableFuture} of the execution
+     */
+    public CompletableFuture<Void> submit(String jobName) {
+        return CompletableFuture.runAsync(() -> this.requestContextRunner.run(() -> this.run(jobName)),
+                this.executorService);
+    }
+
+    /**
+     * @param start the start time, in nanoseconds
+     * @return the time elapsed since the start in milliseconds
+     */
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * The name of this node, the one defined for the server or the host name
+     *
+     * @return the name of the node
+     */
+    private static String nodeName() {
+
+        final String node = System.getProperty("jboss.node.name");
+
+        if (StringUtils.isNotBlank(node)) {
+            return node;
+        }
+
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return "unknown";
+        }
+    }
+}
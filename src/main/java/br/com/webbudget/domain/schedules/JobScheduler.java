@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.schedules;
+
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import javax.ejb.DependsOn;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.ejb.Timeout;
+import javax.ejb.Timer;
+import javax.ejb.TimerConfig;
+import javax.ejb.TimerService;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+/**
+ * Create one timer for each {@link ScheduledJob} and run the job through the {@link JobRegistry} when it fires
+ *
+ * The timers are not persistent and every node has its own, the lease taken by the {@link JobRegistry} is what makes
+ * each job run only once across the cluster
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@Startup
+@Singleton
+@DependsOn("ApplicationInitializer")
+public class JobScheduler {
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private JobRegistry jobRegistry;
+
+    @Resource
+    private TimerService timerService;
+
+    /**
+     * Create the timers of the jobs
+     */
+    @PostConstruct
+    public void initialize() {
+        this.jobRegistry.getJobs().forEach(job -> this.timerService
+                .createCalendarTimer(job.getSchedule(), new TimerConfig(job.getName(), false)));
+        this.logger.info("{} jobs scheduled", this.jobRegistry.getJobs().size());
+    }
+
+    /**
+     * Run the job of the timer fired, the job handles his own transactions
+     *
+     * @param timer the {@link Timer} fired
+     */
+    @Timeout
+    @Lock(LockType.READ)
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public void onTimeout(Timer timer) {
+        this.jobRegistry.run((String) timer.getInfo());
+    }
+
+    /**
+     * Get the next time a job will be fired in this node
+     *
+     * @param jobName the name of the job
+     * @return an {@link Optional} with the next run time, empty if the job has no timer
+     */
+    @Lock(LockType.READ)
+    public Optional<LocalDateTime> getNextRun(String jobName) {
+        return this.timerService.getTimers()
+                .stream()
+                .filter(timer -> jobName.equals(timer.getInfo()))
+                .findFirst()
+                .map(timer -> LocalDateTime.ofInstant(timer.getNextTimeout().toInstant(), ZoneId.systemDefault()));
+    }
+}
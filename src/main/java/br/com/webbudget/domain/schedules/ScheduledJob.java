@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.schedules;
+
+import javax.ejb.ScheduleExpression;
+import java.time.Duration;
+
+/**
+ * Interface to define a job run by the {@link JobScheduler}
+ *
+ * The jobs are discovered by the {@link JobRegistry} and each run is guarded by a lease in the database, so the job
+ * runs only once across the cluster even if every node fires the same schedule
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+public interface ScheduledJob {
+
+    /**
+     * The name of the job, used as the key of the lease and of the history, so it should not change
+     *
+     * @return the name of this job
+     */
+    String getName();
+
+    /**
+     * The calendar based schedule of this job
+     *
+     * @return the {@link ScheduleExpression} for this job
+     */
+    ScheduleExpression getSchedule();
+
+    /**
+     * Call this method to run this job
+     *
+     * @return the number of rows (or items) changed by the job
+     */
+    int execute();
+
+    /**
+     * The maximum time a node can hold this job, if the node dies while running the job it can only be taken by other
+     * node after this time
+     *
+     * @return the {@link Duration} of the lease, default is thirty minutes
+     */
+    default Duration getLease() {
+        return Duration.ofMinutes(30);
+    }
+}
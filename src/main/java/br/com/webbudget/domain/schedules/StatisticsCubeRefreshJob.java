@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.schedules;
+
+import br.com.webbudget.domain.services.StatisticsCubeService;
+
+import javax.ejb.ScheduleExpression;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.time.Duration;
+
+/**
+ * {@link ScheduledJob} to refresh the whole statistics cube, this catches any change not covered by the events of the
+ * movements
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 2.0.0
+ * @since 3.1.0, 23/10/2019
+ */
+@ApplicationScoped
+public class StatisticsCubeRefreshJob implements ScheduledJob {
+
+    @Inject
+    private StatisticsCubeService statisticsCubeService;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public String getName() {
+        return "statistics-cube-refresh";
+    }
+
+    /**
+     * Everyday at two in the morning
+     *
+     * @return
+     */
+    @Override
+    public ScheduleExpression getSchedule() {
+        return new ScheduleExpression().hour(2);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public int execute() {
+        return this.statisticsCubeService.refreshAll();
+    }
+
+    /**
+     * The refresh of all the periods can take a while with a lot of movements
+     *
+     * @return
+     */
+    @Override
+    public Duration getLease() {
+        return Duration.ofHours(2);
+    }
+}
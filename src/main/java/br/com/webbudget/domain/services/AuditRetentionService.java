@@ -0,0 +1,359 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.services;
+
+import br.com.webbudget.domain.entities.configuration.AuditPartition;
+import br.com.webbudget.domain.entities.configuration.AuditPartitionState;
+import br.com.webbudget.domain.repositories.configuration.AuditPartitionRepository;
+import br.com.webbudget.infrastructure.backup.JsonRows;
+import br.com.webbudget.infrastructure.jpa.BulkWrite;
+import br.com.webbudget.infrastructure.metrics.Measured;
+import br.com.webbudget.infrastructure.utils.Configurations;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.slf4j.Logger;
+
+import javax.annotation.Resource;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.sql.DataSource;
+import javax.transaction.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static javax.transaction.Transactional.TxType.NOT_SUPPORTED;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * Service to apply the retention policy to the audit tables
+ *
+ * The audit tables are partitioned by month. The partitions of the next months are created ahead of time and the ones
+ * older than the retention are detached, exported to a GZIP compressed NDJSON file (the same format of the backup,
+ * with the audit table as the table of the rows) and dropped. Each step is one statement in his own transaction, a
+ * partition detached but not exported is taken again by the next run. The revisions no longer referenced are exported
+ * to an archive of their own in the same transaction that removes them
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.2.0
+ * @since 3.1.0, 28/10/2019
+ */
+@Measured
+@ApplicationScoped
+public class AuditRetentionService {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String FORMAT = "webbudget-audit-archive";
+
+    private static final String REVISIONS_TABLE = "public.revisions";
+    private static final DateTimeFormatter ARCHIVE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private AuditPartitionRepository auditPartitionRepository;
+
+    @Resource(lookup = "java:/datasources/webBudgetDS")
+    private DataSource dataSource;
+
+    /**
+     * Apply the retention: create the partitions of the next months, archive the expired ones and remove the revisions
+     * no longer referenced by the audit tables
+     *
+     * @return the number of audit rows archived plus the revisions removed
+     */
+    @BulkWrite
+    @Transactional(NOT_SUPPORTED)
+    public int applyRetention() {
+
+        final LocalDate limit = LocalDate.now()
+                .withDayOfMonth(1)
+                .minusMonths(Configurations.getAsInteger("audit.retention-months"));
+
+        try {
+            final long created = this.call("SELECT configuration.create_audit_partitions(?)",
+                    Configurations.getAsInteger("audit.partitions-ahead"));
+
+            this.logger.info("Audit partitions created: {}", created);
+
+            long archived = 0;
+
+            final List<AuditPartition> expired = this.auditPartitionRepository
+                    .findExpired(limit, AuditPartitionState.ARCHIVED);
+
+            for (AuditPartition partition : expired) {
+                archived += this.archive(partition);
+            }
+
+            final long purged = this.purgeRevisions(limit);
+
+            this.logger.info("Audit older than {} archived, {} rows in {} partitions and {} revisions removed",
+                    limit, archived, expired.size(), purged);
+
+            return Math.toIntExact(archived + purged);
+        } catch (SQLException | IOException ex) {
+            throw new IllegalStateException("Can't apply the retention to the audit", ex);
+        }
+    }
+
+    /**
+     * Detach, export and drop one {@link AuditPartition}
+     *
+     * @param partition the {@link AuditPartition} to archive
+     * @return the number of rows archived
+     * @throws SQLException if any problem occur with the database
+     * @throws IOException if any problem occur writing the archive
+     */
+    private long archive(AuditPartition partition) throws SQLException, IOException {
+
+        final long start = System.currentTimeMillis();
+
+        final long detached = this.call("SELECT configuration.detach_audit_partition(?)",
+                partition.getPartitionName());
+
+        final Path archive = this.getArchiveDirectory().resolve(partition.getPartitionName() + ".ndjson.gz");
+
+        // written aside and moved when complete, so a file in the archive is never a partial export
+        final Path temporary = archive.resolveSibling(archive.getFileName() + ".tmp");
+
+        final long exported;
+
+        try (final OutputStream outputStream = Files.newOutputStream(temporary)) {
+            exported = this.export(partition, outputStream);
+        }
+
+        if (exported != detached) {
+            Files.deleteIfExists(temporary);
+            throw new IllegalStateException(String.format("Partition %s exported %d of %d rows",
+                    partition.getPartitionName(), exported, detached));
+        }
+
+        Files.move(temporary, archive, ATOMIC_MOVE);
+
+        this.call("SELECT configuration.drop_audit_partition(?, ?)",
+                partition.getPartitionName(), archive.toString());
+
+        this.logger.info("Audit partition {} archived to {} with {} rows in {}ms", partition.getPartitionName(),
+                archive, exported, System.currentTimeMillis() - start);
+
+        return exported;
+    }
+
+    /**
+     * Remove the revisions older than the limit no longer referenced by the audit tables, writing them to an archive
+     * before the commit of the removal. Nothing is archived when no revision is removed
+     *
+     * @param limit the date of the oldest revision kept
+     * @return the number of revisions removed
+     * @throws SQLException if any problem occur with the database
+     * @throws IOException if any problem occur writing the archive
+     */
+    private long purgeRevisions(LocalDate limit) throws SQLException, IOException {
+
+        final Path archive = this.getArchiveDirectory().resolve(REVISIONS_TABLE + "_"
+                + LocalDateTime.now().format(ARCHIVE_TIMESTAMP) + ".ndjson.gz");
+
+        final Path temporary = archive.resolveSibling(archive.getFileName() + ".tmp");
+
+        final Map<String, String> description = new LinkedHashMap<>();
+        description.put("revisionsBefore", limit.toString());
+
+        final long purged;
+
+        try (final Connection connection = this.dataSource.getConnection()) {
+
+            // the revisions are only removed if the archive is complete
+            connection.setAutoCommit(false);
+
+            try (final OutputStream outputStream = Files.newOutputStream(temporary);
+                 final PreparedStatement statement = connection.prepareStatement(
+                         "SELECT * FROM configuration.purge_audit_revisions(?)")) {
+
+                statement.setObject(1, limit.atStartOfDay());
+                statement.setFetchSize(FETCH_SIZE);
+
+                try (final ResultSet resultSet = statement.executeQuery()) {
+                    purged = this.write(outputStream, description, REVISIONS_TABLE, resultSet);
+                }
+            } catch (SQLException | IOException | RuntimeException ex) {
+                connection.rollback();
+                Files.deleteIfExists(temporary);
+                throw ex;
+            }
+
+            if (purged > 0) {
+                Files.move(temporary, archive, ATOMIC_MOVE);
+                this.logger.info("Audit revisions removed archived to {} with {} rows", archive, purged);
+            } else {
+                Files.deleteIfExists(temporary);
+            }
+
+            connection.commit();
+        }
+        return purged;
+    }
+
+    /**
+     * Write all the rows of a detached partition to the given {@link OutputStream}
+     *
+     * @param partition the {@link AuditPartition} to export
+     * @param outputStream where the rows will be written
+     * @return the amount of rows written
+     * @throws SQLException if any problem occur reading the partition
+     * @throws IOException if any problem occur writing the rows
+     */
+    private long export(AuditPartition partition, OutputStream outputStream) throws SQLException, IOException {
+
+        final Map<String, String> description = new LinkedHashMap<>();
+
+        description.put("partition", partition.getPartitionName());
+        description.put("rangeStart", partition.getRangeStart().toString());
+        description.put("rangeEnd", partition.getRangeEnd().toString());
+
+        final long rows;
+
+        try (final Connection connection = this.dataSource.getConnection()) {
+
+            // without auto commit the driver reads the rows with a cursor, by the fetch size
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+
+            try (final Statement statement = connection.createStatement()) {
+
+                statement.setFetchSize(FETCH_SIZE);
+
+                try (final ResultSet resultSet = statement.executeQuery(
+                        "SELECT * FROM " + partition.getPartitionName() + " ORDER BY revision, id")) {
+                    rows = this.write(outputStream, description, partition.getParentName(), resultSet);
+                }
+            }
+
+            connection.commit();
+        }
+        return rows;
+    }
+
+    /**
+     * Write an archive: the header with the description of the content followed by the rows of the {@link ResultSet}
+     *
+     * @param outputStream where the archive will be written
+     * @param description the fields describing the content, written in the header
+     * @param table the table of the rows
+     * @param resultSet the rows to be written
+     * @return the amount of rows written
+     * @throws SQLException if any problem occur reading the rows
+     * @throws IOException if any problem occur writing the rows
+     */
+    private long write(OutputStream outputStream, Map<String, String> description, String table,
+                       ResultSet resultSet) throws SQLException, IOException {
+
+        long rows = 0;
+
+        final GZIPOutputStream compressed = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        final JsonGenerator generator = new JsonFactory().createGenerator(compressed, JsonEncoding.UTF8);
+
+        generator.setRootValueSeparator(new SerializedString("\n"));
+
+        generator.writeStartObject();
+        generator.writeStringField("format", FORMAT);
+        generator.writeNumberField("version", FORMAT_VERSION);
+        generator.writeStringField("application", Configurations.get("application.version"));
+        generator.writeStringField("createdOn", LocalDateTime.now().toString());
+
+        for (Map.Entry<String, String> field : description.entrySet()) {
+            generator.writeStringField(field.getKey(), field.getValue());
+        }
+
+        generator.writeEndObject();
+
+        final ResultSetMetaData metadata = resultSet.getMetaData();
+
+        while (resultSet.next()) {
+
+            generator.writeStartObject();
+            generator.writeStringField("table", table);
+            JsonRows.writeRow(generator, "row", resultSet, metadata);
+            generator.writeEndObject();
+
+            rows++;
+        }
+
+        generator.writeRaw('\n');
+        generator.flush();
+        compressed.finish();
+
+        return rows;
+    }
+
+    /**
+     * Call one of the functions handling the partitions
+     *
+     * @param function the call of the function
+     * @param parameters the parameters of the function
+     * @return the value returned by the function
+     * @throws SQLException if any problem occur
+     */
+    private long call(String function, Object... parameters) throws SQLException {
+        try (final Connection connection = this.dataSource.getConnection();
+             final PreparedStatement statement = connection.prepareStatement(function)) {
+
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+
+            try (final ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * The directory where the archives are written, the audit.archive-directory property or the audit-archive folder
+     * inside the data directory of the server
+     *
+     * @return the {@link Path} of the directory, created if it does not exist
+     * @throws IOException if the directory can't be created
+     */
+    private Path getArchiveDirectory() throws IOException {
+
+        final String configured = Configurations.get("audit.archive-directory");
+
+        final Path directory = isNotBlank(configured) ? Paths.get(configured)
+                : Paths.get(System.getProperty("jboss.server.data.dir", System.getProperty("java.io.tmpdir")),
+                "audit-archive");
+
+        return Files.createDirectories(directory);
+    }
+}
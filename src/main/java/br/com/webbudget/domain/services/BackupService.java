@@ -0,0 +1,399 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.services;
+
+import br.com.webbudget.application.components.dto.BackupReport;
+import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.infrastructure.backup.BackupTable;
+import br.com.webbudget.infrastructure.backup.JsonRows;
+import br.com.webbudget.infrastructure.backup.TableRestorer;
+import br.com.webbudget.infrastructure.jpa.ReplicaRouter;
+import br.com.webbudget.infrastructure.jpa.SecondLevelCache;
+import br.com.webbudget.infrastructure.search.SearchIndexUpdater;
+import br.com.webbudget.infrastructure.utils.Configurations;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+
+import javax.annotation.Resource;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.persistence.PersistenceException;
+import javax.sql.DataSource;
+import javax.transaction.Transactional;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static javax.transaction.Transactional.TxType.NOT_SUPPORTED;
+
+/**
+ * Service to create and restore a full backup of the application data
+ *
+ * The backup is a GZIP compressed NDJSON file, the first line is a header and each following line is one row of one of
+ * the {@link BackupTable} with the ids preserved. The audit schemas are not included. Both directions work as streams
+ * over JDBC, so the memory used does not depend on the size of the database
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.3.0
+ * @since 3.1.0, 20/10/2019
+ */
+@ApplicationScoped
+public class BackupService {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String FORMAT = "webbudget-backup";
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int BATCH_SIZE = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String SEQUENCE = "public.pooled_sequence_generator";
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private SecondLevelCache secondLevelCache;
+    @Inject
+    private StatisticsCubeService statisticsCubeService;
+    @Inject
+    private SearchIndexUpdater searchIndexUpdater;
+    @Inject
+    private ReplicaRouter replicaRouter;
+
+    @Resource(lookup = "java:/datasources/webBudgetDS")
+    private DataSource dataSource;
+
+    /**
+     * Write the backup of all {@link BackupTable} to the given {@link OutputStream}
+     *
+     * All the tables are read in the same repeatable read transaction, so the backup is a consistent snapshot
+     *
+     * @param outputStream where the backup will be written
+     * @return the {@link BackupReport} of this backup
+     * @throws IOException if any problem occur writing the backup
+     */
+    @Transactional(NOT_SUPPORTED)
+    public BackupReport backup(OutputStream outputStream) throws IOException {
+
+        final BackupReport report = new BackupReport();
+
+        try (final Connection connection = this.dataSource.getConnection()) {
+
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+
+            final GZIPOutputStream compressed = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+            final JsonGenerator generator = new JsonFactory().createGenerator(compressed, JsonEncoding.UTF8);
+
+            generator.setRootValueSeparator(new SerializedString("\n"));
+
+            generator.writeStartObject();
+            generator.writeStringField("format", FORMAT);
+            generator.writeNumberField("version", FORMAT_VERSION);
+            generator.writeStringField("application", Configurations.get("application.version"));
+            generator.writeStringField("createdOn", LocalDateTime.now().toString());
+            generator.writeEndObject();
+
+            for (BackupTable table : BackupTable.values()) {
+                final long start = System.currentTimeMillis();
+                final long rows = this.backup(table, connection, generator);
+                this.log("Backup", report.add(table.getQualifiedName(), rows, System.currentTimeMillis() - start));
+            }
+
+            generator.writeRaw('\n');
+            generator.flush();
+            compressed.finish();
+
+            connection.commit();
+        } catch (SQLException ex) {
+            throw new BusinessLogicException("error.backup.failed", ex);
+        }
+
+        this.logger.info("Backup finished with {} rows in {}ms ({} rows/s)",
+                report.getTotalRows(), report.getTotalMillis(), report.getRowsPerSecond());
+
+        return report;
+    }
+
+    /**
+     * Restore a backup created with {@link #backup(OutputStream)}. All the current data of the {@link BackupTable} is
+     * replaced by the data in the backup. Everything runs in one transaction, so if anything fails nothing is changed
+     *
+     * @param inputStream to read the backup from
+     * @return the {@link BackupReport} of this restore
+     * @throws IOException if any problem occur reading the backup
+     */
+    @Transactional(NOT_SUPPORTED)
+    public BackupReport restore(InputStream inputStream) throws IOException {
+
+        final BackupReport report = new BackupReport();
+
+        final ObjectMapper mapper = new ObjectMapper()
+                .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(inputStream, BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        this.checkHeader(mapper, reader.readLine());
+
+        try (final Connection connection = this.dataSource.getConnection()) {
+
+            connection.setAutoCommit(false);
+
+            try {
+                this.truncate(connection);
+
+                final List<TableRestorer> restorers = new ArrayList<>();
+
+                TableRestorer current = null;
+                long start = System.currentTimeMillis();
+
+                String line;
+                while ((line = reader.readLine()) != null) {
+
+                    if (line.isBlank()) {
+                        continue;
+                    }
+
+                    final JsonNode node = mapper.readTree(line);
+                    final String tableName = node.path("table").asText();
+
+                    if (current == null || !current.getTable().getQualifiedName().equals(tableName)) {
+
+                        if (current != null) {
+                            current.close();
+                            this.log("Restore", report.add(tableName(current), current.getRows(),
+                                    System.currentTimeMillis() - start));
+                        }
+
+                        final BackupTable table = BackupTable.of(tableName).orElse(null);
+
+                        if (table == null) {
+                            this.logger.warn("Table {} is unknown to this version, skipping", tableName);
+                            current = null;
+                            continue;
+                        }
+
+                        current = new TableRestorer(table, connection, BATCH_SIZE);
+                        restorers.add(current);
+                        start = System.currentTimeMillis();
+                    }
+
+                    current.insert(node.get("row"));
+                }
+
+                if (current != null) {
+                    current.close();
+                    this.log("Restore", report.add(tableName(current), current.getRows(),
+                            System.currentTimeMillis() - start));
+                }
+
+                for (TableRestorer restorer : restorers) {
+                    restorer.applyDeferred();
+                }
+
+                this.fillMissingDirections(connection);
+                this.resetSequence(connection);
+
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        } catch (SQLException ex) {
+            throw new BusinessLogicException("error.backup.restore-failed", ex);
+        }
+
+        // the restore goes around hibernate, so anything cached is stale now
+        this.secondLevelCache.evictAll();
+
+        // the replica must catch up with the restored data before serving the reads again
+        this.replicaRouter.recordWrite();
+
+        // the statistics cube is not in the backup, it is built again from the restored data
+        try {
+            this.statisticsCubeService.refreshAll();
+        } catch (IllegalStateException ex) {
+            this.logger.error("Data restored but the statistics could not be rebuilt", ex);
+        }
+
+        // the search index of this node and of the others still points to the entities before the restore
+        try {
+            this.searchIndexUpdater.rebuild();
+        } catch (PersistenceException ex) {
+            this.logger.error("Data restored but the search index could not be rebuilt", ex);
+        }
+
+        this.logger.info("Restore finished with {} rows in {}ms ({} rows/s)",
+                report.getTotalRows(), report.getTotalMillis(), report.getRowsPerSecond());
+
+        return report;
+    }
+
+    /**
+     * Write all the rows of a table to the backup
+     *
+     * @param table the {@link BackupTable} to read
+     * @param connection the {@link Connection} to use
+     * @param generator the {@link JsonGenerator} to write the rows
+     * @return the amount of rows written
+     * @throws SQLException if any problem occur reading the table
+     * @throws IOException if any problem occur writing the rows
+     */
+    private long backup(BackupTable table, Connection connection, JsonGenerator generator)
+            throws SQLException, IOException {
+
+        long rows = 0;
+
+        try (final Statement statement = connection.createStatement()) {
+
+            statement.setFetchSize(FETCH_SIZE);
+
+            try (final ResultSet resultSet = statement.executeQuery(
+                    "SELECT * FROM " + table.getQualifiedName() + " ORDER BY id")) {
+
+                final ResultSetMetaData metadata = resultSet.getMetaData();
+
+                while (resultSet.next()) {
+
+                    generator.writeStartObject();
+                    generator.writeStringField("table", table.getQualifiedName());
+                    JsonRows.writeRow(generator, "row", resultSet, metadata);
+                    generator.writeEndObject();
+
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Check if the header of the backup is valid
+     *
+     * @param mapper the {@link ObjectMapper} to read the header
+     * @param header the first line of the backup
+     * @throws IOException if the header can't be read
+     */
+    private void checkHeader(ObjectMapper mapper, String header) throws IOException {
+
+        if (header == null) {
+            throw new BusinessLogicException("error.backup.invalid-file");
+        }
+
+        final JsonNode node = mapper.readTree(header);
+
+        if (!FORMAT.equals(node.path("format").asText())) {
+            throw new BusinessLogicException("error.backup.invalid-file");
+        }
+
+        if (node.path("version").asInt() > FORMAT_VERSION) {
+            throw new BusinessLogicException("error.backup.newer-version", node.path("version").asInt());
+        }
+
+        this.logger.info("Restoring backup created on {} by version {}",
+                node.path("createdOn").asText(), node.path("application").asText());
+    }
+
+    /**
+     * Remove all the current data of the {@link BackupTable} in one statement
+     *
+     * @param connection the {@link Connection} to use
+     * @throws SQLException if any problem occur
+     */
+    private void truncate(Connection connection) throws SQLException {
+
+        final String tables = Arrays.stream(BackupTable.values())
+                .map(BackupTable::getQualifiedName)
+                .collect(Collectors.joining(", "));
+
+        try (final Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE " + tables);
+        }
+    }
+
+    /**
+     * Backups made before the movements had the direction column come without it, so fill the direction of these
+     * movements with the type of the class of his apportionments
+     *
+     * @param connection the {@link Connection} to use
+     * @throws SQLException if any problem occur
+     */
+    private void fillMissingDirections(Connection connection) throws SQLException {
+        try (final Statement statement = connection.createStatement()) {
+            statement.execute("UPDATE financial.movements mv SET direction = (" +
+                    "SELECT mc.movement_class_type FROM financial.apportionments ap " +
+                    "JOIN registration.movement_classes mc ON mc.id = ap.id_movement_class " +
+                    "WHERE ap.id_movement = mv.id LIMIT 1) " +
+                    "WHERE mv.direction IS NULL");
+        }
+    }
+
+    /**
+     * Move the id sequence after the greatest id restored, so new entities don't collide with the restored ones
+     *
+     * @param connection the {@link Connection} to use
+     * @throws SQLException if any problem occur
+     */
+    private void resetSequence(Connection connection) throws SQLException {
+
+        final String greatest = Arrays.stream(BackupTable.values())
+                .map(table -> "COALESCE((SELECT MAX(id) FROM " + table.getQualifiedName() + "), 0)")
+                .collect(Collectors.joining(", "));
+
+        try (final Statement statement = connection.createStatement()) {
+            statement.execute("SELECT setval('" + SEQUENCE + "', GREATEST(" + greatest + ", 1))");
+        }
+    }
+
+    /**
+     * Log the throughput of one table
+     *
+     * @param operation the operation performed
+     * @param entry the {@link BackupReport.Entry} with the values
+     */
+    private void log(String operation, BackupReport.Entry entry) {
+        this.logger.info("{} of {}: {} rows in {}ms ({} rows/s)", operation, entry.getTable(), entry.getRows(),
+                entry.getMillis(), entry.getRowsPerSecond());
+    }
+
+    /**
+     * Get the name of the table of a {@link TableRestorer}
+     *
+     * @param restorer the {@link TableRestorer}
+     * @return the qualified name of the table
+     */
+    private static String tableName(TableRestorer restorer) {
+        return restorer.getTable().getQualifiedName();
+    }
+}
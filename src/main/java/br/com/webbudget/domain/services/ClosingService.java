@@ -19,14 +19,18 @@ package br.com.webbudget.domain.services;
 import br.com.webbudget.domain.calculators.PeriodMovementCalculator;
 import br.com.webbudget.domain.entities.financial.Closing;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
+import br.com.webbudget.domain.events.FinancialPeriodClosed;
+import br.com.webbudget.domain.events.FinancialPeriodReopened;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicChainRegistry;
 import br.com.webbudget.domain.logics.financial.closing.ClosingSavingLogic;
 import br.com.webbudget.domain.logics.financial.closing.ReopenPeriodLogic;
 import br.com.webbudget.domain.repositories.financial.ClosingRepository;
+import br.com.webbudget.infrastructure.audit.SummarizedAudit;
+import br.com.webbudget.infrastructure.metrics.Measured;
 
 import javax.enterprise.context.ApplicationScoped;
-import javax.enterprise.inject.Any;
-import javax.enterprise.inject.Instance;
+import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 import java.math.BigDecimal;
@@ -36,24 +40,31 @@ import java.math.BigDecimal;
  *
  * @author Arthur Gregorio
  *
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0.0, 09/04/2014
  */
+@Measured
 @ApplicationScoped
 public class ClosingService {
 
+    @Inject
+    private LogicChainRegistry logicChainRegistry;
+
     @Inject
     private ClosingRepository closingRepository;
 
+    @Inject
+    private PeriodStatisticsService periodStatisticsService;
+
     @Inject
     private PeriodMovementCalculator periodMovementCalculator;
 
-    @Any
     @Inject
-    private Instance<ReopenPeriodLogic> reopenPeriodLogics;
-    @Any
+    @FinancialPeriodClosed
+    private Event<FinancialPeriod> financialPeriodClosedEvent;
     @Inject
-    private Instance<ClosingSavingLogic> closingSavingLogics;
+    @FinancialPeriodReopened
+    private Event<FinancialPeriod> financialPeriodReopenedEvent;
 
     /**
      * Effectively close the {@link FinancialPeriod}
@@ -61,13 +72,14 @@ public class ClosingService {
      * @param financialPeriod to be closed
      */
     @Transactional
+    @SummarizedAudit(value = "period-closing", detailed = {Closing.class, FinancialPeriod.class})
     public void close(FinancialPeriod financialPeriod) {
 
         // use the simulation to get the values to be saved as resume
         final Closing closing = this.simulate(financialPeriod);
 
         // run the business logic of the closing process
-        this.closingSavingLogics.forEach(logic -> logic.run(closing));
+        this.logicChainRegistry.run(ClosingSavingLogic.class, closing);
 
         // calculate the accumulated and save
         final BigDecimal lastClosingAccumulated = this.closingRepository.findLastClosingAccumulatedValue()
@@ -75,7 +87,13 @@ public class ClosingService {
 
         closing.setAccumulated(lastClosingAccumulated.add(closing.getBalance()));
 
-        this.closingRepository.save(closing);
+        final Closing saved = this.closingRepository.save(closing);
+
+        // freeze the statistics of the period with the closing
+        this.periodStatisticsService.capture(saved);
+
+        // fire a event to notify the listeners
+        this.financialPeriodClosedEvent.fire(financialPeriod);
     }
 
     /**
@@ -84,6 +102,7 @@ public class ClosingService {
      * @param financialPeriod to reopened
      */
     @Transactional
+    @SummarizedAudit(value = "period-reopening", detailed = {Closing.class, FinancialPeriod.class})
     public void reopen(FinancialPeriod financialPeriod) {
 
         this.closingRepository.findLastClosing().ifPresent(closing -> {
@@ -92,7 +111,10 @@ public class ClosingService {
             }
         });
 
-        this.reopenPeriodLogics.forEach(logic -> logic.run(financialPeriod));
+        this.logicChainRegistry.run(ReopenPeriodLogic.class, financialPeriod);
+
+        // fire a event to notify the listeners
+        this.financialPeriodReopenedEvent.fire(financialPeriod);
     }
 
     /**
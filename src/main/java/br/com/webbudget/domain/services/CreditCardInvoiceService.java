@@ -31,6 +31,7 @@ import br.com.webbudget.domain.repositories.financial.CreditCardInvoiceRepositor
 import br.com.webbudget.domain.repositories.financial.PeriodMovementRepository;
 import br.com.webbudget.domain.repositories.registration.CardRepository;
 import br.com.webbudget.domain.repositories.registration.FinancialPeriodRepository;
+import br.com.webbudget.infrastructure.metrics.Measured;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
@@ -48,6 +49,7 @@ import java.util.List;
  * @version 1.0.0
  * @since 3.0.0, 10/03/2019
  */
+@Measured
 @ApplicationScoped
 public class CreditCardInvoiceService {
 
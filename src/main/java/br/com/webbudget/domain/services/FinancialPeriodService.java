@@ -18,17 +18,18 @@ package br.com.webbudget.domain.services;
 
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
 import br.com.webbudget.domain.events.FinancialPeriodOpened;
+import br.com.webbudget.domain.logics.LogicChainRegistry;
 import br.com.webbudget.domain.logics.registration.financialperiod.PeriodDeletingLogic;
 import br.com.webbudget.domain.logics.registration.financialperiod.PeriodSavingLogic;
 import br.com.webbudget.domain.repositories.registration.FinancialPeriodRepository;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
-import javax.enterprise.inject.Any;
-import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * The service responsible for the business operations with the {@link FinancialPeriod}
@@ -41,6 +42,9 @@ import java.time.LocalDate;
 @ApplicationScoped
 public class FinancialPeriodService {
 
+    @Inject
+    private LogicChainRegistry logicChainRegistry;
+
     @Inject
     private FinancialPeriodRepository financialPeriodRepository;
 
@@ -48,13 +52,6 @@ public class FinancialPeriodService {
     @FinancialPeriodOpened
     private Event<FinancialPeriod> financialPeriodOpenedEvent;
 
-    @Any
-    @Inject
-    private Instance<PeriodSavingLogic> savingBusinessLogics;
-    @Any
-    @Inject
-    private Instance<PeriodDeletingLogic> periodDeletingLogics;
-
     /**
      * Use this method to persist a {@link FinancialPeriod}
      *
@@ -63,7 +60,7 @@ public class FinancialPeriodService {
     @Transactional
     public void save(FinancialPeriod financialPeriod) {
 
-        this.savingBusinessLogics.forEach(logic -> logic.run(financialPeriod));
+        this.logicChainRegistry.run(PeriodSavingLogic.class, financialPeriod);
 
         // check if the period is already expired and mark it as expired
         if (LocalDate.now().compareTo(financialPeriod.getEnd()) > 0) {
@@ -81,7 +78,25 @@ public class FinancialPeriodService {
      */
     @Transactional
     public void delete(FinancialPeriod financialPeriod) {
-        this.periodDeletingLogics.forEach(logic -> logic.run(financialPeriod));
+        this.logicChainRegistry.run(PeriodDeletingLogic.class, financialPeriod);
         this.financialPeriodRepository.attachAndRemove(financialPeriod);
     }
+
+    /**
+     * Mark all the open {@link FinancialPeriod} that ended before the given date as expired
+     *
+     * @param date the reference date, usually today
+     * @return the ids of the {@link FinancialPeriod} marked as expired
+     */
+    @Transactional
+    public List<Long> expire(LocalDate date) {
+
+        final List<Long> ids = this.financialPeriodRepository.findIdsToExpire(date);
+
+        if (!ids.isEmpty()) {
+            this.financialPeriodRepository.markAsExpired(ids, LocalDateTime.now());
+        }
+
+        return ids;
+    }
 }
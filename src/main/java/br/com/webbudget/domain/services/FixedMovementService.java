@@ -23,16 +23,17 @@ import br.com.webbudget.domain.entities.financial.Launch;
 import br.com.webbudget.domain.entities.financial.PeriodMovement;
 import br.com.webbudget.domain.entities.registration.FinancialPeriod;
 import br.com.webbudget.domain.events.FinancialPeriodOpened;
+import br.com.webbudget.domain.logics.LogicChainRegistry;
 import br.com.webbudget.domain.logics.financial.movement.fixed.FixedMovementDeletingLogic;
 import br.com.webbudget.domain.logics.financial.movement.fixed.FixedMovementSavingLogic;
 import br.com.webbudget.domain.repositories.financial.ApportionmentRepository;
 import br.com.webbudget.domain.repositories.financial.FixedMovementRepository;
 import br.com.webbudget.domain.repositories.financial.LaunchRepository;
+import br.com.webbudget.infrastructure.audit.SummarizedAudit;
+import br.com.webbudget.infrastructure.metrics.Measured;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
-import javax.enterprise.inject.Any;
-import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 import java.util.List;
@@ -43,12 +44,16 @@ import java.util.Set;
  *
  * @author Arthur Gregorio
  *
- * @version 1.0.0
+ * @version 1.1.0
  * @since 3.0.0, 21/03/2019
  */
+@Measured
 @ApplicationScoped
 public class FixedMovementService {
 
+    @Inject
+    private LogicChainRegistry logicChainRegistry;
+
     @Inject
     private PeriodMovementService periodMovementService;
 
@@ -59,13 +64,6 @@ public class FixedMovementService {
     @Inject
     private FixedMovementRepository fixedMovementRepository;
 
-    @Any
-    @Inject
-    private Instance<FixedMovementSavingLogic> fixedMovementSavingLogics;
-    @Any
-    @Inject
-    private Instance<FixedMovementDeletingLogic> fixedMovementDeletingLogics;
-
     /**
      * Method used to save an {@link FixedMovement}
      *
@@ -74,7 +72,7 @@ public class FixedMovementService {
     @Transactional
     public void save(FixedMovement fixedMovement) {
 
-        this.fixedMovementSavingLogics.forEach(logic -> logic.run(fixedMovement));
+        this.logicChainRegistry.run(FixedMovementSavingLogic.class, fixedMovement);
 
         final FixedMovement saved = this.fixedMovementRepository.save(fixedMovement);
 
@@ -103,7 +101,7 @@ public class FixedMovementService {
      */
     @Transactional
     public void delete(FixedMovement fixedMovement) {
-        this.fixedMovementDeletingLogics.forEach(logic -> logic.run(fixedMovement));
+        this.logicChainRegistry.run(FixedMovementDeletingLogic.class, fixedMovement);
         this.fixedMovementRepository.attachAndRemove(fixedMovement);
     }
 
@@ -176,6 +174,7 @@ public class FixedMovementService {
      * @param financialPeriod to be used to launch the {@link FixedMovement}
      */
     @Transactional
+    @SummarizedAudit(value = "fixed-movement-launch", detailed = FixedMovement.class)
     public void launch(List<FixedMovement> fixedMovements, FinancialPeriod financialPeriod) {
         fixedMovements.forEach(fixedMovement -> this.launch(fixedMovement.getId(), financialPeriod));
     }
@@ -186,6 +185,7 @@ public class FixedMovementService {
      *
      * @param financialPeriod opened
      */
+    @SummarizedAudit(value = "fixed-movement-launch", detailed = FixedMovement.class)
     public void onFinancialPeriodOpen(@Observes @FinancialPeriodOpened FinancialPeriod financialPeriod) {
         this.launch(this.fixedMovementRepository.findByAutoLaunchAndFixedMovementState(
                 true, FixedMovementState.ACTIVE), financialPeriod);
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.services;
+
+import br.com.webbudget.domain.entities.configuration.JobExecution;
+import br.com.webbudget.domain.repositories.configuration.JobExecutionRepository;
+import br.com.webbudget.domain.repositories.configuration.JobLeaseRepository;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static javax.transaction.Transactional.TxType.REQUIRES_NEW;
+
+/**
+ * Service used by the scheduled jobs to handle the leases and the history of the executions
+ *
+ * Every operation here runs in its own transaction, so the lease and the history are visible to the other nodes right
+ * away and are kept even if the job itself fails
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@ApplicationScoped
+public class JobExecutionService {
+
+    @Inject
+    private JobLeaseRepository jobLeaseRepository;
+    @Inject
+    private JobExecutionRepository jobExecutionRepository;
+
+    /**
+     * Try to acquire the lease of a job
+     *
+     * @param jobName the name of the job
+     * @param node the name of the node trying to run the job
+     * @param lease for how long the lease is valid
+     * @return true if the lease was acquired, false if another node is holding it
+     */
+    @Transactional(REQUIRES_NEW)
+    public boolean acquire(String jobName, String node, Duration lease) {
+        return this.jobLeaseRepository.acquire(jobName, node, lease.getSeconds()) > 0;
+    }
+
+    /**
+     * Release the lease of a job
+     *
+     * @param jobName the name of the job
+     * @param node the name of the node holding the lease
+     * @param minimum the minimum time the lease is kept after it was acquired
+     */
+    @Transactional(REQUIRES_NEW)
+    public void release(String jobName, String node, Duration minimum) {
+        this.jobLeaseRepository.release(jobName, node, minimum.getSeconds());
+    }
+
+    /**
+     * Register the start of a job
+     *
+     * @param jobName the name of the job
+     * @param node the name of the node running the job
+     * @return the {@link JobExecution} saved
+     */
+    @Transactional(REQUIRES_NEW)
+    public JobExecution start(String jobName, String node) {
+        return this.jobExecutionRepository.save(new JobExecution(jobName, node));
+    }
+
+    /**
+     * Save the final state of a {@link JobExecution}
+     *
+     * @param jobExecution the {@link JobExecution} finished
+     */
+    @Transactional(REQUIRES_NEW)
+    public void finish(JobExecution jobExecution) {
+        this.jobExecutionRepository.save(jobExecution);
+    }
+
+    /**
+     * Discard the history of the executions older than the given date
+     *
+     * @param startedOn the date limit
+     * @return the number of executions removed
+     */
+    @Transactional
+    public int purge(LocalDateTime startedOn) {
+        return this.jobExecutionRepository.deleteStartedBefore(startedOn);
+    }
+}
@@ -25,15 +25,15 @@ import br.com.webbudget.domain.entities.registration.Wallet;
 import br.com.webbudget.domain.events.PeriodMovementPaid;
 import br.com.webbudget.domain.events.UpdateWalletBalance;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicChainRegistry;
 import br.com.webbudget.domain.logics.financial.payment.PaymentSavingLogic;
 import br.com.webbudget.domain.repositories.financial.PaymentRepository;
 import br.com.webbudget.domain.repositories.financial.PeriodMovementRepository;
 import br.com.webbudget.application.components.builder.WalletBalanceBuilder;
+import br.com.webbudget.infrastructure.metrics.Measured;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
-import javax.enterprise.inject.Any;
-import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 
@@ -45,9 +45,13 @@ import javax.transaction.Transactional;
  * @version 1.0.0
  * @since 3.0.0, 23/02/2019
  */
+@Measured
 @ApplicationScoped
 public class PaymentService {
 
+    @Inject
+    private LogicChainRegistry logicChainRegistry;
+
     @Inject
     private PaymentRepository paymentRepository;
     @Inject
@@ -60,10 +64,6 @@ public class PaymentService {
     @PeriodMovementPaid
     private Event<PeriodMovement> periodMovementPaidEvent;
 
-    @Any
-    @Inject
-    private Instance<PaymentSavingLogic> paymentSavingLogics;
-
     /**
      * Service method to pay a given {@link PeriodMovement}
      *
@@ -73,7 +73,7 @@ public class PaymentService {
     @Transactional
     public void pay(PeriodMovement periodMovement, Payment payment) {
 
-        this.paymentSavingLogics.forEach(logic -> logic.run(new PaymentWrapper(payment, periodMovement)));
+        this.logicChainRegistry.run(PaymentSavingLogic.class, new PaymentWrapper(payment, periodMovement));
 
         // save the paid value for easy viewing at the database
         payment.setPaidValue(periodMovement.getValue().subtract(payment.getDiscount()));
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.services;
+
+import br.com.webbudget.application.components.dto.PeriodMovementRow;
+import br.com.webbudget.application.components.ui.filter.PeriodMovementFilter;
+import br.com.webbudget.domain.entities.financial.PeriodMovement;
+import br.com.webbudget.domain.repositories.financial.PeriodMovementRepository;
+import br.com.webbudget.infrastructure.export.ExportFormat;
+import br.com.webbudget.infrastructure.export.RowWriter;
+import org.hibernate.ScrollableResults;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static br.com.webbudget.infrastructure.i18n.MessageSource.get;
+
+/**
+ * Service responsible for exporting the {@link PeriodMovement} listing to files
+ *
+ * The export walks through a forward-only cursor of ids and loads the rows in chunks with a projection query, so no
+ * managed entity is created and the memory used is the same for ten or ten million movements
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 19/10/2019
+ */
+@ApplicationScoped
+public class PeriodMovementExportService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    @Inject
+    private PeriodMovementRepository periodMovementRepository;
+
+    /**
+     * Export all the {@link PeriodMovement} found with the given filter to the given {@link OutputStream}
+     *
+     * @param filter the {@link PeriodMovementFilter} to be applied
+     * @param format the {@link ExportFormat} to be used
+     * @param outputStream where the file will be written
+     * @throws IOException if any problem occur while writing the file
+     */
+    @Transactional
+    public void export(PeriodMovementFilter filter, ExportFormat format, OutputStream outputStream) throws IOException {
+
+        final ScrollableResults results = this.periodMovementRepository.scrollIdsBy(filter, CHUNK_SIZE);
+
+        try (final RowWriter writer = format.createWriter(outputStream)) {
+
+            writer.write(this.createHeader());
+
+            final List<Long> ids = new ArrayList<>(CHUNK_SIZE);
+
+            while (results.next()) {
+                ids.add((Long) results.get(0));
+                if (ids.size() == CHUNK_SIZE) {
+                    this.writeChunk(ids, writer);
+                    ids.clear();
+                }
+            }
+
+            if (!ids.isEmpty()) {
+                this.writeChunk(ids, writer);
+            }
+        } finally {
+            results.close();
+        }
+    }
+
+    /**
+     * Load the rows for the given ids and write them keeping the same order of the cursor
+     *
+     * @param ids the ids of the {@link PeriodMovement} to be written
+     * @param writer the {@link RowWriter} to use
+     * @throws IOException if any problem occur while writing
+     */
+    private void writeChunk(List<Long> ids, RowWriter writer) throws IOException {
+
+        for (PeriodMovementRow row : this.periodMovementRepository.findRowsInOrder(ids)) {
+            writer.write(this.toColumns(row));
+        }
+    }
+
+    /**
+     * Create the header of the file
+     *
+     * @return the header columns
+     */
+    private List<String> createHeader() {
+        return Arrays.asList(
+                get("period-movement.export.code"),
+                get("period-movement.export.financial-period"),
+                get("period-movement.export.identification"),
+                get("period-movement.export.contact"),
+                get("period-movement.export.due-date"),
+                get("period-movement.export.value"),
+                get("period-movement.export.state"),
+                get("period-movement.export.type"),
+                get("period-movement.export.payment-date"),
+                get("period-movement.export.payment-method"),
+                get("period-movement.export.discount"),
+                get("period-movement.export.paid-value"));
+    }
+
+    /**
+     * Transform a {@link PeriodMovementRow} in a list of columns to be written
+     *
+     * @param row the {@link PeriodMovementRow} to be transformed
+     * @return the columns of the row
+     */
+    private List<Object> toColumns(PeriodMovementRow row) {
+        return Arrays.asList(
+                row.getCode(),
+                row.getFinancialPeriod(),
+                row.getIdentification(),
+                row.getContactName(),
+                row.getDueDate(),
+                row.getValue(),
+                get(row.getPeriodMovementState().toString()),
+                get(row.getPeriodMovementType().toString()),
+                row.getPaymentDate(),
+                row.getPaymentMethod() != null ? get(row.getPaymentMethod().toString()) : null,
+                row.getDiscount(),
+                row.getPaidValue());
+    }
+}
@@ -24,32 +24,37 @@ import br.com.webbudget.domain.entities.financial.WalletBalance;
 import br.com.webbudget.domain.entities.registration.Wallet;
 import br.com.webbudget.domain.events.*;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicChainRegistry;
 import br.com.webbudget.domain.logics.financial.movement.period.PeriodMovementDeletingLogic;
 import br.com.webbudget.domain.logics.financial.movement.period.PeriodMovementSavingLogic;
 import br.com.webbudget.domain.logics.financial.movement.period.PeriodMovementUpdatingLogic;
 import br.com.webbudget.domain.repositories.financial.ApportionmentRepository;
 import br.com.webbudget.domain.repositories.financial.CreditCardInvoiceRepository;
 import br.com.webbudget.domain.repositories.financial.PeriodMovementRepository;
+import br.com.webbudget.infrastructure.metrics.Measured;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
 import javax.enterprise.event.Observes;
-import javax.enterprise.inject.Any;
-import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
+import java.util.Objects;
 
 /**
  * The {@link PeriodMovement} service
  *
  * @author Arthur Gregorio
  *
- * @version 1.0.0
+ * @version 1.1.0
  * @since 3.0.0, 04/12/2018
  */
+@Measured
 @ApplicationScoped
 public class PeriodMovementService {
 
+    @Inject
+    private LogicChainRegistry logicChainRegistry;
+
     @Inject
     private ApportionmentRepository apportionmentRepository;
     @Inject
@@ -67,16 +72,6 @@ public class PeriodMovementService {
     @PeriodMovementUpdated
     private Event<PeriodMovement> periodMovementUpdatedEvent;
 
-    @Any
-    @Inject
-    private Instance<PeriodMovementSavingLogic> periodMovementSavingLogics;
-    @Any
-    @Inject
-    private Instance<PeriodMovementUpdatingLogic> periodMovementUpdatingLogics;
-    @Any
-    @Inject
-    private Instance<PeriodMovementDeletingLogic> periodMovementDeletingLogics;
-
     /**
      * Create a new {@link PeriodMovement}
      *
@@ -86,14 +81,12 @@ public class PeriodMovementService {
     @Transactional
     public PeriodMovement save(PeriodMovement periodMovement) {
 
-        this.periodMovementSavingLogics.forEach(logic -> logic.run(periodMovement));
+        this.logicChainRegistry.run(PeriodMovementSavingLogic.class, periodMovement);
 
         final PeriodMovement saved = this.periodMovementRepository.save(periodMovement);
 
-        periodMovement.getApportionments().forEach(apportionment -> {
-            apportionment.setMovement(saved);
-            this.apportionmentRepository.save(apportionment);
-        });
+        periodMovement.getApportionments().forEach(apportionment -> apportionment.setMovement(saved));
+        this.apportionmentRepository.saveAll(periodMovement.getApportionments());
 
         return saved;
     }
@@ -107,21 +100,21 @@ public class PeriodMovementService {
     @Transactional
     public PeriodMovement update(PeriodMovement periodMovement) {
 
-        this.periodMovementUpdatingLogics.forEach(logic -> logic.run(periodMovement));
+        this.logicChainRegistry.run(PeriodMovementUpdatingLogic.class, periodMovement);
+
+        final Long storedPeriodId = this.findStoredPeriodId(periodMovement);
 
         // delete all removed apportionments
-        periodMovement.getDeletedApportionments()
-                .forEach(apportionment -> this.apportionmentRepository.attachAndRemove(apportionment));
+        this.apportionmentRepository.removeAll(periodMovement.getDeletedApportionments());
 
         final PeriodMovement saved = this.periodMovementRepository.saveAndFlushAndRefresh(periodMovement);
 
         // save all current apportionments
-        periodMovement.getApportionments().forEach(apportionment -> {
-            apportionment.setMovement(saved);
-            this.apportionmentRepository.save(apportionment);
-        });
+        periodMovement.getApportionments().forEach(apportionment -> apportionment.setMovement(saved));
+        this.apportionmentRepository.saveAll(periodMovement.getApportionments());
 
         // fire an event telling about the update
+        this.setPreviousPeriod(saved, storedPeriodId);
         this.periodMovementUpdatedEvent.fire(saved);
 
         return saved;
@@ -135,7 +128,9 @@ public class PeriodMovementService {
     @Transactional
     public void delete(PeriodMovement periodMovement) {
 
-        this.periodMovementDeletingLogics.forEach(logic -> logic.run(periodMovement));
+        this.logicChainRegistry.run(PeriodMovementDeletingLogic.class, periodMovement);
+
+        this.setPreviousPeriod(periodMovement, this.findStoredPeriodId(periodMovement));
 
         // if is a invoice movement, remove the link first
         if (periodMovement.isCreditCardInvoice()) {
@@ -176,6 +171,31 @@ public class PeriodMovementService {
         this.periodMovementRepository.findByCode(movementCode).ifPresent(this::delete);
     }
 
+    /**
+     * @param periodMovement the {@link PeriodMovement} to search
+     * @return the id of the {@link FinancialPeriod} of the {@link PeriodMovement} as it is in the database
+     */
+    private Long findStoredPeriodId(PeriodMovement periodMovement) {
+        return this.periodMovementRepository.findFinancialPeriodIdById(periodMovement.getId()).orElse(null);
+    }
+
+    /**
+     * Keep the id of the {@link FinancialPeriod} stored before the change when the {@link PeriodMovement} was moved to
+     * another one, the observers of the events must also update what they have about the previous period
+     *
+     * @param periodMovement the {@link PeriodMovement} changed
+     * @param storedPeriodId the id of the {@link FinancialPeriod} stored before the change
+     */
+    private void setPreviousPeriod(PeriodMovement periodMovement, Long storedPeriodId) {
+
+        final Long currentPeriodId = periodMovement.getFinancialPeriod() != null
+                ? periodMovement.getFinancialPeriod().getId() : null;
+
+        if (storedPeriodId != null && !Objects.equals(storedPeriodId, currentPeriodId)) {
+            periodMovement.setPreviousFinancialPeriodId(storedPeriodId);
+        }
+    }
+
     /**
      * Method used to return the balance of the given {@link PeriodMovement} to the given {@link Wallet}
      *
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.services;
+
+import br.com.webbudget.application.components.dto.PeriodStatistics;
+import br.com.webbudget.application.components.dto.PeriodStatistics.CostCenterValue;
+import br.com.webbudget.application.components.dto.PeriodStatistics.DailyValue;
+import br.com.webbudget.application.components.dto.PeriodStatistics.MovementClassValue;
+import br.com.webbudget.domain.entities.financial.Closing;
+import br.com.webbudget.domain.entities.financial.ClosingStatistics;
+import br.com.webbudget.domain.entities.registration.FinancialPeriod;
+import br.com.webbudget.domain.entities.registration.MovementClassType;
+import br.com.webbudget.domain.entities.view.OpenPeriodResult;
+import br.com.webbudget.domain.entities.view.PeriodResult;
+import br.com.webbudget.domain.repositories.financial.ClosingStatisticsRepository;
+import br.com.webbudget.domain.repositories.view.*;
+import br.com.webbudget.infrastructure.jpa.PeriodStatisticsConverter;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service to build the {@link PeriodStatistics} of a {@link FinancialPeriod}
+ *
+ * Open periods are always computed from the statistics views, closed periods are read from the snapshot frozen at the
+ * {@link Closing}, so the page of a closed period costs only one read by primary key
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 24/10/2019
+ */
+@ApplicationScoped
+public class PeriodStatisticsService {
+
+    @Inject
+    private StatisticsCubeService statisticsCubeService;
+
+    @Inject
+    private DailyUseRepository dailyUseRepository;
+    @Inject
+    private PeriodResultRepository periodResultRepository;
+    @Inject
+    private UseByCostCenterRepository useByCostCenterRepository;
+    @Inject
+    private OpenPeriodResultRepository openPeriodResultRepository;
+    @Inject
+    private ClosingStatisticsRepository closingStatisticsRepository;
+    @Inject
+    private UseByMovementClassRepository useByMovementClassRepository;
+
+    /**
+     * Load the statistics of the given {@link FinancialPeriod}
+     *
+     * If the period is closed but has no snapshot yet, because it was closed before the snapshots exist, the snapshot
+     * is captured now and the next reads will use it. The snapshot is only inserted if there is none yet, two first
+     * reads of the same period at the same time compute it twice but don't fail
+     *
+     * @param financialPeriod to load the statistics
+     * @return the {@link PeriodStatistics} of the period
+     */
+    @Transactional
+    public PeriodStatistics load(FinancialPeriod financialPeriod) {
+
+        final Closing closing = financialPeriod.getClosing();
+
+        if (financialPeriod.isClosed() && closing != null) {
+
+            final ClosingStatistics frozen = this.closingStatisticsRepository.findBy(closing.getId());
+
+            if (frozen != null) {
+                return frozen.getContent();
+            }
+
+            final PeriodStatistics statistics = this.compute(financialPeriod);
+
+            final PeriodResult result = this.periodResultRepository
+                    .findByFinancialPeriodId(financialPeriod.getId()).orElseGet(PeriodResult::new);
+
+            statistics.setResult(result.getRevenues(), result.getExpenses(), result.getBalance());
+
+            // the first visits may capture it at the same time, only one of them is kept
+            this.closingStatisticsRepository.saveIfAbsent(closing.getId(),
+                    new PeriodStatisticsConverter().convertToDatabaseColumn(statistics));
+
+            return statistics;
+        }
+
+        final PeriodStatistics statistics = this.compute(financialPeriod);
+
+        final OpenPeriodResult result = this.openPeriodResultRepository.findByFinancialPeriodIdAndExpired(
+                financialPeriod.getId(), financialPeriod.isExpired()).orElseGet(OpenPeriodResult::new);
+
+        statistics.setResult(result.getRevenues(), result.getExpenses(), result.getBalance());
+
+        return statistics;
+    }
+
+    /**
+     * Capture the snapshot of the statistics for a {@link Closing} being saved
+     *
+     * The result is taken from the closing itself because at this point the period is not yet visible as closed to the
+     * statistics views
+     *
+     * @param closing the saved {@link Closing}
+     */
+    @Transactional
+    public void capture(Closing closing) {
+
+        final FinancialPeriod financialPeriod = closing.getFinancialPeriod();
+
+        // make sure the cube has every payment of the period before freeze it
+        this.statisticsCubeService.refresh(financialPeriod.getId());
+
+        final PeriodStatistics statistics = this.compute(financialPeriod);
+
+        statistics.setResult(closing.getRevenues(), closing.getExpenses(), closing.getBalance());
+
+        this.closingStatisticsRepository.save(new ClosingStatistics(closing, statistics));
+    }
+
+    /**
+     * Discard the snapshot of the statistics of a {@link Closing}, used when the period is reopened
+     *
+     * @param closing the {@link Closing} to be removed
+     */
+    @Transactional
+    public void discard(Closing closing) {
+        this.closingStatisticsRepository.deleteByClosingId(closing.getId());
+    }
+
+    /**
+     * Compute the daily series and the use by cost center and movement class of the {@link FinancialPeriod}
+     *
+     * @param financialPeriod to compute the statistics
+     * @return the {@link PeriodStatistics} without the result values
+     */
+    private PeriodStatistics compute(FinancialPeriod financialPeriod) {
+
+        final long periodId = financialPeriod.getId();
+
+        final PeriodStatistics statistics = new PeriodStatistics();
+
+        statistics.getDailyRevenues().addAll(this.dailyValues(periodId, MovementClassType.REVENUE));
+        statistics.getDailyExpenses().addAll(this.dailyValues(periodId, MovementClassType.EXPENSE));
+
+        statistics.getRevenuesByCostCenter().addAll(this.costCenterValues(periodId, MovementClassType.REVENUE));
+        statistics.getExpensesByCostCenter().addAll(this.costCenterValues(periodId, MovementClassType.EXPENSE));
+
+        statistics.getRevenuesByMovementClass().addAll(this.movementClassValues(periodId, MovementClassType.REVENUE));
+        statistics.getExpensesByMovementClass().addAll(this.movementClassValues(periodId, MovementClassType.EXPENSE));
+
+        return statistics;
+    }
+
+    /**
+     * The daily series of the period
+     *
+     * @param periodId the id of the period
+     * @param direction revenues or expenses
+     * @return the {@link List} of {@link DailyValue}
+     */
+    private List<DailyValue> dailyValues(long periodId, MovementClassType direction) {
+        return this.dailyUseRepository.findByFinancialPeriodIdAndDirection(periodId, direction)
+                .stream()
+                .map(use -> new DailyValue(use.getPaymentDateAsString(), use.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The use by cost center of the period
+     *
+     * @param periodId the id of the period
+     * @param direction revenues or expenses
+     * @return the {@link List} of {@link CostCenterValue}
+     */
+    private List<CostCenterValue> costCenterValues(long periodId, MovementClassType direction) {
+        return this.useByCostCenterRepository.findByFinancialPeriodIdAndDirection(periodId, direction)
+                .stream()
+                .map(use -> new CostCenterValue(use.getCostCenter(), use.getCostCenterColor(), use.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The use by movement class of the period
+     *
+     * @param periodId the id of the period
+     * @param direction revenues or expenses
+     * @return the {@link List} of {@link MovementClassValue}
+     */
+    private List<MovementClassValue> movementClassValues(long periodId, MovementClassType direction) {
+        return this.useByMovementClassRepository.findByFinancialPeriodIdAndDirection(periodId, direction)
+                .stream()
+                .map(use -> new MovementClassValue(use.getId(), use.getCostCenterId(), use.getCostCenter(),
+                        use.getMovementClassId(), use.getMovementClass(), use.getValue()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.domain.services;
+
+import br.com.webbudget.domain.entities.financial.PeriodMovement;
+import br.com.webbudget.domain.entities.registration.FinancialPeriod;
+import br.com.webbudget.domain.events.PeriodMovementDeleted;
+import br.com.webbudget.domain.events.PeriodMovementPaid;
+import br.com.webbudget.domain.events.PeriodMovementUpdated;
+import br.com.webbudget.domain.events.RefreshStatistics;
+import br.com.webbudget.infrastructure.cache.ResultCache;
+import br.com.webbudget.infrastructure.jpa.BulkWrite;
+import br.com.webbudget.infrastructure.metrics.Measured;
+import org.slf4j.Logger;
+
+import javax.annotation.Resource;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.ObservesAsync;
+import javax.inject.Inject;
+import javax.sql.DataSource;
+import javax.transaction.Transactional;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static javax.enterprise.event.TransactionPhase.AFTER_SUCCESS;
+import static javax.transaction.Transactional.TxType.NOT_SUPPORTED;
+
+/**
+ * Service to keep the statistics cube up to date
+ *
+ * The cube is a summary table with the paid values grouped by {@link FinancialPeriod}, cost center, movement class,
+ * direction and day, the statistics views read from it instead of aggregating all the payments again. When a
+ * {@link PeriodMovement} changes only the cube of his {@link FinancialPeriod} is refreshed, and of the previous one when
+ * it was moved, in background and after the commit, so the user does not wait for it. The nightly task do a full
+ * refresh to catch anything else
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.2.0
+ * @since 3.1.0, 23/10/2019
+ */
+@Measured
+@ApplicationScoped
+public class StatisticsCubeService {
+
+    private final Set<Long> pendingPeriods;
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private ResultCache resultCache;
+
+    @Inject
+    @RefreshStatistics
+    private Event<Long> refreshStatisticsEvent;
+
+    @Resource(lookup = "java:/datasources/webBudgetDS")
+    private DataSource dataSource;
+
+    /**
+     * Constructor...
+     */
+    public StatisticsCubeService() {
+        this.pendingPeriods = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Listen for payments to refresh the statistics of the {@link FinancialPeriod} of the {@link PeriodMovement}
+     *
+     * @param periodMovement the {@link PeriodMovement} paid
+     */
+    public void afterPayment(@Observes(during = AFTER_SUCCESS) @PeriodMovementPaid PeriodMovement periodMovement) {
+        this.requestRefresh(periodMovement);
+    }
+
+    /**
+     * Listen for updates to refresh the statistics of the {@link FinancialPeriod} of the {@link PeriodMovement}
+     *
+     * @param periodMovement the {@link PeriodMovement} updated
+     */
+    public void afterUpdate(@Observes(during = AFTER_SUCCESS) @PeriodMovementUpdated PeriodMovement periodMovement) {
+        this.requestRefresh(periodMovement);
+    }
+
+    /**
+     * Listen for deletes to refresh the statistics of the {@link FinancialPeriod} of the {@link PeriodMovement}
+     *
+     * @param periodMovement the {@link PeriodMovement} deleted
+     */
+    public void afterDelete(@Observes(during = AFTER_SUCCESS) @PeriodMovementDeleted PeriodMovement periodMovement) {
+        this.requestRefresh(periodMovement);
+    }
+
+    /**
+     * Refresh the statistics of one {@link FinancialPeriod}, this is called asynchronously by the events fired through
+     * {@link #requestRefresh(PeriodMovement)}
+     *
+     * @param financialPeriodId the id of the {@link FinancialPeriod} to refresh
+     */
+    @BulkWrite
+    @Transactional(NOT_SUPPORTED)
+    public void refresh(@ObservesAsync @RefreshStatistics Long financialPeriodId) {
+
+        // removed before the refresh, so changes made while it runs will request another one
+        this.pendingPeriods.remove(financialPeriodId);
+
+        final long start = System.currentTimeMillis();
+
+        try {
+            final int rows = this.execute("SELECT financial.refresh_statistics_cube(?)", financialPeriodId);
+            this.logger.debug("Statistics of period {} refreshed with {} rows in {}ms",
+                    financialPeriodId, rows, System.currentTimeMillis() - start);
+            this.resultCache.invalidate(ResultCache.PERIOD, financialPeriodId);
+        } catch (SQLException ex) {
+            this.logger.error("Can't refresh the statistics of period {}", financialPeriodId, ex);
+        }
+    }
+
+    /**
+     * Refresh the statistics of all the {@link FinancialPeriod}
+     *
+     * @return the rows written to the cube
+     */
+    @BulkWrite
+    @Transactional(NOT_SUPPORTED)
+    public int refreshAll() {
+
+        final long start = System.currentTimeMillis();
+
+        try {
+            final int rows = this.execute("SELECT financial.refresh_statistics_cube()", null);
+            this.logger.info("Statistics refreshed with {} rows in {}ms", rows, System.currentTimeMillis() - start);
+            this.resultCache.invalidateAll();
+            return rows;
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Can't refresh the statistics", ex);
+        }
+    }
+
+    /**
+     * Request the refresh of the statistics of the {@link FinancialPeriod} of the given {@link PeriodMovement} and of
+     * the previous one, if it was moved from another period
+     *
+     * @param periodMovement the {@link PeriodMovement} changed
+     */
+    private void requestRefresh(PeriodMovement periodMovement) {
+
+        final FinancialPeriod financialPeriod = periodMovement.getFinancialPeriod();
+
+        if (financialPeriod != null) {
+            this.requestRefresh(financialPeriod.getId());
+        }
+
+        if (periodMovement.getPreviousFinancialPeriodId() != null) {
+            this.requestRefresh(periodMovement.getPreviousFinancialPeriodId());
+        }
+    }
+
+    /**
+     * Request the refresh of the statistics of one {@link FinancialPeriod}. If a refresh for the same period is already
+     * waiting, no other is requested
+     *
+     * @param financialPeriodId the id of the {@link FinancialPeriod} to refresh
+     */
+    private void requestRefresh(Long financialPeriodId) {
+        if (this.pendingPeriods.add(financialPeriodId)) {
+            this.refreshStatisticsEvent.fireAsync(financialPeriodId);
+        }
+    }
+
+    /**
+     * Execute one of the refresh functions
+     *
+     * @param function the call of the function
+     * @param financialPeriodId the id of the {@link FinancialPeriod}, null if the function has no parameter
+     * @return the rows written to the cube
+     * @throws SQLException if any problem occur
+     */
+    private int execute(String function, Long financialPeriodId) throws SQLException {
+        try (final Connection connection = this.dataSource.getConnection();
+             final PreparedStatement statement = connection.prepareStatement(function)) {
+
+            if (financialPeriodId != null) {
+                statement.setLong(1, financialPeriodId);
+            }
+
+            try (final ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+        }
+    }
+}
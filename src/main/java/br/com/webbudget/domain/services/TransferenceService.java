@@ -20,14 +20,13 @@ import br.com.webbudget.domain.entities.financial.ReasonType;
 import br.com.webbudget.domain.entities.financial.Transference;
 import br.com.webbudget.domain.entities.financial.WalletBalance;
 import br.com.webbudget.domain.events.UpdateWalletBalance;
+import br.com.webbudget.domain.logics.LogicChainRegistry;
 import br.com.webbudget.domain.logics.financial.transference.TransferenceSavingLogic;
 import br.com.webbudget.domain.repositories.financial.TransferenceRepository;
 import br.com.webbudget.application.components.builder.WalletBalanceBuilder;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
-import javax.enterprise.inject.Any;
-import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 
@@ -42,6 +41,9 @@ import javax.transaction.Transactional;
 @ApplicationScoped
 public class TransferenceService {
 
+    @Inject
+    private LogicChainRegistry logicChainRegistry;
+
     @Inject
     private TransferenceRepository transferenceRepository;
 
@@ -49,10 +51,6 @@ public class TransferenceService {
     @UpdateWalletBalance
     private Event<WalletBalance> updateWalletBalanceEvent;
 
-    @Any
-    @Inject
-    private Instance<TransferenceSavingLogic> savingBusinessLogics;
-
     /**
      * Method to make the {@link WalletBalance} transference
      *
@@ -61,7 +59,7 @@ public class TransferenceService {
     @Transactional
     public void transfer(Transference transference) {
 
-        this.savingBusinessLogics.forEach(logic -> logic.run(transference));
+        this.logicChainRegistry.run(TransferenceSavingLogic.class, transference);
 
         this.transferenceRepository.save(transference);
 
@@ -19,22 +19,27 @@ package br.com.webbudget.domain.services;
 import br.com.webbudget.application.controller.configuration.ProfileBean.PasswordChangeDTO;
 import br.com.webbudget.domain.entities.configuration.*;
 import br.com.webbudget.domain.exceptions.BusinessLogicException;
+import br.com.webbudget.domain.logics.LogicChainRegistry;
 import br.com.webbudget.domain.logics.tools.group.GroupDeletingLogic;
 import br.com.webbudget.domain.logics.tools.user.UserDeletingLogic;
 import br.com.webbudget.domain.logics.tools.user.UserSavingLogic;
 import br.com.webbudget.domain.logics.tools.user.UserUpdatingLogic;
 import br.com.webbudget.domain.repositories.configuration.*;
+import br.com.webbudget.infrastructure.audit.SummarizedAudit;
 import br.eti.arthurgregorio.shiroee.auth.PasswordEncoder;
 import br.eti.arthurgregorio.shiroee.config.jdbc.UserDetails;
 import br.eti.arthurgregorio.shiroee.config.jdbc.UserDetailsProvider;
 import org.apache.shiro.authc.UnknownAccountException;
 
 import javax.enterprise.context.ApplicationScoped;
-import javax.enterprise.inject.Any;
-import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * The service to manage all the operations of the {@link User} account control and the {@link Group}, {@link Grant} or
@@ -42,12 +47,15 @@ import java.util.List;
  *
  * @author Arthur Gregorio
  *
- * @version 2.0.0
+ * @version 2.1.0
  * @since 2.0.0, 27/12/2017
  */
 @ApplicationScoped
 public class UserAccountService implements UserDetailsProvider {
 
+    @Inject
+    private LogicChainRegistry logicChainRegistry;
+
     @Inject
     private PasswordEncoder passwordEncoder;
 
@@ -62,20 +70,6 @@ public class UserAccountService implements UserDetailsProvider {
     @Inject
     private AuthorizationRepository authorizationRepository;
 
-    @Any
-    @Inject
-    private Instance<UserSavingLogic> userSavingBusinessLogics;
-    @Any
-    @Inject
-    private Instance<UserUpdatingLogic> userUpdatingBusinessLogics;
-    @Any
-    @Inject
-    private Instance<UserDeletingLogic> userDeletingBusinessLogics;
-
-    @Any
-    @Inject
-    private Instance<GroupDeletingLogic> groupDeletingBusinessLogics;
-
     /**
      * Persist a new {@link User}
      *
@@ -84,7 +78,7 @@ public class UserAccountService implements UserDetailsProvider {
      */
     @Transactional
     public User save(User user) {
-        this.userSavingBusinessLogics.forEach(logic -> logic.run(user));
+        this.logicChainRegistry.run(UserSavingLogic.class, user);
         return this.userRepository.save(user);
     }
 
@@ -95,7 +89,7 @@ public class UserAccountService implements UserDetailsProvider {
      */
     @Transactional
     public void update(User user) {
-        this.userUpdatingBusinessLogics.forEach(logic -> logic.run(user));
+        this.logicChainRegistry.run(UserUpdatingLogic.class, user);
         this.userRepository.saveAndFlushAndRefresh(user);
     }
 
@@ -106,7 +100,7 @@ public class UserAccountService implements UserDetailsProvider {
      */
     @Transactional
     public void delete(User user) {
-        this.userDeletingBusinessLogics.forEach(logic -> logic.run(user));
+        this.logicChainRegistry.run(UserDeletingLogic.class, user);
         this.userRepository.attachAndRemove(user);
     }
 
@@ -151,12 +145,10 @@ public class UserAccountService implements UserDetailsProvider {
      * @param authorizations the list of {@link Authorization} of this group
      */
     @Transactional
+    @SummarizedAudit(value = "group-grants", detailed = Group.class)
     public void save(Group group, List<Authorization> authorizations) {
         this.groupRepository.save(group);
-        authorizations.forEach(auth -> this.authorizationRepository
-                .findByFunctionalityAndPermission(auth.getFunctionality(), auth.getPermission())
-                .ifPresent(authorization -> this.grantRepository.save(new Grant(group, authorization)))
-        );
+        this.grantRepository.saveAll(this.toGrants(group, authorizations));
     }
 
     /**
@@ -176,23 +168,56 @@ public class UserAccountService implements UserDetailsProvider {
      * @param authorizations the new {@link List} of {@link Authorization} of this {@link Group}
      */
     @Transactional
+    @SummarizedAudit(value = "group-grants", detailed = Group.class)
     public void update(Group group, List<Authorization> authorizations) {
 
         this.groupRepository.saveAndFlushAndRefresh(group);
 
+        final Set<String> selected = authorizations.stream()
+                .map(Authorization::getFullPermission)
+                .collect(Collectors.toSet());
+
         // list all old grants
         final List<Grant> oldGrants = this.grantRepository.findByGroup(group);
 
-        oldGrants.forEach(grant -> {
-            this.grantRepository.remove(grant);
-        });
+        final Set<String> granted = oldGrants.stream()
+                .map(grant -> grant.getAuthorization().getFullPermission())
+                .collect(Collectors.toSet());
+
+        // remove only the grants not selected anymore
+        this.grantRepository.removeAll(oldGrants.stream()
+                .filter(grant -> !selected.contains(grant.getAuthorization().getFullPermission()))
+                .collect(Collectors.toList()));
+
+        // and save only the new ones
+        this.grantRepository.saveAll(this.toGrants(group, authorizations.stream()
+                .filter(authorization -> !granted.contains(authorization.getFullPermission()))
+                .collect(Collectors.toList())));
+    }
+
+    /**
+     * Create the {@link Grant} of a {@link Group} for the given {@link Authorization}, the persisted ones are loaded in
+     * a single query instead of one lookup per {@link Authorization}
+     *
+     * @param group the {@link Group} to receive the grants
+     * @param authorizations the {@link Authorization} to be granted
+     * @return a {@link List} of {@link Grant} ready to be saved
+     */
+    private List<Grant> toGrants(Group group, List<Authorization> authorizations) {
+
+        if (authorizations.isEmpty()) {
+            return List.of();
+        }
+
+        final Map<String, Authorization> persisted = this.authorizationRepository.findAll()
+                .stream()
+                .collect(Collectors.toMap(Authorization::getFullPermission, Function.identity()));
 
-        // save the new ones
-        authorizations.forEach(auth ->
-                this.authorizationRepository
-                        .findByFunctionalityAndPermission(auth.getFunctionality(), auth.getPermission())
-                        .ifPresent(authorization -> this.grantRepository.save(new Grant(group, authorization)))
-        );
+        return authorizations.stream()
+                .map(authorization -> persisted.get(authorization.getFullPermission()))
+                .filter(Objects::nonNull)
+                .map(authorization -> new Grant(group, authorization))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -202,7 +227,7 @@ public class UserAccountService implements UserDetailsProvider {
      */
     @Transactional
     public void delete(Group group) {
-        this.groupDeletingBusinessLogics.forEach(logic -> logic.run(group));
+        this.logicChainRegistry.run(GroupDeletingLogic.class, group);
         this.groupRepository.attachAndRemove(group);
     }
 
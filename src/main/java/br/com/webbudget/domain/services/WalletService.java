@@ -20,16 +20,16 @@ import br.com.webbudget.domain.entities.financial.ReasonType;
 import br.com.webbudget.domain.entities.financial.WalletBalance;
 import br.com.webbudget.domain.entities.registration.Wallet;
 import br.com.webbudget.domain.events.UpdateWalletBalance;
+import br.com.webbudget.domain.logics.LogicChainRegistry;
 import br.com.webbudget.domain.logics.registration.wallet.WalletSavingLogic;
 import br.com.webbudget.domain.logics.registration.wallet.WalletUpdatingLogic;
 import br.com.webbudget.domain.repositories.registration.WalletBalanceRepository;
 import br.com.webbudget.domain.repositories.registration.WalletRepository;
 import br.com.webbudget.application.components.builder.WalletBalanceBuilder;
+import br.com.webbudget.infrastructure.metrics.Measured;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
-import javax.enterprise.inject.Any;
-import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 import java.math.BigDecimal;
@@ -43,20 +43,17 @@ import java.util.List;
  * @version 2.0.0
  * @since 1.0.0, 12/03/2014
  */
+@Measured
 @ApplicationScoped
 public class WalletService {
 
     @Inject
-    private WalletRepository walletRepository;
-    @Inject
-    private WalletBalanceRepository walletBalanceRepository;
+    private LogicChainRegistry logicChainRegistry;
 
-    @Any
     @Inject
-    private Instance<WalletSavingLogic> savingBusinessLogics;
-    @Any
+    private WalletRepository walletRepository;
     @Inject
-    private Instance<WalletUpdatingLogic> updatingBusinessLogics;
+    private WalletBalanceRepository walletBalanceRepository;
 
     /**
      * Use this method to persist a {@link Wallet}
@@ -66,7 +63,7 @@ public class WalletService {
     @Transactional
     public void save(Wallet wallet) {
 
-        this.savingBusinessLogics.forEach(logic -> logic.run(wallet));
+        this.logicChainRegistry.run(WalletSavingLogic.class, wallet);
 
         // get the actual balance
         final BigDecimal actualBalance = wallet.getActualBalance();
@@ -94,7 +91,7 @@ public class WalletService {
      */
     @Transactional
     public Wallet update(Wallet wallet) {
-        this.updatingBusinessLogics.forEach(logic -> logic.run(wallet));
+        this.logicChainRegistry.run(WalletUpdatingLogic.class, wallet);
         return this.walletRepository.save(wallet);
     }
 
@@ -106,7 +103,7 @@ public class WalletService {
     @Transactional
     public void delete(Wallet wallet) {
         final List<WalletBalance> balances = this.walletBalanceRepository.findByWallet_id(wallet.getId());
-        balances.forEach(balance -> this.walletBalanceRepository.removeAndFlush(balance));
+        this.walletBalanceRepository.removeAll(balances);
         this.walletRepository.attachAndRemove(wallet);
     }
 
@@ -135,7 +132,7 @@ public class WalletService {
      * @param walletBalance the builder with the balance historic
      */
     @Transactional
-    private void updateWalletBalance(@Observes @UpdateWalletBalance WalletBalance walletBalance) {
+    public void updateWalletBalance(@Observes @UpdateWalletBalance WalletBalance walletBalance) {
 
         // update the actual balance on the wallet
         this.walletRepository.save(walletBalance.getWallet());
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.audit;
+
+import br.com.webbudget.infrastructure.utils.Configurations;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.apache.commons.lang3.StringUtils.defaultString;
+
+/**
+ * Decide which changes of the audited entities are written to the audit tables
+ *
+ * The entities at the audit.excluded-entities property are never audited. The fields at the audit.excluded-fields
+ * property, by the simple name of the entity and the field (Wallet.actualBalance) or only the field for all entities
+ * (updatedOn), are not worth a revision: the updates changing only these fields are not audited
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+public final class AuditPolicy {
+
+    private final Set<String> excludedEntities;
+    private final Set<String> excludedFields;
+
+    /**
+     * Constructor...
+     *
+     * @param excludedEntities the simple name of the entities excluded
+     * @param excludedFields the fields excluded, qualified or not by the simple name of the entity
+     */
+    AuditPolicy(Set<String> excludedEntities, Set<String> excludedFields) {
+        this.excludedEntities = excludedEntities;
+        this.excludedFields = excludedFields;
+    }
+
+    /**
+     * @return the {@link AuditPolicy} configured at the application properties
+     */
+    static AuditPolicy fromConfiguration() {
+        return new AuditPolicy(split(Configurations.get("audit.excluded-entities")),
+                split(Configurations.get("audit.excluded-fields")));
+    }
+
+    /**
+     * Check if an entity is left out of the audit
+     *
+     * @param persister the persister of the entity
+     * @return true if it is, false otherwise
+     */
+    boolean isExcluded(EntityPersister persister) {
+        return this.excludedEntities.contains(persister.getMappedClass().getSimpleName());
+    }
+
+    /**
+     * Check if an update changed only excluded fields
+     *
+     * @param persister the persister of the entity
+     * @param dirtyProperties the index of the changed properties, null if they are unknown
+     * @return true if only excluded fields were changed, false otherwise
+     */
+    boolean isIgnorableUpdate(EntityPersister persister, int[] dirtyProperties) {
+
+        if (dirtyProperties == null || dirtyProperties.length == 0 || this.excludedFields.isEmpty()) {
+            return false;
+        }
+
+        final String entity = persister.getMappedClass().getSimpleName();
+        final String[] names = persister.getPropertyNames();
+
+        return Arrays.stream(dirtyProperties)
+                .mapToObj(index -> names[index])
+                .allMatch(name -> this.excludedFields.contains(name)
+                        || this.excludedFields.contains(entity + "." + name));
+    }
+
+    /**
+     * Split a comma separated list of names
+     *
+     * @param value the value to split
+     * @return the {@link Set} of names
+     */
+    private static Set<String> split(String value) {
+        return Arrays.stream(defaultString(value).split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet());
+    }
+}
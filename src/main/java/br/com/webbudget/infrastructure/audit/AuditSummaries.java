@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.audit;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.transaction.Status;
+import javax.transaction.TransactionSynchronizationRegistry;
+import java.util.Optional;
+
+/**
+ * Keep the {@link AuditSummary} of the {@link SummarizedAudit} operation running in the current thread
+ *
+ * Outside of an operation the audit listeners installed in Hibernate audit every entity as usual. Envers opens the
+ * revision only at the commit, so a finished summary is kept with the transaction until the revision listener writes it
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 28/10/2019
+ */
+public final class AuditSummaries {
+
+    private static final ThreadLocal<AuditSummary> CURRENT = new ThreadLocal<>();
+
+    private static final String TRANSACTION_REGISTRY = "java:comp/TransactionSynchronizationRegistry";
+
+    // the registry is the same for the whole container, looked up once
+    private static volatile TransactionSynchronizationRegistry registry;
+
+    /**
+     * Constructor...
+     */
+    private AuditSummaries() { }
+
+    /**
+     * Start to summarize the audit of the current thread
+     *
+     * @param operation the name of the operation
+     * @param detailed the types still audited row by row
+     * @return the {@link AuditSummary} started
+     */
+    public static AuditSummary start(String operation, Class<?>... detailed) {
+        final AuditSummary summary = new AuditSummary(operation, detailed);
+        CURRENT.set(summary);
+        return summary;
+    }
+
+    /**
+     * Stop to summarize the audit of the current thread
+     *
+     * @return the {@link AuditSummary} finished, null if there was none
+     */
+    public static AuditSummary stop() {
+        final AuditSummary summary = CURRENT.get();
+        CURRENT.remove();
+        return summary;
+    }
+
+    /**
+     * @return the {@link AuditSummary} of the current thread, null if the audit is not summarized
+     */
+    public static AuditSummary current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Keep a finished summary with the current transaction until its revision is written, the summaries of the
+     * operations run in the same transaction are joined
+     *
+     * @param summary the {@link AuditSummary} to keep
+     */
+    public static void keepForRevision(AuditSummary summary) {
+
+        final TransactionSynchronizationRegistry current = lookupRegistry()
+                .orElseThrow(() -> new IllegalStateException("No transaction registry to keep the audit summary"));
+
+        final AuditSummary kept = (AuditSummary) current.getResource(AuditSummary.class);
+
+        if (kept == null) {
+            current.putResource(AuditSummary.class, summary);
+        } else {
+            kept.include(summary);
+        }
+    }
+
+    /**
+     * @return the {@link AuditSummary} kept for the revision of the current transaction, null if there is none
+     */
+    public static AuditSummary forRevision() {
+        return lookupRegistry()
+                .filter(current -> current.getTransactionStatus() != Status.STATUS_NO_TRANSACTION)
+                .map(current -> (AuditSummary) current.getResource(AuditSummary.class))
+                .orElse(null);
+    }
+
+    /**
+     * @return the {@link TransactionSynchronizationRegistry} of the container, if there is one
+     */
+    private static Optional<TransactionSynchronizationRegistry> lookupRegistry() {
+        if (registry == null) {
+            try {
+                registry = InitialContext.doLookup(TRANSACTION_REGISTRY);
+            } catch (NamingException ex) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(registry);
+    }
+}
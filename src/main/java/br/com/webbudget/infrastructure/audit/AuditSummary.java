@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.audit;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * The changes of a {@link SummarizedAudit} operation left out of the row by row audit, counted by entity
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 28/10/2019
+ */
+public final class AuditSummary {
+
+    @Getter
+    private final String operation;
+
+    private final Set<Class<?>> detailed;
+    private final Map<String, int[]> changes;
+
+    // some change was audited row by row, so Envers opens a revision for the transaction
+    @Getter
+    private boolean audited;
+
+    /**
+     * Constructor...
+     *
+     * @param operation the name of the operation
+     * @param detailed the types still audited row by row
+     */
+    AuditSummary(String operation, Class<?>[] detailed) {
+        this.operation = operation;
+        this.detailed = Set.of(detailed);
+        this.changes = new TreeMap<>();
+    }
+
+    /**
+     * Check if the entities of a type are still audited row by row
+     *
+     * @param type the type of the entity
+     * @return true if they are, false otherwise
+     */
+    boolean isDetailed(Class<?> type) {
+        return this.detailed.stream().anyMatch(candidate -> candidate.isAssignableFrom(type));
+    }
+
+    /**
+     * Count a change left out of the audit
+     *
+     * @param entity the name of the entity changed
+     * @param change the kind of the change
+     */
+    void record(String entity, Change change) {
+        this.changes.computeIfAbsent(entity, key -> new int[Change.values().length])[change.ordinal()]++;
+    }
+
+    /**
+     * Mark that a change of a detailed type was audited row by row
+     */
+    void markAudited() {
+        this.audited = true;
+    }
+
+    /**
+     * Join the counts of other operation run in the same transaction to this summary
+     *
+     * @param other the {@link AuditSummary} of the other operation
+     */
+    void include(AuditSummary other) {
+        other.changes.forEach((entity, counts) -> {
+            final int[] current = this.changes.computeIfAbsent(entity, key -> new int[Change.values().length]);
+            for (int i = 0; i < counts.length; i++) {
+                current[i] += counts[i];
+            }
+        });
+        this.audited |= other.audited;
+    }
+
+    /**
+     * @return true if no change was counted
+     */
+    public boolean isEmpty() {
+        return this.changes.isEmpty();
+    }
+
+    /**
+     * @return the counts as text, like "PeriodMovement: 120 updated; Apportionment: 240 inserted, 12 deleted"
+     */
+    public String describe() {
+        return this.changes.entrySet()
+                .stream()
+                .map(entry -> entry.getKey() + ": " + Arrays.stream(Change.values())
+                        .filter(change -> entry.getValue()[change.ordinal()] > 0)
+                        .map(change -> entry.getValue()[change.ordinal()] + " " + change.getDescription())
+                        .collect(Collectors.joining(", ")))
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * The kinds of change counted
+     */
+    enum Change {
+
+        INSERT("inserted"),
+        UPDATE("updated"),
+        DELETE("deleted");
+
+        @Getter
+        private final String description;
+
+        /**
+         * Constructor...
+         *
+         * @param description the description used in the summary
+         */
+        Change(String description) {
+            this.description = description;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.audit;
+
+import br.com.webbudget.infrastructure.audit.AuditSummary.Change;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.envers.boot.internal.EnversService;
+import org.hibernate.envers.event.spi.*;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Register the Envers listeners in place of the default ones, the entity listeners here consult the
+ * {@link AuditPolicy} and the {@link AuditSummary} of the current thread before writing an audit row
+ *
+ * It only works with the automatic registration of Envers disabled by the hibernate.envers.autoRegisterListeners
+ * property, otherwise every change would be audited twice
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.2.0
+ * @since 3.1.0, 28/10/2019
+ */
+public class SelectiveAuditIntegrator implements Integrator {
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param metadata
+     * @param sessionFactory
+     * @param serviceRegistry
+     */
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                          SessionFactoryServiceRegistry serviceRegistry) {
+
+        final EnversService enversService = serviceRegistry.getService(EnversService.class);
+
+        if (!enversService.isEnabled() || !enversService.getEntitiesConfigurations().hasAuditedEntities()) {
+            return;
+        }
+
+        final boolean autoRegister = serviceRegistry.getService(ConfigurationService.class)
+                .getSetting("hibernate.envers.autoRegisterListeners", StandardConverters.BOOLEAN, true);
+
+        if (autoRegister) {
+            return;
+        }
+
+        final AuditPolicy policy = AuditPolicy.fromConfiguration();
+
+        final EventListenerRegistry registry = serviceRegistry.getService(EventListenerRegistry.class);
+
+        registry.addDuplicationStrategy(EnversListenerDuplicationStrategy.INSTANCE);
+
+        registry.appendListeners(EventType.POST_DELETE, new PostDelete(enversService, policy));
+        registry.appendListeners(EventType.POST_INSERT, new PostInsert(enversService, policy));
+        registry.appendListeners(EventType.PRE_UPDATE, new EnversPreUpdateEventListenerImpl(enversService));
+        registry.appendListeners(EventType.POST_UPDATE, new PostUpdate(enversService, policy));
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE,
+                new EnversPostCollectionRecreateEventListenerImpl(enversService));
+        registry.appendListeners(EventType.PRE_COLLECTION_REMOVE,
+                new EnversPreCollectionRemoveEventListenerImpl(enversService));
+        registry.appendListeners(EventType.PRE_COLLECTION_UPDATE,
+                new EnversPreCollectionUpdateEventListenerImpl(enversService));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param sessionFactory
+     * @param serviceRegistry
+     */
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        // nothing to release
+    }
+
+    /**
+     * Check if a change should be written to the audit tables, counting it in the {@link AuditSummary} of the current
+     * thread when it is summarized. Entities not audited at all, like the revision itself, are never counted
+     *
+     * @param enversService the {@link EnversService} knowing the audited entities
+     * @param policy the {@link AuditPolicy} to apply
+     * @param persister the persister of the entity changed
+     * @param change the kind of the change
+     * @return true if the change should be audited, false otherwise
+     */
+    private static boolean shouldAudit(EnversService enversService, AuditPolicy policy, EntityPersister persister,
+                                       Change change) {
+
+        if (!enversService.getEntitiesConfigurations().isVersioned(persister.getEntityName())
+                || policy.isExcluded(persister)) {
+            return false;
+        }
+
+        final AuditSummary summary = AuditSummaries.current();
+
+        if (summary == null) {
+            return true;
+        }
+
+        if (summary.isDetailed(persister.getMappedClass())) {
+            summary.markAudited();
+            return true;
+        }
+
+        summary.record(persister.getMappedClass().getSimpleName(), change);
+        return false;
+    }
+
+    /**
+     * The insert listener
+     */
+    private static final class PostInsert extends EnversPostInsertEventListenerImpl {
+
+        private final AuditPolicy policy;
+
+        /**
+         * Constructor...
+         *
+         * @param enversService the {@link EnversService}
+         * @param policy the {@link AuditPolicy} to apply
+         */
+        PostInsert(EnversService enversService, AuditPolicy policy) {
+            super(enversService);
+            this.policy = policy;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param event
+         */
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            if (shouldAudit(this.getEnversService(), this.policy, event.getPersister(), Change.INSERT)) {
+                super.onPostInsert(event);
+            }
+        }
+    }
+
+    /**
+     * The update listener
+     */
+    private static final class PostUpdate extends EnversPostUpdateEventListenerImpl {
+
+        private final AuditPolicy policy;
+
+        /**
+         * Constructor...
+         *
+         * @param enversService the {@link EnversService}
+         * @param policy the {@link AuditPolicy} to apply
+         */
+        PostUpdate(EnversService enversService, AuditPolicy policy) {
+            super(enversService);
+            this.policy = policy;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param event
+         */
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+
+            if (this.policy.isIgnorableUpdate(event.getPersister(), event.getDirtyProperties())) {
+                return;
+            }
+
+            if (shouldAudit(this.getEnversService(), this.policy, event.getPersister(), Change.UPDATE)) {
+                super.onPostUpdate(event);
+            }
+        }
+    }
+
+    /**
+     * The delete listener
+     */
+    private static final class PostDelete extends EnversPostDeleteEventListenerImpl {
+
+        private final AuditPolicy policy;
+
+        /**
+         * Constructor...
+         *
+         * @param enversService the {@link EnversService}
+         * @param policy the {@link AuditPolicy} to apply
+         */
+        PostDelete(EnversService enversService, AuditPolicy policy) {
+            super(enversService);
+            this.policy = policy;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param event
+         */
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (shouldAudit(this.getEnversService(), this.policy, event.getPersister(), Change.DELETE)) {
+                super.onPostDelete(event);
+            }
+        }
+    }
+}
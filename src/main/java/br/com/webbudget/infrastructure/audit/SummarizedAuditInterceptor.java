@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.audit;
+
+import br.com.webbudget.domain.entities.Revision;
+import br.com.webbudget.domain.entities.RevisionListener;
+
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InvocationContext;
+import javax.persistence.EntityManager;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interceptor to summarize the audit of the methods marked with {@link SummarizedAudit}
+ *
+ * It runs inside the transaction opened by the method, the pending changes are flushed before the operation so they
+ * keep being audited in detail and after the operation so all the changes of it are counted in the summary
+ *
+ * The summary is written by the {@link RevisionListener} when Envers opens the revision of the transaction, at the
+ * commit. If no change of the operation was audited row by row there will be no such revision, so the summary is
+ * written in a revision of its own
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 28/10/2019
+ */
+@Interceptor
+@SummarizedAudit
+@Priority(Interceptor.Priority.APPLICATION + 20)
+public class SummarizedAuditInterceptor {
+
+    @Inject
+    private EntityManager entityManager;
+
+    /**
+     * Run the operation summarizing the audit of the changes made by it
+     *
+     * @param context the context of the call
+     * @return the result of the call
+     * @throws Exception if the call fail
+     */
+    @AroundInvoke
+    public Object intercept(InvocationContext context) throws Exception {
+
+        // nested operations are summarized by the outermost one
+        if (AuditSummaries.current() != null) {
+            return context.proceed();
+        }
+
+        final Method method = context.getMethod();
+
+        final Optional<SummarizedAudit> summarized = findBinding(method);
+
+        final String operation = summarized.map(SummarizedAudit::value)
+                .filter(value -> !value.isEmpty())
+                .orElse(method.getDeclaringClass().getSimpleName() + "." + method.getName());
+
+        final Class<?>[] detailed = summarized.map(SummarizedAudit::detailed)
+                .orElse(new Class<?>[0]);
+
+        final boolean joined = this.entityManager.isJoinedToTransaction();
+
+        if (joined) {
+            this.entityManager.flush();
+        }
+
+        final AuditSummary summary = AuditSummaries.start(operation, detailed);
+
+        try {
+            final Object result = context.proceed();
+
+            if (joined) {
+                this.entityManager.flush();
+                this.writeSummary(summary);
+            }
+
+            return result;
+        } finally {
+            AuditSummaries.stop();
+        }
+    }
+
+    /**
+     * Write the summary at the revision of the current transaction, creating one if no detailed change was audited
+     *
+     * @param summary the {@link AuditSummary} to write
+     */
+    private void writeSummary(AuditSummary summary) {
+
+        if (summary.isEmpty()) {
+            return;
+        }
+
+        if (summary.isAudited()) {
+            AuditSummaries.keepForRevision(summary);
+            return;
+        }
+
+        final Revision revision = new Revision();
+
+        revision.setCreatedOn(new Date());
+        new RevisionListener().newRevision(revision);
+
+        this.entityManager.persist(revision);
+        this.entityManager.flush();
+    }
+
+    /**
+     * Find the {@link SummarizedAudit} of the method called, on the method, on its class or on a stereotype of them
+     *
+     * @param method the method called
+     * @return the {@link SummarizedAudit} found, empty if the binding came in other way
+     */
+    private static Optional<SummarizedAudit> findBinding(Method method) {
+
+        for (AnnotatedElement element : List.of(method, method.getDeclaringClass())) {
+
+            final SummarizedAudit direct = element.getAnnotation(SummarizedAudit.class);
+
+            if (direct != null) {
+                return Optional.of(direct);
+            }
+
+            for (Annotation annotation : element.getAnnotations()) {
+                final SummarizedAudit stereotyped = annotation.annotationType().getAnnotation(SummarizedAudit.class);
+                if (stereotyped != null) {
+                    return Optional.of(stereotyped);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.backup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static br.com.webbudget.infrastructure.utils.DefaultSchemes.*;
+
+/**
+ * All the tables included in the application backup. The order of the constants is the order of the dependencies
+ * between them, so a table always comes after the tables it references. Columns creating cycles or self references
+ * are listed as deferred and are filled after all the rows are in place
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 20/10/2019
+ */
+public enum BackupTable {
+
+    AUTHORIZATIONS(CONFIGURATION, "authorizations"),
+    GROUPS(CONFIGURATION, "groups", "id_parent"),
+    GRANTS(CONFIGURATION, "grants"),
+    PROFILES(CONFIGURATION, "profiles"),
+    USERS(CONFIGURATION, "users"),
+    WALLETS(REGISTRATION, "wallets"),
+    CARDS(REGISTRATION, "cards"),
+    CONTACTS(REGISTRATION, "contacts"),
+    TELEPHONES(REGISTRATION, "telephones"),
+    COST_CENTERS(REGISTRATION, "cost_centers", "id_parent"),
+    MOVEMENT_CLASSES(REGISTRATION, "movement_classes"),
+    FINANCIAL_PERIODS(REGISTRATION, "financial_periods"),
+    VEHICLES(REGISTRATION, "vehicles"),
+    CONFIGURATIONS(CONFIGURATION, "configurations"),
+    PAYMENTS(FINANCIAL, "payments"),
+    CREDIT_CARD_INVOICES(FINANCIAL, "credit_card_invoices", "id_period_movement"),
+    MOVEMENTS(FINANCIAL, "movements"),
+    APPORTIONMENTS(FINANCIAL, "apportionments"),
+    LAUNCHES(FINANCIAL, "launches"),
+    CLOSINGS(FINANCIAL, "closings"),
+    CLOSING_STATISTICS(FINANCIAL, "closing_statistics"),
+    TRANSFERS(FINANCIAL, "transfers"),
+    WALLET_BALANCES(FINANCIAL, "wallet_balances"),
+    REFUELINGS(JOURNAL, "refuelings"),
+    FUELS(JOURNAL, "fuels");
+
+    private final String schema;
+    private final String table;
+    private final List<String> deferredColumns;
+
+    /**
+     * Constructor...
+     *
+     * @param schema the schema of the table
+     * @param table the name of the table
+     * @param deferredColumns the columns to be filled only after all the tables are restored
+     */
+    BackupTable(String schema, String table, String... deferredColumns) {
+        this.schema = schema;
+        this.table = table;
+        this.deferredColumns = List.of(deferredColumns);
+    }
+
+    /**
+     * @return the schema of this table
+     */
+    public String getSchema() {
+        return this.schema;
+    }
+
+    /**
+     * @return the table name without the schema
+     */
+    public String getTable() {
+        return this.table;
+    }
+
+    /**
+     * @return the qualified name of the table, with the schema
+     */
+    public String getQualifiedName() {
+        return this.schema + "." + this.table;
+    }
+
+    /**
+     * Check if the given column should be filled only after all the tables are restored
+     *
+     * @param column the column name
+     * @return true if is deferred, false otherwise
+     */
+    public boolean isDeferred(String column) {
+        return this.deferredColumns.contains(column);
+    }
+
+    /**
+     * Find a table by the qualified name
+     *
+     * @param qualifiedName the name of the table, with the schema
+     * @return an {@link Optional} of the {@link BackupTable}
+     */
+    public static Optional<BackupTable> of(String qualifiedName) {
+        return Arrays.stream(values())
+                .filter(value -> value.getQualifiedName().equals(qualifiedName))
+                .findFirst();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.backup;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Helper to write the rows read through JDBC as JSON objects, used by the backup and by the archive of the audit
+ *
+ * Numbers and booleans are written with their JSON types, anything else is written in the text format given by the
+ * database, so the {@link TableRestorer} can send the values back as they were read
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+public final class JsonRows {
+
+    /**
+     * Constructor...
+     */
+    private JsonRows() { }
+
+    /**
+     * Write the current row of the {@link ResultSet} as an object field
+     *
+     * @param generator the {@link JsonGenerator} to use
+     * @param field the name of the field holding the row
+     * @param resultSet the {@link ResultSet} positioned at the row
+     * @param metadata the {@link ResultSetMetaData} of the {@link ResultSet}
+     * @throws SQLException if any problem occur reading the values
+     * @throws IOException if any problem occur writing the values
+     */
+    public static void writeRow(JsonGenerator generator, String field, ResultSet resultSet, ResultSetMetaData metadata)
+            throws SQLException, IOException {
+
+        generator.writeObjectFieldStart(field);
+
+        for (int i = 1; i <= metadata.getColumnCount(); i++) {
+            writeColumn(generator, metadata.getColumnName(i), metadata.getColumnType(i), resultSet, i);
+        }
+
+        generator.writeEndObject();
+    }
+
+    /**
+     * Write one column of the current row
+     *
+     * @param generator the {@link JsonGenerator} to use
+     * @param name the name of the column
+     * @param type the {@link Types} of the column
+     * @param resultSet the {@link ResultSet} to read from
+     * @param index the index of the column
+     * @throws SQLException if any problem occur reading the value
+     * @throws IOException if any problem occur writing the value
+     */
+    private static void writeColumn(JsonGenerator generator, String name, int type, ResultSet resultSet, int index)
+            throws SQLException, IOException {
+
+        switch (type) {
+            case Types.BIGINT:
+            case Types.INTEGER:
+            case Types.SMALLINT:
+                final long longValue = resultSet.getLong(index);
+                if (resultSet.wasNull()) {
+                    generator.writeNullField(name);
+                } else {
+                    generator.writeNumberField(name, longValue);
+                }
+                break;
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                final BigDecimal decimalValue = resultSet.getBigDecimal(index);
+                if (decimalValue == null) {
+                    generator.writeNullField(name);
+                } else {
+                    generator.writeNumberField(name, decimalValue);
+                }
+                break;
+            case Types.BIT:
+            case Types.BOOLEAN:
+                final boolean booleanValue = resultSet.getBoolean(index);
+                if (resultSet.wasNull()) {
+                    generator.writeNullField(name);
+                } else {
+                    generator.writeBooleanField(name, booleanValue);
+                }
+                break;
+            default:
+                final String textValue = resultSet.getString(index);
+                if (textValue == null) {
+                    generator.writeNullField(name);
+                } else {
+                    generator.writeStringField(name, textValue);
+                }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.backup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Helper used by the restore process to insert the rows of one {@link BackupTable} using JDBC batches
+ *
+ * The columns are matched by name with the columns found at the target database, so columns no longer present are
+ * ignored and new columns receive their default values. This is what makes the backup tolerant to version changes
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 20/10/2019
+ */
+public class TableRestorer implements AutoCloseable {
+
+    private final int batchSize;
+
+    private long rows;
+    private int pending;
+
+    private List<String> columns;
+    private PreparedStatement statement;
+
+    private final BackupTable table;
+    private final Connection connection;
+    private final Map<String, Integer> targetColumns;
+    private final Map<String, List<long[]>> deferredValues;
+
+    /**
+     * Constructor...
+     *
+     * @param table the {@link BackupTable} to restore
+     * @param connection the {@link Connection} to use
+     * @param batchSize how many rows should be sent to the database per batch
+     * @throws SQLException if any problem occur reading the table metadata
+     */
+    public TableRestorer(BackupTable table, Connection connection, int batchSize) throws SQLException {
+
+        this.table = table;
+        this.batchSize = batchSize;
+        this.connection = connection;
+
+        this.targetColumns = new HashMap<>();
+        this.deferredValues = new HashMap<>();
+
+        try (final ResultSet resultSet = connection.getMetaData()
+                .getColumns(null, table.getSchema(), table.getTable(), null)) {
+            while (resultSet.next()) {
+                this.targetColumns.put(resultSet.getString("COLUMN_NAME"), resultSet.getInt("DATA_TYPE"));
+            }
+        }
+    }
+
+    /**
+     * @return the {@link BackupTable} being restored
+     */
+    public BackupTable getTable() {
+        return this.table;
+    }
+
+    /**
+     * @return the number of rows inserted until now
+     */
+    public long getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Insert one row. The insert is only sent to the database when the batch is full or when this restorer is closed
+     *
+     * @param row the row as read from the backup file
+     * @throws SQLException if any problem occur with the insert
+     */
+    public void insert(JsonNode row) throws SQLException {
+
+        if (this.statement == null) {
+            this.prepare(row);
+        }
+
+        final long id = row.path("id").asLong();
+
+        for (int i = 0; i < this.columns.size(); i++) {
+
+            final String column = this.columns.get(i);
+            final JsonNode value = row.get(column);
+
+            if (this.table.isDeferred(column)) {
+                if (value != null && !value.isNull()) {
+                    this.deferredValues.computeIfAbsent(column, key -> new ArrayList<>())
+                            .add(new long[]{id, value.asLong()});
+                }
+                this.statement.setNull(i + 1, Types.BIGINT);
+            } else {
+                this.bind(i + 1, this.targetColumns.get(column), value);
+            }
+        }
+
+        this.statement.addBatch();
+        this.rows++;
+
+        if (++this.pending >= this.batchSize) {
+            this.statement.executeBatch();
+            this.pending = 0;
+        }
+    }
+
+    /**
+     * Fill the deferred columns of this table, must be called only after all the tables are restored
+     *
+     * @throws SQLException if any problem occur with the update
+     */
+    public void applyDeferred() throws SQLException {
+        for (Map.Entry<String, List<long[]>> entry : this.deferredValues.entrySet()) {
+
+            final String sql = "UPDATE " + this.table.getQualifiedName() + " SET " + entry.getKey() + " = ? WHERE id = ?";
+
+            try (final PreparedStatement update = this.connection.prepareStatement(sql)) {
+                int count = 0;
+                for (long[] value : entry.getValue()) {
+                    update.setLong(1, value[1]);
+                    update.setLong(2, value[0]);
+                    update.addBatch();
+                    if (++count % this.batchSize == 0) {
+                        update.executeBatch();
+                    }
+                }
+                update.executeBatch();
+            }
+        }
+        this.deferredValues.clear();
+    }
+
+    /**
+     * Send the last batch and release the statement
+     *
+     * @throws SQLException if any problem occur with the last batch
+     */
+    @Override
+    public void close() throws SQLException {
+        if (this.statement != null) {
+            try {
+                if (this.pending > 0) {
+                    this.statement.executeBatch();
+                    this.pending = 0;
+                }
+            } finally {
+                this.statement.close();
+                this.statement = null;
+            }
+        }
+    }
+
+    /**
+     * Prepare the insert statement using the columns of the first row found at the backup
+     *
+     * @param row the first row of the table
+     * @throws SQLException if any problem occur with the statement
+     */
+    private void prepare(JsonNode row) throws SQLException {
+
+        this.columns = new ArrayList<>();
+
+        row.fieldNames().forEachRemaining(column -> {
+            if (this.targetColumns.containsKey(column)) {
+                this.columns.add(column);
+            }
+        });
+
+        final String sql = "INSERT INTO " + this.table.getQualifiedName() +
+                " (" + String.join(", ", this.columns) + ") VALUES (" +
+                String.join(", ", Collections.nCopies(this.columns.size(), "?")) + ")";
+
+        this.statement = this.connection.prepareStatement(sql);
+    }
+
+    /**
+     * Bind a value to the insert statement, values in text format are sent without type so the database can cast
+     * them to the type of the target column
+     *
+     * @param index the index of the parameter
+     * @param sqlType the {@link Types} of the target column
+     * @param value the value to bind
+     * @throws SQLException if any problem occur binding the value
+     */
+    private void bind(int index, int sqlType, JsonNode value) throws SQLException {
+        if (value == null || value.isNull()) {
+            this.statement.setNull(index, sqlType);
+        } else if (value.isBoolean()) {
+            this.statement.setBoolean(index, value.booleanValue());
+        } else if (value.isIntegralNumber()) {
+            this.statement.setLong(index, value.longValue());
+        } else if (value.isNumber()) {
+            this.statement.setBigDecimal(index, value.decimalValue());
+        } else if (sqlType == Types.VARCHAR || sqlType == Types.CHAR || sqlType == Types.LONGVARCHAR) {
+            this.statement.setString(index, value.asText());
+        } else {
+            this.statement.setObject(index, value.asText(), Types.OTHER);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.cache;
+
+import br.com.webbudget.infrastructure.cluster.CacheInvalidation;
+import br.com.webbudget.infrastructure.cluster.InvalidationBus;
+import br.com.webbudget.infrastructure.cluster.PeerInvalidation;
+import org.slf4j.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A small in memory cache for the results of the methods marked with {@link CachedResult}
+ *
+ * Each result is tagged by the arguments marked with {@link CacheTag}, so a change in one financial period or card
+ * invalidates only the results about it and the results without tags, which are the aggregates of all of them. The
+ * cache is bounded and the least recently used results are evicted first
+ *
+ * The invalidations are published to the other nodes by the {@link InvalidationBus}
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 25/10/2019
+ */
+@ApplicationScoped
+public class ResultCache {
+
+    public static final String PERIOD = "period";
+    public static final String CARD = "card";
+
+    private static final String REGION = "result";
+
+    private static final int MAX_ENTRIES = 1000;
+
+    private final Map<List<Object>, Entry> entries;
+
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong generation;
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private InvalidationBus invalidationBus;
+
+    /**
+     * Constructor...
+     */
+    public ResultCache() {
+
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.generation = new AtomicLong();
+
+        this.entries = new LinkedHashMap<List<Object>, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, Entry> eldest) {
+                return this.size() > MAX_ENTRIES;
+            }
+        };
+    }
+
+    /**
+     * Get a result from the cache
+     *
+     * @param method the method called
+     * @param arguments the arguments of the call
+     * @return the result cached or null if there is none
+     */
+    public synchronized Object get(Method method, Object[] arguments) {
+
+        final Entry entry = this.entries.get(this.keyOf(method, arguments));
+
+        if (entry == null) {
+            this.misses.incrementAndGet();
+            return null;
+        }
+
+        this.hits.incrementAndGet();
+        return entry.getValue();
+    }
+
+    /**
+     * Put a result on the cache
+     *
+     * If any invalidation happens after the given generation the result is discarded, because it may have been read
+     * before the change that caused the invalidation
+     *
+     * @param method the method called
+     * @param arguments the arguments of the call
+     * @param value the result of the call
+     * @param tags the tags of the result
+     * @param generation the value of {@link #getGeneration()} taken before the call
+     */
+    public synchronized void put(Method method, Object[] arguments, Object value, Set<String> tags, long generation) {
+        if (generation == this.generation.get()) {
+            this.entries.put(this.keyOf(method, arguments), new Entry(this.immutable(value), tags));
+        }
+    }
+
+    /**
+     * Invalidate the results with the given tag and all the results without any tag
+     *
+     * @param name the name of the tag, one of the constants of this class
+     * @param value the value of the tag
+     */
+    public void invalidate(String name, Object value) {
+        final String tag = tagOf(name, value);
+        this.evict(tag);
+        this.invalidationBus.publish(REGION, List.of(tag));
+    }
+
+    /**
+     * Invalidate all the results
+     */
+    public void invalidateAll() {
+        this.evictAll();
+        this.invalidationBus.publishAll(REGION);
+    }
+
+    /**
+     * Apply the invalidations made by the other nodes
+     *
+     * @param invalidation the {@link CacheInvalidation} received
+     */
+    protected void onPeerInvalidation(@Observes @PeerInvalidation CacheInvalidation invalidation) {
+        if (invalidation.isOf(REGION)) {
+            if (invalidation.isAll()) {
+                this.evictAll();
+            } else {
+                invalidation.getKeys().forEach(this::evict);
+            }
+        }
+    }
+
+    /**
+     * @return the current generation of the cache, incremented at each invalidation
+     */
+    public long getGeneration() {
+        return this.generation.get();
+    }
+
+    /**
+     * @return the hit, miss and size counts of the cache
+     */
+    public synchronized Map<String, Long> getStatistics() {
+
+        final Map<String, Long> values = new LinkedHashMap<>();
+
+        values.put("hit", this.hits.get());
+        values.put("miss", this.misses.get());
+        values.put("size", (long) this.entries.size());
+
+        return values;
+    }
+
+    /**
+     * Remove the results with the given tag and all the results without any tag
+     *
+     * @param tag the tag of the results
+     */
+    private synchronized void evict(String tag) {
+
+        this.generation.incrementAndGet();
+
+        final int before = this.entries.size();
+        this.entries.values().removeIf(entry -> entry.getTags().isEmpty() || entry.getTags().contains(tag));
+
+        this.logger.debug("Result cache invalidated for {}, {} results removed", tag, before - this.entries.size());
+    }
+
+    /**
+     * Remove all the results
+     */
+    private synchronized void evictAll() {
+        this.generation.incrementAndGet();
+        this.entries.clear();
+        this.logger.debug("Result cache invalidated");
+    }
+
+    /**
+     * Build a tag for a result
+     *
+     * @param name the name of the tag
+     * @param value the value of the tag
+     * @return the tag
+     */
+    static String tagOf(String name, Object value) {
+        return name + ":" + value;
+    }
+
+    /**
+     * Create the key of a call
+     *
+     * @param method the method called
+     * @param arguments the arguments of the call
+     * @return the key
+     */
+    private List<Object> keyOf(Method method, Object[] arguments) {
+
+        final List<Object> key = new ArrayList<>();
+
+        key.add(method);
+        key.addAll(Arrays.asList(arguments));
+
+        return key;
+    }
+
+    /**
+     * The results are shared by all the users, so lists are cached as read-only copies
+     *
+     * @param value the result
+     * @return the result safe to be shared
+     */
+    private Object immutable(Object value) {
+        if (value instanceof List) {
+            return Collections.unmodifiableList(new ArrayList<>((List<?>) value));
+        }
+        return value;
+    }
+
+    /**
+     * One result on the cache
+     */
+    private static final class Entry {
+
+        private final Object value;
+        private final Set<String> tags;
+
+        /**
+         * Constructor...
+         *
+         * @param value the result
+         * @param tags the tags of the result
+         */
+        Entry(Object value, Set<String> tags) {
+            this.value = value;
+            this.tags = tags;
+        }
+
+        /**
+         * @return the result
+         */
+        Object getValue() {
+            return this.value;
+        }
+
+        /**
+         * @return the tags of the result
+         */
+        Set<String> getTags() {
+            return this.tags;
+        }
+    }
+}
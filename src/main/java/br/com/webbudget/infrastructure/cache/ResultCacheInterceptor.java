@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.cache;
+
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InvocationContext;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Interceptor to serve the methods marked with {@link CachedResult} from the {@link ResultCache}
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 25/10/2019
+ */
+@CachedResult
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class ResultCacheInterceptor {
+
+    @Inject
+    private ResultCache resultCache;
+
+    /**
+     * Return the cached result of the call or proceed and cache the result
+     *
+     * @param context the context of the call
+     * @return the result of the call
+     * @throws Exception if the call fail
+     */
+    @AroundInvoke
+    public Object intercept(InvocationContext context) throws Exception {
+
+        final Method method = context.getMethod();
+        final Object[] arguments = context.getParameters();
+
+        final Object cached = this.resultCache.get(method, arguments);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final long generation = this.resultCache.getGeneration();
+
+        final Object result = context.proceed();
+
+        if (result != null) {
+            this.resultCache.put(method, arguments, result, this.tagsOf(method, arguments), generation);
+        }
+
+        return result;
+    }
+
+    /**
+     * Read the tags of the call from the arguments marked with {@link CacheTag}
+     *
+     * @param method the method called
+     * @param arguments the arguments of the call
+     * @return the tags of the result
+     */
+    private Set<String> tagsOf(Method method, Object[] arguments) {
+
+        final Set<String> tags = new HashSet<>();
+
+        final Annotation[][] annotations = method.getParameterAnnotations();
+
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof CacheTag) {
+                    tags.add(ResultCache.tagOf(((CacheTag) annotation).value(), arguments[i]));
+                }
+            }
+        }
+        return tags;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.cache;
+
+import br.com.webbudget.domain.entities.financial.Payment;
+import br.com.webbudget.domain.entities.financial.PeriodMovement;
+import br.com.webbudget.domain.entities.registration.FinancialPeriod;
+import br.com.webbudget.domain.events.*;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import static javax.enterprise.event.TransactionPhase.AFTER_SUCCESS;
+
+/**
+ * Listen for the changes on the financial data to invalidate the results about it on the {@link ResultCache}
+ *
+ * The statistics views also depend on the statistics cube, which is refreshed in background, so the cube service
+ * invalidates the period again when the refresh ends
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 25/10/2019
+ */
+@ApplicationScoped
+public class ResultCacheInvalidator {
+
+    @Inject
+    private ResultCache resultCache;
+
+    /**
+     * Invalidate the results about the {@link PeriodMovement} paid
+     *
+     * @param periodMovement the {@link PeriodMovement} paid
+     */
+    public void afterPayment(@Observes(during = AFTER_SUCCESS) @PeriodMovementPaid PeriodMovement periodMovement) {
+        this.invalidate(periodMovement);
+    }
+
+    /**
+     * Invalidate the results about the {@link PeriodMovement} updated
+     *
+     * @param periodMovement the {@link PeriodMovement} updated
+     */
+    public void afterUpdate(@Observes(during = AFTER_SUCCESS) @PeriodMovementUpdated PeriodMovement periodMovement) {
+        this.invalidate(periodMovement);
+    }
+
+    /**
+     * Invalidate the results about the {@link PeriodMovement} deleted
+     *
+     * @param periodMovement the {@link PeriodMovement} deleted
+     */
+    public void afterDelete(@Observes(during = AFTER_SUCCESS) @PeriodMovementDeleted PeriodMovement periodMovement) {
+        this.invalidate(periodMovement);
+    }
+
+    /**
+     * Invalidate the results about the {@link FinancialPeriod} opened
+     *
+     * @param financialPeriod the {@link FinancialPeriod} opened
+     */
+    public void afterOpen(@Observes(during = AFTER_SUCCESS) @FinancialPeriodOpened FinancialPeriod financialPeriod) {
+        this.resultCache.invalidate(ResultCache.PERIOD, financialPeriod.getId());
+    }
+
+    /**
+     * Invalidate the results about the {@link FinancialPeriod} closed
+     *
+     * @param financialPeriod the {@link FinancialPeriod} closed
+     */
+    public void afterClose(@Observes(during = AFTER_SUCCESS) @FinancialPeriodClosed FinancialPeriod financialPeriod) {
+        this.resultCache.invalidate(ResultCache.PERIOD, financialPeriod.getId());
+    }
+
+    /**
+     * Invalidate the results about the {@link FinancialPeriod} reopened
+     *
+     * @param financialPeriod the {@link FinancialPeriod} reopened
+     */
+    public void afterReopen(@Observes(during = AFTER_SUCCESS) @FinancialPeriodReopened FinancialPeriod financialPeriod) {
+        this.resultCache.invalidate(ResultCache.PERIOD, financialPeriod.getId());
+    }
+
+    /**
+     * Invalidate the results about the {@link FinancialPeriod}, the previous one if it was moved, and the card of the
+     * {@link PeriodMovement}
+     *
+     * @param periodMovement the {@link PeriodMovement} changed
+     */
+    private void invalidate(PeriodMovement periodMovement) {
+
+        final FinancialPeriod financialPeriod = periodMovement.getFinancialPeriod();
+
+        if (financialPeriod != null) {
+            this.resultCache.invalidate(ResultCache.PERIOD, financialPeriod.getId());
+        }
+
+        if (periodMovement.getPreviousFinancialPeriodId() != null) {
+            this.resultCache.invalidate(ResultCache.PERIOD, periodMovement.getPreviousFinancialPeriodId());
+        }
+
+        final Payment payment = periodMovement.getPayment();
+
+        if (payment != null && payment.getCard() != null) {
+            this.resultCache.invalidate(ResultCache.CARD, payment.getCard().getId());
+        }
+    }
+}
@@ -16,6 +16,10 @@
  */
 package br.com.webbudget.infrastructure.cdi;
 
+import br.com.webbudget.infrastructure.cdi.qualifiers.Replica;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.RequestScoped;
 import javax.enterprise.inject.Disposes;
@@ -27,16 +31,21 @@ import javax.persistence.PersistenceUnit;
 /**
  * The {@link EntityManager} producer of the application
  *
+ * The default {@link EntityManager} is connected to the primary database, the one qualified with {@link Replica} is
+ * connected to the read replica and only used to read
+ *
  * @author Arthur Gregorio
  *
- * @version 1.0.0
+ * @version 1.1.0
  * @since 2.0.0, 21/05/2015
  */
 @ApplicationScoped
 public class EntityManagerProducer {
 
-    @PersistenceUnit
+    @PersistenceUnit(unitName = "webBudgetPU")
     private EntityManagerFactory entityManagerFactory;
+    @PersistenceUnit(unitName = "webBudgetReplicaPU")
+    private EntityManagerFactory replicaEntityManagerFactory;
 
     /**
      * Produce a new instance of the {@link EntityManager} by calling the {@link EntityManagerFactory}
@@ -49,6 +58,27 @@ public class EntityManagerProducer {
         return this.entityManagerFactory.createEntityManager();
     }
 
+    /**
+     * Produce the {@link EntityManager} of the read replica, the session is read-only and never flushed so nothing
+     * loaded by it can be written back
+     *
+     * @return the {@link EntityManager} to be injected
+     */
+    @Produces
+    @Replica
+    @RequestScoped
+    EntityManager produceReplica() {
+
+        final EntityManager entityManager = this.replicaEntityManagerFactory.createEntityManager();
+
+        final Session session = entityManager.unwrap(Session.class);
+
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+
+        return entityManager;
+    }
+
     /**
      * Dispose method to close the instances of an open {@link EntityManager}
      *
@@ -59,4 +89,15 @@ public class EntityManagerProducer {
             entityManager.close();
         }
     }
+
+    /**
+     * Dispose method to close the instances of an open {@link EntityManager} of the read replica
+     *
+     * @param entityManager the {@link EntityManager} to be closed
+     */
+    void closeReplica(@Disposes @Replica EntityManager entityManager) {
+        if (entityManager.isOpen()) {
+            entityManager.close();
+        }
+    }
 }
\ No newline at end of file
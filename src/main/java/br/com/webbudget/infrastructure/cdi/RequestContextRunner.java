@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.cdi;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.control.ActivateRequestContext;
+
+/**
+ * Run tasks inside a new request context
+ *
+ * Tasks submitted to the container executors run outside of the HTTP request, so there is no active request context
+ * and the request scoped beans, like the {@link javax.persistence.EntityManager}, can't be used. Wrapping the task with
+ * this runner activates a new request context that lives until the task ends
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 25/10/2019
+ */
+@ApplicationScoped
+public class RequestContextRunner {
+
+    /**
+     * Run the given task with an active request context
+     *
+     * @param task to be executed
+     */
+    @ActivateRequestContext
+    public void run(Runnable task) {
+        task.run();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.cluster;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A message of the {@link InvalidationBus} telling the peers that some entries of a cache region have changed
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 28/10/2019
+ */
+@ToString
+public final class CacheInvalidation implements Serializable {
+
+    private static final String SEPARATOR = "\t";
+    private static final String KEY_SEPARATOR = ",";
+
+    @Getter
+    private final String origin;
+    @Getter
+    private final String region;
+    @Getter
+    private final List<String> keys;
+
+    /**
+     * Constructor...
+     *
+     * @param origin the node that published the invalidation
+     * @param region the cache region changed
+     * @param keys the keys changed, empty if the whole region should be invalidated
+     */
+    public CacheInvalidation(String origin, String region, List<String> keys) {
+        this.origin = origin;
+        this.region = region;
+        this.keys = Collections.unmodifiableList(keys);
+    }
+
+    /**
+     * Check if this invalidation is about the given region
+     *
+     * @param region the region to test
+     * @return true if it is, false otherwise
+     */
+    public boolean isOf(String region) {
+        return this.region.equals(region);
+    }
+
+    /**
+     * @return true if the whole region should be invalidated
+     */
+    public boolean isAll() {
+        return this.keys.isEmpty();
+    }
+
+    /**
+     * Split the keys of this invalidation in as many invalidations as needed to keep each one, once encoded, inside
+     * the given size
+     *
+     * @param maxSize the maximum size in bytes of each invalidation encoded
+     * @return the invalidations with the keys of this one, empty if a single key doesn't fit in the size
+     */
+    public List<CacheInvalidation> split(int maxSize) {
+
+        final int headerSize = (this.origin + SEPARATOR + this.region + SEPARATOR).getBytes(UTF_8).length;
+
+        final List<CacheInvalidation> parts = new ArrayList<>();
+
+        List<String> part = new ArrayList<>();
+        int size = headerSize;
+
+        for (String key : this.keys) {
+
+            final int keySize = key.getBytes(UTF_8).length;
+
+            if (headerSize + keySize > maxSize) {
+                return List.of();
+            }
+
+            if (!part.isEmpty() && size + KEY_SEPARATOR.length() + keySize > maxSize) {
+                parts.add(new CacheInvalidation(this.origin, this.region, part));
+                part = new ArrayList<>();
+                size = headerSize;
+            }
+
+            size += part.isEmpty() ? keySize : KEY_SEPARATOR.length() + keySize;
+            part.add(key);
+        }
+
+        if (!part.isEmpty()) {
+            parts.add(new CacheInvalidation(this.origin, this.region, part));
+        }
+        return parts;
+    }
+
+    /**
+     * @return this invalidation as text to be sent over the wire
+     */
+    public String encode() {
+        return this.origin + SEPARATOR + this.region + SEPARATOR + String.join(KEY_SEPARATOR, this.keys);
+    }
+
+    /**
+     * Read an invalidation encoded with {@link #encode()}
+     *
+     * @param message the encoded invalidation
+     * @return the {@link CacheInvalidation}
+     * @throws IllegalArgumentException if the message is not a valid invalidation
+     */
+    public static CacheInvalidation decode(String message) {
+
+        final String[] parts = message.split(SEPARATOR, -1);
+
+        if (parts.length != 3 || parts[0].isEmpty() || parts[1].isEmpty()) {
+            throw new IllegalArgumentException("Invalid cache invalidation message");
+        }
+
+        final List<String> keys = parts[2].isEmpty() ? List.of() : Arrays.asList(parts[2].split(KEY_SEPARATOR));
+
+        return new CacheInvalidation(parts[0], parts[1], keys);
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.cluster;
+
+import br.com.webbudget.infrastructure.cdi.RequestContextRunner;
+import br.com.webbudget.infrastructure.utils.Configurations;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+
+import javax.annotation.PreDestroy;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Initialized;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The bus used to tell the other nodes of the cluster that something cached has changed
+ *
+ * The caches publish here the changes they have applied locally and observe the {@link PeerInvalidation} event to
+ * apply the changes published by the other nodes. The messages are sent by the {@link InvalidationTransport} named at
+ * the cluster.transport property, when none is configured the application runs as a single node and nothing is sent.
+ * Every message is signed with the cluster.secret, required by any transport, and the unsigned ones are discarded.
+ * The time it was sent and its sequence in the node are signed with it, so a message captured and sent again is
+ * discarded too, as stale after the cluster.max-message-age or as already received before that
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.2.0
+ * @since 3.1.0, 28/10/2019
+ */
+@ApplicationScoped
+public class InvalidationBus {
+
+    private static final String SIGNATURE_SEPARATOR = "\n";
+
+    // the separator and the HMAC-SHA256 in base64 appended to every message
+    private static final int SIGNATURE_SIZE = SIGNATURE_SEPARATOR.length() + 44;
+
+    private static final String HEADER_SEPARATOR = "\n";
+
+    // the time the message was sent and its sequence, each one a long followed by the separator
+    private static final int HEADER_SIZE = 2 * (String.valueOf(Long.MAX_VALUE).length() + HEADER_SEPARATOR.length());
+
+    // random, so two JVMs on the same machine are still different nodes
+    private final String node;
+    private final AtomicLong sequence;
+
+    private byte[] secret;
+    private ReceivedMessages receivedMessages;
+    private InvalidationTransport transport;
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private RequestContextRunner requestContextRunner;
+
+    @Inject
+    @PeerInvalidation
+    private Event<CacheInvalidation> peerInvalidationEvent;
+
+    @Any
+    @Inject
+    private Instance<InvalidationTransport> transports;
+
+    /**
+     * Constructor...
+     */
+    public InvalidationBus() {
+        this.node = UUID.randomUUID().toString();
+        this.sequence = new AtomicLong();
+    }
+
+    /**
+     * Open the configured transport when the application starts
+     *
+     * @param event the initialization of the application scope
+     */
+    protected void start(@Observes @Initialized(ApplicationScoped.class) Object event) {
+
+        final String name = Configurations.get("cluster.transport");
+
+        if (StringUtils.isBlank(name) || "none".equals(name)) {
+            this.logger.info("No cluster transport configured, the caches will not be invalidated on other nodes");
+            return;
+        }
+
+        final String key = Configurations.get("cluster.secret");
+
+        // without the secret anyone reaching the port could clear the caches or send data to them
+        if (StringUtils.isBlank(key)) {
+            throw new IllegalStateException("The cluster.secret is required by the " + name + " transport");
+        }
+
+        this.secret = key.getBytes(UTF_8);
+        this.receivedMessages = new ReceivedMessages(
+                TimeUnit.SECONDS.toMillis(Configurations.getAsInteger("cluster.max-message-age")));
+
+        final InvalidationTransport selected = this.transports.stream()
+                .filter(candidate -> candidate.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No cluster transport found with name " + name));
+
+        try {
+            selected.start(this::receive);
+            this.transport = selected;
+            this.logger.info("Cache invalidations sent by the {} transport as node {}", name, this.node);
+        } catch (IOException ex) {
+            this.logger.error("Can't start the {} transport, the caches will not be invalidated on other nodes",
+                    name, ex);
+        }
+    }
+
+    /**
+     * Close the transport
+     */
+    @PreDestroy
+    protected void stop() {
+        if (this.transport != null) {
+            this.transport.stop();
+        }
+    }
+
+    /**
+     * Tell the other nodes that the whole region has changed
+     *
+     * @param region the cache region
+     */
+    public void publishAll(String region) {
+        if (this.transport != null) {
+            this.send(new CacheInvalidation(this.node, region, List.of()));
+        }
+    }
+
+    /**
+     * Tell the other nodes that some keys of a region have changed, nothing is sent if there are no keys
+     *
+     * @param region the cache region
+     * @param keys the keys changed
+     */
+    public void publish(String region, Collection<?> keys) {
+
+        if (this.transport == null || keys.isEmpty()) {
+            return;
+        }
+
+        final List<String> values = keys.stream()
+                .map(String::valueOf)
+                .collect(Collectors.toList());
+
+        // split the keys so every message, with its signature, fits in what the transport can send
+        final List<CacheInvalidation> parts = new CacheInvalidation(this.node, region, values)
+                .split(this.transport.getMaxMessageSize() - HEADER_SIZE - SIGNATURE_SIZE);
+
+        if (parts.isEmpty()) {
+            this.logger.debug("Keys of {} too big to be sent, invalidating the whole region", region);
+            this.publishAll(region);
+            return;
+        }
+
+        parts.forEach(this::send);
+    }
+
+    /**
+     * @return true if the invalidations are being sent to other nodes
+     */
+    public boolean isClustered() {
+        return this.transport != null;
+    }
+
+    /**
+     * Send an invalidation to the peers. Failures are only logged, the change is already done locally and can't be
+     * undone because the peers were not reached
+     *
+     * @param invalidation the {@link CacheInvalidation} to be sent
+     */
+    private void send(CacheInvalidation invalidation) {
+        try {
+            this.transport.send(this.sign(System.currentTimeMillis() + HEADER_SEPARATOR
+                    + this.sequence.incrementAndGet() + HEADER_SEPARATOR + invalidation.encode()));
+        } catch (IOException | GeneralSecurityException ex) {
+            this.logger.warn("Can't publish the invalidation of {} to the peers", invalidation.getRegion(), ex);
+        }
+    }
+
+    /**
+     * Handle a message received by the transport, the messages published by this node are ignored
+     *
+     * @param message the message received
+     */
+    private void receive(String message) {
+
+        final long sentOn;
+        final long sequence;
+        final CacheInvalidation invalidation;
+
+        try {
+            final String[] parts = this.verify(message).split(HEADER_SEPARATOR, 3);
+
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Message without time and sequence");
+            }
+
+            sentOn = Long.parseLong(parts[0]);
+            sequence = Long.parseLong(parts[1]);
+            invalidation = CacheInvalidation.decode(parts[2]);
+        } catch (IllegalArgumentException | GeneralSecurityException ex) {
+            this.logger.warn("Message discarded: {}", ex.getMessage());
+            return;
+        }
+
+        if (invalidation.getOrigin().equals(this.node)) {
+            return;
+        }
+
+        if (!this.receivedMessages.accept(invalidation.getOrigin(), sequence, sentOn, System.currentTimeMillis())) {
+            this.logger.warn("Message discarded: {} from {} is stale or was already received", sequence,
+                    invalidation.getOrigin());
+            return;
+        }
+
+        this.logger.debug("Invalidation of {} received from {}", invalidation.getRegion(), invalidation.getOrigin());
+
+        this.requestContextRunner.run(() -> this.peerInvalidationEvent.fire(invalidation));
+    }
+
+    /**
+     * Append the signature of the message
+     *
+     * @param message the message to be signed
+     * @return the message ready to be sent
+     * @throws GeneralSecurityException if the message can't be signed
+     */
+    private String sign(String message) throws GeneralSecurityException {
+        return message + SIGNATURE_SEPARATOR + this.signatureOf(message);
+    }
+
+    /**
+     * Check and remove the signature of the message
+     *
+     * @param message the message received
+     * @return the message without the signature
+     * @throws GeneralSecurityException if the message is not signed or the signature is not valid
+     */
+    private String verify(String message) throws GeneralSecurityException {
+
+        final int separator = message.lastIndexOf(SIGNATURE_SEPARATOR);
+
+        if (separator < 0) {
+            throw new GeneralSecurityException("Message without signature");
+        }
+
+        final String content = message.substring(0, separator);
+        final String signature = message.substring(separator + 1);
+
+        if (!MessageDigest.isEqual(signature.getBytes(UTF_8), this.signatureOf(content).getBytes(UTF_8))) {
+            throw new GeneralSecurityException("Invalid signature");
+        }
+        return content;
+    }
+
+    /**
+     * @param content the content to be signed
+     * @return the HMAC of the content with the shared secret
+     * @throws GeneralSecurityException if the HMAC can't be calculated
+     */
+    private String signatureOf(String content) throws GeneralSecurityException {
+        final Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(this.secret, "HmacSHA256"));
+        return Base64.getEncoder().encodeToString(mac.doFinal(content.getBytes(UTF_8)));
+    }
+}
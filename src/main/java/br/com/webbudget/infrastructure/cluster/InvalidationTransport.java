@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.cluster;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * The transport used by the {@link InvalidationBus} to talk with the other nodes. The implementations are CDI beans
+ * selected by the name configured at the cluster.transport property
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 28/10/2019
+ */
+public interface InvalidationTransport {
+
+    /**
+     * @return the name of this transport, used to select it at the configuration
+     */
+    String getName();
+
+    /**
+     * Open this transport and start to receive the messages of the other nodes
+     *
+     * @param receiver called with every message received
+     * @throws IOException if the transport can't be opened
+     */
+    void start(Consumer<String> receiver) throws IOException;
+
+    /**
+     * @return the size in bytes of the biggest message this transport can send
+     */
+    int getMaxMessageSize();
+
+    /**
+     * Send a message to the other nodes, the delivery is not guaranteed
+     *
+     * @param message the message to be sent
+     * @throws IOException if any problem occur while sending the message
+     */
+    void send(String message) throws IOException;
+
+    /**
+     * Close this transport
+     */
+    void stop();
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.cluster;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The messages recently received by the {@link InvalidationBus}, used to discard the ones captured and sent again
+ *
+ * Each node numbers its messages, so a message is identified by the node and its sequence. Only the messages inside
+ * the maximum age are remembered, the older ones are refused as stale before reaching here. The sequences are not
+ * required to arrive in order, the transport may deliver the messages out of order and none of them can be lost
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+public final class ReceivedMessages {
+
+    private final long maxAge;
+
+    // the sequences received from each node with the time they were sent
+    private final Map<String, Map<Long, Long>> received;
+
+    /**
+     * Constructor...
+     *
+     * @param maxAge the maximum age, in milliseconds, of the messages accepted
+     */
+    public ReceivedMessages(long maxAge) {
+        this.maxAge = maxAge;
+        this.received = new HashMap<>();
+    }
+
+    /**
+     * Check if a message is new and remember it
+     *
+     * @param origin the node that sent the message
+     * @param sequence the sequence of the message in the node
+     * @param sentOn the time the message was sent, in milliseconds
+     * @param now the current time, in milliseconds
+     * @return true if the message is new, false if it is stale or was already received
+     */
+    public synchronized boolean accept(String origin, long sequence, long sentOn, long now) {
+
+        if (Math.abs(now - sentOn) > this.maxAge) {
+            return false;
+        }
+
+        // forget what is too old to be accepted again, and the nodes that are not sending anymore
+        this.received.values().forEach(sequences -> sequences.values().removeIf(time -> now - time > this.maxAge));
+        this.received.values().removeIf(Map::isEmpty);
+
+        return this.received.computeIfAbsent(origin, key -> new HashMap<>()).putIfAbsent(sequence, sentOn) == null;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.cluster;
+
+import br.com.webbudget.infrastructure.utils.Configurations;
+import org.slf4j.Logger;
+
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedThreadFactory;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * {@link InvalidationTransport} using UDP datagrams, without any dependency other than the JDK
+ *
+ * The messages are sent to every address at the cluster.udp.peers property. It can be a multicast group, joined by all
+ * the nodes, or the list of the nodes. Two JVMs on the same machine can share the same multicast group and port, the
+ * loopback of the multicast delivers the messages of one to the other
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 28/10/2019
+ */
+@ApplicationScoped
+public class UdpTransport implements InvalidationTransport {
+
+    // a datagram bigger than this would be fragmented or dropped by the network
+    static final int MAX_MESSAGE_SIZE = 8192;
+
+    private volatile boolean running;
+
+    private MulticastSocket socket;
+    private List<InetSocketAddress> peers;
+
+    @Inject
+    private Logger logger;
+
+    @Resource
+    private ManagedThreadFactory threadFactory;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public String getName() {
+        return "udp";
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public int getMaxMessageSize() {
+        return MAX_MESSAGE_SIZE;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param receiver
+     * @throws IOException
+     */
+    @Override
+    public synchronized void start(Consumer<String> receiver) throws IOException {
+
+        this.peers = parsePeers(Configurations.get("cluster.udp.peers"));
+
+        // the multicast socket binds with the reuse address option, so more than one JVM can listen the same port
+        this.socket = new MulticastSocket(Configurations.getAsInteger("cluster.udp.port"));
+
+        for (InetSocketAddress peer : this.peers) {
+            if (peer.getAddress().isMulticastAddress()) {
+                this.socket.joinGroup(peer.getAddress());
+            }
+        }
+
+        this.running = true;
+        this.threadFactory.newThread(() -> this.receive(receiver)).start();
+
+        this.logger.info("UDP transport listening at port {} and sending to {}", this.socket.getLocalPort(), this.peers);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param message
+     * @throws IOException
+     */
+    @Override
+    public void send(String message) throws IOException {
+
+        final byte[] data = message.getBytes(UTF_8);
+
+        if (data.length > MAX_MESSAGE_SIZE) {
+            throw new IOException("Message too big to be sent by UDP: " + data.length + " bytes");
+        }
+
+        for (InetSocketAddress peer : this.peers) {
+            this.socket.send(new DatagramPacket(data, data.length, peer));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void stop() {
+        this.running = false;
+        if (this.socket != null) {
+            this.socket.close();
+        }
+    }
+
+    /**
+     * The receiving loop, runs until the transport is stopped
+     *
+     * @param receiver to be called with the messages received
+     */
+    private void receive(Consumer<String> receiver) {
+
+        final byte[] buffer = new byte[MAX_MESSAGE_SIZE];
+
+        while (this.running) {
+            try {
+                final DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                this.socket.receive(packet);
+                receiver.accept(new String(packet.getData(), packet.getOffset(), packet.getLength(), UTF_8));
+            } catch (IOException ex) {
+                if (this.running) {
+                    this.logger.warn("Can't receive the message of a peer", ex);
+                }
+            } catch (RuntimeException ex) {
+                this.logger.error("Can't process the message of a peer", ex);
+            }
+        }
+    }
+
+    /**
+     * Parse the addresses of the peers
+     *
+     * @param peers the comma separated list of host:port
+     * @return the {@link List} of addresses
+     */
+    static List<InetSocketAddress> parsePeers(String peers) {
+        return Arrays.stream(peers.split(","))
+                .map(String::trim)
+                .filter(peer -> !peer.isEmpty())
+                .map(peer -> {
+                    final int separator = peer.lastIndexOf(':');
+                    if (separator < 0) {
+                        throw new IllegalArgumentException("The peer " + peer + " must be in the format host:port");
+                    }
+                    return new InetSocketAddress(peer.substring(0, separator),
+                            Integer.parseInt(peer.substring(separator + 1)));
+                })
+                .collect(Collectors.toList());
+    }
+}
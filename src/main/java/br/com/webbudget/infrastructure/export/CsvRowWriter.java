@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.export;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * {@link RowWriter} implementation for CSV files. The separator is the semicolon to be compatible with the spreadsheet
+ * applications using the pt_BR locale
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 19/10/2019
+ */
+public class CsvRowWriter implements RowWriter {
+
+    private static final char SEPARATOR = ';';
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final Writer writer;
+
+    /**
+     * Constructor...
+     *
+     * @param outputStream where the rows will be written
+     */
+    public CsvRowWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param values
+     * @throws IOException
+     */
+    @Override
+    public void write(List<?> values) throws IOException {
+
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                this.writer.write(SEPARATOR);
+            }
+            this.writer.write(this.format(values.get(i)));
+        }
+
+        this.writer.write("\r\n");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        this.writer.flush();
+    }
+
+    /**
+     * Format the value to be placed at the CSV file
+     *
+     * @param value the value to be formatted
+     * @return the value as {@link String}
+     */
+    private String format(Object value) {
+
+        if (value == null) {
+            return "";
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString().replace(".", ",");
+        } else if (value instanceof LocalDate) {
+            return DATE_FORMAT.format((LocalDate) value);
+        }
+
+        final String text = value.toString();
+
+        if (text.indexOf(SEPARATOR) >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+                || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+
+        return text;
+    }
+}
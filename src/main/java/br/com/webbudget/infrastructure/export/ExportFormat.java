@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.export;
+
+import java.io.OutputStream;
+
+/**
+ * The possible formats to export data from the application
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 19/10/2019
+ */
+public enum ExportFormat {
+
+    CSV("csv"),
+    XLSX("xlsx");
+
+    private final String extension;
+
+    /**
+     * Constructor...
+     *
+     * @param extension the file extension for this format
+     */
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Build the file name for this format
+     *
+     * @param name the name of the file without the extension
+     * @return the name of the file with the extension
+     */
+    public String toFileName(String name) {
+        return name + "." + this.extension;
+    }
+
+    /**
+     * Create the {@link RowWriter} for this format
+     *
+     * @param outputStream where the rows will be written
+     * @return the {@link RowWriter} for this format
+     */
+    public RowWriter createWriter(OutputStream outputStream) {
+        switch (this) {
+            case XLSX:
+                return new XlsxRowWriter(outputStream);
+            default:
+                return new CsvRowWriter(outputStream);
+        }
+    }
+}
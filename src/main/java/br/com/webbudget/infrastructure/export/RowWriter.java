@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Definition of a writer used to stream tabular data, row by row, to an output. Implementations should never hold more
+ * than a small window of rows in memory
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 19/10/2019
+ */
+public interface RowWriter extends Closeable {
+
+    /**
+     * Write one row to the output. Supported values are {@link String}, {@link Number} and
+     * {@link java.time.LocalDate}, anything else is written using the {@link Object#toString()} method
+     *
+     * @param values the values of the columns of this row, null values are written as empty cells
+     * @throws IOException if any problem occur while writing
+     */
+    void write(List<?> values) throws IOException;
+}
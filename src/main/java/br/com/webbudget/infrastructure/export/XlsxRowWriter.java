@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.export;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * {@link RowWriter} implementation for XLSX files. This one uses the {@link SXSSFWorkbook} so only a small window of
+ * rows is kept in memory and the rest is flushed to a compressed temporary file until the workbook is written
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 19/10/2019
+ */
+public class XlsxRowWriter implements RowWriter {
+
+    private static final int ROWS_IN_MEMORY = 100;
+
+    private int rowNumber;
+
+    private final Sheet sheet;
+    private final CellStyle dateStyle;
+    private final CellStyle numberStyle;
+    private final SXSSFWorkbook workbook;
+    private final OutputStream outputStream;
+
+    /**
+     * Constructor...
+     *
+     * @param outputStream where the workbook will be written
+     */
+    public XlsxRowWriter(OutputStream outputStream) {
+
+        this.outputStream = outputStream;
+
+        this.workbook = new SXSSFWorkbook(ROWS_IN_MEMORY);
+        this.workbook.setCompressTempFiles(true);
+
+        this.sheet = this.workbook.createSheet();
+
+        this.dateStyle = this.workbook.createCellStyle();
+        this.dateStyle.setDataFormat(this.workbook.getCreationHelper().createDataFormat().getFormat("dd/mm/yyyy"));
+
+        this.numberStyle = this.workbook.createCellStyle();
+        this.numberStyle.setDataFormat(this.workbook.getCreationHelper().createDataFormat().getFormat("#,##0.00"));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param values
+     */
+    @Override
+    public void write(List<?> values) {
+
+        final Row row = this.sheet.createRow(this.rowNumber++);
+
+        for (int i = 0; i < values.size(); i++) {
+
+            final Object value = values.get(i);
+
+            if (value == null) {
+                continue;
+            }
+
+            final Cell cell = row.createCell(i);
+
+            if (value instanceof Number) {
+                cell.setCellValue(((Number) value).doubleValue());
+                cell.setCellStyle(this.numberStyle);
+            } else if (value instanceof LocalDate) {
+                cell.setCellValue(Date.from(((LocalDate) value).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+                cell.setCellStyle(this.dateStyle);
+            } else {
+                cell.setCellValue(value.toString());
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            this.workbook.write(this.outputStream);
+        } finally {
+            this.workbook.dispose();
+            this.workbook.close();
+        }
+    }
+}
@@ -16,26 +16,45 @@
  */
 package br.com.webbudget.infrastructure.initializer;
 
+import br.com.webbudget.infrastructure.cdi.RequestContextRunner;
+import lombok.Getter;
 import org.apache.deltaspike.core.api.projectstage.ProjectStage;
 import org.slf4j.Logger;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
 import javax.ejb.Singleton;
 import javax.ejb.Startup;
 import javax.ejb.TransactionManagement;
 import javax.ejb.TransactionManagementType;
+import javax.enterprise.concurrent.ManagedExecutorService;
 import javax.enterprise.inject.Any;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Default initializer for the application. This class will automatic discovery for all tasks to be performed at
  * initialization time
  *
+ * The tasks are arranged in a graph by their dependencies and each one is submitted to the container executor as soon
+ * as all the tasks it depends on are finished, so the independent ones run in parallel. At the end a report with the
+ * time spent by each task is logged
+ *
  * @author Arthur Gregorio
  *
- * @version 1.0.0
+ * @version 2.0.0
  * @since 3.0.0, 17/03/2019
  */
 @Startup
@@ -49,20 +68,219 @@ public class ApplicationInitializer {
     @Inject
     private ProjectStage projectStage;
 
+    @Inject
+    private RequestContextRunner requestContextRunner;
+
     @Any
     @Inject
     private Instance<InitializationTask> tasks;
 
+    @Resource
+    private ManagedExecutorService executorService;
+
     /**
      * Call the tasks and log the execution status
      */
     @PostConstruct
     public void initialize() {
+
         this.logger.info("webBudget is now preparing the initialization tasks...");
-        this.tasks.stream()
+
+        final List<InitializationTask> available = this.tasks.stream()
                 .sorted(Comparator.comparingInt(InitializationTask::getPriority))
-                .forEach(InitializationTask::run);
+                .collect(Collectors.toList());
+
+        final Map<InitializationTask, List<InitializationTask>> graph = this.buildGraph(available);
+
+        final Map<InitializationTask, Execution> executions = new ConcurrentHashMap<>();
+        final Map<InitializationTask, CompletableFuture<Void>> futures = new IdentityHashMap<>();
+
+        final long start = System.nanoTime();
+
+        // the order guarantees the futures of the dependencies are created before the futures of the dependents
+        for (InitializationTask task : this.sortTopologically(graph)) {
+
+            final CompletableFuture<?>[] dependencies = graph.get(task)
+                    .stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture[]::new);
+
+            futures.put(task, CompletableFuture.allOf(dependencies).thenRunAsync(() -> this.requestContextRunner
+                    .run(() -> executions.put(task, this.execute(task, start))), this.executorService));
+        }
+
+        Throwable failure = null;
+
+        try {
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException ex) {
+            failure = ex.getCause();
+        }
+
+        this.report(available, executions, System.nanoTime() - start);
+
+        if (failure != null) {
+            throw new IllegalStateException("Failed to run the initialization tasks", failure);
+        }
+
         this.logger.info("{} initialization tasks performed and the applications is now running in {} mode",
-                this.tasks.stream().count(), this.projectStage);
+                available.size(), this.projectStage);
+    }
+
+    /**
+     * Run a single task measuring the time spent
+     *
+     * @param task to be executed
+     * @param origin the time, in nanoseconds, when the initialization started
+     * @return the {@link Execution} with the times of the task
+     */
+    private Execution execute(InitializationTask task, long origin) {
+
+        final long start = System.nanoTime();
+
+        try {
+            task.run();
+        } catch (RuntimeException ex) {
+            this.logger.error("Initialization task {} failed", nameOf(task), ex);
+            throw ex;
+        }
+
+        return new Execution(start - origin, System.nanoTime() - start, Thread.currentThread().getName());
+    }
+
+    /**
+     * Link each task with the available tasks it depends on. Dependencies not available, like the ones excluded for
+     * the current project stage, are ignored
+     *
+     * @param available the tasks to be executed
+     * @return the graph of the tasks and their dependencies
+     */
+    private Map<InitializationTask, List<InitializationTask>> buildGraph(List<InitializationTask> available) {
+
+        final Map<InitializationTask, List<InitializationTask>> graph = new IdentityHashMap<>();
+
+        available.forEach(task -> graph.put(task, available.stream()
+                .filter(candidate -> candidate != task)
+                .filter(candidate -> task.getDependencies()
+                        .stream()
+                        .anyMatch(dependency -> dependency.isInstance(candidate)))
+                .collect(Collectors.toList())));
+
+        return graph;
+    }
+
+    /**
+     * Sort the tasks so every task comes after all of its dependencies, the tasks ready at the same time keep the
+     * order of their priorities
+     *
+     * @param graph of the tasks and their dependencies
+     * @return the sorted {@link List} of tasks
+     */
+    private List<InitializationTask> sortTopologically(Map<InitializationTask, List<InitializationTask>> graph) {
+
+        final List<InitializationTask> sorted = new ArrayList<>(graph.size());
+        final List<InitializationTask> pending = new LinkedList<>(graph.keySet());
+
+        pending.sort(Comparator.comparingInt(InitializationTask::getPriority));
+
+        while (!pending.isEmpty()) {
+
+            final Queue<InitializationTask> ready = pending.stream()
+                    .filter(task -> sorted.containsAll(graph.get(task)))
+                    .collect(Collectors.toCollection(LinkedList::new));
+
+            if (ready.isEmpty()) {
+                final String cycle = pending.stream()
+                        .map(ApplicationInitializer::nameOf)
+                        .collect(Collectors.joining(", "));
+                throw new IllegalStateException("Circular dependency between the initialization tasks " + cycle);
+            }
+
+            sorted.addAll(ready);
+            pending.removeAll(ready);
+        }
+
+        return sorted;
+    }
+
+    /**
+     * Log the time spent by each task, the ones not executed are reported as skipped
+     *
+     * @param available the tasks to be executed
+     * @param executions the tasks executed and their times
+     * @param elapsed the total time, in nanoseconds, of the initialization
+     */
+    private void report(List<InitializationTask> available, Map<InitializationTask, Execution> executions,
+                        long elapsed) {
+
+        final StringBuilder builder = new StringBuilder();
+
+        final long busy = executions.values()
+                .stream()
+                .mapToLong(Execution::getDuration)
+                .sum();
+
+        builder.append(String.format("Initialization tasks finished in %d ms (%d ms of work in %d threads)",
+                toMillis(elapsed), toMillis(busy), executions.values()
+                        .stream()
+                        .map(Execution::getThread)
+                        .distinct()
+                        .count()));
+
+        available.stream()
+                .sorted(Comparator.comparingLong(task -> executions.containsKey(task)
+                        ? executions.get(task).getOffset() : Long.MAX_VALUE))
+                .forEach(task -> {
+                    final Execution execution = executions.get(task);
+                    if (execution == null) {
+                        builder.append(String.format("%n  %-32s skipped", nameOf(task)));
+                    } else {
+                        builder.append(String.format("%n  %-32s +%6d ms %8d ms  [%s]", nameOf(task),
+                                toMillis(execution.getOffset()), toMillis(execution.getDuration()),
+                                execution.getThread()));
+                    }
+                });
+
+        this.logger.info(builder.toString());
+    }
+
+    /**
+     * @param task to get the name
+     * @return the simple name of the task class
+     */
+    private static String nameOf(InitializationTask task) {
+        return task.getClass().getSimpleName();
+    }
+
+    /**
+     * @param nanos to be converted
+     * @return the nanos in milliseconds
+     */
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * The times of a single task execution
+     */
+    private static final class Execution {
+
+        @Getter
+        private final long offset;
+        @Getter
+        private final long duration;
+        @Getter
+        private final String thread;
+
+        /**
+         * @param offset the time, in nanoseconds, between the start of the initialization and the start of the task
+         * @param duration the time, in nanoseconds, spent by the task
+         * @param thread the name of the thread used by the task
+         */
+        private Execution(long offset, long duration, String thread) {
+            this.offset = offset;
+            this.duration = duration;
+            this.thread = thread;
+        }
     }
 }
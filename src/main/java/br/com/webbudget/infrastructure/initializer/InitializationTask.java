@@ -16,6 +16,8 @@
  */
 package br.com.webbudget.infrastructure.initializer;
 
+import java.util.Set;
+
 /**
  * Interface to define the initialization task structure
  *
@@ -34,9 +36,24 @@ public interface InitializationTask {
     /**
      * Use this method to define a default priority to this task
      *
+     * The priority is only used to order the tasks that are ready to run at the same time, the execution order is
+     * defined by the dependencies of each task
+     *
      * @return the int value representing the priority number, default is zero (highest priority)
      */
     default int getPriority() {
         return 0;
     }
+
+    /**
+     * Use this method to define the tasks that must be finished before this one can run, tasks without dependencies
+     * between them run in parallel
+     *
+     * A dependency not available in the current project stage is considered as already satisfied
+     *
+     * @return the {@link Set} of tasks this task depends on, default is none
+     */
+    default Set<Class<? extends InitializationTask>> getDependencies() {
+        return Set.of();
+    }
 }
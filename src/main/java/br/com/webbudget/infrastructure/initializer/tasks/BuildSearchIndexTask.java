@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.initializer.tasks;
+
+import br.com.webbudget.infrastructure.initializer.InitializationTask;
+import br.com.webbudget.infrastructure.search.SearchIndex;
+import br.com.webbudget.infrastructure.search.SearchIndexUpdater;
+import org.slf4j.Logger;
+
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+import java.util.Set;
+
+/**
+ * {@link InitializationTask} to build the {@link SearchIndex} used by the global search
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 26/10/2019
+ */
+@Dependent
+public class BuildSearchIndexTask implements InitializationTask {
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private SearchIndex searchIndex;
+    @Inject
+    private SearchIndexUpdater searchIndexUpdater;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run() {
+
+        final long start = System.currentTimeMillis();
+
+        this.searchIndexUpdater.build();
+
+        this.logger.info("Search index built with {} entries in {} ms",
+                this.searchIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public int getPriority() {
+        return 10;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public Set<Class<? extends InitializationTask>> getDependencies() {
+        return Set.of(FlywayMigrationsTask.class);
+    }
+}
@@ -16,7 +16,6 @@
  */
 package br.com.webbudget.infrastructure.initializer.tasks;
 
-import br.com.webbudget.domain.entities.configuration.Authorization;
 import br.com.webbudget.domain.entities.configuration.Grant;
 import br.com.webbudget.domain.entities.configuration.Group;
 import br.com.webbudget.domain.repositories.configuration.AuthorizationRepository;
@@ -29,6 +28,8 @@ import org.apache.deltaspike.core.api.exclude.Exclude;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.apache.deltaspike.core.api.projectstage.ProjectStage.Production;
 import static org.apache.deltaspike.core.api.projectstage.ProjectStage.SystemTest;
@@ -64,8 +65,11 @@ public class CreateAdminGroupTask extends TransactionalInitializationTask {
 
         if (!group.isSaved()) {
             this.groupRepository.save(group);
-            final List<Authorization> authorizations = this.authorizationRepository.findAll();
-            authorizations.forEach(authorization -> this.grantRepository.save(new Grant(group, authorization)));
+            final List<Grant> grants = this.authorizationRepository.findAll()
+                    .stream()
+                    .map(authorization -> new Grant(group, authorization))
+                    .collect(Collectors.toList());
+            this.grantRepository.saveAll(grants);
         }
     }
 
@@ -78,4 +82,14 @@ public class CreateAdminGroupTask extends TransactionalInitializationTask {
     public int getPriority() {
         return 1;
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public Set<Class<? extends InitializationTask>> getDependencies() {
+        return Set.of(CreateAuthorizationsTask.class);
+    }
 }
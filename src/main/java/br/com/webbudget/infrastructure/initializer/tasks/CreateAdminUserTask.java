@@ -29,6 +29,7 @@ import org.apache.deltaspike.core.api.projectstage.ProjectStage.SystemTest;
 
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
+import java.util.Set;
 
 /**
  * {@link InitializationTask} used to create the default admin {@link User}
@@ -82,4 +83,14 @@ public class CreateAdminUserTask extends TransactionalInitializationTask {
     public int getPriority() {
         return 2;
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public Set<Class<? extends InitializationTask>> getDependencies() {
+        return Set.of(CreateAdminGroupTask.class);
+    }
 }
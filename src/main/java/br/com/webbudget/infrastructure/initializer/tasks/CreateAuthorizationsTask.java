@@ -25,6 +25,10 @@ import org.apache.deltaspike.core.api.exclude.Exclude;
 
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.apache.deltaspike.core.api.projectstage.ProjectStage.Production;
 import static org.apache.deltaspike.core.api.projectstage.ProjectStage.SystemTest;
@@ -52,8 +56,25 @@ public class CreateAuthorizationsTask extends TransactionalInitializationTask {
      */
     @Override
     public void runInsideTransaction() {
-        this.permissions.toAuthorizationList().forEach(auth -> this.authorizationRepository
-                .findByFunctionalityAndPermission(auth.getFunctionality(), auth.getPermission())
-                .ifPresentOrElse(saved -> {/* do nothing */}, () -> this.authorizationRepository.save(auth)));
+
+        // one query to know what is already there instead of one for each authorization
+        final Set<String> saved = new HashSet<>(this.authorizationRepository.findFullPermissions());
+
+        final List<Authorization> missing = this.permissions.toAuthorizationList()
+                .stream()
+                .filter(authorization -> !saved.contains(authorization.getFullPermission()))
+                .collect(Collectors.toList());
+
+        this.authorizationRepository.saveAll(missing);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public Set<Class<? extends InitializationTask>> getDependencies() {
+        return Set.of(FlywayMigrationsTask.class);
     }
 }
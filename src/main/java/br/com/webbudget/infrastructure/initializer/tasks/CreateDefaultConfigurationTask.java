@@ -31,6 +31,7 @@ import org.apache.deltaspike.core.api.projectstage.ProjectStage;
 
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
+import java.util.Set;
 
 /**
  * {@link InitializationTask} to create the default system {@link Configuration}
@@ -95,4 +96,14 @@ public class CreateDefaultConfigurationTask extends TransactionalInitializationT
             this.configurationRepository.save(configuration);
         });
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public Set<Class<? extends InitializationTask>> getDependencies() {
+        return Set.of(FlywayMigrationsTask.class);
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.initializer.tasks;
+
+import br.com.webbudget.domain.logics.LogicChainRegistry;
+import br.com.webbudget.infrastructure.initializer.InitializationTask;
+
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+
+/**
+ * {@link InitializationTask} to resolve all the chains of business logic before the first request
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 27/10/2019
+ */
+@Dependent
+public class ResolveLogicChainsTask implements InitializationTask {
+
+    @Inject
+    private LogicChainRegistry logicChainRegistry;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run() {
+        this.logicChainRegistry.resolveAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public int getPriority() {
+        return 10;
+    }
+}
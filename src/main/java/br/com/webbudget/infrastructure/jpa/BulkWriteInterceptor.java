@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.jpa;
+
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InvocationContext;
+
+/**
+ * Interceptor to record in the {@link ReplicaRouter} the changes made by the methods marked with {@link BulkWrite},
+ * Hibernate fires no event for them so the {@link WriteTrackingIntegrator} never sees these changes
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@BulkWrite
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION + 15)
+public class BulkWriteInterceptor {
+
+    @Inject
+    private ReplicaRouter replicaRouter;
+
+    /**
+     * Proceed with the call and record the change, inside a transaction it is recorded only after the commit
+     *
+     * @param context the context of the call
+     * @return the result of the call
+     * @throws Exception if the call fail
+     */
+    @AroundInvoke
+    public Object intercept(InvocationContext context) throws Exception {
+        final Object result = context.proceed();
+        this.replicaRouter.recordWrite();
+        return result;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.jpa;
+
+import br.com.webbudget.domain.entities.PersistentEntity;
+import br.com.webbudget.domain.events.EntityDeleted;
+import br.com.webbudget.domain.events.EntitySaved;
+
+import javax.enterprise.event.Event;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import javax.persistence.EntityListeners;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * JPA listener to turn the lifecycle of an entity in CDI events, use it with the {@link EntityListeners} annotation
+ * in the entities whose changes should be observed by other parts of the application
+ *
+ * The events are fired at the flush, inside the transaction, so the observers interested only in committed data must
+ * use the {@link TransactionPhase#AFTER_SUCCESS} phase
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 26/10/2019
+ */
+public class EntityEventsListener {
+
+    @Inject
+    @EntitySaved
+    private Event<PersistentEntity> entitySavedEvent;
+    @Inject
+    @EntityDeleted
+    private Event<PersistentEntity> entityDeletedEvent;
+
+    /**
+     * Fire the {@link EntitySaved} event after the entity is inserted or updated
+     *
+     * @param entity the saved entity
+     */
+    @PostPersist
+    @PostUpdate
+    public void afterSave(PersistentEntity entity) {
+        this.entitySavedEvent.fire(entity);
+    }
+
+    /**
+     * Fire the {@link EntityDeleted} event after the entity is removed
+     *
+     * @param entity the removed entity
+     */
+    @PostRemove
+    public void afterRemove(PersistentEntity entity) {
+        this.entityDeletedEvent.fire(entity);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.jpa;
+
+import br.com.webbudget.application.components.dto.PeriodStatistics;
+import br.com.webbudget.infrastructure.utils.JsonUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import javax.persistence.AttributeConverter;
+import java.io.IOException;
+
+/**
+ * JPA converter to persist the {@link PeriodStatistics} as a JSON document
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 24/10/2019
+ */
+public class PeriodStatisticsConverter implements AttributeConverter<PeriodStatistics, String> {
+
+    /**
+     * {@inheritDoc }
+     *
+     * @param attribute
+     * @return
+     */
+    @Override
+    public String convertToDatabaseColumn(PeriodStatistics attribute) {
+        try {
+            return attribute != null ? JsonUtils.serialize(attribute) : null;
+        } catch (JsonProcessingException ex) {
+            throw new RuntimeException("Can't serialize the period statistics to JSON", ex);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     *
+     * @param dbData
+     * @return
+     */
+    @Override
+    public PeriodStatistics convertToEntityAttribute(String dbData) {
+        try {
+            return dbData != null ? JsonUtils.deserialize(dbData, PeriodStatistics.class) : null;
+        } catch (IOException ex) {
+            throw new RuntimeException("Can't read the period statistics from JSON", ex);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.jpa;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+
+import javax.annotation.Priority;
+import javax.annotation.Resource;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InvocationContext;
+import javax.transaction.Status;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Interceptor to run the methods marked with {@link ReadOnly} with the Hibernate session in read-only mode and with the
+ * manual flush, restoring the previous mode after the call
+ *
+ * The session changed is the one the {@link RoutingEntityManagerResolver} gives to the repositories, it runs inside the
+ * {@link ReadReplicaInterceptor} so the database of the call is already chosen
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 26/10/2019
+ */
+@ReadOnly
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION + 10)
+public class ReadOnlyInterceptor {
+
+    @Inject
+    private RoutingEntityManagerResolver entityManagerResolver;
+
+    @Resource
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    /**
+     * Put the session in read-only mode, if it is not already, and proceed with the call
+     *
+     * @param context the context of the call
+     * @return the result of the call
+     * @throws Exception if the call fail
+     */
+    @AroundInvoke
+    public Object intercept(InvocationContext context) throws Exception {
+
+        if (this.transactionRegistry.getTransactionStatus() != Status.STATUS_NO_TRANSACTION) {
+            return context.proceed();
+        }
+
+        final Session session = this.entityManagerResolver.resolveEntityManager().unwrap(Session.class);
+
+        // nested calls run in the mode already set by the outer one
+        if (session.isDefaultReadOnly()) {
+            return context.proceed();
+        }
+
+        final FlushMode flushMode = session.getHibernateFlushMode();
+
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+        try {
+            return context.proceed();
+        } finally {
+            session.setDefaultReadOnly(false);
+            session.setHibernateFlushMode(flushMode);
+        }
+    }
+}
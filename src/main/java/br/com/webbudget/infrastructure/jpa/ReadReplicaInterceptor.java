@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.jpa;
+
+import br.com.webbudget.infrastructure.cache.CachedResult;
+import br.com.webbudget.infrastructure.cache.ResultCache;
+
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InvocationContext;
+import java.lang.reflect.Method;
+
+/**
+ * Interceptor to run the methods marked with {@link ReadReplica} on the read replica when it can serve them
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@ReadReplica
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION + 5)
+public class ReadReplicaInterceptor {
+
+    private static final int DEFAULT_MAX_LAG = 10;
+
+    @Inject
+    private ReplicaRouter replicaRouter;
+
+    /**
+     * Choose the database for the call, the nested calls run on the database chosen by the outer one
+     *
+     * @param context the context of the call
+     * @return the result of the call
+     * @throws Exception if the call fail
+     */
+    @AroundInvoke
+    public Object intercept(InvocationContext context) throws Exception {
+
+        final boolean cached = this.isCached(context.getMethod());
+
+        // a cached call inside one routed to the replica is checked again, it needs a replica more up to date
+        if (this.replicaRouter.isRouted() && !(cached && this.replicaRouter.isOnReplica())) {
+            return context.proceed();
+        }
+
+        return this.replicaRouter.route(this.replicaRouter.canRead(this.maxLagOf(context), cached), context::proceed);
+    }
+
+    /**
+     * Check if the result of the method is kept by the {@link ResultCache}
+     *
+     * @param method the method called
+     * @return true if it is, false otherwise
+     */
+    private boolean isCached(Method method) {
+        return method.isAnnotationPresent(CachedResult.class)
+                || method.getDeclaringClass().isAnnotationPresent(CachedResult.class);
+    }
+
+    /**
+     * Read the maximum lag accepted by the call, the {@link ReadReplica} of the method has precedence over the one of
+     * the type
+     *
+     * @param context the context of the call
+     * @return the maximum lag in seconds
+     */
+    private int maxLagOf(InvocationContext context) {
+
+        final Method method = context.getMethod();
+
+        ReadReplica readReplica = method.getAnnotation(ReadReplica.class);
+
+        if (readReplica == null) {
+            readReplica = method.getDeclaringClass().getAnnotation(ReadReplica.class);
+        }
+
+        if (readReplica == null && context.getTarget() != null) {
+            readReplica = context.getTarget().getClass().getAnnotation(ReadReplica.class);
+        }
+
+        return readReplica != null ? readReplica.maxLag() : DEFAULT_MAX_LAG;
+    }
+}
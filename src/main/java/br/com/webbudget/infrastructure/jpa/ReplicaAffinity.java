@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.jpa;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.enterprise.context.SessionScoped;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Keep the time of the last change made by the user of the session, the reads of the user go to the primary database
+ * until the replica has received this change
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@SessionScoped
+public class ReplicaAffinity implements Serializable {
+
+    @Getter
+    @Setter
+    private volatile Instant lastWrite;
+}
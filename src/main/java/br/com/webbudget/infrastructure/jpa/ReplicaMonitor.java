@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.jpa;
+
+import br.com.webbudget.infrastructure.utils.Configurations;
+import lombok.Getter;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+import javax.persistence.PersistenceUnit;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Watch the lag of the read replica, the lag is read from the replica at most once per interval configured at the
+ * persistence.replica.lag-check-interval property
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@ApplicationScoped
+public class ReplicaMonitor {
+
+    // zero when the datasource is not a replica or it has replayed everything received from the primary
+    private static final String LAG_QUERY = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private Duration checkInterval;
+
+    private volatile Status status;
+
+    @Inject
+    private Logger logger;
+
+    @PersistenceUnit(unitName = "webBudgetReplicaPU")
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Read the configuration of the monitor
+     */
+    @PostConstruct
+    protected void initialize() {
+        this.checkInterval = Duration.ofSeconds(Configurations.getAsInteger("persistence.replica.lag-check-interval"));
+    }
+
+    /**
+     * Check if the replica can serve a read
+     *
+     * @param maxLag the maximum lag accepted, in seconds
+     * @param lastWrite the last change the read must see, null if there is none
+     * @return true if the replica is available, the lag is acceptable and the last change was already replayed
+     */
+    public boolean canServe(int maxLag, Instant lastWrite) {
+
+        final Status current = this.getStatus();
+
+        if (!current.isAvailable() || current.getLag().getSeconds() > maxLag) {
+            return false;
+        }
+
+        return lastWrite == null || !lastWrite.isAfter(current.getReplayedUntil());
+    }
+
+    /**
+     * @return the current {@link Status} of the replica, checked again if the last one is older than the interval
+     */
+    private Status getStatus() {
+
+        final Status current = this.status;
+
+        if (current != null && current.getCheckedOn().plus(this.checkInterval).isAfter(Instant.now())) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (this.status == current) {
+                this.status = this.check();
+            }
+            return this.status;
+        }
+    }
+
+    /**
+     * Read the lag from the replica, when it can't be read the replica is considered unavailable until the next check
+     *
+     * @return the {@link Status} of the replica
+     */
+    private Status check() {
+
+        final Instant checkedOn = Instant.now();
+
+        final EntityManager entityManager = this.entityManagerFactory.createEntityManager();
+        try {
+            final Number seconds = (Number) entityManager.createNativeQuery(LAG_QUERY).getSingleResult();
+            return new Status(checkedOn, Duration.ofMillis(Math.round(seconds.doubleValue() * 1000)), true);
+        } catch (PersistenceException ex) {
+            this.logger.warn("Can't read the lag of the replica, reads will go to the primary database", ex);
+            return new Status(checkedOn, Duration.ZERO, false);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * The state of the replica at a moment
+     */
+    private static final class Status {
+
+        @Getter
+        private final Instant checkedOn;
+        @Getter
+        private final Duration lag;
+        @Getter
+        private final boolean available;
+
+        /**
+         * Constructor...
+         *
+         * @param checkedOn when the replica was checked
+         * @param lag the lag of the replica
+         * @param available if the replica could be reached
+         */
+        Status(Instant checkedOn, Duration lag, boolean available) {
+            this.checkedOn = checkedOn;
+            this.lag = lag;
+            this.available = available;
+        }
+
+        /**
+         * @return the moment until which every change committed on the primary is visible on the replica
+         */
+        Instant getReplayedUntil() {
+            return this.checkedOn.minus(this.lag);
+        }
+    }
+}
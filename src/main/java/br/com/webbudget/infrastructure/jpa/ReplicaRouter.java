@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.jpa;
+
+import br.com.webbudget.infrastructure.cluster.CacheInvalidation;
+import br.com.webbudget.infrastructure.cluster.PeerInvalidation;
+import br.com.webbudget.infrastructure.utils.Configurations;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+import java.time.Instant;
+import java.util.concurrent.Callable;
+
+/**
+ * Decide which database serves the calls marked with {@link ReadReplica} and keep the choice for the current thread,
+ * so the {@link RoutingEntityManagerResolver} can give the right {@link javax.persistence.EntityManager} to the
+ * repositories called
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 28/10/2019
+ */
+@ApplicationScoped
+public class ReplicaRouter {
+
+    private static final ThreadLocal<Boolean> ROUTE = new ThreadLocal<>();
+
+    private static final String WRITE_TRACKED = ReplicaRouter.class.getName() + ".writeTracked";
+
+    private boolean enabled;
+
+    // the last change made by any user, here or on other node, the cached results must see it
+    private volatile Instant lastWriteOfAll;
+
+    @Inject
+    private ReplicaMonitor replicaMonitor;
+    @Inject
+    private ReplicaAffinity replicaAffinity;
+
+    @Resource
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    /**
+     * Read the configuration of the replica
+     */
+    @PostConstruct
+    protected void initialize() {
+        this.enabled = Configurations.getAsBoolean("persistence.replica.enabled");
+    }
+
+    /**
+     * Check if the replica can serve a call, it can if there is no transaction running, the lag is acceptable and the
+     * changes made by the current user were already replicated
+     *
+     * The results kept in the cache are shared by all users, so for them the replica must have every change made
+     * until now, otherwise an old result could be cached again right after its invalidation
+     *
+     * @param maxLag the maximum lag accepted, in seconds
+     * @param cached if the result of the call goes to the cache
+     * @return true if the replica can serve the call, false otherwise
+     */
+    public boolean canRead(int maxLag, boolean cached) {
+
+        if (!this.enabled || this.isTransactionActive()) {
+            return false;
+        }
+
+        return this.replicaMonitor.canServe(maxLag, cached ? this.lastWriteOfAll : this.getLastWrite());
+    }
+
+    /**
+     * Run a call on the chosen database
+     *
+     * @param replica true to run on the replica, false to run on the primary
+     * @param call the call to be made
+     * @return the result of the call
+     * @throws Exception if the call fail
+     */
+    public Object route(boolean replica, Callable<Object> call) throws Exception {
+
+        final Boolean previous = ROUTE.get();
+
+        ROUTE.set(replica);
+        try {
+            return call.call();
+        } finally {
+            if (previous == null) {
+                ROUTE.remove();
+            } else {
+                ROUTE.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return true if the database was already chosen for the current thread
+     */
+    public boolean isRouted() {
+        return ROUTE.get() != null;
+    }
+
+    /**
+     * Check if the current thread should use the replica, a transaction started inside a routed call always goes to
+     * the primary
+     *
+     * @return true if the replica should be used, false otherwise
+     */
+    public boolean isOnReplica() {
+        return Boolean.TRUE.equals(ROUTE.get()) && !this.isTransactionActive();
+    }
+
+    /**
+     * Record that the current user has changed the database, so the next reads wait for the replica to catch up
+     *
+     * Inside a transaction the change is recorded only after the commit, once for each transaction, the rolled back
+     * ones changed nothing
+     */
+    public void recordWrite() {
+
+        if (!this.enabled) {
+            return;
+        }
+
+        if (!this.isTransactionActive()) {
+            this.recordWriteNow();
+            return;
+        }
+
+        if (this.transactionRegistry.getResource(WRITE_TRACKED) == null) {
+            this.transactionRegistry.putResource(WRITE_TRACKED, Boolean.TRUE);
+            this.transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                    // nothing to do before the commit
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        ReplicaRouter.this.recordWriteNow();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Mark the current time as the time of the last change, for all users and for the current one
+     */
+    private void recordWriteNow() {
+
+        final Instant now = Instant.now();
+
+        this.lastWriteOfAll = now;
+        try {
+            this.replicaAffinity.setLastWrite(now);
+        } catch (ContextNotActiveException ex) {
+            // changes made by the background jobs have no user waiting to read them
+        }
+    }
+
+    /**
+     * The invalidations of the other nodes come after changes made there
+     *
+     * @param invalidation the {@link CacheInvalidation} received
+     */
+    protected void onPeerInvalidation(@Observes @PeerInvalidation CacheInvalidation invalidation) {
+        this.lastWriteOfAll = Instant.now();
+    }
+
+    /**
+     * @return the time of the last change made by the current user, null if there is none
+     */
+    private Instant getLastWrite() {
+        try {
+            return this.replicaAffinity.getLastWrite();
+        } catch (ContextNotActiveException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * @return true if there is a transaction running for the current thread
+     */
+    private boolean isTransactionActive() {
+        return this.transactionRegistry.getTransactionStatus() != Status.STATUS_NO_TRANSACTION;
+    }
+}
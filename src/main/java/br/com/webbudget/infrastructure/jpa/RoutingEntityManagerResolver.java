@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.jpa;
+
+import br.com.webbudget.infrastructure.cdi.qualifiers.Replica;
+import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerResolver;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+
+/**
+ * The {@link EntityManagerResolver} of the repositories with {@link ReadReplica} methods, it gives the replica
+ * {@link EntityManager} to the calls routed by the {@link ReplicaRouter} and the primary to all the others
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@ApplicationScoped
+public class RoutingEntityManagerResolver implements EntityManagerResolver {
+
+    @Inject
+    private ReplicaRouter replicaRouter;
+
+    @Inject
+    private EntityManager entityManager;
+    @Inject
+    @Replica
+    private EntityManager replicaEntityManager;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public EntityManager resolveEntityManager() {
+        return this.replicaRouter.isOnReplica() ? this.replicaEntityManager : this.entityManager;
+    }
+}
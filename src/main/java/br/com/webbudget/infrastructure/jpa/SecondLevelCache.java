@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.jpa;
+
+import br.com.webbudget.domain.entities.PersistentEntity;
+import br.com.webbudget.domain.events.EntityDeleted;
+import br.com.webbudget.domain.events.EntitySaved;
+import br.com.webbudget.infrastructure.cluster.CacheInvalidation;
+import br.com.webbudget.infrastructure.cluster.InvalidationBus;
+import br.com.webbudget.infrastructure.cluster.PeerInvalidation;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.persistence.Cacheable;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static javax.enterprise.event.TransactionPhase.AFTER_SUCCESS;
+
+/**
+ * Access point to the Hibernate second level and query cache of the application
+ *
+ * Changes made through the {@link javax.persistence.EntityManager} are invalidated by Hibernate, use this class when
+ * the database is changed outside of it (plain JDBC, migrations, bulk updates) and to read the cache statistics
+ *
+ * The cache of each node is local, so the changes of the cached entities are published by the {@link InvalidationBus}
+ * and the other nodes evict the same entities and their query results
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 21/10/2019
+ */
+@ApplicationScoped
+public class SecondLevelCache {
+
+    private static final String REGION = "entity";
+    private static final String KEY_SEPARATOR = "#";
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private InvalidationBus invalidationBus;
+
+    @PersistenceUnit(unitName = "webBudgetPU")
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Evict all the entities and the query results from the cache
+     */
+    public void evictAll() {
+        this.entityManagerFactory.getCache().evictAll();
+        this.getSessionFactory().getCache().evictQueryRegions();
+        this.invalidationBus.publishAll(REGION);
+        this.logger.info("Second level and query cache evicted");
+    }
+
+    /**
+     * Evict some entities of a type and all the query results, use it after bulk updates to tell the other nodes
+     *
+     * @param type the type of the entities
+     * @param ids the ids of the entities
+     */
+    public void evict(Class<? extends PersistentEntity> type, Collection<Long> ids) {
+
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        ids.forEach(id -> this.entityManagerFactory.getCache().evict(type, id));
+        this.getSessionFactory().getCache().evictQueryRegions();
+
+        this.invalidationBus.publish(REGION, ids.stream()
+                .map(id -> type.getName() + KEY_SEPARATOR + id)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Publish the change of a cached entity after the commit
+     *
+     * @param entity the saved entity
+     */
+    public void afterSave(@Observes(during = AFTER_SUCCESS) @EntitySaved PersistentEntity entity) {
+        this.publish(entity);
+    }
+
+    /**
+     * Publish the removal of a cached entity after the commit
+     *
+     * @param entity the deleted entity
+     */
+    public void afterDelete(@Observes(during = AFTER_SUCCESS) @EntityDeleted PersistentEntity entity) {
+        this.publish(entity);
+    }
+
+    /**
+     * Evict the entities changed by the other nodes, the query results are always evicted because any of them can
+     * include the changed entities
+     *
+     * @param invalidation the {@link CacheInvalidation} received
+     */
+    protected void onPeerInvalidation(@Observes @PeerInvalidation CacheInvalidation invalidation) {
+
+        if (!invalidation.isOf(REGION)) {
+            return;
+        }
+
+        if (invalidation.isAll()) {
+            this.entityManagerFactory.getCache().evictAll();
+        } else {
+            invalidation.getKeys().forEach(this::evict);
+        }
+
+        this.getSessionFactory().getCache().evictQueryRegions();
+    }
+
+    /**
+     * @return the global cache statistics, the hit, miss and put counts of the entity and query cache
+     */
+    public Map<String, Long> getStatistics() {
+
+        final Statistics statistics = this.getSessionFactory().getStatistics();
+
+        final Map<String, Long> values = new LinkedHashMap<>();
+
+        values.put("entity.hit", statistics.getSecondLevelCacheHitCount());
+        values.put("entity.miss", statistics.getSecondLevelCacheMissCount());
+        values.put("entity.put", statistics.getSecondLevelCachePutCount());
+        values.put("query.hit", statistics.getQueryCacheHitCount());
+        values.put("query.miss", statistics.getQueryCacheMissCount());
+        values.put("query.put", statistics.getQueryCachePutCount());
+
+        return values;
+    }
+
+    /**
+     * @return the statistics of each entity region of the cache, by the name of the region
+     */
+    public Map<String, CacheRegionStatistics> getRegionStatistics() {
+
+        final Statistics statistics = this.getSessionFactory().getStatistics();
+
+        final Map<String, CacheRegionStatistics> regions = new LinkedHashMap<>();
+
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            final CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            if (regionStatistics != null) {
+                regions.put(region, regionStatistics);
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * Publish the change of an entity if it is kept in the cache
+     *
+     * @param entity the entity changed
+     */
+    private void publish(PersistentEntity entity) {
+
+        final Class<?> type = Hibernate.getClass(entity);
+
+        if (type.isAnnotationPresent(Cacheable.class)) {
+            this.invalidationBus.publish(REGION, List.of(type.getName() + KEY_SEPARATOR + entity.getId()));
+        }
+    }
+
+    /**
+     * Evict one entity changed by other node
+     *
+     * @param key the type and the id of the entity
+     */
+    private void evict(String key) {
+
+        final int separator = key.lastIndexOf(KEY_SEPARATOR);
+
+        try {
+            final Class<?> type = Class.forName(key.substring(0, separator), false,
+                    SecondLevelCache.class.getClassLoader());
+            this.entityManagerFactory.getCache().evict(type, Long.valueOf(key.substring(separator + 1)));
+        } catch (ClassNotFoundException | RuntimeException ex) {
+            this.logger.warn("Can't evict the entity {} changed by other node", key, ex);
+        }
+    }
+
+    /**
+     * @return the Hibernate {@link SessionFactory} behind the {@link EntityManagerFactory}
+     */
+    private SessionFactory getSessionFactory() {
+        return this.entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
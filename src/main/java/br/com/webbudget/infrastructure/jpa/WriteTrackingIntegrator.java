@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.jpa;
+
+import org.apache.deltaspike.core.api.provider.BeanProvider;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Register a listener for the rows really written by Hibernate, the {@link ReplicaRouter} is told about the change and
+ * the next reads of the user wait for the replica to catch up only when the transaction committed something
+ *
+ * The bulk JPQL and the native statements fire no event, the methods using them are marked with {@link BulkWrite}
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 28/10/2019
+ */
+public class WriteTrackingIntegrator implements Integrator {
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param metadata
+     * @param sessionFactory
+     * @param serviceRegistry
+     */
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                          SessionFactoryServiceRegistry serviceRegistry) {
+
+        final WriteListener listener = new WriteListener();
+
+        final EventListenerRegistry registry = serviceRegistry.getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param sessionFactory
+     * @param serviceRegistry
+     */
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        // nothing to release
+    }
+
+    /**
+     * The listener of the changes flushed, the inserts, updates and deletes of the entities and of their collections
+     */
+    private static final class WriteListener implements PostInsertEventListener, PostUpdateEventListener,
+            PostDeleteEventListener, PostCollectionRecreateEventListener, PostCollectionUpdateEventListener,
+            PostCollectionRemoveEventListener {
+
+        // the session factory starts before the CDI container, so the router is taken at the first change
+        private transient ReplicaRouter replicaRouter;
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param event
+         */
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            this.recordWrite();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param event
+         */
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            this.recordWrite();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param event
+         */
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            this.recordWrite();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param event
+         */
+        @Override
+        public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+            this.recordWrite();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param event
+         */
+        @Override
+        public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+            this.recordWrite();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param event
+         */
+        @Override
+        public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+            this.recordWrite();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param persister
+         * @return
+         */
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+
+        /**
+         * Still abstract in this version of Hibernate, it only gives the answer of
+         * {@link #requiresPostCommitHandling(EntityPersister)}
+         *
+         * @param persister the {@link EntityPersister} of the entity
+         * @return the same of {@link #requiresPostCommitHandling(EntityPersister)}
+         * @deprecated use {@link #requiresPostCommitHandling(EntityPersister)}
+         */
+        @Override
+        @Deprecated
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return this.requiresPostCommitHandling(persister);
+        }
+
+        /**
+         * Tell the {@link ReplicaRouter} about the change, it is recorded after the commit of the transaction
+         */
+        private void recordWrite() {
+            if (this.replicaRouter == null) {
+                this.replicaRouter = BeanProvider.getContextualReference(ReplicaRouter.class, false);
+            }
+            this.replicaRouter.recordWrite();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.metrics;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The measures of a method: the time of the calls, the errors and the calls in flight
+ *
+ * The times are kept in a fixed histogram with four buckets for each power of two of nanoseconds, so recording a call
+ * is a few atomic increments without any allocation and the quantiles are estimated with an error of at most 25%
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 27/10/2019
+ */
+public final class MethodTimer {
+
+    private static final int SUB_BUCKETS = 4;
+    private static final int MAX_EXPONENT = 40;
+
+    @Getter
+    private final String className;
+    @Getter
+    private final String methodName;
+
+    private final AtomicLongArray buckets;
+
+    private final LongAdder count;
+    private final LongAdder totalNanos;
+    private final LongAdder errors;
+    private final AtomicInteger inFlight;
+
+    /**
+     * Constructor...
+     *
+     * @param className the name of the class of the method
+     * @param methodName the name of the method
+     */
+    MethodTimer(String className, String methodName) {
+
+        this.className = className;
+        this.methodName = methodName;
+
+        this.buckets = new AtomicLongArray((MAX_EXPONENT + 1) * SUB_BUCKETS);
+
+        this.count = new LongAdder();
+        this.totalNanos = new LongAdder();
+        this.errors = new LongAdder();
+        this.inFlight = new AtomicInteger();
+    }
+
+    /**
+     * Start the measure of a call
+     *
+     * @return the start time of the call, to be given back to {@link #stop(long)}
+     */
+    public long start() {
+        this.inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Finish the measure of a call
+     *
+     * @param start the value returned by {@link #start()}
+     */
+    public void stop(long start) {
+
+        final long elapsed = Math.max(0, System.nanoTime() - start);
+
+        this.buckets.incrementAndGet(bucketOf(elapsed));
+        this.totalNanos.add(elapsed);
+        this.count.increment();
+        this.inFlight.decrementAndGet();
+    }
+
+    /**
+     * Count a call finished with error
+     */
+    public void error() {
+        this.errors.increment();
+    }
+
+    /**
+     * @return the number of calls finished
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * @return the total time of the calls finished, in seconds
+     */
+    public double getTotalSeconds() {
+        return this.totalNanos.sum() / 1e9;
+    }
+
+    /**
+     * @return the number of calls finished with error
+     */
+    public long getErrors() {
+        return this.errors.sum();
+    }
+
+    /**
+     * @return the number of calls running now
+     */
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    /**
+     * Estimate the quantiles of the time of the calls
+     *
+     * @param quantiles the quantiles wanted, in ascending order
+     * @return the value of each quantile, in seconds
+     */
+    public double[] getQuantiles(double... quantiles) {
+
+        final long[] snapshot = new long[this.buckets.length()];
+
+        long total = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = this.buckets.get(i);
+            total += snapshot[i];
+        }
+
+        final double[] values = new double[quantiles.length];
+
+        if (total == 0) {
+            return values;
+        }
+
+        int bucket = 0;
+        long accumulated = snapshot[0];
+
+        for (int i = 0; i < quantiles.length; i++) {
+
+            final long rank = Math.max(1, (long) Math.ceil(quantiles[i] * total));
+
+            while (accumulated < rank && bucket < snapshot.length - 1) {
+                accumulated += snapshot[++bucket];
+            }
+            values[i] = upperBoundOf(bucket) / 1e9;
+        }
+        return values;
+    }
+
+    /**
+     * Find the bucket of a time
+     *
+     * @param nanos the time in nanoseconds
+     * @return the index of the bucket
+     */
+    static int bucketOf(long nanos) {
+
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+
+        final int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+
+        if (exponent > MAX_EXPONENT) {
+            return (MAX_EXPONENT + 1) * SUB_BUCKETS - 1;
+        }
+
+        final int subBucket = (int) (nanos >>> (exponent - 2)) & (SUB_BUCKETS - 1);
+
+        return exponent * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * The biggest time kept in a bucket
+     *
+     * @param bucket the index of the bucket
+     * @return the time in nanoseconds
+     */
+    static long upperBoundOf(int bucket) {
+
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        final int exponent = bucket / SUB_BUCKETS;
+        final int subBucket = bucket % SUB_BUCKETS;
+
+        return ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - 2)) - 1;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.metrics;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * The registry of the {@link MethodTimer} of each method measured by the {@link MeasuredInterceptor}
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 27/10/2019
+ */
+@ApplicationScoped
+public class MetricRegistry {
+
+    private final Map<Method, MethodTimer> timers;
+    private final Map<String, MethodTimer> timersByName;
+
+    /**
+     * Constructor...
+     */
+    public MetricRegistry() {
+        this.timers = new ConcurrentHashMap<>();
+        this.timersByName = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the {@link MethodTimer} of a method, creating it on the first call
+     *
+     * The overloads of a method share the same timer, as they are published with the same name
+     *
+     * @param method the method measured
+     * @return the {@link MethodTimer} of the method
+     */
+    public MethodTimer timerOf(Method method) {
+        return this.timers.computeIfAbsent(method, key ->
+                this.timerOf(key.getDeclaringClass().getSimpleName(), key.getName()));
+    }
+
+    /**
+     * Get the {@link MethodTimer} of a named operation, creating it on the first call
+     *
+     * @param className the name of the class running the operation
+     * @param methodName the name of the operation
+     * @return the {@link MethodTimer} of the operation
+     */
+    public MethodTimer timerOf(String className, String methodName) {
+        return this.timersByName.computeIfAbsent(className + "." + methodName,
+                name -> new MethodTimer(className, methodName));
+    }
+
+    /**
+     * @return all the {@link MethodTimer} registered, ordered by the class and the method name
+     */
+    public List<MethodTimer> getTimers() {
+        return this.timersByName.values()
+                .stream()
+                .sorted(Comparator.comparing(MethodTimer::getClassName).thenComparing(MethodTimer::getMethodName))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.metrics;
+
+import br.com.webbudget.infrastructure.utils.Configurations;
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * Access rule of the monitoring endpoints
+ *
+ * The caller must send the <code>metrics.token</code> configuration as a bearer token, when it is not set the
+ * endpoints are not exposed at all. The address of the caller is not trusted, behind a proxy on the same host every
+ * call would come from the local host
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 27/10/2019
+ */
+public final class MonitoringAccess {
+
+    /**
+     * Constructor...
+     */
+    private MonitoringAccess() { }
+
+    /**
+     * @return true if the monitoring endpoints are exposed, they are only when a token is configured
+     */
+    public static boolean isEnabled() {
+        return isNotBlank(Configurations.get("metrics.token"));
+    }
+
+    /**
+     * Check if the caller can read the monitoring endpoints
+     *
+     * @param request the request of the caller
+     * @return true if it can, false otherwise
+     */
+    public static boolean isAllowed(HttpServletRequest request) {
+
+        final String token = Configurations.get("metrics.token");
+
+        if (isBlank(token)) {
+            return false;
+        }
+
+        final String authorization = request.getHeader("Authorization");
+
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return false;
+        }
+
+        return MessageDigest.isEqual(token.trim().getBytes(StandardCharsets.UTF_8),
+                authorization.substring(7).trim().getBytes(StandardCharsets.UTF_8));
+    }
+}
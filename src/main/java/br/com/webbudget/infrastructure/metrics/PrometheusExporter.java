@@ -0,0 +1,356 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.metrics;
+
+import br.com.webbudget.infrastructure.cache.ResultCache;
+import br.com.webbudget.infrastructure.jpa.SecondLevelCache;
+import br.com.webbudget.infrastructure.session.SessionMemoryInspector;
+import br.com.webbudget.infrastructure.session.SessionRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+
+/**
+ * Write the metrics of the application in the Prometheus text format: the measures of the {@link Measured} methods,
+ * the JVM, the Hibernate statistics, the caches, the sessions and the connection pools of the datasources
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 27/10/2019
+ */
+@ApplicationScoped
+public class PrometheusExporter {
+
+    private static final String PREFIX = "webbudget_";
+
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    private static final String POOL_QUERY = "jboss.as:subsystem=datasources,data-source=*,statistics=pool";
+    private static final String[] POOL_ATTRIBUTES = {"ActiveCount", "AvailableCount", "InUseCount", "IdleCount",
+            "MaxUsedCount", "WaitCount", "TimedOut", "TotalBlockingTime", "MaxWaitTime"};
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private ResultCache resultCache;
+    @Inject
+    private MetricRegistry metricRegistry;
+    @Inject
+    private SessionRegistry sessionRegistry;
+    @Inject
+    private SecondLevelCache secondLevelCache;
+    @Inject
+    private SessionMemoryInspector sessionMemoryInspector;
+
+    @PersistenceUnit(unitName = "webBudgetPU")
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Write all the metrics
+     *
+     * @param writer to write the metrics
+     */
+    public void write(PrintWriter writer) {
+        this.writeMethods(writer);
+        this.writeJvm(writer);
+        this.writeHibernate(writer);
+        this.writeCaches(writer);
+        this.writeSessions(writer);
+        this.writeConnectionPools(writer);
+    }
+
+    /**
+     * Write the measures of the {@link Measured} methods
+     *
+     * @param writer to write the metrics
+     */
+    private void writeMethods(PrintWriter writer) {
+
+        header(writer, "method_seconds", "summary", "Time of the service and observer calls");
+
+        for (MethodTimer timer : this.metricRegistry.getTimers()) {
+
+            final String labels = labelsOf(timer);
+            final double[] values = timer.getQuantiles(QUANTILES);
+
+            for (int i = 0; i < QUANTILES.length; i++) {
+                sample(writer, "method_seconds", labels + ",quantile=\"" + QUANTILES[i] + "\"", values[i]);
+            }
+            sample(writer, "method_seconds_sum", labels, timer.getTotalSeconds());
+            sample(writer, "method_seconds_count", labels, timer.getCount());
+        }
+
+        header(writer, "method_errors_total", "counter", "Service and observer calls finished with error");
+        this.metricRegistry.getTimers().forEach(timer ->
+                sample(writer, "method_errors_total", labelsOf(timer), timer.getErrors()));
+
+        header(writer, "method_in_flight", "gauge", "Service and observer calls running now");
+        this.metricRegistry.getTimers().forEach(timer ->
+                sample(writer, "method_in_flight", labelsOf(timer), timer.getInFlight()));
+    }
+
+    /**
+     * Write the memory, threads, garbage collection and uptime of the JVM
+     *
+     * @param writer to write the metrics
+     */
+    private void writeJvm(PrintWriter writer) {
+
+        final MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        final MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+
+        header(writer, "jvm_memory_used_bytes", "gauge", "Memory used by the JVM");
+        sample(writer, "jvm_memory_used_bytes", "area=\"heap\"", heap.getUsed());
+        sample(writer, "jvm_memory_used_bytes", "area=\"nonheap\"", nonHeap.getUsed());
+
+        header(writer, "jvm_memory_committed_bytes", "gauge", "Memory committed to the JVM");
+        sample(writer, "jvm_memory_committed_bytes", "area=\"heap\"", heap.getCommitted());
+        sample(writer, "jvm_memory_committed_bytes", "area=\"nonheap\"", nonHeap.getCommitted());
+
+        header(writer, "jvm_memory_max_bytes", "gauge", "Maximum memory of the JVM");
+        sample(writer, "jvm_memory_max_bytes", "area=\"heap\"", heap.getMax());
+
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        header(writer, "jvm_threads", "gauge", "Threads of the JVM");
+        sample(writer, "jvm_threads", "state=\"live\"", threads.getThreadCount());
+        sample(writer, "jvm_threads", "state=\"daemon\"", threads.getDaemonThreadCount());
+        sample(writer, "jvm_threads", "state=\"peak\"", threads.getPeakThreadCount());
+
+        header(writer, "jvm_gc_collections_total", "counter", "Garbage collections of the JVM");
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample(writer, "jvm_gc_collections_total", label("gc", collector.getName()),
+                    collector.getCollectionCount());
+        }
+
+        header(writer, "jvm_gc_collection_seconds_total", "counter", "Time spent in garbage collection");
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample(writer, "jvm_gc_collection_seconds_total", label("gc", collector.getName()),
+                    collector.getCollectionTime() / 1e3);
+        }
+
+        header(writer, "jvm_classes_loaded", "gauge", "Classes loaded by the JVM");
+        sample(writer, "jvm_classes_loaded", null, ManagementFactory.getClassLoadingMXBean().getLoadedClassCount());
+
+        header(writer, "jvm_uptime_seconds", "gauge", "Uptime of the JVM");
+        sample(writer, "jvm_uptime_seconds", null, ManagementFactory.getRuntimeMXBean().getUptime() / 1e3);
+
+        header(writer, "system_load_average", "gauge", "System load average of the last minute");
+        sample(writer, "system_load_average", null,
+                ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage());
+    }
+
+    /**
+     * Write the Hibernate session, query and entity statistics
+     *
+     * @param writer to write the metrics
+     */
+    private void writeHibernate(PrintWriter writer) {
+
+        final Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+
+        header(writer, "hibernate_sessions_total", "counter", "Hibernate sessions");
+        sample(writer, "hibernate_sessions_total", "event=\"opened\"", statistics.getSessionOpenCount());
+        sample(writer, "hibernate_sessions_total", "event=\"closed\"", statistics.getSessionCloseCount());
+
+        header(writer, "hibernate_transactions_total", "counter", "Hibernate transactions");
+        sample(writer, "hibernate_transactions_total", "result=\"all\"", statistics.getTransactionCount());
+        sample(writer, "hibernate_transactions_total", "result=\"success\"",
+                statistics.getSuccessfulTransactionCount());
+
+        header(writer, "hibernate_statements_total", "counter", "JDBC statements and connections");
+        sample(writer, "hibernate_statements_total", "kind=\"prepared\"", statistics.getPrepareStatementCount());
+        sample(writer, "hibernate_statements_total", "kind=\"connection\"", statistics.getConnectCount());
+        sample(writer, "hibernate_statements_total", "kind=\"flush\"", statistics.getFlushCount());
+
+        header(writer, "hibernate_queries_total", "counter", "Queries executed by Hibernate");
+        sample(writer, "hibernate_queries_total", null, statistics.getQueryExecutionCount());
+
+        header(writer, "hibernate_query_max_seconds", "gauge", "Slowest query executed by Hibernate");
+        sample(writer, "hibernate_query_max_seconds", null, statistics.getQueryExecutionMaxTime() / 1e3);
+
+        header(writer, "hibernate_entities_total", "counter", "Entity operations of Hibernate");
+        sample(writer, "hibernate_entities_total", "operation=\"load\"", statistics.getEntityLoadCount());
+        sample(writer, "hibernate_entities_total", "operation=\"fetch\"", statistics.getEntityFetchCount());
+        sample(writer, "hibernate_entities_total", "operation=\"insert\"", statistics.getEntityInsertCount());
+        sample(writer, "hibernate_entities_total", "operation=\"update\"", statistics.getEntityUpdateCount());
+        sample(writer, "hibernate_entities_total", "operation=\"delete\"", statistics.getEntityDeleteCount());
+
+        header(writer, "hibernate_collections_total", "counter", "Collection operations of Hibernate");
+        sample(writer, "hibernate_collections_total", "operation=\"load\"", statistics.getCollectionLoadCount());
+        sample(writer, "hibernate_collections_total", "operation=\"fetch\"", statistics.getCollectionFetchCount());
+
+        header(writer, "hibernate_optimistic_failures_total", "counter", "Optimistic lock failures");
+        sample(writer, "hibernate_optimistic_failures_total", null, statistics.getOptimisticFailureCount());
+    }
+
+    /**
+     * Write the statistics of the second level cache and of the {@link ResultCache}
+     *
+     * @param writer to write the metrics
+     */
+    private void writeCaches(PrintWriter writer) {
+
+        header(writer, "hibernate_cache_total", "counter", "Hibernate second level and query cache requests");
+        for (Map.Entry<String, Long> entry : this.secondLevelCache.getStatistics().entrySet()) {
+            final String[] parts = entry.getKey().split("\\.");
+            sample(writer, "hibernate_cache_total", label("cache", parts[0]) + "," + label("result", parts[1]),
+                    entry.getValue());
+        }
+
+        final Map<String, Long> statistics = this.resultCache.getStatistics();
+
+        header(writer, "result_cache_total", "counter", "Result cache requests");
+        sample(writer, "result_cache_total", "result=\"hit\"", statistics.get("hit"));
+        sample(writer, "result_cache_total", "result=\"miss\"", statistics.get("miss"));
+
+        header(writer, "result_cache_size", "gauge", "Results kept in the result cache");
+        sample(writer, "result_cache_size", null, statistics.get("size"));
+    }
+
+    /**
+     * Write the number of active sessions and of the views they keep, the memory of each one is reported by the
+     * {@link br.com.webbudget.infrastructure.session.SessionMemoryServlet}
+     *
+     * @param writer to write the metrics
+     */
+    private void writeSessions(PrintWriter writer) {
+
+        header(writer, "sessions_active", "gauge", "Active HTTP sessions");
+        sample(writer, "sessions_active", null, this.sessionRegistry.getSessions().size());
+
+        header(writer, "session_views", "gauge", "Views with beans kept by the active sessions");
+        sample(writer, "session_views", null, this.sessionMemoryInspector.countViews());
+    }
+
+    /**
+     * Write the statistics of the connection pools published by the application server
+     *
+     * The statistics are only there when they are enabled in the datasource configuration, if not the metrics are
+     * just not written
+     *
+     * @param writer to write the metrics
+     */
+    private void writeConnectionPools(PrintWriter writer) {
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            final ObjectName[] pools = server.queryNames(new ObjectName(POOL_QUERY), null)
+                    .toArray(new ObjectName[0]);
+
+            if (pools.length == 0) {
+                return;
+            }
+
+            header(writer, "datasource_pool", "gauge", "Connection pool statistics of the datasources");
+
+            for (ObjectName pool : pools) {
+                for (String attribute : POOL_ATTRIBUTES) {
+                    try {
+                        final Object value = server.getAttribute(pool, attribute);
+                        if (value instanceof Number) {
+                            sample(writer, "datasource_pool", label("datasource", pool.getKeyProperty("data-source"))
+                                    + "," + label("statistic", attribute), ((Number) value).doubleValue());
+                        }
+                    } catch (Exception ex) {
+                        this.logger.debug("Can't read the statistic {} of the pool {}", attribute, pool, ex);
+                    }
+                }
+            }
+        } catch (Exception ex) {
+            this.logger.debug("Can't read the connection pool statistics", ex);
+        }
+    }
+
+    /**
+     * Write the help and type lines of a metric
+     *
+     * @param writer to write the lines
+     * @param name of the metric, without the prefix
+     * @param type of the metric
+     * @param help the description of the metric
+     */
+    private static void header(PrintWriter writer, String name, String type, String help) {
+        writer.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        writer.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Write a sample of a metric
+     *
+     * @param writer to write the sample
+     * @param name of the metric, without the prefix
+     * @param labels of the sample, can be null
+     * @param value of the sample
+     */
+    private static void sample(PrintWriter writer, String name, String labels, double value) {
+
+        writer.append(PREFIX).append(name);
+
+        if (labels != null) {
+            writer.append('{').append(labels).append('}');
+        }
+
+        writer.append(' ');
+
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            writer.append(Long.toString((long) value));
+        } else {
+            writer.append(Double.toString(value));
+        }
+        writer.append('\n');
+    }
+
+    /**
+     * @param timer the {@link MethodTimer}
+     * @return the labels to identify the method of the {@link MethodTimer}
+     */
+    private static String labelsOf(MethodTimer timer) {
+        return label("class", timer.getClassName()) + "," + label("method", timer.getMethodName());
+    }
+
+    /**
+     * Build a label escaping the value
+     *
+     * @param name of the label
+     * @param value of the label
+     * @return the label
+     */
+    private static String label(String name, String value) {
+        return name + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+}
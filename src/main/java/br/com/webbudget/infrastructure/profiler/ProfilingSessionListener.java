@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.profiler;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Hibernate session listener to record the time spent executing the statements in the {@link QueryProfile} of the
+ * current thread
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 27/10/2019
+ */
+public class ProfilingSessionListener extends BaseSessionEventListener {
+
+    private long executionStart;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void jdbcExecuteStatementStart() {
+        this.executionStart = System.nanoTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        this.record();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void jdbcExecuteBatchStart() {
+        this.executionStart = System.nanoTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        this.record();
+    }
+
+    /**
+     * Record the time since the start of the execution
+     */
+    private void record() {
+
+        final QueryProfile profile = QueryProfiler.current();
+
+        if (profile != null) {
+            profile.recordExecution(System.nanoTime() - this.executionStart);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.profiler;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate {@link StatementInspector} to record the statements prepared in the {@link QueryProfile} of the current
+ * thread, the SQL is never changed
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 27/10/2019
+ */
+public class ProfilingStatementInspector implements StatementInspector {
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param sql
+     * @return
+     */
+    @Override
+    public String inspect(String sql) {
+
+        final QueryProfile profile = QueryProfiler.current();
+
+        if (profile != null) {
+            profile.recordStatement(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.profiler;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The statements executed during a unit of work, usually a request, collected by the {@link QueryProfiler}
+ *
+ * The statements are grouped by their shape, the SQL without the literals and with the IN lists collapsed, so the
+ * same query executed for each row of a list (the N+1 problem) shows as one shape repeated many times
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 27/10/2019
+ */
+public final class QueryProfile {
+
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+    private static final Pattern LITERALS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LISTS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    @Getter
+    private final String name;
+    @Getter
+    private final long startedAt;
+
+    @Getter
+    private int statements;
+    @Getter
+    private long executionNanos;
+
+    private final Map<String, Integer> shapes;
+
+    /**
+     * Constructor...
+     *
+     * @param name of the unit of work profiled
+     */
+    QueryProfile(String name) {
+        this.name = name;
+        this.startedAt = System.nanoTime();
+        this.shapes = new HashMap<>();
+    }
+
+    /**
+     * Record a statement prepared to be executed
+     *
+     * @param sql the SQL of the statement
+     */
+    void recordStatement(String sql) {
+        this.statements++;
+        this.shapes.merge(shapeOf(sql), 1, Integer::sum);
+    }
+
+    /**
+     * Record the time spent executing a statement
+     *
+     * @param nanos the time spent
+     */
+    void recordExecution(long nanos) {
+        this.executionNanos += nanos;
+    }
+
+    /**
+     * @return the time elapsed since the start of the profile, in milliseconds
+     */
+    public long getElapsedMillis() {
+        return (System.nanoTime() - this.startedAt) / 1_000_000;
+    }
+
+    /**
+     * @return the time spent executing the statements, in milliseconds
+     */
+    public long getExecutionMillis() {
+        return this.executionNanos / 1_000_000;
+    }
+
+    /**
+     * Find the statement shapes executed at least the given number of times
+     *
+     * @param threshold the minimum number of executions of the same shape
+     * @return the shapes and the times they were executed, the most repeated first
+     */
+    public List<Map.Entry<String, Integer>> getRepeated(int threshold) {
+        return this.shapes.entrySet()
+                .stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Normalize a SQL statement to his shape
+     *
+     * @param sql the statement
+     * @return the shape of the statement
+     */
+    static String shapeOf(String sql) {
+        final String withoutLiterals = LITERALS.matcher(sql).replaceAll("?");
+        final String collapsed = IN_LISTS.matcher(withoutLiterals).replaceAll("(?)");
+        return WHITESPACES.matcher(collapsed).replaceAll(" ").trim();
+    }
+}
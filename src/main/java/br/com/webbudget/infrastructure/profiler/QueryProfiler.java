@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.profiler;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Keep the {@link QueryProfile} of the unit of work running in the current thread
+ *
+ * The statements are only recorded between {@link #start(String)} and {@link #stop()}, so outside of a profiled unit
+ * of work the hooks installed in Hibernate do nothing
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 27/10/2019
+ */
+public final class QueryProfiler {
+
+    private static final ThreadLocal<QueryProfile> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Constructor...
+     */
+    private QueryProfiler() { }
+
+    /**
+     * Start to profile the statements executed by the current thread
+     *
+     * @param name of the unit of work profiled
+     * @return the {@link QueryProfile} started
+     */
+    public static QueryProfile start(String name) {
+        final QueryProfile profile = new QueryProfile(name);
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    /**
+     * Stop to profile the current thread
+     *
+     * @return the {@link QueryProfile} finished, null if there was none
+     */
+    public static QueryProfile stop() {
+        final QueryProfile profile = CURRENT.get();
+        CURRENT.remove();
+        return profile;
+    }
+
+    /**
+     * @return the {@link QueryProfile} of the current thread, null if it is not profiled
+     */
+    static QueryProfile current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run a call checking the number of statements it executes, to be used by the tests to guard the calls against
+     * the N+1 problem
+     *
+     * @param maximum the maximum number of statements allowed
+     * @param call the call to be profiled
+     * @param <T> the type of the result
+     * @return the result of the call
+     * @throws Exception if the call fail
+     * @throws AssertionError if the call executes more statements than allowed
+     */
+    public static <T> T expectAtMost(int maximum, Callable<T> call) throws Exception {
+
+        final QueryProfile outer = CURRENT.get();
+        final QueryProfile profile = start("expectAtMost");
+
+        final T result;
+        try {
+            result = call.call();
+        } finally {
+            if (outer != null) {
+                CURRENT.set(outer);
+            } else {
+                CURRENT.remove();
+            }
+        }
+
+        if (profile.getStatements() > maximum) {
+            throw new AssertionError(String.format("Expected at most %d statements but %d were executed, "
+                    + "repeated: %s", maximum, profile.getStatements(), profile.getRepeated(2)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.profiler;
+
+import br.com.webbudget.infrastructure.utils.Configurations;
+import org.slf4j.Logger;
+
+import javax.inject.Inject;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Filter to profile the statements executed by each JSF request and log the views executing too many statements or
+ * the same statement too many times
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 27/10/2019
+ */
+@WebFilter("*.xhtml")
+public class QueryProfilerFilter implements Filter {
+
+    private int statementsThreshold;
+    private int repeatedThreshold;
+
+    @Inject
+    private Logger logger;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param filterConfig
+     */
+    @Override
+    public void init(FilterConfig filterConfig) {
+        this.statementsThreshold = Configurations.getAsInteger("profiler.statements-threshold");
+        this.repeatedThreshold = Configurations.getAsInteger("profiler.repeated-threshold");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param request
+     * @param response
+     * @param chain
+     * @throws IOException
+     * @throws ServletException
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        final String viewId = ((HttpServletRequest) request).getServletPath();
+
+        QueryProfiler.start(viewId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            this.report(QueryProfiler.stop());
+        }
+    }
+
+    /**
+     * Log the profile of the request if it is above the thresholds
+     *
+     * @param profile the {@link QueryProfile} of the request
+     */
+    private void report(QueryProfile profile) {
+
+        if (profile.getStatements() > this.statementsThreshold) {
+            this.logger.warn("View {} executed {} statements in {} ms of {} ms", profile.getName(),
+                    profile.getStatements(), profile.getExecutionMillis(), profile.getElapsedMillis());
+        }
+
+        for (Map.Entry<String, Integer> repeated : profile.getRepeated(this.repeatedThreshold)) {
+            this.logger.warn("View {} executed the same statement {} times, possible N+1: {}", profile.getName(),
+                    repeated.getValue(), repeated.getKey());
+        }
+
+        this.logger.debug("View {} executed {} statements in {} ms of {} ms", profile.getName(),
+                profile.getStatements(), profile.getExecutionMillis(), profile.getElapsedMillis());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() { }
+}
@@ -0,0 +1,412 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.search;
+
+import br.com.webbudget.application.components.dto.SearchEntry;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index used by the global search of the application
+ *
+ * Every term of the indexed entities points to a sorted posting list of primitive keys, each key carry the id of the
+ * entity and the ordinal of its {@link SearchType}, so the index keeps no object per occurrence. The terms are kept
+ * sorted to answer the prefix searches with a range of the map
+ *
+ * The index is built at the startup and kept updated by the {@link SearchIndexUpdater}
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 26/10/2019
+ */
+@ApplicationScoped
+public class SearchIndex {
+
+    private static final int TYPE_BITS = 3;
+    private static final long TYPE_MASK = (1L << TYPE_BITS) - 1;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+
+    private final NavigableMap<String, PostingList> postings;
+    private final Map<Long, Document> documents;
+
+    private final ReadWriteLock lock;
+
+    /**
+     * Constructor...
+     */
+    public SearchIndex() {
+        this.postings = new TreeMap<>();
+        this.documents = new HashMap<>();
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Index all the given entries of a type, the entries of the type already indexed and not in the list are removed
+     *
+     * @param type the {@link SearchType} of the entries
+     * @param entries the {@link SearchEntry} list to be indexed
+     */
+    public void replaceAll(SearchType type, Collection<SearchEntry> entries) {
+        this.lock.writeLock().lock();
+        try {
+            final List<Long> indexed = this.documents.keySet()
+                    .stream()
+                    .filter(key -> typeOf(key) == type)
+                    .collect(Collectors.toList());
+
+            indexed.forEach(this::unindex);
+            entries.forEach(entry -> this.index(type, entry));
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Index an entry, replacing the old terms if it was already indexed
+     *
+     * @param type the {@link SearchType} of the entry
+     * @param entry the {@link SearchEntry} to be indexed
+     */
+    public void put(SearchType type, SearchEntry entry) {
+        this.lock.writeLock().lock();
+        try {
+            this.index(type, entry);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove an entity from the index
+     *
+     * @param type the {@link SearchType} of the entity
+     * @param id the id of the entity
+     */
+    public void remove(SearchType type, long id) {
+        this.lock.writeLock().lock();
+        try {
+            this.unindex(keyOf(type, id));
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Search the entities with terms starting with every word of the query, the entities with a term equal to the most
+     * selective word of the query come first
+     *
+     * @param query the text typed by the user
+     * @param types the {@link SearchType} the user can see, the entities of other types are skipped
+     * @param limit the maximum number of results
+     * @return a {@link List} with the {@link SearchResult} found
+     */
+    public List<SearchResult> search(String query, Set<SearchType> types, int limit) {
+
+        final Set<String> words = tokenize(query, false);
+
+        if (words.isEmpty() || types.isEmpty()) {
+            return List.of();
+        }
+
+        final List<SearchResult> results = new ArrayList<>(limit);
+
+        this.lock.readLock().lock();
+        try {
+            // the word with the shortest postings drives the search, the others only filter its matches
+            final String driver = this.mostSelective(words);
+
+            if (driver == null) {
+                return results;
+            }
+
+            final List<String> others = words.stream()
+                    .filter(word -> !word.equals(driver))
+                    .collect(Collectors.toList());
+
+            final Set<Long> visited = new HashSet<>();
+
+            for (PostingList postingList : this.withPrefix(driver).values()) {
+                for (int i = 0; i < postingList.size && results.size() < limit; i++) {
+
+                    final long key = postingList.keys[i];
+                    final Document document = this.documents.get(key);
+
+                    if (types.contains(typeOf(key)) && visited.add(key) && document.matches(others)) {
+                        results.add(document.toResult(key));
+                    }
+                }
+                if (results.size() >= limit) {
+                    break;
+                }
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    /**
+     * @return the number of indexed entities
+     */
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.documents.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index the entry, the caller must hold the write lock
+     *
+     * @param type the {@link SearchType} of the entry
+     * @param entry the {@link SearchEntry} to be indexed
+     */
+    private void index(SearchType type, SearchEntry entry) {
+
+        final long key = keyOf(type, entry.getId());
+
+        this.unindex(key);
+
+        final Set<String> terms = tokenize(entry.getLabel(), false);
+        terms.addAll(tokenize(entry.getDetail(), true));
+
+        if (terms.isEmpty()) {
+            return;
+        }
+
+        terms.forEach(term -> this.postings.computeIfAbsent(term, t -> new PostingList()).add(key));
+
+        this.documents.put(key, new Document(entry.getLabel(), entry.getDetail(), terms.toArray(new String[0])));
+    }
+
+    /**
+     * Remove the key from the index, the caller must hold the write lock
+     *
+     * @param key the key of the entity
+     */
+    private void unindex(long key) {
+
+        final Document document = this.documents.remove(key);
+
+        if (document != null) {
+            for (String term : document.terms) {
+                final PostingList postingList = this.postings.get(term);
+                if (postingList != null && postingList.remove(key)) {
+                    this.postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * Find the word with the smallest number of postings, the caller must hold the read lock
+     *
+     * @param words the words of the query
+     * @return the most selective word or null if one of the words matches nothing
+     */
+    private String mostSelective(Set<String> words) {
+
+        String selected = null;
+        long selectedCount = Long.MAX_VALUE;
+
+        for (String word : words) {
+
+            long count = 0;
+
+            for (PostingList postingList : this.withPrefix(word).values()) {
+                count += postingList.size;
+                if (count >= selectedCount) {
+                    break;
+                }
+            }
+
+            if (count == 0) {
+                return null;
+            } else if (count < selectedCount) {
+                selected = word;
+                selectedCount = count;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * @param prefix the prefix of the terms
+     * @return the range of the postings with the terms starting with the prefix, exact match first
+     */
+    private SortedMap<String, PostingList> withPrefix(String prefix) {
+        return this.postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * Build the key of an entity in the posting lists
+     *
+     * @param type the {@link SearchType} of the entity
+     * @param id the id of the entity
+     * @return the key
+     */
+    private static long keyOf(SearchType type, long id) {
+        return (id << TYPE_BITS) | type.ordinal();
+    }
+
+    /**
+     * @param key the key of an entity in the posting lists
+     * @return the {@link SearchType} of the entity
+     */
+    private static SearchType typeOf(long key) {
+        return SearchType.values()[(int) (key & TYPE_MASK)];
+    }
+
+    /**
+     * Split the value in lower case terms without accents
+     *
+     * @param value the value to be split
+     * @param compact if the value without the separators should also be a term, done when indexing the detail to find
+     * documents, plates and codes typed without the punctuation
+     * @return the terms of the value
+     */
+    private static Set<String> tokenize(String value, boolean compact) {
+
+        final Set<String> terms = new LinkedHashSet<>();
+
+        if (value == null || value.isBlank()) {
+            return terms;
+        }
+
+        final String lowerCase = value.toLowerCase(Locale.ROOT);
+
+        // most of the values are plain ascii, only the others need to lose the accents
+        final String normalized = Normalizer.isNormalized(lowerCase, Normalizer.Form.NFKD) ? lowerCase
+                : MARKS.matcher(Normalizer.normalize(lowerCase, Normalizer.Form.NFD)).replaceAll("");
+
+        for (String term : SEPARATORS.split(normalized)) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+
+        if (compact && terms.size() > 1 && normalized.chars().anyMatch(Character::isDigit)) {
+            terms.add(String.join("", terms));
+        }
+
+        return terms;
+    }
+
+    /**
+     * A sorted and growable array of the keys of the entities with one term
+     */
+    private static final class PostingList {
+
+        private long[] keys = new long[2];
+        private int size;
+
+        /**
+         * Add a key keeping the order, the keys loaded in order at the startup are only appended
+         *
+         * @param key the key to add
+         */
+        void add(long key) {
+
+            int index = this.size;
+
+            if (this.size > 0 && this.keys[this.size - 1] >= key) {
+                index = Arrays.binarySearch(this.keys, 0, this.size, key);
+                if (index >= 0) {
+                    return;
+                }
+                index = -index - 1;
+            }
+
+            if (this.size == this.keys.length) {
+                this.keys = Arrays.copyOf(this.keys, this.size * 2);
+            }
+
+            System.arraycopy(this.keys, index, this.keys, index + 1, this.size - index);
+
+            this.keys[index] = key;
+            this.size++;
+        }
+
+        /**
+         * Remove a key
+         *
+         * @param key the key to remove
+         * @return true if the list is now empty, false otherwise
+         */
+        boolean remove(long key) {
+
+            final int index = Arrays.binarySearch(this.keys, 0, this.size, key);
+
+            if (index >= 0) {
+                System.arraycopy(this.keys, index + 1, this.keys, index, this.size - index - 1);
+                this.size--;
+            }
+            return this.size == 0;
+        }
+    }
+
+    /**
+     * The values of one indexed entity
+     */
+    private static final class Document {
+
+        private final String label;
+        private final String detail;
+        private final String[] terms;
+
+        /**
+         * Constructor...
+         *
+         * @param label the main text of the entity
+         * @param detail the secondary text of the entity
+         * @param terms all the terms of the entity
+         */
+        Document(String label, String detail, String[] terms) {
+            this.label = label;
+            this.detail = detail;
+            this.terms = terms;
+        }
+
+        /**
+         * @param words the words of the query
+         * @return true if every word is the prefix of one of the terms, false otherwise
+         */
+        boolean matches(List<String> words) {
+            return words.stream()
+                    .allMatch(word -> Arrays.stream(this.terms).anyMatch(term -> term.startsWith(word)));
+        }
+
+        /**
+         * @param key the key of this document
+         * @return the {@link SearchResult} for this document
+         */
+        SearchResult toResult(long key) {
+            return new SearchResult(typeOf(key), key >>> TYPE_BITS, this.label, this.detail);
+        }
+    }
+}
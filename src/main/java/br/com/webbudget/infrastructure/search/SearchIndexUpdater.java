@@ -0,0 +1,319 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.search;
+
+import br.com.webbudget.application.components.dto.SearchEntry;
+import br.com.webbudget.domain.entities.financial.FixedMovement;
+import br.com.webbudget.domain.entities.financial.PeriodMovement;
+import br.com.webbudget.domain.entities.registration.Card;
+import br.com.webbudget.domain.entities.registration.Contact;
+import br.com.webbudget.domain.entities.registration.Vehicle;
+import br.com.webbudget.domain.entities.registration.Wallet;
+import br.com.webbudget.domain.events.EntityDeleted;
+import br.com.webbudget.domain.events.EntitySaved;
+import br.com.webbudget.domain.repositories.financial.FixedMovementRepository;
+import br.com.webbudget.domain.repositories.financial.PeriodMovementRepository;
+import br.com.webbudget.domain.repositories.registration.CardRepository;
+import br.com.webbudget.domain.repositories.registration.ContactRepository;
+import br.com.webbudget.domain.repositories.registration.VehicleRepository;
+import br.com.webbudget.domain.repositories.registration.WalletRepository;
+import br.com.webbudget.infrastructure.cluster.CacheInvalidation;
+import br.com.webbudget.infrastructure.cluster.InvalidationBus;
+import br.com.webbudget.infrastructure.cluster.PeerInvalidation;
+import org.slf4j.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static br.com.webbudget.infrastructure.search.SearchType.*;
+import static javax.enterprise.event.TransactionPhase.AFTER_SUCCESS;
+
+/**
+ * Keep the {@link SearchIndex} in sync with the database, only the committed changes are applied to the index
+ *
+ * Each node has its own index, so the changes are also published by the {@link InvalidationBus} and the other nodes
+ * reload the changed entries from the database, or all the entries of a type when the whole type is invalidated
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.2.0
+ * @since 3.1.0, 26/10/2019
+ */
+@ApplicationScoped
+public class SearchIndexUpdater {
+
+    private static final String REGION_PREFIX = "search.";
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private SearchIndex searchIndex;
+    @Inject
+    private InvalidationBus invalidationBus;
+
+    @Inject
+    private CardRepository cardRepository;
+    @Inject
+    private WalletRepository walletRepository;
+    @Inject
+    private VehicleRepository vehicleRepository;
+    @Inject
+    private ContactRepository contactRepository;
+    @Inject
+    private FixedMovementRepository fixedMovementRepository;
+    @Inject
+    private PeriodMovementRepository periodMovementRepository;
+
+    /**
+     * Load the entries of all the types from the database, replacing the ones indexed by this node
+     */
+    public void build() {
+        for (SearchType type : SearchType.values()) {
+            this.searchIndex.replaceAll(type, this.findSearchEntries(type));
+        }
+    }
+
+    /**
+     * Build the index again after the data was changed without the entity events, like by a restore, and tell the
+     * other nodes to do the same
+     */
+    public void rebuild() {
+        this.build();
+        for (SearchType type : SearchType.values()) {
+            this.invalidationBus.publishAll(REGION_PREFIX + type.name());
+        }
+    }
+
+    /**
+     * Index the {@link Contact} after it is saved
+     *
+     * @param contact the saved {@link Contact}
+     */
+    public void afterSave(@Observes(during = AFTER_SUCCESS) @EntitySaved Contact contact) {
+        this.index(CONTACT, new SearchEntry(contact.getId(), contact.getName(), contact.getDocument()));
+    }
+
+    /**
+     * Remove the {@link Contact} from the index after it is deleted
+     *
+     * @param contact the deleted {@link Contact}
+     */
+    public void afterDelete(@Observes(during = AFTER_SUCCESS) @EntityDeleted Contact contact) {
+        this.unindex(CONTACT, contact.getId());
+    }
+
+    /**
+     * Index the {@link PeriodMovement} after it is saved
+     *
+     * @param periodMovement the saved {@link PeriodMovement}
+     */
+    public void afterSave(@Observes(during = AFTER_SUCCESS) @EntitySaved PeriodMovement periodMovement) {
+        this.index(PERIOD_MOVEMENT, new SearchEntry(periodMovement.getId(), periodMovement.getIdentification(),
+                periodMovement.getCode()));
+    }
+
+    /**
+     * Remove the {@link PeriodMovement} from the index after it is deleted
+     *
+     * @param periodMovement the deleted {@link PeriodMovement}
+     */
+    public void afterDelete(@Observes(during = AFTER_SUCCESS) @EntityDeleted PeriodMovement periodMovement) {
+        this.unindex(PERIOD_MOVEMENT, periodMovement.getId());
+    }
+
+    /**
+     * Index the {@link FixedMovement} after it is saved
+     *
+     * @param fixedMovement the saved {@link FixedMovement}
+     */
+    public void afterSave(@Observes(during = AFTER_SUCCESS) @EntitySaved FixedMovement fixedMovement) {
+        this.index(FIXED_MOVEMENT, new SearchEntry(fixedMovement.getId(), fixedMovement.getIdentification(),
+                fixedMovement.getDescription()));
+    }
+
+    /**
+     * Remove the {@link FixedMovement} from the index after it is deleted
+     *
+     * @param fixedMovement the deleted {@link FixedMovement}
+     */
+    public void afterDelete(@Observes(during = AFTER_SUCCESS) @EntityDeleted FixedMovement fixedMovement) {
+        this.unindex(FIXED_MOVEMENT, fixedMovement.getId());
+    }
+
+    /**
+     * Index the {@link Card} after it is saved
+     *
+     * @param card the saved {@link Card}
+     */
+    public void afterSave(@Observes(during = AFTER_SUCCESS) @EntitySaved Card card) {
+        this.index(CARD, new SearchEntry(card.getId(), card.getName(), card.getFlag()));
+    }
+
+    /**
+     * Remove the {@link Card} from the index after it is deleted
+     *
+     * @param card the deleted {@link Card}
+     */
+    public void afterDelete(@Observes(during = AFTER_SUCCESS) @EntityDeleted Card card) {
+        this.unindex(CARD, card.getId());
+    }
+
+    /**
+     * Index the {@link Wallet} after it is saved
+     *
+     * @param wallet the saved {@link Wallet}
+     */
+    public void afterSave(@Observes(during = AFTER_SUCCESS) @EntitySaved Wallet wallet) {
+        this.index(WALLET, new SearchEntry(wallet.getId(), wallet.getName(), wallet.getBank()));
+    }
+
+    /**
+     * Remove the {@link Wallet} from the index after it is deleted
+     *
+     * @param wallet the deleted {@link Wallet}
+     */
+    public void afterDelete(@Observes(during = AFTER_SUCCESS) @EntityDeleted Wallet wallet) {
+        this.unindex(WALLET, wallet.getId());
+    }
+
+    /**
+     * Index the {@link Vehicle} after it is saved
+     *
+     * @param vehicle the saved {@link Vehicle}
+     */
+    public void afterSave(@Observes(during = AFTER_SUCCESS) @EntitySaved Vehicle vehicle) {
+        this.index(VEHICLE, new SearchEntry(vehicle.getId(), vehicle.getIdentification(), vehicle.getLicensePlate()));
+    }
+
+    /**
+     * Remove the {@link Vehicle} from the index after it is deleted
+     *
+     * @param vehicle the deleted {@link Vehicle}
+     */
+    public void afterDelete(@Observes(during = AFTER_SUCCESS) @EntityDeleted Vehicle vehicle) {
+        this.unindex(VEHICLE, vehicle.getId());
+    }
+
+    /**
+     * Apply the changes made by the other nodes, the removed entries are dropped and the ones that still exist are
+     * loaded again from the database. When the whole type is invalidated all its entries are loaded again
+     *
+     * @param invalidation the {@link CacheInvalidation} received
+     */
+    protected void onPeerInvalidation(@Observes @PeerInvalidation CacheInvalidation invalidation) {
+
+        if (!invalidation.getRegion().startsWith(REGION_PREFIX)) {
+            return;
+        }
+
+        try {
+            final SearchType type = SearchType.valueOf(invalidation.getRegion().substring(REGION_PREFIX.length()));
+
+            if (invalidation.isAll()) {
+                this.searchIndex.replaceAll(type, this.findSearchEntries(type));
+                return;
+            }
+
+            final List<Long> ids = invalidation.getKeys()
+                    .stream()
+                    .map(Long::valueOf)
+                    .collect(Collectors.toList());
+
+            ids.forEach(id -> this.searchIndex.remove(type, id));
+            this.findSearchEntries(type, ids).forEach(entry -> this.searchIndex.put(type, entry));
+        } catch (IllegalArgumentException ex) {
+            this.logger.warn("Can't update the search index with {}", invalidation, ex);
+        }
+    }
+
+    /**
+     * Put the entry on the index and tell the other nodes
+     *
+     * @param type the type of the entry
+     * @param entry the entry to index
+     */
+    private void index(SearchType type, SearchEntry entry) {
+        this.searchIndex.put(type, entry);
+        this.invalidationBus.publish(REGION_PREFIX + type.name(), List.of(entry.getId()));
+    }
+
+    /**
+     * Remove the entry from the index and tell the other nodes
+     *
+     * @param type the type of the entry
+     * @param id the id of the entry
+     */
+    private void unindex(SearchType type, long id) {
+        this.searchIndex.remove(type, id);
+        this.invalidationBus.publish(REGION_PREFIX + type.name(), List.of(id));
+    }
+
+    /**
+     * Find the values to index of all the entities of a type
+     *
+     * @param type the type of the entities
+     * @return the {@link SearchEntry} of the entities ordered by the id
+     */
+    private List<SearchEntry> findSearchEntries(SearchType type) {
+        switch (type) {
+            case CONTACT:
+                return this.contactRepository.findSearchEntries();
+            case PERIOD_MOVEMENT:
+                return this.periodMovementRepository.findSearchEntries();
+            case FIXED_MOVEMENT:
+                return this.fixedMovementRepository.findSearchEntries();
+            case CARD:
+                return this.cardRepository.findSearchEntries();
+            case WALLET:
+                return this.walletRepository.findSearchEntries();
+            case VEHICLE:
+                return this.vehicleRepository.findSearchEntries();
+            default:
+                throw new IllegalArgumentException("No search entries for type " + type);
+        }
+    }
+
+    /**
+     * Find the values to index of some entities of a type
+     *
+     * @param type the type of the entities
+     * @param ids the ids of the entities
+     * @return the {@link SearchEntry} of the entities that still exist
+     */
+    private List<SearchEntry> findSearchEntries(SearchType type, List<Long> ids) {
+        switch (type) {
+            case CONTACT:
+                return this.contactRepository.findSearchEntries(ids);
+            case PERIOD_MOVEMENT:
+                return this.periodMovementRepository.findSearchEntries(ids);
+            case FIXED_MOVEMENT:
+                return this.fixedMovementRepository.findSearchEntries(ids);
+            case CARD:
+                return this.cardRepository.findSearchEntries(ids);
+            case WALLET:
+                return this.walletRepository.findSearchEntries(ids);
+            case VEHICLE:
+                return this.vehicleRepository.findSearchEntries(ids);
+            default:
+                throw new IllegalArgumentException("No search entries for type " + type);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.search;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+/**
+ * One result of the {@link SearchIndex}
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 26/10/2019
+ */
+@ToString
+@EqualsAndHashCode(of = {"type", "id"})
+public final class SearchResult implements Serializable {
+
+    @Getter
+    private final SearchType type;
+    @Getter
+    private final long id;
+    @Getter
+    private final String label;
+    @Getter
+    private final String detail;
+
+    /**
+     * Constructor...
+     *
+     * @param type the {@link SearchType} of the entity
+     * @param id the id of the entity
+     * @param label the main text of the entity
+     * @param detail the secondary text of the entity, can be null
+     */
+    SearchResult(SearchType type, long id, String label, String detail) {
+        this.type = type;
+        this.id = id;
+        this.label = label;
+        this.detail = detail;
+    }
+
+    /**
+     * @return the key of this result, the type and the id of the entity separated by a colon
+     */
+    public String getKey() {
+        return this.type.name() + ":" + this.id;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.search;
+
+import lombok.Getter;
+
+/**
+ * The types of the entities indexed by the {@link SearchIndex}, each one knows the page to detail its entities and the
+ * permission needed to open it
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 26/10/2019
+ */
+public enum SearchType {
+
+    CONTACT("search-type.contact", "/secured/registration/contact/detailContact.xhtml", "contact:detail"),
+    PERIOD_MOVEMENT("search-type.period-movement", "/secured/financial/movement/period/detailPeriodMovement.xhtml",
+            "period-movement:detail"),
+    FIXED_MOVEMENT("search-type.fixed-movement", "/secured/financial/movement/fixed/detailFixedMovement.xhtml",
+            "fixed-movement:detail"),
+    CARD("search-type.card", "/secured/registration/card/detailCard.xhtml", "card:detail"),
+    WALLET("search-type.wallet", "/secured/registration/wallet/detailWallet.xhtml", "wallet:detail"),
+    VEHICLE("search-type.vehicle", "/secured/registration/vehicle/detailVehicle.xhtml", "vehicle:detail");
+
+    private final String description;
+
+    @Getter
+    private final String detailPage;
+    @Getter
+    private final String permission;
+
+    /**
+     * Constructor...
+     *
+     * @param description the description and also the i18n key
+     * @param detailPage the page to detail the entities of this type
+     * @param permission the permission to detail the entities of this type, same as the detail button of the list
+     */
+    SearchType(String description, String detailPage, String permission) {
+        this.description = description;
+        this.detailPage = detailPage;
+        this.permission = permission;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public String toString() {
+        return this.description;
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.session;
+
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.slf4j.Logger;
+
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.servlet.ServletContext;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimate the heap retained by a graph of objects, walking the references from a root
+ *
+ * The sizes follow the layout of a 64 bits JVM with compressed references. The objects already visited by the same
+ * estimator are not counted again, so the size of a root is what it retains beyond the roots estimated before.
+ *
+ * The walk does not cross into the objects shared by the whole application: the injected fields, the CDI proxies,
+ * the persistence sessions, the enums and the classes. The JDK collections are walked by their public API and the
+ * lazy Hibernate collections and proxies not yet loaded are never initialized
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 27/10/2019
+ */
+public final class ObjectSizeEstimator {
+
+    private static final int HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int ALIGNMENT = 8;
+
+    private static final int MAX_OBJECTS = 1_000_000;
+
+    private static final Map<Class<?>, Layout> LAYOUTS = new ConcurrentHashMap<>();
+
+    private final Set<Object> visited;
+
+    /**
+     * Constructor...
+     */
+    public ObjectSizeEstimator() {
+        this.visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Estimate the size retained by an object
+     *
+     * @param root the object to estimate
+     * @return the estimated size in bytes
+     */
+    public long estimate(Object root) {
+
+        final Deque<Object> pending = new ArrayDeque<>();
+        pending.push(root);
+
+        long size = 0;
+
+        while (!pending.isEmpty() && this.visited.size() < MAX_OBJECTS) {
+
+            final Object current = pending.pop();
+
+            if (current == null || isShared(current) || !this.visited.add(current)) {
+                continue;
+            }
+            size += this.sizeOf(current, pending);
+        }
+        return size;
+    }
+
+    /**
+     * Compute the size of one object and push the objects referenced by it to be walked
+     *
+     * @param object the object
+     * @param pending the objects to be walked
+     * @return the size of the object alone
+     */
+    private long sizeOf(Object object, Deque<Object> pending) {
+
+        final Class<?> type = object.getClass();
+
+        if (type.isArray()) {
+            return sizeOfArray(object, pending);
+        } else if (object instanceof String) {
+            return align(HEADER + REFERENCE + 8) + align(ARRAY_HEADER + ((String) object).length());
+        } else if (!Hibernate.isInitialized(object)) {
+            return align(HEADER + REFERENCE);
+        } else if (object instanceof Collection) {
+            final Collection<?> collection = (Collection<?>) object;
+            for (Object element : collection.toArray()) {
+                pending.push(element);
+            }
+            return align(HEADER + 4 * REFERENCE) + (long) collection.size() * (REFERENCE + 16);
+        } else if (object instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) object;
+            for (Map.Entry<?, ?> entry : new ArrayList<>(map.entrySet())) {
+                pending.push(entry.getKey());
+                pending.push(entry.getValue());
+            }
+            return align(HEADER + 6 * REFERENCE) + (long) map.size() * (REFERENCE + 32);
+        } else if (type.getModule().isNamed()) {
+            // the internals of the jdk classes are not accessible, count only the object itself
+            return align(HEADER + 2 * REFERENCE);
+        }
+
+        final Layout layout = LAYOUTS.computeIfAbsent(type, Layout::new);
+
+        for (Field field : layout.references) {
+            try {
+                pending.push(field.get(object));
+            } catch (IllegalAccessException ex) {
+                // not accessible, count only the reference
+            }
+        }
+        return layout.size;
+    }
+
+    /**
+     * Compute the size of an array and push the objects referenced by it to be walked
+     *
+     * @param array the array
+     * @param pending the objects to be walked
+     * @return the size of the array alone
+     */
+    private static long sizeOfArray(Object array, Deque<Object> pending) {
+
+        final Class<?> component = array.getClass().getComponentType();
+        final int length = Array.getLength(array);
+
+        if (component.isPrimitive()) {
+            return align(ARRAY_HEADER + (long) length * sizeOfPrimitive(component));
+        }
+
+        for (Object element : (Object[]) array) {
+            pending.push(element);
+        }
+        return align(ARRAY_HEADER + (long) length * REFERENCE);
+    }
+
+    /**
+     * Check if the object is shared by the whole application, so it is not retained by who references it
+     *
+     * @param object the object
+     * @return true if it is shared, false otherwise
+     */
+    private static boolean isShared(Object object) {
+        return object instanceof Class
+                || object instanceof Enum
+                || object instanceof ClassLoader
+                || object instanceof Thread
+                || object instanceof Logger
+                || object instanceof BeanManager
+                || object instanceof ServletContext
+                || object instanceof EntityManager
+                || object instanceof SharedSessionContractImplementor
+                || object.getClass().getName().contains("$Proxy$_$$_");
+    }
+
+    /**
+     * @param type the primitive type
+     * @return the size of the primitive type
+     */
+    private static int sizeOfPrimitive(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    /**
+     * @param size the size to be aligned
+     * @return the size aligned by the object alignment of the JVM
+     */
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    /**
+     * The shallow size and the reference fields of a class
+     */
+    private static final class Layout {
+
+        private final long size;
+        private final List<Field> references;
+
+        /**
+         * Constructor...
+         *
+         * @param type the class to compute the layout
+         */
+        Layout(Class<?> type) {
+
+            long fieldsSize = 0;
+
+            this.references = new ArrayList<>();
+
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+
+                    if (field.getType().isPrimitive()) {
+                        fieldsSize += sizeOfPrimitive(field.getType());
+                        continue;
+                    }
+
+                    fieldsSize += REFERENCE;
+
+                    // injected beans are shared with the rest of the application
+                    if (field.isAnnotationPresent(Inject.class)) {
+                        continue;
+                    }
+
+                    try {
+                        field.setAccessible(true);
+                        this.references.add(field);
+                    } catch (RuntimeException ex) {
+                        // not accessible, count only the reference
+                    }
+                }
+            }
+            this.size = align(HEADER + fieldsSize);
+        }
+    }
+}
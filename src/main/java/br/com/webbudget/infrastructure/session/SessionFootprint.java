@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.session;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The memory retained by a {@link javax.servlet.http.HttpSession}, by view and bean
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 27/10/2019
+ */
+public final class SessionFootprint {
+
+    @Getter
+    private final String id;
+    @Getter
+    private final long createdOn;
+    @Getter
+    private final long lastAccessedOn;
+    @Getter
+    private long totalBytes;
+
+    private final List<Item> items;
+
+    /**
+     * Constructor...
+     *
+     * @param id of the session
+     * @param createdOn the time the session was created
+     * @param lastAccessedOn the time of the last request of the session
+     */
+    SessionFootprint(String id, long createdOn, long lastAccessedOn) {
+        this.id = id;
+        this.createdOn = createdOn;
+        this.lastAccessedOn = lastAccessedOn;
+        this.items = new ArrayList<>();
+    }
+
+    /**
+     * Add the size of a bean or attribute of the session
+     *
+     * @param view the id of the view holding the bean, null for the attributes of the session itself
+     * @param name the name of the bean or attribute
+     * @param bytes the size retained
+     */
+    void add(String view, String name, long bytes) {
+        this.items.add(new Item(view, name, bytes));
+        this.totalBytes += bytes;
+    }
+
+    /**
+     * @return the number of views with beans in the session
+     */
+    public long getViews() {
+        return this.items.stream()
+                .map(Item::getView)
+                .filter(view -> view != null)
+                .distinct()
+                .count();
+    }
+
+    /**
+     * @return the items of the session, the biggest first
+     */
+    public List<Item> getItems() {
+        final List<Item> sorted = new ArrayList<>(this.items);
+        sorted.sort(Collections.reverseOrder((first, second) -> Long.compare(first.bytes, second.bytes)));
+        return sorted;
+    }
+
+    /**
+     * The size of one bean or attribute of the session
+     */
+    public static final class Item {
+
+        @Getter
+        private final String view;
+        @Getter
+        private final String name;
+        @Getter
+        private final long bytes;
+
+        /**
+         * Constructor...
+         *
+         * @param view the id of the view, null for the session attributes
+         * @param name the name of the bean or attribute
+         * @param bytes the size retained
+         */
+        Item(String view, String name, long bytes) {
+            this.view = view;
+            this.name = name;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.session;
+
+import org.slf4j.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.servlet.http.HttpSession;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Inspect the active sessions estimating the memory retained by each view scoped bean, by the JSF view state and by
+ * the other attributes of the session
+ *
+ * The view scoped beans live in the view maps kept by Mojarra in the session, one for each view still active, so they
+ * are reported by view. The inspection walks the whole session graph, it is meant to be used on demand
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 27/10/2019
+ */
+@ApplicationScoped
+public class SessionMemoryInspector {
+
+    static final String ACTIVE_VIEW_MAPS = "com.sun.faces.application.view.activeViewMaps";
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private SessionRegistry sessionRegistry;
+
+    /**
+     * Inspect all the active sessions
+     *
+     * @return the {@link SessionFootprint} of each session, the biggest first
+     */
+    public List<SessionFootprint> inspect() {
+        return this.sessionRegistry.getSessions()
+                .stream()
+                .map(this::inspect)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingLong(SessionFootprint::getTotalBytes).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Count the views with beans kept by all the active sessions, without estimating their sizes
+     *
+     * @return the number of views
+     */
+    public long countViews() {
+        return this.sessionRegistry.getSessions()
+                .stream()
+                .mapToLong(session -> this.viewMapsOf(session).size())
+                .sum();
+    }
+
+    /**
+     * Inspect one session
+     *
+     * The beans of the views are estimated first, so anything they share with the view state or with the session
+     * attributes is counted on the beans
+     *
+     * @param session the {@link HttpSession} to inspect
+     * @return the {@link SessionFootprint} of the session, null if it was invalidated during the inspection
+     */
+    private SessionFootprint inspect(HttpSession session) {
+
+        final ObjectSizeEstimator estimator = new ObjectSizeEstimator();
+
+        try {
+            final SessionFootprint footprint = new SessionFootprint(session.getId(),
+                    session.getCreationTime(), session.getLastAccessedTime());
+
+            for (Map.Entry<String, Map<String, Object>> view : this.viewMapsOf(session).entrySet()) {
+                for (Map.Entry<String, Object> bean : new LinkedHashMap<>(view.getValue()).entrySet()) {
+                    footprint.add(view.getKey(), bean.getKey(), estimator.estimate(bean.getValue()));
+                }
+            }
+
+            for (String name : Collections.list(session.getAttributeNames())) {
+                footprint.add(null, name, estimator.estimate(session.getAttribute(name)));
+            }
+            return footprint;
+        } catch (IllegalStateException ex) {
+            return null; // invalidated while we were looking at it
+        } catch (RuntimeException ex) {
+            this.logger.debug("Can't inspect the session, it changed during the inspection", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Get a copy of the view maps of a session
+     *
+     * @param session the {@link HttpSession}
+     * @return the view maps by the id of the view
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Map<String, Object>> viewMapsOf(HttpSession session) {
+        try {
+            final Object viewMaps = session.getAttribute(ACTIVE_VIEW_MAPS);
+            if (viewMaps instanceof Map) {
+                return new LinkedHashMap<>((Map<String, Map<String, Object>>) viewMaps);
+            }
+        } catch (IllegalStateException ex) {
+            // invalidated session, no views
+        }
+        return Collections.emptyMap();
+    }
+}
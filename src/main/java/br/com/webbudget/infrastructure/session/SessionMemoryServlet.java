@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.session;
+
+import br.com.webbudget.infrastructure.metrics.MonitoringAccess;
+
+import javax.inject.Inject;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * The endpoint to report the memory retained by each session, by view and bean, as plain text
+ *
+ * The access to the endpoint follows the rule of the {@link MonitoringAccess}
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 27/10/2019
+ */
+@WebServlet("/metrics/sessions")
+public class SessionMemoryServlet extends HttpServlet {
+
+    @Inject
+    private SessionMemoryInspector sessionMemoryInspector;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param request
+     * @param response
+     * @throws IOException
+     */
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        if (!MonitoringAccess.isEnabled()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        if (!MonitoringAccess.isAllowed(request)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        response.setContentType("text/plain; charset=utf-8");
+        response.setHeader("Cache-Control", "no-store");
+
+        final List<SessionFootprint> footprints = this.sessionMemoryInspector.inspect();
+        final long now = System.currentTimeMillis();
+
+        final PrintWriter writer = response.getWriter();
+
+        writer.printf("%d sessions retaining %d KB%n%n", footprints.size(), footprints.stream()
+                .mapToLong(SessionFootprint::getTotalBytes)
+                .sum() / 1024);
+
+        for (SessionFootprint footprint : footprints) {
+
+            writer.printf("session %.8s, %d KB in %d views, age %d min, idle %d s%n", footprint.getId(),
+                    footprint.getTotalBytes() / 1024, footprint.getViews(),
+                    (now - footprint.getCreatedOn()) / 60_000, (now - footprint.getLastAccessedOn()) / 1000);
+
+            for (SessionFootprint.Item item : footprint.getItems()) {
+                writer.printf("  %10d B  %-12s %s%n", item.getBytes(),
+                        item.getView() != null ? "view " + item.getView() : "session", item.getName());
+            }
+            writer.println();
+        }
+    }
+}
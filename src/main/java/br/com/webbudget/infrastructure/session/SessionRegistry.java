@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.session;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.BeforeDestroyed;
+import javax.enterprise.context.Initialized;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.event.Observes;
+import javax.servlet.http.HttpSession;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keep track of the active {@link HttpSession} of the application, so they can be inspected by the
+ * {@link SessionMemoryInspector}
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 27/10/2019
+ */
+@ApplicationScoped
+public class SessionRegistry {
+
+    private final Map<String, HttpSession> sessions;
+
+    /**
+     * Constructor...
+     */
+    public SessionRegistry() {
+        this.sessions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Register the session created
+     *
+     * @param session the {@link HttpSession} created
+     */
+    public void onCreate(@Observes @Initialized(SessionScoped.class) HttpSession session) {
+        this.sessions.put(session.getId(), session);
+    }
+
+    /**
+     * Remove the session about to be destroyed
+     *
+     * @param session the {@link HttpSession} destroyed
+     */
+    public void onDestroy(@Observes @BeforeDestroyed(SessionScoped.class) HttpSession session) {
+        this.sessions.remove(session.getId());
+    }
+
+    /**
+     * @return the active sessions
+     */
+    public List<HttpSession> getSessions() {
+        return new ArrayList<>(this.sessions.values());
+    }
+}
@@ -51,6 +51,9 @@ public class PathSecurityConfiguration implements HttpSecurityConfiguration {
         builder.add("/secured/configuration/user/**", this.permissions.getUSER_ACCESS(), true)
                 .add("/secured/configuration/group/**", this.permissions.getGROUP_ACCESS(), true)
                 .add("/secured/configuration/configuration/**", this.permissions.getCONFIGURATION_ACCESS(), true)
+                .add("/secured/configuration/backup/**", this.permissions.getBACKUP_ACCESS(), true)
+                .add("/secured/configuration/job/**", this.permissions.getJOB_ACCESS(), true)
+                .add("/secured/configuration/audit/**", this.permissions.getAUDIT_ACCESS(), true)
                 .add("/secured/registration/card/**", this.permissions.getCARD_ACCESS(), true)
                 .add("/secured/registration/vehicle/**", this.permissions.getVEHICLE_ACCESS(), true)
                 .add("/secured/registration/contact/**", this.permissions.getCONTACT_ACCESS(), true)
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.infrastructure.shiro;
+
+import br.com.webbudget.domain.entities.PersistentEntity;
+import br.com.webbudget.domain.entities.configuration.Grant;
+import br.com.webbudget.domain.entities.configuration.Group;
+import br.com.webbudget.domain.entities.configuration.User;
+import br.com.webbudget.domain.events.EntityDeleted;
+import br.com.webbudget.domain.events.EntitySaved;
+import br.com.webbudget.infrastructure.cluster.CacheInvalidation;
+import br.com.webbudget.infrastructure.cluster.InvalidationBus;
+import br.com.webbudget.infrastructure.cluster.PeerInvalidation;
+import org.slf4j.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import static javax.enterprise.event.TransactionPhase.AFTER_SUCCESS;
+
+/**
+ * Keep the authentication and authorization cache of the realms in sync with the {@link User}, {@link Group} and
+ * {@link Grant} of the database on this and on the other nodes of the cluster
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+@ApplicationScoped
+public class SecurityCacheInvalidator {
+
+    private static final String REGION = "security";
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private InvalidationBus invalidationBus;
+
+    @Inject
+    private SecurityRealmConfiguration securityRealmConfiguration;
+
+    /**
+     * Clear the caches after the commit of a saved security entity
+     *
+     * @param entity the saved entity
+     */
+    public void afterSave(@Observes(during = AFTER_SUCCESS) @EntitySaved PersistentEntity entity) {
+        this.invalidate(entity);
+    }
+
+    /**
+     * Clear the caches after the commit of a deleted security entity
+     *
+     * @param entity the deleted entity
+     */
+    public void afterDelete(@Observes(during = AFTER_SUCCESS) @EntityDeleted PersistentEntity entity) {
+        this.invalidate(entity);
+    }
+
+    /**
+     * Clear the caches when other node changed the security entities
+     *
+     * @param invalidation the {@link CacheInvalidation} received
+     */
+    protected void onPeerInvalidation(@Observes @PeerInvalidation CacheInvalidation invalidation) {
+        if (invalidation.isOf(REGION)) {
+            this.securityRealmConfiguration.clearCaches();
+        }
+    }
+
+    /**
+     * Clear the caches of this node and tell the others if the entity is part of the security configuration
+     *
+     * @param entity the entity changed
+     */
+    private void invalidate(PersistentEntity entity) {
+        if (entity instanceof User || entity instanceof Group || entity instanceof Grant) {
+            this.securityRealmConfiguration.clearCaches();
+            this.invalidationBus.publishAll(REGION);
+            this.logger.debug("Security caches cleared after the change of {}", entity);
+        }
+    }
+}
@@ -26,6 +26,8 @@ import br.eti.arthurgregorio.shiroee.realm.JdbcSecurityRealm;
 import br.eti.arthurgregorio.shiroee.realm.LdapSecurityRealm;
 import org.apache.shiro.cache.CacheManager;
 import org.apache.shiro.cache.ehcache.EhCacheManager;
+import org.apache.shiro.realm.AuthenticatingRealm;
+import org.apache.shiro.realm.AuthorizingRealm;
 import org.apache.shiro.realm.Realm;
 
 import javax.annotation.PostConstruct;
@@ -43,7 +45,7 @@ import java.util.Set;
  *
  * @author Arthur Gregorio
  *
- * @version 1.0.0
+ * @version 1.1.0
  * @since 3.0.0, 06/03/2018
  */
 @ApplicationScoped
@@ -82,7 +84,28 @@ public class SecurityRealmConfiguration implements RealmConfiguration {
     @Override
     public Set<Realm> configureRealms() {
         return Collections.unmodifiableSet(this.realms);
-    }    
+    }
+
+    /**
+     * Clear the authentication and authorization cache of all realms, use it when the users, groups or grants change
+     * to make the next request load them again
+     */
+    public void clearCaches() {
+        for (Realm realm : this.realms) {
+            if (realm instanceof AuthorizingRealm) {
+                final AuthorizingRealm authorizingRealm = (AuthorizingRealm) realm;
+                if (authorizingRealm.getAuthorizationCache() != null) {
+                    authorizingRealm.getAuthorizationCache().clear();
+                }
+            }
+            if (realm instanceof AuthenticatingRealm) {
+                final AuthenticatingRealm authenticatingRealm = (AuthenticatingRealm) realm;
+                if (authenticatingRealm.getAuthenticationCache() != null) {
+                    authenticatingRealm.getAuthenticationCache().clear();
+                }
+            }
+        }
+    }
     
     /**
      * Configure a realm to be used with JDBC a connection to provide the data for authentication and authorization
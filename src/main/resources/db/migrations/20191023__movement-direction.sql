@@ -0,0 +1,204 @@
+-- the direction of the movement, taken from the classes of the apportionments
+ALTER TABLE financial.movements ADD COLUMN direction character varying(45);
+ALTER TABLE financial_audit.movements ADD COLUMN direction character varying(45);
+
+UPDATE financial.movements mv
+SET direction = (SELECT mc.movement_class_type
+                 FROM financial.apportionments ap
+                          JOIN registration.movement_classes mc ON mc.id = ap.id_movement_class
+                 WHERE ap.id_movement = mv.id
+                 LIMIT 1);
+
+UPDATE financial_audit.movements mv
+SET direction = (SELECT cr.direction FROM financial.movements cr WHERE cr.id = mv.id);
+
+CREATE INDEX idx_movements_direction ON financial.movements (direction);
+
+DROP VIEW financial.wb_view_001;
+DROP VIEW financial.wb_view_003;
+DROP VIEW financial.wb_view_008;
+DROP VIEW financial.wb_view_010;
+DROP VIEW financial.wb_view_011;
+
+-- recreate view 001
+CREATE OR REPLACE VIEW financial.wb_view_001 AS
+SELECT row_number() OVER () AS id,
+       pm.direction AS direction,
+       cc.id AS cost_center_id,
+       cc.name AS cost_center,
+       cc.color AS cost_center_color,
+       COALESCE(sum(pa.paid_value), 0::numeric) AS total_value
+FROM financial.movements pm
+         JOIN registration.financial_periods fp ON fp.id = pm.id_financial_period
+         JOIN financial.apportionments ap ON ap.id_movement = pm.id
+         JOIN registration.cost_centers cc ON cc.id = ap.id_cost_center
+         JOIN financial.payments pa ON pa.id = pm.id_payment AND fp.closed = false AND pm.period_movement_type::text = 'MOVEMENT'::text AND pm.discriminator_value::text = 'PERIOD_MOVEMENT'::text
+GROUP BY cc.id, cc.name, pm.direction
+ORDER BY pm.direction;
+
+COMMENT ON VIEW financial.wb_view_001 IS 'List by the open financial periods all cost centers and the respective value spent or received in each one';
+
+-- recreate view 003
+CREATE OR REPLACE VIEW financial.wb_view_003 AS
+    WITH revenues_total AS (
+        SELECT COALESCE(sum(pm.paid_value), 0::numeric) AS revenues
+        FROM financial.movements mv
+                 JOIN financial.payments pm ON pm.id = mv.id_payment
+                 JOIN registration.financial_periods fp ON fp.id = mv.id_financial_period AND fp.closed = false AND
+                                                           mv.discriminator_value::text = 'PERIOD_MOVEMENT'::text AND
+                                                           mv.direction::text = 'REVENUE'::text
+    ),
+         expenses_total AS (
+             SELECT COALESCE(sum(pm.paid_value), 0::numeric) AS expenses
+             FROM financial.movements mv
+                      JOIN financial.payments pm ON pm.id = mv.id_payment
+                      JOIN registration.financial_periods fp ON fp.id = mv.id_financial_period AND fp.closed = false AND
+                                                                mv.id_credit_card_invoice IS NULL AND
+                                                                mv.discriminator_value::text = 'PERIOD_MOVEMENT'::text AND
+                                                                mv.direction::text = 'EXPENSE'::text
+         ),
+         credit_card_expenses_total AS (
+             SELECT COALESCE(sum(pm.paid_value), 0::numeric) AS credit_card_expenses
+             FROM financial.movements mv
+                      JOIN financial.payments pm ON pm.id = mv.id_payment
+                      JOIN registration.financial_periods fp ON fp.id = mv.id_financial_period AND fp.closed = false AND
+                                                                pm.payment_method::text = 'CREDIT_CARD'::text AND
+                                                                mv.discriminator_value::text = 'PERIOD_MOVEMENT'::text AND
+                                                                mv.direction::text = 'EXPENSE'::text
+         ),
+         debit_card_expenses_total AS (
+             SELECT COALESCE(sum(pm.paid_value), 0::numeric) AS debit_card_expenses
+             FROM financial.movements mv
+                      JOIN financial.payments pm ON pm.id = mv.id_payment
+                      JOIN registration.financial_periods fp ON fp.id = mv.id_financial_period AND fp.closed = false AND
+                                                                pm.payment_method::text = 'DEBIT_CARD'::text AND
+                                                                mv.discriminator_value::text = 'PERIOD_MOVEMENT'::text AND
+                                                                mv.direction::text = 'EXPENSE'::text
+         ),
+         cash_expenses_total AS (
+             SELECT COALESCE(sum(pm.paid_value), 0::numeric) AS cash_expenses
+             FROM financial.movements mv
+                      JOIN financial.payments pm ON pm.id = mv.id_payment
+                      JOIN registration.financial_periods fp ON fp.id = mv.id_financial_period AND fp.closed = false AND
+                                                                pm.payment_method::text = 'CASH'::text AND
+                                                                mv.discriminator_value::text = 'PERIOD_MOVEMENT'::text AND
+                                                                mv.direction::text = 'EXPENSE'::text
+         ),
+         total_movements_open AS (
+             SELECT COALESCE(sum(mv.value), 0::numeric) AS movements_open
+             FROM financial.movements mv
+                      JOIN registration.financial_periods fp ON fp.id = mv.id_financial_period AND fp.closed = false AND
+                                                                mv.period_movement_state::text = 'OPEN'::text AND
+                                                                mv.discriminator_value::text = 'PERIOD_MOVEMENT'::text AND
+                                                                mv.direction::text = 'EXPENSE'::text
+         ),
+         balance AS (
+             SELECT COALESCE(rt.revenues, 0::numeric) - COALESCE(et.expenses, 0::numeric) AS balance
+             FROM revenues_total rt,
+                  expenses_total et
+         ),
+         period_goal AS (
+             SELECT COALESCE(sum(fp.credit_card_goal), 0::numeric) AS credit_card_goal,
+                    COALESCE(sum(fp.revenues_goal), 0::numeric)    AS revenues_goal,
+                    COALESCE(sum(fp.expenses_goal), 0::numeric)    AS expenses_goal
+             FROM registration.financial_periods fp
+             WHERE fp.closed = false
+         )
+    SELECT row_number() OVER () AS id,
+           revenues_total.revenues,
+           expenses_total.expenses,
+           cash_expenses_total.cash_expenses,
+           credit_card_expenses_total.credit_card_expenses,
+           debit_card_expenses_total.debit_card_expenses,
+           total_movements_open.movements_open,
+           balance.balance,
+           period_goal.credit_card_goal,
+           period_goal.revenues_goal,
+           period_goal.expenses_goal
+    FROM revenues_total,
+         expenses_total,
+         cash_expenses_total,
+         credit_card_expenses_total,
+         debit_card_expenses_total,
+         total_movements_open,
+         balance,
+         period_goal;
+
+COMMENT ON VIEW financial.wb_view_003 IS 'Quick resume of the open financial periods';
+
+-- recreate view 008
+CREATE OR REPLACE VIEW financial.wb_view_008 AS
+SELECT row_number() OVER ()   AS id,
+       fp.id                  AS financial_period_id,
+       fp.identification      AS financial_period,
+       cc.color               AS cost_center_color,
+       cc.name                AS cost_center,
+       pm.direction           AS direction,
+       sum(pa.paid_value)     AS total_paid
+FROM financial.movements pm
+         JOIN financial.payments pa ON pm.id_payment = pa.id
+         JOIN financial.apportionments ap ON ap.id_movement = pm.id
+         JOIN registration.cost_centers cc ON ap.id_cost_center = cc.id
+         JOIN registration.financial_periods fp
+              ON pm.id_financial_period = fp.id AND pm.discriminator_value::text = 'PERIOD_MOVEMENT'::text AND
+                 pm.period_movement_type::text = 'MOVEMENT'::text
+GROUP BY fp.id, fp.identification, cc.color, cc.name, pm.direction
+ORDER BY fp.identification, cc.name;
+
+COMMENT ON VIEW financial.wb_view_008 IS 'Daily consumption grouped by cost center';
+
+-- recreate view 010
+CREATE OR REPLACE VIEW financial.wb_view_010 AS
+SELECT row_number() OVER ()   AS id,
+       fp.id                  AS financial_period_id,
+       fp.identification      AS financial_period,
+       pa.paid_on             AS payment_date,
+       pm.direction           AS direction,
+       sum(pa.paid_value)     AS total_paid
+FROM financial.movements pm
+         JOIN financial.payments pa ON pm.id_payment = pa.id
+         JOIN registration.financial_periods fp
+              ON pm.id_financial_period = fp.id AND pm.discriminator_value::text = 'PERIOD_MOVEMENT'::text AND
+                 pm.period_movement_type::text = 'MOVEMENT'::text
+GROUP BY fp.id, fp.identification, pa.paid_on, pm.direction
+ORDER BY fp.identification, pa.paid_on;
+
+COMMENT ON VIEW financial.wb_view_010 IS 'Daily consumption grouped by day of payment';
+
+-- recreate view 011
+CREATE OR REPLACE VIEW financial.wb_view_011 AS
+    WITH revenues_total AS (
+        SELECT fp.id AS period_id,
+               COALESCE(sum(pm.paid_value), 0::numeric) AS revenues
+        FROM financial.movements mv
+                 JOIN financial.payments pm ON pm.id = mv.id_payment
+                 JOIN registration.financial_periods fp ON fp.id = mv.id_financial_period AND fp.closed = false AND mv.discriminator_value::text = 'PERIOD_MOVEMENT'::text AND mv.direction::text = 'REVENUE'::text
+        GROUP BY fp.id
+    ), expenses_total AS (
+        SELECT fp.id AS period_id,
+               COALESCE(sum(pm.paid_value), 0::numeric) AS expenses
+        FROM financial.movements mv
+                 JOIN financial.payments pm ON pm.id = mv.id_payment
+                 JOIN registration.financial_periods fp ON fp.id = mv.id_financial_period AND fp.closed = false AND mv.period_movement_type::text = 'MOVEMENT'::text AND mv.discriminator_value::text = 'PERIOD_MOVEMENT'::text AND mv.direction::text = 'EXPENSE'::text
+        GROUP BY fp.id
+    ), open_financial_periods AS (
+        SELECT fp.id AS financial_period_id,
+               fp.identification AS financial_period,
+               fp.expired,
+               ext.expenses,
+               rvt.revenues
+        FROM registration.financial_periods fp
+                 JOIN expenses_total ext ON ext.period_id = fp.id
+                 JOIN revenues_total rvt ON rvt.period_id = fp.id
+    )
+    SELECT row_number() OVER () AS id,
+           ofp.financial_period_id,
+           ofp.financial_period,
+           ofp.expired,
+           ofp.revenues,
+           ofp.expenses,
+           sum(ofp.revenues - ofp.expenses) AS balance
+    FROM open_financial_periods ofp
+    GROUP BY ofp.financial_period_id, ofp.financial_period, ofp.expired, ofp.revenues, ofp.expenses;
+
+COMMENT ON VIEW financial.wb_view_011 IS 'Quick resume of the current open period, excluding expired ones';
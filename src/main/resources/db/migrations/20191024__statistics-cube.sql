@@ -0,0 +1,169 @@
+-- pre-aggregated paid values by period, cost center, movement class, direction and day
+CREATE TABLE financial.statistics_cube (
+    financial_period_id bigint NOT NULL,
+    cost_center_id bigint NOT NULL,
+    movement_class_id bigint NOT NULL,
+    direction character varying(45),
+    payment_date date NOT NULL,
+    total_paid numeric(19,2) NOT NULL,
+    movements_paid numeric(19,2) NOT NULL
+);
+
+CREATE INDEX idx_statistics_cube_period_direction ON financial.statistics_cube (financial_period_id, direction);
+
+COMMENT ON TABLE financial.statistics_cube IS 'Paid values of the period movements pre-aggregated for the statistics views';
+COMMENT ON COLUMN financial.statistics_cube.total_paid IS 'The paid value counted once for each apportionment, as the cost center and movement class views always did';
+COMMENT ON COLUMN financial.statistics_cube.movements_paid IS 'The paid value counted only at the first apportionment, to sum by movement ignoring the cost center and class';
+
+-- refresh the cube of only one financial period
+CREATE OR REPLACE FUNCTION financial.refresh_statistics_cube(p_financial_period_id bigint) RETURNS integer AS
+$$
+DECLARE
+    v_rows integer;
+BEGIN
+    -- refreshes of the same period wait for each other, different periods run in parallel
+    PERFORM pg_advisory_xact_lock(hashtext('financial.statistics_cube'), (p_financial_period_id % 2147483647)::integer);
+
+    DELETE FROM financial.statistics_cube WHERE financial_period_id = p_financial_period_id;
+
+    INSERT INTO financial.statistics_cube (financial_period_id, cost_center_id, movement_class_id, direction,
+                                           payment_date, total_paid, movements_paid)
+    SELECT pm.id_financial_period,
+           ap.id_cost_center,
+           ap.id_movement_class,
+           pm.direction,
+           pa.paid_on,
+           sum(pa.paid_value),
+           sum(CASE
+                   WHEN ap.id = (SELECT min(fa.id) FROM financial.apportionments fa WHERE fa.id_movement = pm.id)
+                       THEN pa.paid_value
+                   ELSE 0::numeric END)
+    FROM financial.movements pm
+             JOIN financial.payments pa ON pa.id = pm.id_payment
+             JOIN financial.apportionments ap ON ap.id_movement = pm.id
+    WHERE pm.id_financial_period = p_financial_period_id
+      AND pm.discriminator_value::text = 'PERIOD_MOVEMENT'::text
+      AND pm.period_movement_type::text = 'MOVEMENT'::text
+    GROUP BY pm.id_financial_period, ap.id_cost_center, ap.id_movement_class, pm.direction, pa.paid_on;
+
+    GET DIAGNOSTICS v_rows = ROW_COUNT;
+    RETURN v_rows;
+END;
+$$ LANGUAGE plpgsql;
+
+-- refresh the cube of all financial periods
+CREATE OR REPLACE FUNCTION financial.refresh_statistics_cube() RETURNS integer AS
+$$
+DECLARE
+    v_period bigint;
+    v_rows integer := 0;
+BEGIN
+    FOR v_period IN SELECT fp.id FROM registration.financial_periods fp ORDER BY fp.id
+        LOOP
+            v_rows := v_rows + financial.refresh_statistics_cube(v_period);
+        END LOOP;
+
+    DELETE
+    FROM financial.statistics_cube sc
+    WHERE NOT EXISTS(SELECT 1 FROM registration.financial_periods fp WHERE fp.id = sc.financial_period_id);
+
+    RETURN v_rows;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT financial.refresh_statistics_cube();
+
+DROP VIEW financial.wb_view_001;
+DROP VIEW financial.wb_view_002;
+DROP VIEW financial.wb_view_008;
+DROP VIEW financial.wb_view_009;
+DROP VIEW financial.wb_view_010;
+
+-- recreate view 001
+CREATE OR REPLACE VIEW financial.wb_view_001 AS
+SELECT row_number() OVER ()                      AS id,
+       sc.direction                              AS direction,
+       cc.id                                     AS cost_center_id,
+       cc.name                                   AS cost_center,
+       cc.color                                  AS cost_center_color,
+       COALESCE(sum(sc.total_paid), 0::numeric)  AS total_value
+FROM financial.statistics_cube sc
+         JOIN registration.financial_periods fp ON fp.id = sc.financial_period_id AND fp.closed = false
+         JOIN registration.cost_centers cc ON cc.id = sc.cost_center_id
+GROUP BY cc.id, cc.name, sc.direction
+ORDER BY sc.direction;
+
+COMMENT ON VIEW financial.wb_view_001 IS 'List by the open financial periods all cost centers and the respective value spent or received in each one';
+
+-- recreate view 002
+CREATE OR REPLACE VIEW financial.wb_view_002 AS
+SELECT row_number() OVER ()                     AS id,
+       fp.id                                    AS financial_period_id,
+       fp.identification                        AS financial_period,
+       sc.direction                             AS direction,
+       cc.id                                    AS cost_center_id,
+       cc.name                                  AS cost_center,
+       mc.id                                    AS movement_class_id,
+       mc.name                                  AS movement_class,
+       cc.color                                 AS cost_center_color,
+       COALESCE(sum(sc.total_paid), 0::numeric) AS total_value
+FROM financial.statistics_cube sc
+         JOIN registration.financial_periods fp ON fp.id = sc.financial_period_id AND fp.closed = false
+         JOIN registration.cost_centers cc ON cc.id = sc.cost_center_id
+         JOIN registration.movement_classes mc ON mc.id = sc.movement_class_id
+GROUP BY fp.id, fp.identification, cc.id, cc.name, mc.id, mc.name, sc.direction;
+
+COMMENT ON VIEW financial.wb_view_002 IS 'List by the open financial periods all movement classes and the value spent or received in each one';
+
+-- recreate view 008
+CREATE OR REPLACE VIEW financial.wb_view_008 AS
+SELECT row_number() OVER ()   AS id,
+       fp.id                  AS financial_period_id,
+       fp.identification      AS financial_period,
+       cc.color               AS cost_center_color,
+       cc.name                AS cost_center,
+       sc.direction           AS direction,
+       sum(sc.total_paid)     AS total_paid
+FROM financial.statistics_cube sc
+         JOIN registration.financial_periods fp ON fp.id = sc.financial_period_id
+         JOIN registration.cost_centers cc ON cc.id = sc.cost_center_id
+GROUP BY fp.id, fp.identification, cc.color, cc.name, sc.direction
+ORDER BY fp.identification, cc.name;
+
+COMMENT ON VIEW financial.wb_view_008 IS 'Daily consumption grouped by cost center';
+
+-- recreate view 009
+CREATE OR REPLACE VIEW financial.wb_view_009 AS
+SELECT row_number() OVER () AS id,
+       fp.id AS financial_period_id,
+       fp.identification AS financial_period,
+       cc.id AS cost_center_id,
+       cc.color AS cost_center_color,
+       cc.name AS cost_center,
+       mc.id AS movement_class_id,
+       mc.name AS movement_class,
+       sc.direction AS direction,
+       sum(sc.total_paid) AS total_paid
+FROM financial.statistics_cube sc
+         JOIN registration.financial_periods fp ON fp.id = sc.financial_period_id
+         JOIN registration.cost_centers cc ON cc.id = sc.cost_center_id
+         JOIN registration.movement_classes mc ON mc.id = sc.movement_class_id
+GROUP BY fp.id, fp.identification, cc.id, cc.color, cc.name, mc.id, mc.name, sc.direction
+ORDER BY fp.identification, cc.name, mc.name;
+
+COMMENT ON VIEW financial.wb_view_009 IS 'Daily consumption grouped by cost center and movement class';
+
+-- recreate view 010
+CREATE OR REPLACE VIEW financial.wb_view_010 AS
+SELECT row_number() OVER ()   AS id,
+       fp.id                  AS financial_period_id,
+       fp.identification      AS financial_period,
+       sc.payment_date        AS payment_date,
+       sc.direction           AS direction,
+       sum(sc.movements_paid) AS total_paid
+FROM financial.statistics_cube sc
+         JOIN registration.financial_periods fp ON fp.id = sc.financial_period_id
+GROUP BY fp.id, fp.identification, sc.payment_date, sc.direction
+ORDER BY fp.identification, sc.payment_date;
+
+COMMENT ON VIEW financial.wb_view_010 IS 'Daily consumption grouped by day of payment';
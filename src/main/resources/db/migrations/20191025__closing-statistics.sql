@@ -0,0 +1,10 @@
+-- the statistics of the period frozen at the closing, the id is the same of the closing
+CREATE TABLE financial.closing_statistics (
+    id bigint NOT NULL,
+    content text NOT NULL,
+    CONSTRAINT closing_statistics_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_closing_statistics_closings FOREIGN KEY (id) REFERENCES financial.closings (id) ON DELETE CASCADE
+);
+
+COMMENT ON TABLE financial.closing_statistics IS 'Snapshot of the statistics of a closed financial period, discarded when the period is reopened';
+COMMENT ON COLUMN financial.closing_statistics.content IS 'JSON document with the result, the daily series and the use by cost center and movement class';
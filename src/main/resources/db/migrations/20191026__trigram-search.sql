@@ -0,0 +1,45 @@
+-- trigram indexes to serve the '%filter%' searches of the listings, they cover upper(column) because the generic
+-- filters compare the values ignoring the case with upper(column) LIKE upper(filter)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- registration
+CREATE INDEX idx_contacts_name_trgm ON registration.contacts USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX idx_contacts_city_trgm ON registration.contacts USING gin (upper(city) gin_trgm_ops);
+CREATE INDEX idx_contacts_email_trgm ON registration.contacts USING gin (upper(email) gin_trgm_ops);
+CREATE INDEX idx_contacts_document_trgm ON registration.contacts USING gin (upper(document) gin_trgm_ops);
+
+CREATE INDEX idx_cards_name_trgm ON registration.cards USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX idx_cards_number_trgm ON registration.cards USING gin (upper(number) gin_trgm_ops);
+CREATE INDEX idx_cards_flag_trgm ON registration.cards USING gin (upper(flag) gin_trgm_ops);
+CREATE INDEX idx_cards_owner_trgm ON registration.cards USING gin (upper(owner) gin_trgm_ops);
+
+CREATE INDEX idx_vehicles_identification_trgm ON registration.vehicles USING gin (upper(identification) gin_trgm_ops);
+CREATE INDEX idx_vehicles_brand_trgm ON registration.vehicles USING gin (upper(brand) gin_trgm_ops);
+CREATE INDEX idx_vehicles_model_trgm ON registration.vehicles USING gin (upper(model) gin_trgm_ops);
+CREATE INDEX idx_vehicles_license_plate_trgm ON registration.vehicles USING gin (upper(license_plate) gin_trgm_ops);
+
+CREATE INDEX idx_cost_centers_name_trgm ON registration.cost_centers USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX idx_cost_centers_description_trgm ON registration.cost_centers USING gin (upper(description) gin_trgm_ops);
+
+CREATE INDEX idx_wallets_name_trgm ON registration.wallets USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX idx_wallets_account_trgm ON registration.wallets USING gin (upper(account) gin_trgm_ops);
+CREATE INDEX idx_wallets_agency_trgm ON registration.wallets USING gin (upper(agency) gin_trgm_ops);
+CREATE INDEX idx_wallets_bank_trgm ON registration.wallets USING gin (upper(bank) gin_trgm_ops);
+
+CREATE INDEX idx_financial_periods_identification_trgm ON registration.financial_periods USING gin (upper(identification) gin_trgm_ops);
+
+CREATE INDEX idx_movement_classes_name_trgm ON registration.movement_classes USING gin (upper(name) gin_trgm_ops);
+
+-- journal
+CREATE INDEX idx_refuelings_place_trgm ON journal.refuelings USING gin (upper(place) gin_trgm_ops);
+
+-- financial, the same table keeps the period and the fixed movements
+CREATE INDEX idx_movements_identification_trgm ON financial.movements USING gin (upper(identification) gin_trgm_ops);
+CREATE INDEX idx_movements_description_trgm ON financial.movements USING gin (upper(description) gin_trgm_ops);
+
+-- configuration
+CREATE INDEX idx_users_name_trgm ON configuration.users USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX idx_users_username_trgm ON configuration.users USING gin (upper(username) gin_trgm_ops);
+CREATE INDEX idx_users_email_trgm ON configuration.users USING gin (upper(email) gin_trgm_ops);
+
+CREATE INDEX idx_groups_name_trgm ON configuration.groups USING gin (upper(name) gin_trgm_ops);
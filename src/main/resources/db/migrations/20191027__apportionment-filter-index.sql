@@ -0,0 +1,4 @@
+-- serves the correlated EXISTS used to filter the movements by cost center and movement class, the movement comes
+-- first to also serve the lookups of the apportionments of one movement
+CREATE INDEX idx_apportionments_movement_cost_center_class
+    ON financial.apportionments (id_movement, id_cost_center, id_movement_class);
@@ -0,0 +1,35 @@
+-- one row for each job, the node holding the lease is the only one allowed to run the job until it expires
+CREATE TABLE configuration.job_leases (
+    job_name character varying(90) NOT NULL,
+    owner character varying(90) NOT NULL,
+    acquired_on timestamp without time zone NOT NULL,
+    locked_until timestamp without time zone NOT NULL,
+    CONSTRAINT job_leases_pkey PRIMARY KEY (job_name)
+);
+
+COMMENT ON TABLE configuration.job_leases IS 'Lease of each scheduled job, so a job runs only once across the cluster';
+COMMENT ON COLUMN configuration.job_leases.owner IS 'Name of the node holding the lease';
+COMMENT ON COLUMN configuration.job_leases.locked_until IS 'The lease is free for any node after this time';
+
+-- the history of the runs of the jobs
+CREATE TABLE configuration.job_executions (
+    id bigint NOT NULL,
+    created_on timestamp without time zone NOT NULL,
+    updated_on timestamp without time zone,
+    job_name character varying(90) NOT NULL,
+    node character varying(90) NOT NULL,
+    execution_state character varying(45) NOT NULL,
+    started_on timestamp without time zone NOT NULL,
+    finished_on timestamp without time zone,
+    duration bigint,
+    affected_rows integer,
+    message character varying(255),
+    CONSTRAINT job_executions_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_job_executions_job_name_started_on ON configuration.job_executions (job_name, started_on DESC);
+CREATE INDEX idx_job_executions_started_on ON configuration.job_executions (started_on DESC);
+
+COMMENT ON TABLE configuration.job_executions IS 'History of the runs of the scheduled jobs';
+COMMENT ON COLUMN configuration.job_executions.duration IS 'Time spent by the run in milliseconds';
+COMMENT ON COLUMN configuration.job_executions.affected_rows IS 'Rows (or items) changed by the run';
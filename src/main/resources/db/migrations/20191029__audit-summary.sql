@@ -0,0 +1,4 @@
+-- the operation and the summary of the changes not detailed by the revisions of bulk operations
+ALTER TABLE public.revisions
+    ADD COLUMN operation VARCHAR(90),
+    ADD COLUMN summary TEXT;
@@ -0,0 +1,225 @@
+-- one row for each monthly partition of the audit tables, kept after the partition is archived to know where it went
+CREATE TABLE configuration.audit_partitions (
+    partition_name character varying(120) NOT NULL,
+    parent_name character varying(90) NOT NULL,
+    range_start date NOT NULL,
+    range_end date NOT NULL,
+    partition_state character varying(45) NOT NULL,
+    row_count bigint,
+    archive_file character varying(255),
+    archived_on timestamp without time zone,
+    CONSTRAINT audit_partitions_pkey PRIMARY KEY (partition_name)
+);
+
+CREATE INDEX idx_audit_partitions_range_end ON configuration.audit_partitions (range_end, partition_state);
+
+COMMENT ON TABLE configuration.audit_partitions IS 'Monthly partitions of the audit tables and the archive of the ones dropped by the retention';
+COMMENT ON COLUMN configuration.audit_partitions.partition_state IS 'ATTACHED, DETACHED while it is exported or ARCHIVED when it was dropped';
+COMMENT ON COLUMN configuration.audit_partitions.row_count IS 'Rows of the partition when it was detached';
+COMMENT ON COLUMN configuration.audit_partitions.archive_file IS 'Compressed file with the rows of the partition dropped';
+
+-- the browser of the revisions and the retention look for the revisions by the date
+CREATE INDEX idx_revisions_created_on ON public.revisions (created_on);
+
+-- create the partition of one month for an audit table
+CREATE OR REPLACE FUNCTION configuration.create_audit_partition(p_parent text, p_month date) RETURNS integer AS
+$$
+DECLARE
+    v_start date := date_trunc('month', p_month)::date;
+    v_end date := (date_trunc('month', p_month) + interval '1 month')::date;
+    v_partition text := p_parent || '_p' || to_char(p_month, 'YYYYMM');
+BEGIN
+    IF to_regclass(v_partition) IS NOT NULL THEN
+        RETURN 0;
+    END IF;
+
+    -- created apart and attached after, so the rows of the month that fell in the default partition are moved to it
+    EXECUTE format('CREATE TABLE %s (LIKE %s INCLUDING DEFAULTS)', v_partition, p_parent);
+    EXECUTE format('WITH moved AS (DELETE FROM %s_default WHERE audited_on >= %L AND audited_on < %L RETURNING *) ' ||
+                   'INSERT INTO %s SELECT * FROM moved', p_parent, v_start, v_end, v_partition);
+    EXECUTE format('ALTER TABLE %s ATTACH PARTITION %s FOR VALUES FROM (%L) TO (%L)',
+                   p_parent, v_partition, v_start, v_end);
+
+    INSERT INTO configuration.audit_partitions (partition_name, parent_name, range_start, range_end, partition_state)
+    VALUES (v_partition, p_parent, v_start, v_end, 'ATTACHED')
+    ON CONFLICT (partition_name) DO UPDATE SET partition_state = 'ATTACHED', row_count = NULL,
+                                               archive_file = NULL, archived_on = NULL;
+
+    RETURN 1;
+END;
+$$ LANGUAGE plpgsql;
+
+-- create the partitions of the current month and of the next months for all the audit tables
+CREATE OR REPLACE FUNCTION configuration.create_audit_partitions(p_months_ahead integer) RETURNS integer AS
+$$
+DECLARE
+    v_parent text;
+    v_created integer := 0;
+BEGIN
+    FOR v_parent IN
+        SELECT ns.nspname || '.' || cl.relname
+        FROM pg_partitioned_table pt
+                 JOIN pg_class cl ON cl.oid = pt.partrelid
+                 JOIN pg_namespace ns ON ns.oid = cl.relnamespace
+        WHERE ns.nspname LIKE '%\_audit'
+        ORDER BY 1
+    LOOP
+        FOR v_month IN 0..p_months_ahead LOOP
+            v_created := v_created + configuration.create_audit_partition(v_parent,
+                    (date_trunc('month', localtimestamp) + v_month * interval '1 month')::date);
+        END LOOP;
+    END LOOP;
+
+    RETURN v_created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- detach a partition from the audit table, after this the rows are not visible to the application anymore
+CREATE OR REPLACE FUNCTION configuration.detach_audit_partition(p_partition text) RETURNS bigint AS
+$$
+DECLARE
+    v_parent text;
+    v_state text;
+    v_rows bigint;
+BEGIN
+    SELECT parent_name, partition_state INTO v_parent, v_state
+    FROM configuration.audit_partitions
+    WHERE partition_name = p_partition
+        FOR UPDATE;
+
+    IF v_state = 'ATTACHED' THEN
+        EXECUTE format('ALTER TABLE %s DETACH PARTITION %s', v_parent, p_partition);
+        EXECUTE format('SELECT count(*) FROM %s', p_partition) INTO v_rows;
+
+        UPDATE configuration.audit_partitions
+        SET partition_state = 'DETACHED', row_count = v_rows
+        WHERE partition_name = p_partition;
+
+        RETURN v_rows;
+    ELSIF v_state = 'DETACHED' THEN
+        EXECUTE format('SELECT count(*) FROM %s', p_partition) INTO v_rows;
+        RETURN v_rows;
+    END IF;
+
+    RAISE EXCEPTION 'Audit partition % is not attached nor detached', p_partition;
+END;
+$$ LANGUAGE plpgsql;
+
+-- drop a detached partition already exported to the archive
+CREATE OR REPLACE FUNCTION configuration.drop_audit_partition(p_partition text, p_archive_file text) RETURNS integer AS
+$$
+BEGIN
+    UPDATE configuration.audit_partitions
+    SET partition_state = 'ARCHIVED', archive_file = p_archive_file, archived_on = localtimestamp
+    WHERE partition_name = p_partition
+      AND partition_state = 'DETACHED';
+
+    IF NOT FOUND THEN
+        RETURN 0;
+    END IF;
+
+    EXECUTE format('DROP TABLE %s', p_partition);
+
+    RETURN 1;
+END;
+$$ LANGUAGE plpgsql;
+
+-- remove the revisions older than the given date no longer referenced by any audit table
+CREATE OR REPLACE FUNCTION configuration.purge_audit_revisions(p_before timestamp without time zone) RETURNS integer AS
+$$
+DECLARE
+    v_table text;
+    v_revision bigint;
+    v_oldest bigint;
+    v_rows integer;
+BEGIN
+    -- the detached partitions still waiting for the export keep their revisions
+    FOR v_table IN
+        SELECT ns.nspname || '.' || cl.relname
+        FROM pg_partitioned_table pt
+                 JOIN pg_class cl ON cl.oid = pt.partrelid
+                 JOIN pg_namespace ns ON ns.oid = cl.relnamespace
+        WHERE ns.nspname LIKE '%\_audit'
+        UNION ALL
+        SELECT partition_name
+        FROM configuration.audit_partitions
+        WHERE partition_state = 'DETACHED'
+    LOOP
+        EXECUTE format('SELECT min(revision) FROM %s', v_table) INTO v_revision;
+        v_oldest := least(v_oldest, v_revision);
+    END LOOP;
+
+    DELETE FROM public.revisions
+    WHERE created_on < p_before
+      AND (v_oldest IS NULL OR id < v_oldest);
+
+    GET DIAGNOSTICS v_rows = ROW_COUNT;
+
+    RETURN v_rows;
+END;
+$$ LANGUAGE plpgsql;
+
+-- turn an audit table into a table partitioned by month, the audited_on is the time of the transaction writing the row
+CREATE OR REPLACE FUNCTION configuration.partition_audit_table(p_schema text, p_table text) RETURNS void AS
+$$
+DECLARE
+    v_parent text := p_schema || '.' || p_table;
+    v_legacy text := p_schema || '.' || p_table || '_unpartitioned';
+    v_constraint text;
+    v_first date;
+BEGIN
+    EXECUTE format('ALTER TABLE %s RENAME TO %s', v_parent, p_table || '_unpartitioned');
+
+    -- the names of the constraints (and of the primary key index) are reused by the new table
+    FOR v_constraint IN
+        SELECT conname FROM pg_constraint WHERE conrelid = v_legacy::regclass AND contype IN ('p', 'f')
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', v_legacy, v_constraint);
+    END LOOP;
+
+    EXECUTE format('CREATE TABLE %s (LIKE %s INCLUDING DEFAULTS, ' ||
+                   'audited_on timestamp without time zone NOT NULL DEFAULT localtimestamp) ' ||
+                   'PARTITION BY RANGE (audited_on)', v_parent, v_legacy);
+
+    EXECUTE format('ALTER TABLE %s ADD CONSTRAINT %I PRIMARY KEY (id, revision, audited_on)',
+                   v_parent, p_table || '_pkey');
+    EXECUTE format('ALTER TABLE %s ADD CONSTRAINT %I FOREIGN KEY (revision) REFERENCES public.revisions(id)',
+                   v_parent, p_table || '_revision_fkey');
+    EXECUTE format('CREATE INDEX %I ON %s (revision)', 'idx_' || p_table || '_revision', v_parent);
+
+    EXECUTE format('CREATE TABLE %s PARTITION OF %s DEFAULT', v_parent || '_default', v_parent);
+
+    -- one partition for each month with revisions up to the current one, the next months are created by the job
+    SELECT date_trunc('month', coalesce(min(created_on), localtimestamp))::date INTO v_first FROM public.revisions;
+
+    WHILE v_first <= localtimestamp LOOP
+        PERFORM configuration.create_audit_partition(v_parent, v_first);
+        v_first := (v_first + interval '1 month')::date;
+    END LOOP;
+
+    EXECUTE format('INSERT INTO %s SELECT au.*, rv.created_on FROM %s au ' ||
+                   'JOIN public.revisions rv ON rv.id = au.revision', v_parent, v_legacy);
+
+    EXECUTE format('DROP TABLE %s', v_legacy);
+END;
+$$ LANGUAGE plpgsql;
+
+DO
+$$
+DECLARE
+    v_tables text[];
+    v_table text;
+BEGIN
+    -- read before the loop, the tables created by it should not be seen
+    SELECT array_agg(table_schema || '.' || table_name ORDER BY table_schema, table_name) INTO v_tables
+    FROM information_schema.tables
+    WHERE table_schema LIKE '%\_audit'
+      AND table_type = 'BASE TABLE';
+
+    FOREACH v_table IN ARRAY coalesce(v_tables, '{}') LOOP
+        PERFORM configuration.partition_audit_table(split_part(v_table, '.', 1), split_part(v_table, '.', 2));
+    END LOOP;
+END
+$$;
+
+DROP FUNCTION configuration.partition_audit_table(text, text);
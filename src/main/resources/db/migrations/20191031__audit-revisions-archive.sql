@@ -0,0 +1,37 @@
+-- the purge returns the revisions removed, so the retention archives them before the commit of the removal
+DROP FUNCTION configuration.purge_audit_revisions(timestamp without time zone);
+
+CREATE FUNCTION configuration.purge_audit_revisions(p_before timestamp without time zone)
+    RETURNS SETOF public.revisions AS
+$$
+DECLARE
+    v_table text;
+    v_revision bigint;
+    v_oldest bigint;
+BEGIN
+    -- the detached partitions still waiting for the export keep their revisions
+    FOR v_table IN
+        SELECT ns.nspname || '.' || cl.relname
+        FROM pg_partitioned_table pt
+                 JOIN pg_class cl ON cl.oid = pt.partrelid
+                 JOIN pg_namespace ns ON ns.oid = cl.relnamespace
+        WHERE ns.nspname LIKE '%\_audit'
+        UNION ALL
+        SELECT partition_name
+        FROM configuration.audit_partitions
+        WHERE partition_state = 'DETACHED'
+    LOOP
+        EXECUTE format('SELECT min(revision) FROM %s', v_table) INTO v_revision;
+        v_oldest := least(v_oldest, v_revision);
+    END LOOP;
+
+    RETURN QUERY
+        WITH purged AS (
+            DELETE FROM public.revisions
+            WHERE created_on < p_before
+              AND (v_oldest IS NULL OR id < v_oldest)
+            RETURNING *
+        )
+        SELECT * FROM purged ORDER BY id;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,2 @@
+-- the ids are reserved in blocks as large as the jdbc batch, so a batch of inserts costs one nextval instead of ten
+ALTER SEQUENCE public.pooled_sequence_generator INCREMENT BY 50;
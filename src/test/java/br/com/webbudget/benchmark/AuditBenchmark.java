@@ -0,0 +1,266 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.benchmark;
+
+import br.com.webbudget.domain.entities.Revision;
+import br.com.webbudget.domain.entities.configuration.Authorization;
+import br.com.webbudget.domain.entities.configuration.Grant;
+import br.com.webbudget.domain.entities.configuration.Group;
+import br.com.webbudget.domain.repositories.configuration.GrantRepository;
+import br.com.webbudget.domain.services.UserAccountService;
+import br.com.webbudget.infrastructure.audit.SummarizedAudit;
+import br.com.webbudget.infrastructure.audit.SummarizedAuditInterceptor;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import javax.interceptor.InvocationContext;
+import javax.naming.Context;
+import javax.naming.spi.InitialContextFactory;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compare the audit of the grants of a {@link Group} saved with every row audited and saved inside the
+ * {@link SummarizedAudit} operation of the {@link UserAccountService}, run by the {@link SummarizedAuditInterceptor}
+ *
+ * The summary is read from the {@link Revision} written at the commit. Run with the number of grants as argument
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+public class AuditBenchmark {
+
+    private static final Map<Object, Object> TRANSACTION_RESOURCES = new HashMap<>();
+
+    /**
+     * Run the benchmark
+     *
+     * @param arguments the number of grants, 200 if none
+     * @throws Exception if the benchmark fail
+     */
+    public static void main(String[] arguments) throws Exception {
+
+        final int count = arguments.length > 0 ? Integer.parseInt(arguments[0]) : 200;
+
+        // the summary is kept with the transaction, found by the revision listener in the JNDI
+        System.setProperty(Context.INITIAL_CONTEXT_FACTORY, TransactionRegistryContextFactory.class.getName());
+
+        final Method operation = UserAccountService.class.getMethod("save", Group.class, List.class);
+
+        System.out.printf("Saving a group with %d grants%n", count);
+
+        try (SessionFactory factory = BenchmarkPersistence.createSessionFactory(Map.of())) {
+
+            run(factory, "audited row by row", session -> saveGrants(session, new Group("benchmark"), count));
+
+            run(factory, "summarized", session -> summarize(session, operation, () ->
+                    saveGrants(session, new Group("benchmark"), count)));
+
+            run(factory, "summarized, group unchanged", session -> summarize(session, operation, () ->
+                    saveGrants(session, session.load(Group.class, 1L), count)));
+        }
+    }
+
+    /**
+     * Run and measure a case, printing the revisions written
+     *
+     * @param factory the {@link SessionFactory} to use
+     * @param name the name of the case
+     * @param work the work of the case
+     * @throws Exception if the case fail
+     */
+    private static void run(SessionFactory factory, String name, BenchmarkPersistence.Work work) throws Exception {
+
+        final List<Revision> revisions = new ArrayList<>();
+
+        TRANSACTION_RESOURCES.clear();
+
+        final String roundTrips = BenchmarkPersistence.inTransaction(factory, session -> {
+            work.execute(session);
+            session.getTransaction().registerSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                    // the revisions are written before the commit
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    revisions.addAll(findRevisions(session));
+                }
+            });
+        });
+
+        System.out.println(name + ": " + roundTrips);
+        for (Revision revision : revisions) {
+            System.out.println(revision.getSummary() == null ? "  revision without summary"
+                    : "  revision " + revision.getOperation() + ": " + revision.getSummary());
+        }
+    }
+
+    /**
+     * Save the {@link Grant} of a {@link Group}, as the {@link UserAccountService} does
+     *
+     * @param session the {@link Session} to use
+     * @param group the {@link Group}, saved if it is new
+     * @param count the number of grants
+     */
+    private static void saveGrants(Session session, Group group, int count) {
+
+        if (!group.isSaved()) {
+            session.persist(group);
+        }
+
+        final List<Grant> grants = new ArrayList<>(count);
+
+        for (long id = 1; id <= count; id++) {
+            grants.add(new Grant(group, session.load(Authorization.class, id)));
+        }
+
+        BenchmarkPersistence.repository(GrantRepository.class, session).saveAll(grants);
+    }
+
+    /**
+     * Run the work through the {@link SummarizedAuditInterceptor}, as if the given method was called
+     *
+     * @param session the {@link Session} of the transaction
+     * @param method the method marked with {@link SummarizedAudit}
+     * @param work the body of the method
+     * @throws Exception if the work fail
+     */
+    private static void summarize(Session session, Method method, Runnable work) throws Exception {
+
+        final SummarizedAuditInterceptor interceptor = new SummarizedAuditInterceptor();
+
+        final Field entityManager = SummarizedAuditInterceptor.class.getDeclaredField("entityManager");
+        entityManager.setAccessible(true);
+        entityManager.set(interceptor, session);
+
+        interceptor.intercept(new InvocationContext() {
+            @Override
+            public Object getTarget() {
+                return null;
+            }
+
+            @Override
+            public Object getTimer() {
+                return null;
+            }
+
+            @Override
+            public Method getMethod() {
+                return method;
+            }
+
+            @Override
+            public Constructor<?> getConstructor() {
+                return null;
+            }
+
+            @Override
+            public Object[] getParameters() {
+                return new Object[0];
+            }
+
+            @Override
+            public void setParameters(Object[] parameters) {
+                // the work has no parameters
+            }
+
+            @Override
+            public Map<String, Object> getContextData() {
+                return new HashMap<>();
+            }
+
+            @Override
+            public Object proceed() {
+                work.run();
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @param session the {@link Session} of the transaction
+     * @return the {@link Revision} written in the {@link Session}
+     */
+    private static List<Revision> findRevisions(Session session) {
+
+        final List<Revision> revisions = new ArrayList<>();
+
+        for (Map.Entry<Object, ?> entry : ((SessionImplementor) session).getPersistenceContext()
+                .reentrantSafeEntityEntries()) {
+            if (entry.getKey() instanceof Revision) {
+                revisions.add((Revision) entry.getKey());
+            }
+        }
+        return revisions;
+    }
+
+    /**
+     * The JNDI of the benchmark, it has only the {@link TransactionSynchronizationRegistry} of the transaction running
+     */
+    public static final class TransactionRegistryContextFactory implements InitialContextFactory {
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param environment
+         * @return
+         */
+        @Override
+        public Context getInitialContext(Hashtable<?, ?> environment) {
+
+            final TransactionSynchronizationRegistry registry = (TransactionSynchronizationRegistry)
+                    Proxy.newProxyInstance(AuditBenchmark.class.getClassLoader(),
+                            new Class<?>[]{TransactionSynchronizationRegistry.class}, (proxy, method, arguments) -> {
+                                switch (method.getName()) {
+                                    case "getTransactionStatus":
+                                        return Status.STATUS_ACTIVE;
+                                    case "getResource":
+                                        return TRANSACTION_RESOURCES.get(arguments[0]);
+                                    case "putResource":
+                                        return TRANSACTION_RESOURCES.put(arguments[0], arguments[1]);
+                                    default:
+                                        throw new UnsupportedOperationException(method.getName());
+                                }
+                            });
+
+            return (Context) Proxy.newProxyInstance(AuditBenchmark.class.getClassLoader(),
+                    new Class<?>[]{Context.class}, (proxy, method, arguments) -> {
+                        if ("lookup".equals(method.getName())) {
+                            return registry;
+                        } else if ("close".equals(method.getName())) {
+                            return null;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.benchmark;
+
+import br.com.webbudget.domain.entities.configuration.Authorization;
+import br.com.webbudget.domain.entities.configuration.Grant;
+import br.com.webbudget.domain.entities.configuration.Group;
+import br.com.webbudget.domain.repositories.DefaultRepository;
+import br.com.webbudget.domain.repositories.configuration.GrantRepository;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Count the round trips to save and remove the {@link Grant} of a {@link Group}, the way the services did before the
+ * batch operations of the {@link DefaultRepository}, flushing each entity without JDBC batches, and the way they do
+ * now with {@link DefaultRepository#saveAll(java.util.Collection)} and
+ * {@link DefaultRepository#removeAll(java.util.Collection)}
+ *
+ * The {@link Grant} are audited, so the audit rows are counted too. Run with the number of grants as argument
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+public class BatchBenchmark {
+
+    private static final Map<String, String> WITHOUT_BATCHES = Map.of(
+            "hibernate.jdbc.batch_size", "0",
+            "hibernate.order_inserts", "false",
+            "hibernate.order_updates", "false");
+
+    /**
+     * Run the benchmark
+     *
+     * @param arguments the number of grants, 200 if none
+     * @throws Exception if the benchmark fail
+     */
+    public static void main(String[] arguments) throws Exception {
+
+        final int count = arguments.length > 0 ? Integer.parseInt(arguments[0]) : 200;
+
+        // the grants loaded belong to the same group, as in the service
+        CountingConnectionProvider.setRows(count);
+        CountingConnectionProvider.setSharedReferences(true);
+
+        System.out.printf("Saving and removing %d grants%n", count);
+
+        try (SessionFactory factory = BenchmarkPersistence.createSessionFactory(WITHOUT_BATCHES)) {
+            System.out.println("one by one, save: " + BenchmarkPersistence.inTransaction(factory, session ->
+                    createGrants(session, count).forEach(repository(session)::saveAndFlush)));
+            System.out.println("one by one, remove: " + BenchmarkPersistence.inTransaction(factory, session ->
+                    loadGrants(session).forEach(repository(session)::removeAndFlush)));
+        }
+
+        try (SessionFactory factory = BenchmarkPersistence.createSessionFactory(Map.of())) {
+            System.out.println("saveAll: " + BenchmarkPersistence.inTransaction(factory, session ->
+                    repository(session).saveAll(createGrants(session, count))));
+            System.out.println("removeAll: " + BenchmarkPersistence.inTransaction(factory, session ->
+                    repository(session).removeAll(loadGrants(session))));
+        }
+    }
+
+    /**
+     * @param session the {@link Session} of the benchmark
+     * @return the {@link GrantRepository} over the {@link Session}
+     */
+    private static GrantRepository repository(Session session) {
+        return BenchmarkPersistence.repository(GrantRepository.class, session);
+    }
+
+    /**
+     * Create the {@link Grant} of a {@link Group}, the {@link Group} and the {@link Authorization} are references to
+     * rows already in the database
+     *
+     * @param session the {@link Session} of the benchmark
+     * @param count the number of grants
+     * @return the {@link Grant} created
+     */
+    private static List<Grant> createGrants(Session session, int count) {
+
+        final Group group = session.load(Group.class, 1L);
+
+        final List<Grant> grants = new ArrayList<>(count);
+
+        for (long id = 1; id <= count; id++) {
+            grants.add(new Grant(group, session.load(Authorization.class, id)));
+        }
+        return grants;
+    }
+
+    /**
+     * Load the {@link Grant} of a {@link Group} to be removed, as the service does before removing the ones not
+     * selected anymore. The round trips to load them are not counted
+     *
+     * @param session the {@link Session} of the benchmark
+     * @return the {@link Grant} loaded
+     */
+    private static List<Grant> loadGrants(Session session) {
+
+        final List<Grant> grants = session.createQuery("FROM Grant gr JOIN FETCH gr.group WHERE gr.group.id = 1",
+                Grant.class).getResultList();
+
+        CountingConnectionProvider.reset();
+
+        return grants;
+    }
+}
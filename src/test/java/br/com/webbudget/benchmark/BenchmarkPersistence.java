@@ -0,0 +1,398 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.benchmark;
+
+import br.com.webbudget.domain.entities.PersistentEntity;
+import br.com.webbudget.domain.repositories.DefaultRepository;
+import br.com.webbudget.infrastructure.jpa.WriteTrackingIntegrator;
+import org.apache.deltaspike.data.api.Query;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.BootstrapServiceRegistryBuilder;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.boot.registry.classloading.internal.ClassLoaderServiceImpl;
+import org.hibernate.resource.beans.container.spi.BeanContainer;
+import org.hibernate.resource.beans.container.spi.ContainedBean;
+import org.hibernate.resource.beans.spi.BeanInstanceProducer;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.enterprise.event.Event;
+import javax.persistence.Entity;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Start Hibernate with all the entities and the settings of the persistence unit of the application, but over the
+ * {@link CountingConnectionProvider} instead of the datasource of the server
+ *
+ * The second level cache is left out, so the benchmarks always measure the first load of the data
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 28/10/2019
+ */
+public final class BenchmarkPersistence {
+
+    private static final String PERSISTENCE_UNIT = "webBudgetPU";
+
+    /**
+     * Constructor...
+     */
+    private BenchmarkPersistence() { }
+
+    /**
+     * Create the {@link SessionFactory} of the application
+     *
+     * @param overrides the settings to change in the persistence unit
+     * @return the {@link SessionFactory}
+     * @throws Exception if the persistence unit or the entities could not be read
+     */
+    public static SessionFactory createSessionFactory(Map<String, String> overrides) throws Exception {
+
+        final Map<String, Object> settings = new HashMap<>(readPersistenceUnit());
+
+        settings.put("hibernate.connection.provider_class", CountingConnectionProvider.class.getName());
+        settings.put("hibernate.temp.use_jdbc_metadata_defaults", "false");
+        settings.put("hibernate.hbm2ddl.auto", "none");
+        settings.put("hibernate.show_sql", "false");
+        settings.put("hibernate.session.events.log", "false");
+        settings.put("hibernate.cache.use_second_level_cache", "false");
+        settings.put("hibernate.cache.use_query_cache", "false");
+        settings.put("hibernate.resource.beans.container", new EventlessBeanContainer());
+        settings.putAll(overrides);
+
+        final StandardServiceRegistryBuilder registry = new StandardServiceRegistryBuilder(
+                new BootstrapServiceRegistryBuilder()
+                        .applyClassLoaderService(new WithoutCdiClassLoaderService())
+                        .build())
+                .applySettings(settings);
+
+        final MetadataSources sources = new MetadataSources(registry.build());
+
+        findEntities().forEach(sources::addAnnotatedClass);
+
+        return sources.buildMetadata().buildSessionFactory();
+    }
+
+    /**
+     * Run some work in a transaction and count the round trips made by it, commit included
+     *
+     * @param factory the {@link SessionFactory} to use
+     * @param work the work to run
+     * @return the count of the round trips, as text
+     * @throws Exception if the work fail
+     */
+    public static String inTransaction(SessionFactory factory, Work work) throws Exception {
+
+        CountingConnectionProvider.reset();
+
+        try (Session session = factory.openSession()) {
+            final Transaction transaction = session.beginTransaction();
+            work.execute(session);
+            transaction.commit();
+        }
+        return CountingConnectionProvider.describe();
+    }
+
+    /**
+     * Create a repository of the application over a {@link Session}, the default methods of the repository run as
+     * they are and the others, the ones marked with {@link Query} included, are answered as DeltaSpike would do with
+     * the {@link javax.persistence.EntityManager}
+     *
+     * @param type the type of the repository
+     * @param session the {@link Session} used by the repository
+     * @param <R> the type of the repository
+     * @return the repository
+     */
+    @SuppressWarnings("unchecked")
+    public static <R extends DefaultRepository<?>> R repository(Class<R> type, Session session) {
+        return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, arguments) -> {
+
+            final Object[] values = arguments == null ? new Object[0] : arguments;
+
+            if (method.isDefault()) {
+                return MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup())
+                        .unreflectSpecial(method, method.getDeclaringClass())
+                        .bindTo(proxy)
+                        .invokeWithArguments(values);
+            }
+
+            if (method.isAnnotationPresent(Query.class)) {
+                return query(session, method, values);
+            }
+
+            switch (method.getName()) {
+                case "getEntityManager":
+                    return session;
+                case "save":
+                    return save(session, (PersistentEntity) values[0]);
+                case "saveAndFlush":
+                    final Object saved = save(session, (PersistentEntity) values[0]);
+                    session.flush();
+                    return saved;
+                case "attachAndRemove":
+                    session.remove(session.contains(values[0]) ? values[0] : session.merge(values[0]));
+                    return null;
+                case "removeAndFlush":
+                    session.remove(values[0]);
+                    session.flush();
+                    return null;
+                default:
+                    return delegate(session, method, values);
+            }
+        });
+    }
+
+    /**
+     * Save an entity as the save of the DeltaSpike repositories, persisting the new ones and merging the others
+     *
+     * @param session the {@link Session} to use
+     * @param entity the entity to save
+     * @return the entity saved
+     */
+    private static Object save(Session session, PersistentEntity entity) {
+        if (entity.isSaved()) {
+            return session.merge(entity);
+        }
+        session.persist(entity);
+        return entity;
+    }
+
+    /**
+     * Run the JPQL of a method marked with {@link Query}, the arguments are bound to the positional parameters as
+     * DeltaSpike does
+     *
+     * @param session the {@link Session} to use
+     * @param method the method called on the repository
+     * @param arguments the arguments of the call
+     * @return the result list, or the single result if the method does not return a {@link List}
+     */
+    private static Object query(Session session, Method method, Object[] arguments) {
+
+        final org.hibernate.query.Query<?> query = session.createQuery(method.getAnnotation(Query.class).value());
+
+        for (int i = 0; i < arguments.length; i++) {
+            query.setParameter(i + 1, arguments[i]);
+        }
+        return List.class.isAssignableFrom(method.getReturnType()) ? query.getResultList() : query.getSingleResult();
+    }
+
+    /**
+     * Call the method of the same signature on the {@link Session}, as the {@link javax.persistence.EntityManager}
+     * methods delegated by the repositories
+     *
+     * @param session the {@link Session} to use
+     * @param method the method called on the repository
+     * @param arguments the arguments of the call
+     * @return the result of the call
+     * @throws Throwable if the call fail
+     */
+    private static Object delegate(Session session, Method method, Object[] arguments) throws Throwable {
+        try {
+            return Session.class.getMethod(method.getName(), method.getParameterTypes()).invoke(session, arguments);
+        } catch (NoSuchMethodException ex) {
+            throw new UnsupportedOperationException("Not available in the benchmarks: " + method, ex);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * @return the properties of the persistence unit of the application
+     * @throws Exception if the persistence.xml could not be read
+     */
+    private static Map<String, String> readPersistenceUnit() throws Exception {
+
+        final Map<String, String> properties = new HashMap<>();
+
+        try (InputStream stream = BenchmarkPersistence.class.getResourceAsStream("/META-INF/persistence.xml")) {
+
+            final NodeList units = DocumentBuilderFactory.newInstance()
+                    .newDocumentBuilder()
+                    .parse(stream)
+                    .getElementsByTagName("persistence-unit");
+
+            for (int i = 0; i < units.getLength(); i++) {
+
+                final Element unit = (Element) units.item(i);
+
+                if (PERSISTENCE_UNIT.equals(unit.getAttribute("name"))) {
+                    final NodeList nodes = unit.getElementsByTagName("property");
+                    for (int j = 0; j < nodes.getLength(); j++) {
+                        final Element property = (Element) nodes.item(j);
+                        properties.put(property.getAttribute("name"), property.getAttribute("value"));
+                    }
+                }
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * @return all the classes marked with {@link Entity} in the package of the {@link PersistentEntity}
+     * @throws Exception if the classes could not be listed
+     */
+    private static List<Class<?>> findEntities() throws Exception {
+
+        final Path root = Paths.get(PersistentEntity.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        final Path entities = root.resolve(PersistentEntity.class.getPackageName().replace('.', '/'));
+
+        try (Stream<Path> files = Files.walk(entities)) {
+            final List<String> names = files.map(root::relativize)
+                    .map(Path::toString)
+                    .filter(name -> name.endsWith(".class"))
+                    .map(name -> name.substring(0, name.length() - 6).replace('/', '.').replace('\\', '.'))
+                    .collect(Collectors.toList());
+
+            final List<Class<?>> classes = new ArrayList<>();
+
+            for (String name : names) {
+                final Class<?> type = Class.forName(name);
+                if (type.isAnnotationPresent(Entity.class)) {
+                    classes.add(type);
+                }
+            }
+            return classes;
+        }
+    }
+
+    /**
+     * The work measured by {@link #inTransaction(SessionFactory, Work)}
+     */
+    @FunctionalInterface
+    public interface Work {
+
+        /**
+         * @param session the {@link Session} of the transaction
+         * @throws Exception if the work fail
+         */
+        void execute(Session session) throws Exception;
+    }
+
+    /**
+     * The {@link BeanContainer} of the JPA listeners and converters, there is no CDI container here so the events
+     * injected in them go nowhere
+     */
+    private static final class EventlessBeanContainer implements BeanContainer {
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param beanType
+         * @param lifecycleOptions
+         * @param fallbackProducer
+         * @param <B>
+         * @return
+         */
+        @Override
+        public <B> ContainedBean<B> getBean(Class<B> beanType, LifecycleOptions lifecycleOptions,
+                                            BeanInstanceProducer fallbackProducer) {
+            final B bean = withoutEvents(fallbackProducer.produceBeanInstance(beanType));
+            return () -> bean;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param name
+         * @param beanType
+         * @param lifecycleOptions
+         * @param fallbackProducer
+         * @param <B>
+         * @return
+         */
+        @Override
+        public <B> ContainedBean<B> getBean(String name, Class<B> beanType, LifecycleOptions lifecycleOptions,
+                                            BeanInstanceProducer fallbackProducer) {
+            final B bean = withoutEvents(fallbackProducer.produceBeanInstance(name, beanType));
+            return () -> bean;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void stop() {
+            // nothing to release
+        }
+
+        /**
+         * Set an {@link Event} going nowhere in the event fields of a bean
+         *
+         * @param bean the bean
+         * @param <B> the type of the bean
+         * @return the same bean
+         */
+        private static <B> B withoutEvents(B bean) {
+
+            for (Field field : bean.getClass().getDeclaredFields()) {
+                if (field.getType() == Event.class) {
+                    field.setAccessible(true);
+                    try {
+                        field.set(bean, Proxy.newProxyInstance(Event.class.getClassLoader(),
+                                new Class<?>[]{Event.class}, (proxy, method, arguments) ->
+                                        method.getReturnType() == Event.class ? proxy : null));
+                    } catch (IllegalAccessException ex) {
+                        throw new IllegalStateException("Can't set the event of " + bean.getClass(), ex);
+                    }
+                }
+            }
+            return bean;
+        }
+    }
+
+    /**
+     * Load the Hibernate services of the application but the {@link WriteTrackingIntegrator}, it needs the CDI
+     * container to find the router of the replica
+     */
+    private static final class WithoutCdiClassLoaderService extends ClassLoaderServiceImpl {
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param serviceContract
+         * @param <S>
+         * @return
+         */
+        @Override
+        public <S> Collection<S> loadJavaServices(Class<S> serviceContract) {
+            return super.loadJavaServices(serviceContract)
+                    .stream()
+                    .filter(service -> !(service instanceof WriteTrackingIntegrator))
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.benchmark;
+
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link ConnectionProvider} answering every statement in memory and counting the round trips to the database, so
+ * the benchmarks measure what Hibernate sends without a PostgreSQL running
+ *
+ * The queries are answered with {@link #setRows(int)} rows, the lookups by id or by one foreign key with a single
+ * one. Every id and foreign key read is the number of the row, so the references of a listing point to different
+ * entities as in the worst case, unless {@link #setSharedReferences(boolean)} makes all the foreign keys point to the
+ * same entity
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.1.0
+ * @since 3.1.0, 28/10/2019
+ */
+public class CountingConnectionProvider implements ConnectionProvider {
+
+    private static final AtomicLong ROUND_TRIPS = new AtomicLong();
+    private static final AtomicLong QUERIES = new AtomicLong();
+    private static final AtomicLong UPDATES = new AtomicLong();
+    private static final AtomicLong BATCHES = new AtomicLong();
+    private static final AtomicLong BATCHED_ROWS = new AtomicLong();
+
+    private static final AtomicLong SEQUENCE = new AtomicLong(1000);
+    private static final AtomicLong IDENTITY = new AtomicLong(1);
+
+    private static volatile int rows = 1;
+    private static volatile boolean sharedReferences;
+
+    /**
+     * @param rows the number of rows answered to the queries
+     */
+    public static void setRows(int rows) {
+        CountingConnectionProvider.rows = rows;
+    }
+
+    /**
+     * @param sharedReferences true to read 1 from every foreign key, false to read the number of the row
+     */
+    public static void setSharedReferences(boolean sharedReferences) {
+        CountingConnectionProvider.sharedReferences = sharedReferences;
+    }
+
+    /**
+     * Start the counting again
+     */
+    public static void reset() {
+        ROUND_TRIPS.set(0);
+        QUERIES.set(0);
+        UPDATES.set(0);
+        BATCHES.set(0);
+        BATCHED_ROWS.set(0);
+    }
+
+    /**
+     * @return the number of round trips since the last {@link #reset()}
+     */
+    public static long getRoundTrips() {
+        return ROUND_TRIPS.get();
+    }
+
+    /**
+     * @return the counters as text
+     */
+    public static String describe() {
+        return String.format("%d round trips (%d queries, %d single updates, %d batches with %d rows)",
+                ROUND_TRIPS.get(), QUERIES.get(), UPDATES.get(), BATCHES.get(), BATCHED_ROWS.get());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public Connection getConnection() {
+        return proxy(Connection.class, (proxy, method, arguments) -> {
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return statement((String) arguments[0]);
+                case "createStatement":
+                    return statement("");
+                case "commit":
+                case "rollback":
+                    ROUND_TRIPS.incrementAndGet();
+                    return null;
+                case "getTransactionIsolation":
+                    return Connection.TRANSACTION_READ_COMMITTED;
+                case "isValid":
+                    return true;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param connection
+     */
+    @Override
+    public void closeConnection(Connection connection) {
+        // nothing to close
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return
+     */
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param unwrapType
+     * @return
+     */
+    @Override
+    public boolean isUnwrappableAs(Class unwrapType) {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param unwrapType
+     * @param <T>
+     * @return
+     */
+    @Override
+    public <T> T unwrap(Class<T> unwrapType) {
+        throw new UnsupportedOperationException("Nothing to unwrap");
+    }
+
+    /**
+     * Create the statement answering in memory
+     *
+     * @param sql the SQL of the statement
+     * @return the {@link PreparedStatement}
+     */
+    private static PreparedStatement statement(String sql) {
+
+        final int[] batched = {0};
+        final ResultSet[] generated = {null};
+
+        return proxy(PreparedStatement.class, (proxy, method, arguments) -> {
+            switch (method.getName()) {
+                case "executeQuery":
+                case "getResultSet":
+                    ROUND_TRIPS.incrementAndGet();
+                    QUERIES.incrementAndGet();
+                    return answer(sql);
+                case "executeUpdate":
+                case "execute":
+                    ROUND_TRIPS.incrementAndGet();
+                    UPDATES.incrementAndGet();
+                    generated[0] = resultSet(1, IDENTITY.incrementAndGet());
+                    return method.getReturnType() == int.class ? 1 : false;
+                case "getGeneratedKeys":
+                    return generated[0];
+                case "addBatch":
+                    batched[0]++;
+                    return null;
+                case "executeBatch":
+                    ROUND_TRIPS.incrementAndGet();
+                    BATCHES.incrementAndGet();
+                    BATCHED_ROWS.addAndGet(batched[0]);
+                    final int[] counts = new int[batched[0]];
+                    Arrays.fill(counts, 1);
+                    batched[0] = 0;
+                    return counts;
+                case "clearBatch":
+                    batched[0] = 0;
+                    return null;
+                case "getUpdateCount":
+                    return 1;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    /**
+     * Answer a query, the sequences give blocks of 50 ids as the pooled generator of the entities expects
+     *
+     * @param sql the SQL of the query
+     * @return the {@link ResultSet} answered
+     */
+    private static ResultSet answer(String sql) {
+
+        final String query = sql.toLowerCase();
+
+        if (query.contains("nextval")) {
+            return resultSet(1, SEQUENCE.getAndAdd(50));
+        } else if (query.contains("count(")) {
+            return resultSet(1, rows);
+        } else if (query.matches("(?s).* where \\w+\\.id(_\\w+)?=\\?( and \\w+\\.discriminator_value='\\w+')?")) {
+            return resultSet(1, 0);
+        }
+        return resultSet(rows, 0);
+    }
+
+    /**
+     * Create a {@link ResultSet} in memory
+     *
+     * @param size the number of rows
+     * @param single the value of every number read, zero to read the number of the row
+     * @return the {@link ResultSet}
+     */
+    private static ResultSet resultSet(int size, long single) {
+
+        final int[] row = {0};
+
+        return proxy(ResultSet.class, (proxy, method, arguments) -> {
+            switch (method.getName()) {
+                case "next":
+                    return ++row[0] <= size;
+                case "getLong":
+                    if (single > 0) {
+                        return single;
+                    }
+                    // the aliases of the foreign keys are named after the columns, all of them starting with id_
+                    return sharedReferences && String.valueOf(arguments[0]).startsWith("id_") ? 1L : (long) row[0];
+                case "getBigDecimal":
+                    return BigDecimal.ONE;
+                case "getTimestamp":
+                    return new Timestamp(System.currentTimeMillis());
+                case "getDate":
+                    return new java.sql.Date(System.currentTimeMillis());
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    /**
+     * @param type the type returned by a method
+     * @return the default value of the type, null for the objects
+     */
+    private static Object defaultValue(Class<?> type) {
+        return type.isPrimitive() && type != void.class ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
+    /**
+     * Create a JDBC object answered by the given handler
+     *
+     * @param type the JDBC interface
+     * @param handler the {@link InvocationHandler}
+     * @param <T> the JDBC type
+     * @return the proxy
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(CountingConnectionProvider.class.getClassLoader(),
+                new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2019 Arthur Gregorio, AG.Software
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.webbudget.benchmark;
+
+import br.com.webbudget.application.components.dto.PeriodMovementRow;
+import br.com.webbudget.domain.entities.financial.CreditCardInvoice;
+import br.com.webbudget.domain.entities.journal.Refueling;
+import br.com.webbudget.domain.entities.registration.MovementClass;
+import br.com.webbudget.domain.repositories.financial.CreditCardInvoiceRepository;
+import br.com.webbudget.domain.repositories.financial.PeriodMovementRepository;
+import br.com.webbudget.domain.repositories.journal.RefuelingRepository;
+import br.com.webbudget.domain.repositories.registration.MovementClassRepository;
+import br.com.webbudget.infrastructure.profiler.QueryProfiler;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Guard the listings of the application against the N+1 problem, each page must be read with a fixed number of
+ * statements no matter how many rows it has. The references of every row point to a different entity, as in the worst
+ * case, and the run fails with an {@link AssertionError} listing the repeated statements if some listing goes over
+ * its limit
+ *
+ * Run with the size of the page as argument
+ *
+ * @author Arthur Gregorio
+ *
+ * @version 1.0.0
+ * @since 3.1.0, 28/10/2019
+ */
+public class ListingGuard {
+
+    /**
+     * Run the guard
+     *
+     * @param arguments the size of the page, 25 if none
+     * @throws Exception if the guard fail
+     */
+    public static void main(String[] arguments) throws Exception {
+
+        final int pageSize = arguments.length > 0 ? Integer.parseInt(arguments[0]) : 25;
+
+        CountingConnectionProvider.setRows(pageSize);
+        CountingConnectionProvider.setSharedReferences(false);
+
+        System.out.printf("Reading pages of %d rows%n", pageSize);
+
+        try (SessionFactory factory = BenchmarkPersistence.createSessionFactory(Map.of())) {
+
+            // the count of the pages and the page itself
+            guard(factory, "movement classes", 2, session -> BenchmarkPersistence
+                    .repository(MovementClassRepository.class, session)
+                    .findAllBy("", null, 0, pageSize)
+                    .getContent());
+
+            guard(factory, "refuelings", 8, session -> BenchmarkPersistence
+                    .repository(RefuelingRepository.class, session)
+                    .findAllBy("", null, 0, pageSize)
+                    .getContent());
+
+            guard(factory, "credit card invoices", 6, session -> BenchmarkPersistence
+                    .repository(CreditCardInvoiceRepository.class, session)
+                    .findAllBy("", null, 0, pageSize)
+                    .getContent());
+
+            // the ids of the page are selected with the filter, the rows of the grid are read at once
+            final List<Long> ids = LongStream.rangeClosed(1, pageSize)
+                    .boxed()
+                    .collect(Collectors.toList());
+
+            guard(factory, "period movement rows", 1, session -> BenchmarkPersistence
+                    .repository(PeriodMovementRepository.class, session)
+                    .findRowsInOrder(ids));
+        }
+    }
+
+    /**
+     * Read a page of a listing inside {@link QueryProfiler#expectAtMost(int, Callable)}
+     *
+     * @param factory the {@link SessionFactory} to use
+     * @param name the name of the listing
+     * @param maximum the maximum number of statements allowed to read the page
+     * @param listing the listing to read
+     * @throws Exception if the listing fail or executes more statements than allowed
+     */
+    private static void guard(SessionFactory factory, String name, int maximum, Listing listing) throws Exception {
+        try (Session session = factory.openSession()) {
+            final List<?> rows = QueryProfiler.expectAtMost(maximum, () -> listing.read(session));
+            System.out.printf("%s: %d rows in at most %d statements%n", name, rows.size(), maximum);
+        }
+    }
+
+    /**
+     * A listing read by {@link #guard(SessionFactory, String, int, Listing)}
+     */
+    @FunctionalInterface
+    private interface Listing {
+
+        /**
+         * @param session the {@link Session} used to read
+         * @return the rows of the page
+         * @throws Exception if the listing fail
+         */
+        List<?> read(Session session) throws Exception;
+    }
+}